@@ -147,6 +147,19 @@ public final class DiscreteProfile implements Profile<DiscreteProfile>, Iterable
     return fromProfileHelper(Duration.ZERO, simulatedProfile, Optional::of, true);
   }
 
+  /**
+   * Converts a run of consecutive segments out of a simulated profile.
+   * @param offsetFromPlanStart the start time of the first segment in the run
+   * @param close whether the run ends with the final segment of the simulated profile
+   */
+  static DiscreteProfile fromSimulatedSegments(
+      final Duration offsetFromPlanStart,
+      final List<ProfileSegment<SerializedValue>> simulatedSegments,
+      final boolean close
+  ) {
+    return fromProfileHelper(offsetFromPlanStart, simulatedSegments, Optional::of, close);
+  }
+
   public static DiscreteProfile fromExternalProfile(final Duration offsetFromPlanStart, final List<ProfileSegment<Optional<SerializedValue>>> externalProfile) {
     return fromProfileHelper(offsetFromPlanStart, externalProfile, $ -> $, false);
   }
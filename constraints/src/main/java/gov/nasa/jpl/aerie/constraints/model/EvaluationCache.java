@@ -0,0 +1,88 @@
+package gov.nasa.jpl.aerie.constraints.model;
+
+import gov.nasa.jpl.aerie.constraints.time.Interval;
+import gov.nasa.jpl.aerie.constraints.tree.Expression;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * A memo table of evaluated expressions, shared by every constraint evaluated against one set of simulation results.
+ *
+ * Expressions are keyed by equality, so a subtree that appears in several constraints is only evaluated once for
+ * a given set of bounds. Only expressions evaluated outside of any activity, spans or interval binding are cached,
+ * since those are the ones constraints can share, and this keeps the table small. Results must not be mutated once
+ * returned. A cache may be shared by constraints evaluated concurrently; a thread that asks for a result being
+ * computed by another waits for it.
+ */
+public final class EvaluationCache {
+  private static final EvaluationCache DISABLED = new EvaluationCache(false);
+
+  private record Key(Expression<?> expression, Interval bounds) {}
+
+  private final boolean enabled;
+  private final ConcurrentHashMap<Key, CompletableFuture<Object>> results = new ConcurrentHashMap<>();
+
+  public EvaluationCache() {
+    this(true);
+  }
+
+  private EvaluationCache(final boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /** A cache that never stores anything, so that every expression is evaluated in full. */
+  public static EvaluationCache disabled() {
+    return DISABLED;
+  }
+
+  /**
+   * Gets the result of evaluating an expression, computing it with `evaluate` unless an equal expression has already
+   * been evaluated with the same bounds.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T get(
+      final Expression<T> expression,
+      final Interval bounds,
+      final EvaluationEnvironment environment,
+      final Supplier<T> evaluate
+  ) {
+    // External profiles are fixed for a whole request, so only the bindings can make an equal expression differ.
+    if (!this.enabled
+        || !environment.activityInstances().isEmpty()
+        || !environment.spansInstances().isEmpty()
+        || !environment.intervals().isEmpty()) {
+      return evaluate.get();
+    }
+
+    final var key = new Key(expression, bounds);
+
+    final var future = new CompletableFuture<Object>();
+    final var existing = this.results.putIfAbsent(key, future);
+    if (existing != null) {
+      try {
+        return (T) existing.join();
+      } catch (final CompletionException ex) {
+        if (ex.getCause() instanceof RuntimeException e) throw e;
+        if (ex.getCause() instanceof Error e) throw e;
+        throw ex;
+      }
+    }
+
+    try {
+      final var result = evaluate.get();
+      future.complete(result);
+      return result;
+    } catch (final RuntimeException | Error ex) {
+      future.completeExceptionally(ex);
+      throw ex;
+    }
+  }
+
+  /** The number of distinct expressions evaluated through this cache. */
+  public int size() {
+    return this.results.size();
+  }
+}
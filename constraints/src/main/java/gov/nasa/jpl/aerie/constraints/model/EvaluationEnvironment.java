@@ -11,13 +11,32 @@ public record EvaluationEnvironment(
     Map<String, Spans> spansInstances,
     Map<String, Interval> intervals,
     Map<String, LinearProfile> realExternalProfiles,
-    Map<String, DiscreteProfile> discreteExternalProfiles
+    Map<String, DiscreteProfile> discreteExternalProfiles,
+    EvaluationCache cache
 ) {
   public EvaluationEnvironment() {
     this(Map.of(), Map.of(), Map.of(), Map.of(), Map.of());
   }
 
   public EvaluationEnvironment(Map<String, LinearProfile> realExternalProfiles, Map<String, DiscreteProfile> discreteExternalProfiles) {
-    this(Map.of(), Map.of(), Map.of(), realExternalProfiles, discreteExternalProfiles);
+    this(realExternalProfiles, discreteExternalProfiles, EvaluationCache.disabled());
+  }
+
+  public EvaluationEnvironment(
+      Map<String, LinearProfile> realExternalProfiles,
+      Map<String, DiscreteProfile> discreteExternalProfiles,
+      EvaluationCache cache
+  ) {
+    this(Map.of(), Map.of(), Map.of(), realExternalProfiles, discreteExternalProfiles, cache);
+  }
+
+  public EvaluationEnvironment(
+      Map<String, ActivityInstance> activityInstances,
+      Map<String, Spans> spansInstances,
+      Map<String, Interval> intervals,
+      Map<String, LinearProfile> realExternalProfiles,
+      Map<String, DiscreteProfile> discreteExternalProfiles
+  ) {
+    this(activityInstances, spansInstances, intervals, realExternalProfiles, discreteExternalProfiles, EvaluationCache.disabled());
   }
 }
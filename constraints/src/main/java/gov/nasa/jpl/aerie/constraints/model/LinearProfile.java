@@ -178,6 +178,19 @@ public final class LinearProfile implements Profile<LinearProfile>, Iterable<Seg
     return fromProfileHelper(Duration.ZERO, simulatedProfile, Optional::of, true);
   }
 
+  /**
+   * Converts a run of consecutive segments out of a simulated profile.
+   * @param offsetFromPlanStart the start time of the first segment in the run
+   * @param close whether the run ends with the final segment of the simulated profile
+   */
+  static LinearProfile fromSimulatedSegments(
+      final Duration offsetFromPlanStart,
+      final List<ProfileSegment<RealDynamics>> simulatedSegments,
+      final boolean close
+  ) {
+    return fromProfileHelper(offsetFromPlanStart, simulatedSegments, Optional::of, close);
+  }
+
   public static LinearProfile fromExternalProfile(final Duration offsetFromPlanStart, final List<ProfileSegment<Optional<RealDynamics>>> externalProfile) {
     return fromProfileHelper(offsetFromPlanStart, externalProfile, $ -> $, false);
   }
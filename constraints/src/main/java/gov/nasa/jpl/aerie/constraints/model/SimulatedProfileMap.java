@@ -0,0 +1,154 @@
+package gov.nasa.jpl.aerie.constraints.model;
+
+import gov.nasa.jpl.aerie.constraints.time.Interval;
+import gov.nasa.jpl.aerie.merlin.driver.engine.ProfileSegment;
+import gov.nasa.jpl.aerie.merlin.driver.resources.ResourceProfile;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A read-only view of simulated resource profiles, each of which is converted for constraint evaluation only
+ * once it is first needed.
+ *
+ * Whole profiles are converted at most once and then reused. {@link #get(String, Interval)} converts only the
+ * segments overlapping some bounds, unless the whole profile is already available.
+ */
+final class SimulatedProfileMap<Dynamics, P> extends AbstractMap<String, P> {
+  @FunctionalInterface
+  interface Converter<Dynamics, P> {
+    P convert(Duration offsetFromPlanStart, List<ProfileSegment<Dynamics>> segments, boolean close);
+  }
+
+  private final Map<String, ResourceProfile<Dynamics>> simulatedProfiles;
+  private final Converter<Dynamics, P> converter;
+
+  private final ConcurrentHashMap<String, P> profiles = new ConcurrentHashMap<>();
+  /** The start time of each segment of each simulated profile, in microseconds; computed on the first windowed read. */
+  private final ConcurrentHashMap<String, long[]> segmentStarts = new ConcurrentHashMap<>();
+
+  SimulatedProfileMap(
+      final Map<String, ResourceProfile<Dynamics>> simulatedProfiles,
+      final Converter<Dynamics, P> converter
+  ) {
+    this.simulatedProfiles = simulatedProfiles;
+    this.converter = converter;
+  }
+
+  @Override
+  public boolean containsKey(final Object name) {
+    return this.simulatedProfiles.containsKey(name);
+  }
+
+  @Override
+  public P get(final Object name) {
+    if (!(name instanceof String key) || !this.simulatedProfiles.containsKey(key)) return null;
+
+    return this.profiles.computeIfAbsent(
+        key,
+        $ -> this.converter.convert(Duration.ZERO, this.simulatedProfiles.get($).segments(), true));
+  }
+
+  /**
+   * Gets the profile of a resource, converting at least every segment that overlaps the given bounds.
+   *
+   * The segment just before the bounds is converted as well, so that changes at the start of the bounds
+   * can still be detected.
+   */
+  public P get(final String name, final Interval bounds) {
+    if (!this.simulatedProfiles.containsKey(name)) return null;
+
+    final var profile = this.profiles.get(name);
+    if (profile != null || bounds.isEmpty()) return this.get(name);
+
+    final var segments = this.simulatedProfiles.get(name).segments();
+    final var starts = this.segmentStarts.computeIfAbsent(name, $ -> computeStarts(segments));
+
+    final var first = Math.max(0, lowerBound(starts, bounds.start.in(Duration.MICROSECOND)) - 1);
+    final var last = upperBound(starts, bounds.end.in(Duration.MICROSECOND));
+    if (first == 0 && last == segments.size()) return this.get(name);
+
+    return this.converter.convert(
+        Duration.of(starts[first], Duration.MICROSECOND),
+        segments.subList(first, last),
+        last == segments.size());
+  }
+
+  @Override
+  public int size() {
+    return this.simulatedProfiles.size();
+  }
+
+  @Override
+  public Set<String> keySet() {
+    return Collections.unmodifiableSet(this.simulatedProfiles.keySet());
+  }
+
+  @Override
+  public Set<Entry<String, P>> entrySet() {
+    return new AbstractSet<>() {
+      @Override
+      public Iterator<Entry<String, P>> iterator() {
+        final var names = simulatedProfiles.keySet().iterator();
+        return new Iterator<>() {
+          @Override
+          public boolean hasNext() {
+            return names.hasNext();
+          }
+
+          @Override
+          public Entry<String, P> next() {
+            final var name = names.next();
+            return new SimpleImmutableEntry<>(name, get(name));
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return simulatedProfiles.size();
+      }
+    };
+  }
+
+  private static long[] computeStarts(final List<? extends ProfileSegment<?>> segments) {
+    final var starts = new long[segments.size()];
+    var cursor = 0L;
+    for (int i = 0; i < starts.length; i++) {
+      starts[i] = cursor;
+      cursor += segments.get(i).extent().in(Duration.MICROSECOND);
+    }
+    return starts;
+  }
+
+  /** The index of the first segment starting at or after the given time. */
+  private static int lowerBound(final long[] starts, final long time) {
+    var low = 0;
+    var high = starts.length;
+    while (low < high) {
+      final var mid = (low + high) >>> 1;
+      if (starts[mid] < time) low = mid + 1;
+      else high = mid;
+    }
+    return low;
+  }
+
+  /** The index of the first segment starting strictly after the given time. */
+  private static int upperBound(final long[] starts, final long time) {
+    var low = 0;
+    var high = starts.length;
+    while (low < high) {
+      final var mid = (low + high) >>> 1;
+      if (starts[mid] <= time) low = mid + 1;
+      else high = mid;
+    }
+    return low;
+  }
+}
@@ -7,7 +7,6 @@ import gov.nasa.jpl.aerie.types.ActivityDirectiveId;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -39,15 +38,9 @@ public final class SimulationResults {
     this.planStart = merlinResults.startTime;
     this.bounds = Interval.between(Duration.ZERO, merlinResults.duration);
     this.activities = new ArrayList<>();
-    this.realProfiles = new HashMap<>();
-    this.discreteProfiles = new HashMap<>();
-
-    for(final var entry : merlinResults.realProfiles.entrySet()) {
-      realProfiles.put(entry.getKey(), LinearProfile.fromSimulatedProfile(entry.getValue().segments()));
-    }
-    for(final var entry : merlinResults.discreteProfiles.entrySet()) {
-      discreteProfiles.put(entry.getKey(), DiscreteProfile.fromSimulatedProfile(entry.getValue().segments()));
-    }
+    // Profiles are converted only once a constraint asks for them, as most constraints use few of the resources.
+    this.realProfiles = new SimulatedProfileMap<>(merlinResults.realProfiles, LinearProfile::fromSimulatedSegments);
+    this.discreteProfiles = new SimulatedProfileMap<>(merlinResults.discreteProfiles, DiscreteProfile::fromSimulatedSegments);
 
     final var simulatedActivities = merlinResults.simulatedActivities;
     for (final var entry : simulatedActivities.entrySet()) {
@@ -67,6 +60,26 @@ public final class SimulationResults {
     }
   }
 
+  /**
+   * Gets the profile of a real resource, or null if there is none.
+   *
+   * The profile is guaranteed to be complete only within the given bounds; segments outside of them may be left out.
+   */
+  public LinearProfile realProfile(final String name, final Interval bounds) {
+    if (this.realProfiles instanceof SimulatedProfileMap<?, LinearProfile> profiles) return profiles.get(name, bounds);
+    return this.realProfiles.get(name);
+  }
+
+  /**
+   * Gets the profile of a discrete resource, or null if there is none.
+   *
+   * The profile is guaranteed to be complete only within the given bounds; segments outside of them may be left out.
+   */
+  public DiscreteProfile discreteProfile(final String name, final Interval bounds) {
+    if (this.discreteProfiles instanceof SimulatedProfileMap<?, DiscreteProfile> profiles) return profiles.get(name, bounds);
+    return this.discreteProfiles.get(name);
+  }
+
   @Override
   public boolean equals(Object obj) {
     if (!(obj instanceof final SimulationResults o)) return false;
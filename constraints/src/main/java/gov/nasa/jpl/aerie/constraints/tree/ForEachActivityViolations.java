@@ -22,7 +22,8 @@ public record ForEachActivityViolations(
             environment.spansInstances(),
             environment.intervals(),
             environment.realExternalProfiles(),
-            environment.discreteExternalProfiles()
+            environment.discreteExternalProfiles(),
+            environment.cache()
         );
         newEnvironment.activityInstances().put(this.alias, activity);
 
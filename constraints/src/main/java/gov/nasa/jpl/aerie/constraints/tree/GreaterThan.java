@@ -20,10 +20,12 @@ public final class GreaterThan implements Expression<Windows> {
 
   @Override
   public Windows evaluate(final SimulationResults results, final Interval bounds, final EvaluationEnvironment environment) {
-    final var leftProfile = this.left.evaluate(results, bounds, environment);
-    final var rightProfile = this.right.evaluate(results, bounds, environment);
+    return environment.cache().get(this, bounds, environment, () -> {
+      final var leftProfile = this.left.evaluate(results, bounds, environment);
+      final var rightProfile = this.right.evaluate(results, bounds, environment);
 
-    return leftProfile.greaterThan(rightProfile).select(bounds);
+      return leftProfile.greaterThan(rightProfile).select(bounds);
+    });
   }
 
   @Override
@@ -20,10 +20,12 @@ public final class LessThan implements Expression<Windows> {
 
   @Override
   public Windows evaluate(final SimulationResults results, final Interval bounds, final EvaluationEnvironment environment) {
-    LinearProfile leftProfile = this.left.evaluate(results, bounds, environment);
-    LinearProfile rightProfile = this.right.evaluate(results, bounds, environment);
+    return environment.cache().get(this, bounds, environment, () -> {
+      LinearProfile leftProfile = this.left.evaluate(results, bounds, environment);
+      LinearProfile rightProfile = this.right.evaluate(results, bounds, environment);
 
-    return leftProfile.lessThan(rightProfile).select(bounds);
+      return leftProfile.lessThan(rightProfile).select(bounds);
+    });
   }
 
   @Override
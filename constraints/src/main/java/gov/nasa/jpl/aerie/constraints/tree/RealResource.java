@@ -24,17 +24,19 @@ public final class RealResource implements Expression<LinearProfile> {
 
   @Override
   public LinearProfile evaluate(final SimulationResults results, final Interval bounds, final EvaluationEnvironment environment) {
-    if (results.realProfiles.containsKey(this.name)) {
-      return results.realProfiles.get(this.name);
-    } else if (results.discreteProfiles.containsKey(this.name)) {
-      return convertDiscreteProfile(results.discreteProfiles.get(this.name));
-    } else if (environment.realExternalProfiles().containsKey(this.name)) {
-      return environment.realExternalProfiles().get(this.name);
-    } else if (environment.discreteExternalProfiles().containsKey(this.name)) {
-      return convertDiscreteProfile(environment.discreteExternalProfiles().get(this.name));
-    }
+    return environment.cache().get(this, bounds, environment, () -> {
+      if (results.realProfiles.containsKey(this.name)) {
+        return results.realProfile(this.name, bounds);
+      } else if (results.discreteProfiles.containsKey(this.name)) {
+        return convertDiscreteProfile(results.discreteProfile(this.name, bounds));
+      } else if (environment.realExternalProfiles().containsKey(this.name)) {
+        return environment.realExternalProfiles().get(this.name);
+      } else if (environment.discreteExternalProfiles().containsKey(this.name)) {
+        return convertDiscreteProfile(environment.discreteExternalProfiles().get(this.name));
+      }
 
-    throw new InputMismatchException(String.format("%s is not a valid resource", this.name));
+      throw new InputMismatchException(String.format("%s is not a valid resource", this.name));
+    });
   }
 
   private LinearProfile convertDiscreteProfile(final DiscreteProfile profile) {
@@ -0,0 +1,111 @@
+package gov.nasa.jpl.aerie.constraints.model;
+
+import gov.nasa.jpl.aerie.constraints.time.Interval;
+import gov.nasa.jpl.aerie.constraints.tree.Expression;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class EvaluationCacheTest {
+  /** An expression that counts how many times it has actually been evaluated. */
+  private record Counting(String name, AtomicInteger evaluations) implements Expression<Integer> {
+    @Override
+    public Integer evaluate(final SimulationResults results, final Interval bounds, final EvaluationEnvironment environment) {
+      return environment.cache().get(this, bounds, environment, () -> {
+        if (this.name.equals("fail")) throw new IllegalStateException("fail");
+        return this.evaluations.incrementAndGet();
+      });
+    }
+
+    @Override
+    public String prettyPrint(final String prefix) {
+      return prefix + this.name;
+    }
+
+    @Override
+    public void extractResources(final Set<String> names) {
+    }
+  }
+
+  private static final Interval BOUNDS = Interval.between(0, 10, SECONDS);
+
+  @Test
+  public void testEqualExpressionsAreEvaluatedOnce() {
+    final var evaluations = new AtomicInteger();
+    final var environment = new EvaluationEnvironment(Map.of(), Map.of(), new EvaluationCache());
+
+    assertEquals(1, (int) new Counting("a", evaluations).evaluate(null, BOUNDS, environment));
+    assertEquals(1, (int) new Counting("a", evaluations).evaluate(null, BOUNDS, environment));
+    assertEquals(2, (int) new Counting("b", evaluations).evaluate(null, BOUNDS, environment));
+    assertEquals(3, (int) new Counting("a", evaluations).evaluate(null, Interval.between(0, 5, SECONDS), environment));
+    assertEquals(3, environment.cache().size());
+  }
+
+  @Test
+  public void testDisabledCacheEvaluatesEveryTime() {
+    final var evaluations = new AtomicInteger();
+    final var environment = new EvaluationEnvironment();
+
+    new Counting("a", evaluations).evaluate(null, BOUNDS, environment);
+    new Counting("a", evaluations).evaluate(null, BOUNDS, environment);
+    assertEquals(2, evaluations.get());
+  }
+
+  @Test
+  public void testBoundExpressionsAreNotCached() {
+    final var evaluations = new AtomicInteger();
+    final var cache = new EvaluationCache();
+    final var activity = new ActivityInstance(1, "A", Map.of("x", SerializedValue.of(1)), BOUNDS, Optional.empty());
+    final var environment = new EvaluationEnvironment(Map.of("a", activity), Map.of(), Map.of(), Map.of(), Map.of(), cache);
+
+    new Counting("a", evaluations).evaluate(null, BOUNDS, environment);
+    new Counting("a", evaluations).evaluate(null, BOUNDS, environment);
+    assertEquals(2, evaluations.get());
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testFailuresAreSharedToo() {
+    final var environment = new EvaluationEnvironment(Map.of(), Map.of(), new EvaluationCache());
+    final var expression = new Counting("fail", new AtomicInteger());
+
+    assertThrows(IllegalStateException.class, () -> expression.evaluate(null, BOUNDS, environment));
+    assertThrows(IllegalStateException.class, () -> expression.evaluate(null, BOUNDS, environment));
+  }
+
+  @Test
+  public void testConcurrentEvaluationsShareOneResult() throws Exception {
+    final var evaluations = new AtomicInteger();
+    final var environment = new EvaluationEnvironment(Map.of(), Map.of(), new EvaluationCache());
+    final var executor = Executors.newFixedThreadPool(8);
+    final var start = new CountDownLatch(1);
+
+    try {
+      final var futures = new ArrayList<Future<Integer>>();
+      for (var i = 0; i < 8; i++) {
+        futures.add(executor.submit(() -> {
+          start.await();
+          return new Counting("a", evaluations).evaluate(null, BOUNDS, environment);
+        }));
+      }
+      start.countDown();
+
+      for (final var future : futures) assertEquals(1, (int) future.get());
+      assertEquals(1, evaluations.get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,89 @@
+package gov.nasa.jpl.aerie.constraints.model;
+
+import gov.nasa.jpl.aerie.constraints.time.Interval;
+import gov.nasa.jpl.aerie.merlin.driver.engine.ProfileSegment;
+import gov.nasa.jpl.aerie.merlin.driver.resources.ResourceProfile;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import gov.nasa.jpl.aerie.merlin.protocol.types.ValueSchema;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static gov.nasa.jpl.aerie.constraints.time.Interval.Inclusivity.Exclusive;
+import static gov.nasa.jpl.aerie.constraints.time.Interval.Inclusivity.Inclusive;
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SimulatedProfileMapTest {
+  private static final Duration END = Duration.of(1_000, SECONDS);
+
+  private static List<ProfileSegment<SerializedValue>> makeSegments() {
+    final var random = new Random(0);
+    final var segments = new ArrayList<ProfileSegment<SerializedValue>>();
+    var total = Duration.ZERO;
+    while (total.shorterThan(END)) {
+      final var extent = Duration.min(Duration.of(random.nextInt(20), SECONDS), END.minus(total));
+      segments.add(new ProfileSegment<>(extent, SerializedValue.of(random.nextInt(3))));
+      total = total.plus(extent);
+    }
+    return segments;
+  }
+
+  private static SimulatedProfileMap<SerializedValue, DiscreteProfile> makeMap(
+      final List<ProfileSegment<SerializedValue>> segments)
+  {
+    return new SimulatedProfileMap<>(
+        Map.of("/x", ResourceProfile.of(ValueSchema.INT, segments)),
+        DiscreteProfile::fromSimulatedSegments);
+  }
+
+  @Test
+  public void testWholeProfileMatchesEagerConversion() {
+    final var segments = makeSegments();
+    final var map = makeMap(segments);
+
+    assertEquals(DiscreteProfile.fromSimulatedProfile(segments), map.get("/x"));
+    assertSame(map.get("/x"), map.get("/x"));
+    assertSame(map.get("/x"), map.get("/x", Interval.between(0, 1, SECONDS)));
+    assertNull(map.get("/y"));
+  }
+
+  @Test
+  public void testWindowedProfileMatchesWithinBounds() {
+    final var segments = makeSegments();
+    final var whole = DiscreteProfile.fromSimulatedProfile(segments);
+    final var map = makeMap(segments);
+    final var random = new Random(1);
+
+    for (var i = 0; i < 200; i++) {
+      final var start = random.nextInt(1_100) - 50;
+      final var end = start + random.nextInt(100);
+      final var bounds = Interval.between(
+          start, random.nextBoolean() ? Inclusive : Exclusive,
+          end, random.nextBoolean() ? Inclusive : Exclusive,
+          SECONDS);
+
+      final var windowed = map.get("/x", bounds);
+
+      assertEquals(whole.profilePieces.select(bounds), windowed.profilePieces.select(bounds));
+      assertEquals(whole.changePoints().select(bounds), windowed.changePoints().select(bounds));
+    }
+  }
+
+  @Test
+  public void testWindowedProfileConvertsOnlyOverlappingSegments() {
+    final var map = makeMap(makeSegments());
+    final var windowed = map.get("/x", Interval.between(500, 510, SECONDS));
+
+    var count = 0;
+    for (final var ignored : windowed) count++;
+    assertTrue(count < 10, "expected only a few segments, got " + count);
+  }
+}
@@ -56,6 +56,11 @@ public final class CounterCell<T> {
       return new CounterCell<>(cell.value, cell.adder, cell.duplicator);
     }
 
+    @Override
+    public boolean isReadOnly() {
+      return true;
+    }
+
     @Override
     public void apply(final CounterCell<T> cell, final T effect) {
       cell.value = cell.adder.apply(cell.value, effect);
@@ -70,6 +70,11 @@ public final class DurativeRealCell {
       return new DurativeRealCell(cell.activeEffects, cell.elapsedTime);
     }
 
+    @Override
+    public boolean isReadOnly() {
+      return true;
+    }
+
     @Override
     public void apply(final DurativeRealCell cell, final Collection<Pair<Duration, RealDynamics>> effects) {
       for (final var effect : effects) {
@@ -55,6 +55,11 @@ public final class LinearIntegrationCell {
       return new LinearIntegrationCell(cell.initialVolume, cell.rate, cell.accumulatedVolume);
     }
 
+    @Override
+    public boolean isReadOnly() {
+      return true;
+    }
+
     @Override
     public void apply(final LinearIntegrationCell cell, final LinearAccumulationEffect effect) {
       cell.accumulatedVolume += effect.deltaVolume;
@@ -53,6 +53,11 @@ public final class RegisterCell<T> {
       return new RegisterCell<>(cell.duplicator, cell.value, cell.conflicted);
     }
 
+    @Override
+    public boolean isReadOnly() {
+      return true;
+    }
+
     @Override
     public void apply(final RegisterCell<T> cell, final RegisterEffect<T> effect) {
       if (effect.newValue != null) {
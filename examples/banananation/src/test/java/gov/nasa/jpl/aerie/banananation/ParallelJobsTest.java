@@ -0,0 +1,235 @@
+package gov.nasa.jpl.aerie.banananation;
+
+import gov.nasa.jpl.aerie.banananation.generated.GeneratedModelType;
+import gov.nasa.jpl.aerie.merlin.driver.DirectiveTypeRegistry;
+import gov.nasa.jpl.aerie.merlin.driver.MissionModel;
+import gov.nasa.jpl.aerie.merlin.driver.MissionModelBuilder;
+import gov.nasa.jpl.aerie.merlin.driver.SimulationDriver;
+import gov.nasa.jpl.aerie.merlin.driver.SimulationResults;
+import gov.nasa.jpl.aerie.merlin.driver.UnfinishedActivity;
+import gov.nasa.jpl.aerie.merlin.driver.engine.EventRecord;
+import gov.nasa.jpl.aerie.merlin.driver.resources.InMemorySimulationResourceManager;
+import gov.nasa.jpl.aerie.merlin.driver.timeline.EventGraph;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import gov.nasa.jpl.aerie.types.ActivityDirective;
+import gov.nasa.jpl.aerie.types.ActivityDirectiveId;
+import gov.nasa.jpl.aerie.types.ActivityInstance;
+import gov.nasa.jpl.aerie.types.ActivityInstanceId;
+import gov.nasa.jpl.aerie.types.SerializedActivity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.DAYS;
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.MINUTES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public final class ParallelJobsTest {
+  @Test
+  @DisplayName("Performing the jobs of a batch in parallel gives the same results as performing them serially")
+  public void parallelMatchesSerial() {
+    final var schedule = new HashMap<ActivityDirectiveId, ActivityDirective>();
+    for (long i = 0; i < 300; i++) {
+      // Pile the activities up on a handful of instants so that every batch holds many jobs.
+      schedule.put(
+          new ActivityDirectiveId(i),
+          new ActivityDirective(Duration.of(i % 5, MINUTES), makeActivity(i), null, true));
+    }
+
+    final var simulationDuration = Duration.of(90, DAYS);
+    final var serial = simulate(schedule, simulationDuration, false);
+    final var parallel = simulate(schedule, simulationDuration, true);
+
+    assertEquals(canonicalize(serial), canonicalize(parallel));
+  }
+
+  private static SerializedActivity makeActivity(final long index) {
+    return switch ((int) (index % 4)) {
+      // Decomposes into children and grandchildren, whose instance ids are assigned by the engine.
+      case 0 -> new SerializedActivity("parent", Map.of("label", SerializedValue.of("parent " + index)));
+      case 1 -> new SerializedActivity("GrowBanana", Map.of());
+      case 2 -> new SerializedActivity("BiteBanana", Map.of("biteSize", SerializedValue.of(0.5)));
+      default -> new SerializedActivity("PeelBanana", Map.of());
+    };
+  }
+
+  private static SimulationResults simulate(
+      final Map<ActivityDirectiveId, ActivityDirective> schedule,
+      final Duration simulationDuration,
+      final boolean parallelJobs)
+  {
+    return SimulationDriver.simulate(
+        makeMissionModel(),
+        schedule,
+        Instant.EPOCH,
+        simulationDuration,
+        Instant.EPOCH,
+        simulationDuration,
+        () -> false,
+        $ -> {},
+        new InMemorySimulationResourceManager(),
+        parallelJobs);
+  }
+
+  private static MissionModel<Mission> makeMissionModel() {
+    final var dataPath = Path.of(ParallelJobsTest.class.getResource("data/lorem_ipsum.txt").getPath());
+    final var config = new Configuration(
+        Configuration.DEFAULT_PLANT_COUNT,
+        Configuration.DEFAULT_PRODUCER,
+        dataPath,
+        Configuration.DEFAULT_INITIAL_CONDITIONS);
+
+    final var builder = new MissionModelBuilder();
+    final var factory = new GeneratedModelType();
+    final var registry = DirectiveTypeRegistry.extract(factory);
+    final var model = factory.instantiate(Instant.EPOCH, config, builder);
+    return builder.build(model, registry);
+  }
+
+  /**
+   * Two runs of the same plan differ only in choices the engine makes arbitrarily, even when both run serially:
+   * the ids of activities not backed by a directive follow the order in which they were spawned,
+   * and the branches of concurrent events follow the order in which the jobs of a batch were performed.
+   * This renumbers those activities by their place in the activity tree, and puts concurrent events in a
+   * fixed order, so that the results of two runs can be compared as a whole.
+   */
+  private static SimulationResults canonicalize(final SimulationResults results) {
+    final var activities = new HashMap<ActivityInstanceId, ActivityKey>();
+    results.simulatedActivities.forEach((id, activity) -> activities.put(id, new ActivityKey(
+        activity.type(), activity.arguments(), activity.start(), activity.parentId(), activity.directiveId())));
+    results.unfinishedActivities.forEach((id, activity) -> activities.put(id, new ActivityKey(
+        activity.type(), activity.arguments(), activity.start(), activity.parentId(), activity.directiveId())));
+
+    // Directive-backed activities keep their ids; the others are numbered after them, in order of their path.
+    final var paths = new HashMap<ActivityInstanceId, String>();
+    activities.keySet().forEach(id -> pathOf(id, activities, paths));
+
+    final var renaming = new HashMap<ActivityInstanceId, ActivityInstanceId>();
+    var nextId = activities.keySet().stream().mapToLong(ActivityInstanceId::id).max().orElse(0L) + 1;
+    final var spawned = new ArrayList<ActivityInstanceId>();
+    for (final var id : activities.keySet()) {
+      if (activities.get(id).directiveId().isPresent()) renaming.put(id, id);
+      else spawned.add(id);
+    }
+    spawned.sort(Comparator.comparing(paths::get));
+    for (final var id : spawned) renaming.put(id, new ActivityInstanceId(nextId++));
+
+    final var simulatedActivities = new HashMap<ActivityInstanceId, ActivityInstance>();
+    results.simulatedActivities.forEach((id, activity) -> simulatedActivities.put(renaming.get(id), new ActivityInstance(
+        activity.type(),
+        activity.arguments(),
+        activity.start(),
+        activity.duration(),
+        renaming.get(activity.parentId()),
+        rename(activity.childIds(), renaming),
+        activity.directiveId(),
+        activity.computedAttributes())));
+
+    final var unfinishedActivities = new HashMap<ActivityInstanceId, UnfinishedActivity>();
+    results.unfinishedActivities.forEach((id, activity) -> unfinishedActivities.put(renaming.get(id), new UnfinishedActivity(
+        activity.type(),
+        activity.arguments(),
+        activity.start(),
+        renaming.get(activity.parentId()),
+        rename(activity.childIds(), renaming),
+        activity.directiveId())));
+
+    final var events = new HashMap<Duration, List<EventGraph<EventRecord>>>();
+    results.events.forEach((time, commits) -> events.put(
+        time,
+        commits.stream().map(commit -> canonicalize(commit, renaming)).toList()));
+
+    return new SimulationResults(
+        results.realProfiles,
+        results.discreteProfiles,
+        simulatedActivities,
+        unfinishedActivities,
+        results.startTime,
+        results.duration,
+        results.topics,
+        events);
+  }
+
+  private record ActivityKey(
+      String type,
+      Map<String, SerializedValue> arguments,
+      Instant start,
+      ActivityInstanceId parentId,
+      Optional<ActivityDirectiveId> directiveId) {}
+
+  /** Describes an activity by its own attributes and those of its ancestors, up to the directive it descends from. */
+  private static String pathOf(
+      final ActivityInstanceId id,
+      final Map<ActivityInstanceId, ActivityKey> activities,
+      final Map<ActivityInstanceId, String> paths)
+  {
+    final var cached = paths.get(id);
+    if (cached != null) return cached;
+
+    final var activity = activities.get(id);
+    final String path;
+    if (activity.directiveId().isPresent()) {
+      path = "directive %d".formatted(activity.directiveId().get().id());
+    } else {
+      final var parentPath = (activity.parentId() == null) ? "" : pathOf(activity.parentId(), activities, paths);
+      path = "%s / %s %s at %s".formatted(parentPath, activity.type(), new TreeMap<>(activity.arguments()), activity.start());
+    }
+    paths.put(id, path);
+    return path;
+  }
+
+  private static List<ActivityInstanceId> rename(
+      final List<ActivityInstanceId> ids,
+      final Map<ActivityInstanceId, ActivityInstanceId> renaming)
+  {
+    return ids.stream().map(renaming::get).sorted(Comparator.comparingLong(ActivityInstanceId::id)).toList();
+  }
+
+  /** Renames the activities of a graph of events, and puts the branches of each concurrent node in a fixed order. */
+  private static EventGraph<EventRecord> canonicalize(
+      final EventGraph<EventRecord> graph,
+      final Map<ActivityInstanceId, ActivityInstanceId> renaming)
+  {
+    return switch (graph) {
+      case EventGraph.Empty<EventRecord> g -> EventGraph.empty();
+      case EventGraph.Atom<EventRecord> g -> EventGraph.atom(new EventRecord(
+          g.atom().topicId(),
+          g.atom().spanId().map(id -> renaming.get(new ActivityInstanceId(id)).id()),
+          g.atom().value()));
+      case EventGraph.Sequentially<EventRecord> g ->
+          EventGraph.sequentially(canonicalize(g.prefix(), renaming), canonicalize(g.suffix(), renaming));
+      case EventGraph.Concurrently<EventRecord> g -> {
+        final var branches = new ArrayList<EventGraph<EventRecord>>();
+        collectBranches(g, renaming, branches);
+        branches.sort(Comparator.comparing(EventGraph::toString));
+
+        var canonical = EventGraph.<EventRecord>empty();
+        for (final var branch : branches) canonical = EventGraph.concurrently(canonical, branch);
+        yield canonical;
+      }
+    };
+  }
+
+  private static void collectBranches(
+      final EventGraph<EventRecord> graph,
+      final Map<ActivityInstanceId, ActivityInstanceId> renaming,
+      final List<EventGraph<EventRecord>> branches)
+  {
+    if (graph instanceof EventGraph.Concurrently<EventRecord> g) {
+      collectBranches(g.left(), renaming, branches);
+      collectBranches(g.right(), renaming, branches);
+    } else if (!(graph instanceof EventGraph.Empty)) {
+      branches.add(canonicalize(graph, renaming));
+    }
+  }
+}
@@ -0,0 +1,94 @@
+package gov.nasa.jpl.aerie.merlin.driver;
+
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import gov.nasa.jpl.aerie.types.ActivityDirective;
+import gov.nasa.jpl.aerie.types.ActivityDirectiveId;
+import gov.nasa.jpl.aerie.types.SerializedActivity;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/** The example mission models exercised by the simulation benchmarks, along with plans of a given size for each. */
+public final class BenchmarkModels {
+  private BenchmarkModels() {}
+
+  /** The spacing between consecutive activities in the generated plans. */
+  public static final Duration ACTIVITY_SPACING = Duration.MINUTE;
+
+  public static MissionModel<?> makeMissionModel(final String model) {
+    return switch (model) {
+      case "foo" -> makeFooMissionModel();
+      case "banananation" -> makeBanananationMissionModel();
+      default -> throw new IllegalArgumentException("Unknown mission model: " + model);
+    };
+  }
+
+  public static Map<ActivityDirectiveId, ActivityDirective> makePlan(final String model, final int activityCount) {
+    final var plan = new HashMap<ActivityDirectiveId, ActivityDirective>();
+    for (long i = 0; i < activityCount; i++) {
+      plan.put(
+          new ActivityDirectiveId(i),
+          new ActivityDirective(ACTIVITY_SPACING.times(i), makeActivity(model, i), null, true));
+    }
+    return plan;
+  }
+
+  /** A horizon comfortably past the end of the last activity in a plan of the given size. */
+  public static Duration planDuration(final int activityCount) {
+    return ACTIVITY_SPACING.times(activityCount).plus(Duration.HOUR);
+  }
+
+  private static SerializedActivity makeActivity(final String model, final long index) {
+    return switch (model) {
+      case "foo" -> new SerializedActivity("foo", Map.of(
+          "x", SerializedValue.of(index % 10),
+          "y", SerializedValue.of("test"),
+          "z", SerializedValue.of(index)));
+      case "banananation" -> switch ((int) (index % 3)) {
+        case 0 -> new SerializedActivity("GrowBanana", Map.of());
+        case 1 -> new SerializedActivity("BiteBanana", Map.of("biteSize", SerializedValue.of(0.5)));
+        default -> new SerializedActivity("PeelBanana", Map.of());
+      };
+      default -> throw new IllegalArgumentException("Unknown mission model: " + model);
+    };
+  }
+
+  private static MissionModel<?> makeFooMissionModel() {
+    final var builder = new MissionModelBuilder();
+    final var factory = new gov.nasa.jpl.aerie.foomissionmodel.generated.GeneratedModelType();
+    final var registry = DirectiveTypeRegistry.extract(factory);
+    final var model = factory.instantiate(Instant.EPOCH, new gov.nasa.jpl.aerie.foomissionmodel.Configuration(), builder);
+    return builder.build(model, registry);
+  }
+
+  private static MissionModel<?> makeBanananationMissionModel() {
+    final var config = new gov.nasa.jpl.aerie.banananation.Configuration(
+        gov.nasa.jpl.aerie.banananation.Configuration.DEFAULT_PLANT_COUNT,
+        gov.nasa.jpl.aerie.banananation.Configuration.DEFAULT_PRODUCER,
+        makeDataFile(),
+        gov.nasa.jpl.aerie.banananation.Configuration.DEFAULT_INITIAL_CONDITIONS);
+
+    final var builder = new MissionModelBuilder();
+    final var factory = new gov.nasa.jpl.aerie.banananation.generated.GeneratedModelType();
+    final var registry = DirectiveTypeRegistry.extract(factory);
+    final var model = factory.instantiate(Instant.EPOCH, config, builder);
+    return builder.build(model, registry);
+  }
+
+  private static Path makeDataFile() {
+    try {
+      final var path = Files.createTempFile("banananation", ".txt");
+      path.toFile().deleteOnExit();
+      Files.writeString(path, "Lorem ipsum dolor sit amet,\nconsectetur adipiscing elit.\n");
+      return path;
+    } catch (final IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+}
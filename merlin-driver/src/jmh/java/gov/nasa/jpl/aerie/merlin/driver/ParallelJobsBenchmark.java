@@ -0,0 +1,72 @@
+package gov.nasa.jpl.aerie.merlin.driver;
+
+import gov.nasa.jpl.aerie.merlin.driver.resources.InMemorySimulationResourceManager;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.types.ActivityDirective;
+import gov.nasa.jpl.aerie.types.ActivityDirectiveId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares performing the jobs of each batch serially against performing them concurrently,
+ * on plans whose activities all start at the same instant, so that every step of the plan is one large batch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class ParallelJobsBenchmark {
+  @Param({"foo", "banananation"})
+  public String model;
+
+  @Param({"100", "1000"})
+  public int activityCount;
+
+  @Param({"false", "true"})
+  public boolean parallelJobs;
+
+  private Map<ActivityDirectiveId, ActivityDirective> plan;
+
+  @Setup
+  public void setup() {
+    this.plan = new HashMap<>();
+    BenchmarkModels.makePlan(this.model, this.activityCount).forEach((id, directive) -> this.plan.put(
+        id,
+        new ActivityDirective(Duration.ZERO, directive.serializedActivity(), null, true)));
+  }
+
+  @Benchmark
+  public SimulationResults simulate() {
+    // Mission models are stateful, so each simulation needs a fresh instance.
+    final var missionModel = BenchmarkModels.makeMissionModel(this.model);
+    final var planDuration = Duration.HOUR;
+
+    return SimulationDriver.simulate(
+        missionModel,
+        this.plan,
+        Instant.EPOCH,
+        planDuration,
+        Instant.EPOCH,
+        planDuration,
+        () -> false,
+        $ -> {},
+        new InMemorySimulationResourceManager(),
+        this.parallelJobs);
+  }
+}
@@ -0,0 +1,57 @@
+package gov.nasa.jpl.aerie.merlin.driver;
+
+import gov.nasa.jpl.aerie.types.ActivityDirective;
+import gov.nasa.jpl.aerie.types.ActivityDirectiveId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/** Measures end-to-end simulation of the example mission models, including the computation of results. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class SimulationDriverBenchmark {
+  @Param({"foo", "banananation"})
+  public String model;
+
+  @Param({"10", "100", "1000"})
+  public int activityCount;
+
+  private Map<ActivityDirectiveId, ActivityDirective> plan;
+
+  @Setup
+  public void setup() {
+    this.plan = BenchmarkModels.makePlan(this.model, this.activityCount);
+  }
+
+  @Benchmark
+  public SimulationResults simulate() {
+    // Mission models are stateful, so each simulation needs a fresh instance.
+    final var missionModel = BenchmarkModels.makeMissionModel(this.model);
+    final var planDuration = BenchmarkModels.planDuration(this.activityCount);
+
+    return SimulationDriver.simulate(
+        missionModel,
+        this.plan,
+        Instant.EPOCH,
+        planDuration,
+        Instant.EPOCH,
+        planDuration,
+        () -> false);
+  }
+}
@@ -0,0 +1,116 @@
+package gov.nasa.jpl.aerie.merlin.driver.engine;
+
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of filling a {@link JobSchedule} and then draining it batch by batch, against that of the
+ * {@link SkipListJobSchedule} it replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class JobScheduleBenchmark {
+  @Param({"heap", "skipList"})
+  public String implementation;
+
+  @Param({"1000", "100000"})
+  public int jobCount;
+
+  /** The number of distinct instants the jobs are spread over; smaller values yield larger batches. */
+  @Param({"100", "10000"})
+  public int instantCount;
+
+  private SchedulingInstant[] times;
+
+  @Setup
+  public void setup() {
+    final var random = new Random(0);
+    final var subInstants = SubInstant.values();
+
+    this.times = new SchedulingInstant[this.jobCount];
+    for (var i = 0; i < this.jobCount; i += 1) {
+      final var offset = Duration.of(random.nextInt(this.instantCount), Duration.SECONDS);
+      this.times[i] = subInstants[random.nextInt(subInstants.length)].at(offset);
+    }
+  }
+
+  @Benchmark
+  public void scheduleAndExtract(final Blackhole blackhole) {
+    final var schedule = makeSchedule();
+    for (var i = 0; i < this.jobCount; i += 1) {
+      schedule.schedule(i, this.times[i]);
+    }
+
+    while (true) {
+      final var batch = schedule.extractNextJobs(Duration.MAX_VALUE);
+      if (batch.jobs().isEmpty()) break;
+      blackhole.consume(batch);
+    }
+  }
+
+  @Benchmark
+  public void reschedule(final Blackhole blackhole) {
+    // Tasks that repeatedly wait on conditions are rescheduled many times before they are extracted.
+    final var schedule = makeSchedule();
+    for (var i = 0; i < this.jobCount; i += 1) {
+      schedule.schedule(i % 1000, this.times[i]);
+    }
+    blackhole.consume(schedule.extractNextJobs(Duration.MAX_VALUE));
+  }
+
+  /** The operations common to both implementations. */
+  private interface Schedule {
+    void schedule(int job, SchedulingInstant time);
+    JobSchedule.Batch<Integer> extractNextJobs(Duration maximumTime);
+  }
+
+  private Schedule makeSchedule() {
+    return switch (this.implementation) {
+      case "heap" -> new Schedule() {
+        private final JobSchedule<Integer, SchedulingInstant> schedule = new JobSchedule<>();
+
+        @Override
+        public void schedule(final int job, final SchedulingInstant time) {
+          this.schedule.schedule(job, time);
+        }
+
+        @Override
+        public JobSchedule.Batch<Integer> extractNextJobs(final Duration maximumTime) {
+          return this.schedule.extractNextJobs(maximumTime);
+        }
+      };
+      case "skipList" -> new Schedule() {
+        private final SkipListJobSchedule<Integer, SchedulingInstant> schedule = new SkipListJobSchedule<>();
+
+        @Override
+        public void schedule(final int job, final SchedulingInstant time) {
+          this.schedule.schedule(job, time);
+        }
+
+        @Override
+        public JobSchedule.Batch<Integer> extractNextJobs(final Duration maximumTime) {
+          return this.schedule.extractNextJobs(maximumTime);
+        }
+      };
+      default -> throw new IllegalArgumentException("Unknown job schedule implementation: " + this.implementation);
+    };
+  }
+}
@@ -0,0 +1,67 @@
+package gov.nasa.jpl.aerie.merlin.driver.engine;
+
+import gov.nasa.jpl.aerie.merlin.driver.BenchmarkModels;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link SimulationEngine#step} in isolation, by stepping a freshly initialized engine
+ * through an entire plan without collecting resource profiles or computing results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class SimulationEngineBenchmark {
+  @Param({"foo", "banananation"})
+  public String model;
+
+  @Param({"100", "1000"})
+  public int activityCount;
+
+  private SimulationEngine engine;
+  private Duration planDuration;
+
+  @Setup(Level.Invocation)
+  public void setup() throws Throwable {
+    final var missionModel = BenchmarkModels.makeMissionModel(this.model);
+    final var plan = BenchmarkModels.makePlan(this.model, this.activityCount);
+    this.planDuration = BenchmarkModels.planDuration(this.activityCount);
+
+    this.engine = new SimulationEngine(missionModel.getInitialCells());
+    this.engine.init(missionModel.getResources(), missionModel.getDaemon());
+    for (final var directive : plan.values()) {
+      this.engine.scheduleTask(directive.startOffset(), missionModel.getTaskFactory(directive.serializedActivity()));
+    }
+  }
+
+  @TearDown(Level.Invocation)
+  public void tearDown() {
+    this.engine.close();
+  }
+
+  @Benchmark
+  public int stepToCompletion() throws Throwable {
+    var steps = 0;
+    while (this.engine.step(this.planDuration) instanceof SimulationEngine.Status.Nominal) {
+      steps += 1;
+    }
+    return steps;
+  }
+}
@@ -0,0 +1,131 @@
+package gov.nasa.jpl.aerie.merlin.driver.engine;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of subscribing queries to topics and invalidating every topic in turn,
+ * as the engine does when the events of each step invalidate the conditions and resources that read them,
+ * against that of the {@link HashSetSubscriptions} that {@link Subscriptions} replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class SubscriptionsBenchmark {
+  @Param({"bitset", "hashSet"})
+  public String implementation;
+
+  @Param({"100", "10000"})
+  public int queryCount;
+
+  @Param({"10", "1000"})
+  public int topicCount;
+
+  /** The number of topics each query depends on. */
+  @Param({"1", "8"})
+  public int topicsPerQuery;
+
+  private int[][] topicsByQuery;
+
+  @Setup
+  public void setup() {
+    final var random = new Random(0);
+
+    this.topicsByQuery = new int[this.queryCount][this.topicsPerQuery];
+    for (var query = 0; query < this.queryCount; query += 1) {
+      for (var k = 0; k < this.topicsPerQuery; k += 1) {
+        this.topicsByQuery[query][k] = random.nextInt(this.topicCount);
+      }
+    }
+  }
+
+  @Benchmark
+  public void subscribeAndInvalidate(final Blackhole blackhole) {
+    final var subscriptions = makeSubscriptions();
+    for (var query = 0; query < this.queryCount; query += 1) {
+      subscriptions.subscribeQuery(query, this.topicsByQuery[query]);
+    }
+
+    for (var topic = 0; topic < this.topicCount; topic += 1) {
+      blackhole.consume(subscriptions.invalidateTopic(topic));
+    }
+  }
+
+  @Benchmark
+  public void invalidateAndReevaluate(final Blackhole blackhole) {
+    // Each invalidated query is re-evaluated against the same topics, as most conditions and resources are.
+    final var subscriptions = makeSubscriptions();
+    for (var query = 0; query < this.queryCount; query += 1) {
+      subscriptions.subscribeQuery(query, this.topicsByQuery[query]);
+    }
+
+    for (var topic = 0; topic < this.topicCount; topic += 1) {
+      final var queries = subscriptions.invalidateTopic(topic);
+      for (final var query : queries) {
+        subscriptions.subscribeQuery(query, this.topicsByQuery[query]);
+      }
+      blackhole.consume(queries);
+    }
+  }
+
+  /** The operations common to both implementations, each building its topic set as the engine would. */
+  private interface Index {
+    void subscribeQuery(int query, int[] topics);
+    Collection<Integer> invalidateTopic(int topic);
+  }
+
+  private Index makeSubscriptions() {
+    return switch (this.implementation) {
+      case "bitset" -> new Index() {
+        private final Subscriptions<Integer, Integer> subscriptions = new Subscriptions<>();
+
+        @Override
+        public void subscribeQuery(final int query, final int[] topics) {
+          final var topicSet = new Subscriptions.TopicSet<Integer>();
+          for (final var topic : topics) topicSet.add(topic, topic);
+          this.subscriptions.subscribeQuery(query, topicSet);
+        }
+
+        @Override
+        public Collection<Integer> invalidateTopic(final int topic) {
+          return this.subscriptions.invalidateTopic(topic);
+        }
+      };
+      case "hashSet" -> new Index() {
+        private final HashSetSubscriptions<Integer, Integer> subscriptions = new HashSetSubscriptions<>();
+
+        @Override
+        public void subscribeQuery(final int query, final int[] topics) {
+          final Set<Integer> topicSet = new HashSet<>();
+          for (final var topic : topics) topicSet.add(topic);
+          this.subscriptions.subscribeQuery(query, topicSet);
+        }
+
+        @Override
+        public Collection<Integer> invalidateTopic(final int topic) {
+          return this.subscriptions.invalidateTopic(topic);
+        }
+      };
+      default -> throw new IllegalArgumentException("Unknown subscriptions implementation: " + this.implementation);
+    };
+  }
+}
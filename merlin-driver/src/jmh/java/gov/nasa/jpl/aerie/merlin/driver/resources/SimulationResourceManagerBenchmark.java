@@ -0,0 +1,107 @@
+package gov.nasa.jpl.aerie.merlin.driver.resources;
+
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.RealDynamics;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import gov.nasa.jpl.aerie.merlin.protocol.types.ValueSchema;
+import org.apache.commons.lang3.tuple.Pair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Compares the cost of recording and then materializing resource profiles with the resource managers.
+ * The streaming manager discards each batch it streams, so only the cost of buffering and batching is measured.
+ *
+ * Run with `-prof gc` to compare the allocation rate and retained size of the stores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class SimulationResourceManagerBenchmark {
+  @Param({"InMemory", "Compact", "Streaming"})
+  public String manager;
+
+  @Param({"10000"})
+  public int stepCount;
+
+  @Param({"50"})
+  public int resourceCount;
+
+  /** The percentage of updates which actually change their resource; the rest resample an unchanged value. */
+  @Param({"10", "100"})
+  public int changePercent;
+
+  private Supplier<SimulationResourceManager> factory;
+  private List<Map<String, Pair<ValueSchema, RealDynamics>>> realUpdates;
+  private List<Map<String, Pair<ValueSchema, SerializedValue>>> discreteUpdates;
+
+  @Setup
+  public void setup() {
+    this.factory = switch (this.manager) {
+      case "InMemory" -> InMemorySimulationResourceManager::new;
+      case "Compact" -> CompactSimulationResourceManager::new;
+      case "Streaming" -> () -> new StreamingSimulationResourceManager(new DiscardingStreamer());
+      default -> throw new IllegalArgumentException("Unknown resource manager: " + this.manager);
+    };
+
+    final var random = new Random(0);
+    final var realValues = new double[this.resourceCount];
+    final var discreteValues = new long[this.resourceCount];
+
+    this.realUpdates = new ArrayList<>(this.stepCount);
+    this.discreteUpdates = new ArrayList<>(this.stepCount);
+    for (var step = 0; step < this.stepCount; step += 1) {
+      final var real = new HashMap<String, Pair<ValueSchema, RealDynamics>>(this.resourceCount);
+      final var discrete = new HashMap<String, Pair<ValueSchema, SerializedValue>>(this.resourceCount);
+      for (var i = 0; i < this.resourceCount; i += 1) {
+        if (random.nextInt(100) < this.changePercent) realValues[i] = random.nextDouble();
+        if (random.nextInt(100) < this.changePercent) discreteValues[i] = random.nextInt(16);
+
+        real.put("real" + i, Pair.of(ValueSchema.REAL, RealDynamics.constant(realValues[i])));
+        discrete.put("discrete" + i, Pair.of(ValueSchema.INT, SerializedValue.of(discreteValues[i])));
+      }
+      this.realUpdates.add(real);
+      this.discreteUpdates.add(discrete);
+    }
+  }
+
+  @Benchmark
+  public ResourceProfiles recordAndCompute() {
+    final var resourceManager = this.factory.get();
+    for (var step = 0; step < this.stepCount; step += 1) {
+      resourceManager.acceptUpdates(
+          Duration.of(step, Duration.SECONDS),
+          this.realUpdates.get(step),
+          this.discreteUpdates.get(step));
+    }
+    return resourceManager.computeProfiles(Duration.of(this.stepCount, Duration.SECONDS));
+  }
+
+  private static final class DiscardingStreamer implements AsyncConsumer<ResourceProfiles> {
+    @Override
+    public void accept(final ResourceProfiles profiles) {}
+
+    @Override
+    public void close() {}
+  }
+}
@@ -0,0 +1,51 @@
+package gov.nasa.jpl.aerie.merlin.driver.timeline;
+
+import gov.nasa.jpl.aerie.merlin.protocol.model.CellType;
+import gov.nasa.jpl.aerie.merlin.protocol.model.EffectTrait;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+
+/* package-local */
+final class BenchmarkCells {
+  private BenchmarkCells() {}
+
+  /** An effect algebra over integers in which sequential effects add and concurrent effects take the maximum. */
+  public static final EffectTrait<Integer> EFFECT_TRAIT = new EffectTrait<>() {
+    @Override
+    public Integer empty() {
+      return 0;
+    }
+
+    @Override
+    public Integer sequentially(final Integer prefix, final Integer suffix) {
+      return prefix + suffix;
+    }
+
+    @Override
+    public Integer concurrently(final Integer left, final Integer right) {
+      return Math.max(left, right);
+    }
+  };
+
+  /** A cell that accumulates both its effects and the passage of time, so that neither can be optimized away. */
+  public static final CellType<Integer, long[]> ACCUMULATOR = new CellType<>() {
+    @Override
+    public EffectTrait<Integer> getEffectType() {
+      return EFFECT_TRAIT;
+    }
+
+    @Override
+    public long[] duplicate(final long[] state) {
+      return state.clone();
+    }
+
+    @Override
+    public void apply(final long[] state, final Integer effect) {
+      state[0] += effect;
+    }
+
+    @Override
+    public void step(final long[] state, final Duration duration) {
+      state[1] += duration.in(Duration.MICROSECONDS);
+    }
+  };
+}
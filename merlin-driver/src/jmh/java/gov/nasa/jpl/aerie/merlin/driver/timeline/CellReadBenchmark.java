@@ -0,0 +1,85 @@
+package gov.nasa.jpl.aerie.merlin.driver.timeline;
+
+import gov.nasa.jpl.aerie.merlin.driver.engine.SpanId;
+import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
+import gov.nasa.jpl.aerie.merlin.protocol.model.CellType;
+import gov.nasa.jpl.aerie.merlin.protocol.model.EffectTrait;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of reading a cell many times between changes, as a model does when several tasks
+ * inspect the same resource within a step.
+ *
+ * Run with {@code -prof gc} to compare the allocation rate of read-only cell types, whose reads share one copy
+ * of the state, against that of mutable ones, whose reads each copy the state.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class CellReadBenchmark {
+  @Param({"false", "true"})
+  public boolean readOnly;
+
+  @Param({"1", "1000"})
+  public int readsPerChange;
+
+  /** The number of words in the cell's state, standing in for how costly it is to copy. */
+  @Param({"64"})
+  public int stateSize;
+
+  private final Topic<Integer> topic = new Topic<>();
+  private Cell<long[]> cell;
+  private Event event;
+
+  @Setup
+  public void setup() {
+    this.cell = new Cell<>(
+        new ArrayCellType(this.readOnly),
+        new Selector<>(this.topic, $ -> $),
+        new IterativeEventGraphEvaluator(),
+        new long[this.stateSize]);
+    this.event = Event.create(this.topic, 1, SpanId.generate());
+  }
+
+  @Benchmark
+  public void readBetweenChanges(final Blackhole blackhole) {
+    this.cell.apply(this.event);
+    for (var i = 0; i < this.readsPerChange; i += 1) {
+      blackhole.consume(this.cell.getState());
+    }
+  }
+
+  /** A cell whose state is an array, the first word of which accumulates its effects. */
+  private record ArrayCellType(boolean isReadOnly) implements CellType<Integer, long[]> {
+    @Override
+    public EffectTrait<Integer> getEffectType() {
+      return BenchmarkCells.EFFECT_TRAIT;
+    }
+
+    @Override
+    public long[] duplicate(final long[] state) {
+      return state.clone();
+    }
+
+    @Override
+    public void apply(final long[] state, final Integer effect) {
+      state[0] += effect;
+    }
+  }
+}
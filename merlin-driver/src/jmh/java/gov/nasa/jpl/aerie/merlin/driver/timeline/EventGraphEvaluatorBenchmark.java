@@ -0,0 +1,80 @@
+package gov.nasa.jpl.aerie.merlin.driver.timeline;
+
+import gov.nasa.jpl.aerie.merlin.driver.engine.SpanId;
+import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/** Compares the iterative and recursive evaluation of event graphs of several shapes. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class EventGraphEvaluatorBenchmark {
+  @Param({"iterative", "recursive"})
+  public String evaluator;
+
+  /**
+   * The shape of the graph:
+   * "sequential" graphs are long chains, as emitted by a single task,
+   * while "concurrent" graphs are wide, as emitted by many tasks in the same step.
+   */
+  @Param({"sequential", "concurrent", "random"})
+  public String shape;
+
+  @Param({"16", "1024"})
+  public int eventCount;
+
+  private EventGraphEvaluator graphEvaluator;
+  private EventGraph<Event> graph;
+  private Selector<Integer> selector;
+
+  @Setup
+  public void setup() {
+    this.graphEvaluator = switch (this.evaluator) {
+      case "iterative" -> new IterativeEventGraphEvaluator();
+      case "recursive" -> new RecursiveEventGraphEvaluator();
+      default -> throw new IllegalArgumentException("Unknown evaluator: " + this.evaluator);
+    };
+
+    final var random = new Random(0);
+    final var topic = new Topic<Integer>();
+    final var otherTopic = new Topic<Integer>();
+    this.selector = new Selector<>(topic, $ -> $);
+
+    this.graph = EventGraph.empty();
+    for (var i = 0; i < this.eventCount; i += 1) {
+      // Half of the events belong to a topic the selector ignores.
+      final var event = EventGraph.atom(Event.create((i % 2 == 0) ? topic : otherTopic, i, SpanId.generate()));
+
+      this.graph = switch (this.shape) {
+        case "sequential" -> EventGraph.sequentially(this.graph, event);
+        case "concurrent" -> EventGraph.concurrently(this.graph, event);
+        case "random" -> (random.nextBoolean())
+            ? EventGraph.sequentially(this.graph, event)
+            : EventGraph.concurrently(event, this.graph);
+        default -> throw new IllegalArgumentException("Unknown shape: " + this.shape);
+      };
+    }
+  }
+
+  @Benchmark
+  public Optional<Integer> evaluate() {
+    return this.graphEvaluator.evaluate(BenchmarkCells.EFFECT_TRAIT, this.selector, this.graph);
+  }
+}
@@ -0,0 +1,74 @@
+package gov.nasa.jpl.aerie.merlin.driver.timeline;
+
+import gov.nasa.jpl.aerie.merlin.driver.engine.SpanId;
+import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of bringing a fresh cell up to the end of a long timeline,
+ * as happens when a cell is first read late in a simulation or in a duplicated engine.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class TemporalCursorBenchmark {
+  @Param({"10000", "1000000"})
+  public int pointCount;
+
+  /** The number of topics events are spread over; the cell under test listens to just one of them. */
+  @Param({"1", "100"})
+  public int topicCount;
+
+  private TemporalEventSource timeline;
+  private Cell<long[]> initialCell;
+
+  @Setup
+  public void setup() {
+    final var random = new Random(0);
+
+    final List<Topic<Integer>> topics = new ArrayList<>();
+    for (var i = 0; i < this.topicCount; i += 1) topics.add(new Topic<>());
+
+    this.timeline = new TemporalEventSource();
+    for (var i = 0; i < this.pointCount; i += 1) {
+      if (i % 2 == 0) {
+        this.timeline.add(Duration.of(1 + random.nextInt(1000), Duration.MICROSECONDS));
+      } else {
+        final var topic = topics.get(random.nextInt(this.topicCount));
+        this.timeline.add(EventGraph.atom(Event.create(topic, random.nextInt(10), SpanId.generate())));
+      }
+    }
+
+    this.initialCell = new Cell<>(
+        BenchmarkCells.ACCUMULATOR,
+        new Selector<>(topics.get(0), $ -> $),
+        new IterativeEventGraphEvaluator(),
+        new long[2]);
+  }
+
+  @Benchmark
+  public long[] stepUp() {
+    final var cell = this.initialCell.duplicate();
+    this.timeline.cursor().stepUp(cell);
+    return cell.getState();
+  }
+}
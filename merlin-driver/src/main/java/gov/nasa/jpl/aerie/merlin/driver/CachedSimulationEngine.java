@@ -28,6 +28,7 @@ public record CachedSimulationEngine(
 
     // Specify a topic on which tasks can log the activity they're associated with.
     final var activityTopic = new Topic<ActivityDirectiveId>();
+    engine.trackSpanInfo(activityTopic, missionModel.getTopics());
     try {
       engine.init(missionModel.getResources(), missionModel.getDaemon());
 
@@ -35,7 +36,7 @@ public record CachedSimulationEngine(
           Duration.MIN_VALUE,
           Map.of(),
           engine,
-          new Topic<>(),
+          activityTopic,
           missionModel,
           new InMemorySimulationResourceManager()
       );
@@ -105,6 +105,22 @@ public class CheckpointSimulationDriver {
     };
   }
 
+  /**
+   * Checkpoint policy that saves the simulation at each positive multiple of a period, as {@link #desiredCheckpoints}
+   * would for the list of those multiples, without building that list.
+   *
+   * @param period the time between two checkpoints, must be positive
+   */
+  public static Function<SimulationState, Boolean> periodicCheckpoints(final Duration period) {
+    if (!period.isPositive()) throw new IllegalArgumentException("Checkpoint period must be positive, got " + period);
+    final var periodInMicros = period.in(MICROSECONDS);
+    return simulationState -> {
+      // The first multiple of the period no earlier than the current time.
+      final var multiples = Math.max(1, Math.ceilDiv(simulationState.currentTime().in(MICROSECONDS), periodInMicros));
+      return simulationState.nextTime().longerThan(period.times(multiples));
+    };
+  }
+
   public static Function<SimulationState, Boolean> checkpointAtEnd(Function<SimulationState, Boolean> stoppingCondition) {
     return simulationState -> stoppingCondition.apply(simulationState) || simulationState.nextTime.equals(MAX_VALUE);
   }
@@ -183,6 +199,7 @@ public class CheckpointSimulationDriver {
     var engine = duplicationIsOk ? cachedEngine.simulationEngine().duplicate() : cachedEngine.simulationEngine();
     final var resourceManager = duplicationIsOk ? new InMemorySimulationResourceManager(cachedEngine.resourceManager()) : cachedEngine.resourceManager();
     engine.unscheduleAfter(cachedEngine.endsAt());
+    engine.trackSpanInfo(activityTopic, missionModel.getTopics());
 
     /* The current real time. */
     var elapsedTime = Duration.max(ZERO, cachedEngine.endsAt());
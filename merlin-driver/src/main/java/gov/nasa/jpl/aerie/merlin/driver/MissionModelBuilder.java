@@ -79,6 +79,8 @@ public final class MissionModelBuilder implements Initializer {
     private final Map<String, Resource<?>> resources = new HashMap<>();
     private final List<TaskFactory<?>> daemons = new ArrayList<>();
     private final List<MissionModel.SerializableTopic<?>> topics = new ArrayList<>();
+    /** A dense index for each topic read by a cell, in order of allocation. */
+    private final Map<Topic<?>, Integer> topicIndices = new HashMap<>();
 
     @Override
     public <State> State getInitialState(
@@ -113,7 +115,13 @@ public final class MissionModelBuilder implements Initializer {
           evaluator,
           initialState));
 
-      return new EngineCellId<>(topic, query);
+      var topicIndex = this.topicIndices.get(topic);
+      if (topicIndex == null) {
+        topicIndex = this.topicIndices.size();
+        this.topicIndices.put(topic, topicIndex);
+      }
+
+      return new EngineCellId<>(topic, query, topicIndex);
     }
 
     @Override
@@ -38,6 +38,14 @@ public final class MissionModelLoader {
         return loadMissionModel(planStart, missionModelConfig, modelType, builder);
     }
 
+    public static MissionModel<?> loadMissionModel(
+        final Instant planStart,
+        final SerializedValue missionModelConfig,
+        final ModelType<?, ?> modelType)
+    {
+        return loadMissionModel(planStart, missionModelConfig, modelType, new MissionModelBuilder());
+    }
+
     private static <Config, Model>
     MissionModel<Model> loadMissionModel(
         final Instant planStart,
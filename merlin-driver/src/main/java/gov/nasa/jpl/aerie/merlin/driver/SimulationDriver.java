@@ -2,6 +2,7 @@ package gov.nasa.jpl.aerie.merlin.driver;
 
 import gov.nasa.jpl.aerie.merlin.driver.engine.SimulationEngine;
 import gov.nasa.jpl.aerie.merlin.driver.engine.SpanException;
+import gov.nasa.jpl.aerie.merlin.driver.resources.AsyncConsumer;
 import gov.nasa.jpl.aerie.merlin.driver.resources.InMemorySimulationResourceManager;
 import gov.nasa.jpl.aerie.merlin.driver.resources.SimulationResourceManager;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
@@ -21,6 +22,7 @@ import java.time.temporal.ChronoUnit;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -57,13 +59,76 @@ public final class SimulationDriver {
       final Consumer<Duration> simulationExtentConsumer,
       final SimulationResourceManager resourceManager
   ) {
-    try (final var engine = new SimulationEngine(missionModel.getInitialCells())) {
+    return simulate(
+        missionModel,
+        schedule,
+        simulationStartTime,
+        simulationDuration,
+        planStartTime,
+        planDuration,
+        simulationCanceled,
+        simulationExtentConsumer,
+        resourceManager,
+        false);
+  }
+
+  public static <Model> SimulationResults simulate(
+      final MissionModel<Model> missionModel,
+      final Map<ActivityDirectiveId, ActivityDirective> schedule,
+      final Instant simulationStartTime,
+      final Duration simulationDuration,
+      final Instant planStartTime,
+      final Duration planDuration,
+      final Supplier<Boolean> simulationCanceled,
+      final Consumer<Duration> simulationExtentConsumer,
+      final SimulationResourceManager resourceManager,
+      final boolean parallelJobs
+  ) {
+    return simulate(
+        missionModel,
+        schedule,
+        simulationStartTime,
+        simulationDuration,
+        planStartTime,
+        planDuration,
+        simulationCanceled,
+        simulationExtentConsumer,
+        resourceManager,
+        parallelJobs,
+        Optional.empty());
+  }
+
+  /**
+   * @param eventConsumer if present, receives the serialized events of the simulation in chunks as it progresses,
+   *     in which case the returned results carry no events.
+   */
+  public static <Model> SimulationResults simulate(
+      final MissionModel<Model> missionModel,
+      final Map<ActivityDirectiveId, ActivityDirective> schedule,
+      final Instant simulationStartTime,
+      final Duration simulationDuration,
+      final Instant planStartTime,
+      final Duration planDuration,
+      final Supplier<Boolean> simulationCanceled,
+      final Consumer<Duration> simulationExtentConsumer,
+      final SimulationResourceManager resourceManager,
+      final boolean parallelJobs,
+      final Optional<AsyncConsumer<SimulationEvents>> eventConsumer
+  ) {
+    try (final var engine = new SimulationEngine(missionModel.getInitialCells(), parallelJobs)) {
 
       /* The current real time. */
       simulationExtentConsumer.accept(Duration.ZERO);
 
       // Specify a topic on which tasks can log the activity they're associated with.
       final var activityTopic = new Topic<ActivityDirectiveId>();
+      engine.trackSpanInfo(activityTopic, missionModel.getTopics());
+      eventConsumer.ifPresent(consumer -> engine.streamEvents(
+          simulationStartTime,
+          activityTopic,
+          missionModel.getTopics(),
+          schedule.keySet(),
+          consumer));
 
       try {
         engine.init(missionModel.getResources(), missionModel.getDaemon());
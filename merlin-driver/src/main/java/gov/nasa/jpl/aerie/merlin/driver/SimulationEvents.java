@@ -0,0 +1,18 @@
+package gov.nasa.jpl.aerie.merlin.driver;
+
+import gov.nasa.jpl.aerie.merlin.driver.engine.EventRecord;
+import gov.nasa.jpl.aerie.merlin.driver.timeline.EventGraph;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.ValueSchema;
+import org.apache.commons.lang3.tuple.Triple;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/** A chunk of the serialized events of a simulation, streamed while the simulation is still in progress. */
+public record SimulationEvents(
+    Instant startTime,
+    List<Triple<Integer, String, ValueSchema>> topics,
+    Map<Duration, List<EventGraph<EventRecord>>> events
+) {}
@@ -4,6 +4,10 @@ import gov.nasa.jpl.aerie.merlin.driver.timeline.Query;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.CellId;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
 
-public record EngineCellId<Event, State> (Topic<Event> topic, Query<State> query)
+/**
+ * @param topicIndex a dense index for the topic, shared by all cells of the model that read the same topic,
+ *                   by which conditions and resources are subscribed to it
+ */
+public record EngineCellId<Event, State> (Topic<Event> topic, Query<State> query, int topicIndex)
     implements CellId<State>
 {}
@@ -1,76 +1,217 @@
 package gov.nasa.jpl.aerie.merlin.driver.engine;
 
 import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ConcurrentSkipListMap;
 
+/**
+ * A time-ordered queue of upcoming jobs, from which all jobs due at the soonest instant are extracted together.
+ *
+ * Jobs are kept in a binary heap over primitive arrays. Each scheduled job is given a slot, which holds its time
+ * and its position in the heap for as long as it stays scheduled, so that rescheduling or unscheduling a job
+ * moves it within the heap in logarithmic time without allocating.
+ */
 public final class JobSchedule<JobRef, TimeRef extends SchedulingInstant> {
-  /** The scheduled time for each upcoming job. */
-  private final Map<JobRef, TimeRef> scheduledJobs = new HashMap<>();
+  private static final int NO_SLOT = -1;
+  private static final int INITIAL_CAPACITY = 16;
+
+  /** The slot of each upcoming job. */
+  private final Object2IntOpenHashMap<JobRef> slots;
+
+  /** The job, time and heap position held by each slot, indexed by slot. */
+  private Object[] jobs;
+  private long[] micros;
+  private byte[] priorities;
+  @DerivedFrom("heap")
+  private int[] heapPositions;
+
+  /** Slots no longer held by any job, available for reuse. */
+  private int[] freeSlots;
+  private int freeSlotCount;
+  /** The number of slots that have ever been handed out. */
+  private int slotCount;
+
+  /** The occupied slots, as a binary heap ordered by time. */
+  private int[] heap;
+  private int size;
+
+  public JobSchedule() {
+    this.slots = new Object2IntOpenHashMap<>();
+    this.slots.defaultReturnValue(NO_SLOT);
+    this.jobs = new Object[INITIAL_CAPACITY];
+    this.micros = new long[INITIAL_CAPACITY];
+    this.priorities = new byte[INITIAL_CAPACITY];
+    this.heapPositions = new int[INITIAL_CAPACITY];
+    this.freeSlots = new int[INITIAL_CAPACITY];
+    this.heap = new int[INITIAL_CAPACITY];
+  }
 
-  /** A time-ordered queue of all tasks whose resumption time is concretely known. */
-  @DerivedFrom("scheduledJobs")
-  private final ConcurrentSkipListMap<TimeRef, Set<JobRef>> queue = new ConcurrentSkipListMap<>();
+  private JobSchedule(final JobSchedule<JobRef, TimeRef> other) {
+    this.slots = other.slots.clone();
+    this.jobs = other.jobs.clone();
+    this.micros = other.micros.clone();
+    this.priorities = other.priorities.clone();
+    this.heapPositions = other.heapPositions.clone();
+    this.freeSlots = other.freeSlots.clone();
+    this.freeSlotCount = other.freeSlotCount;
+    this.slotCount = other.slotCount;
+    this.heap = other.heap.clone();
+    this.size = other.size;
+  }
 
   public void schedule(final JobRef job, final TimeRef time) {
-    final var oldTime = this.scheduledJobs.put(job, time);
-
-    if (oldTime != null) removeJobFromQueue(oldTime, job);
-
-    this.queue.computeIfAbsent(time, $ -> new HashSet<>()).add(job);
+    final var newMicros = time.offsetFromStart().in(Duration.MICROSECONDS);
+    final var newPriority = (byte) time.priority().ordinal();
+
+    final var slot = this.slots.getInt(job);
+    if (slot == NO_SLOT) {
+      final var newSlot = allocateSlot();
+      this.slots.put(job, newSlot);
+      this.jobs[newSlot] = job;
+      this.micros[newSlot] = newMicros;
+      this.priorities[newSlot] = newPriority;
+      this.heap[this.size] = newSlot;
+      this.heapPositions[newSlot] = this.size;
+      this.size += 1;
+      siftUp(this.size - 1);
+    } else {
+      final var wasEarlier = isEarlier(this.micros[slot], this.priorities[slot], newMicros, newPriority);
+      this.micros[slot] = newMicros;
+      this.priorities[slot] = newPriority;
+      if (wasEarlier) {
+        siftDown(this.heapPositions[slot]);
+      } else {
+        siftUp(this.heapPositions[slot]);
+      }
+    }
   }
 
   public void unschedule(final JobRef job) {
-    final var oldTime = this.scheduledJobs.remove(job);
-    if (oldTime != null) removeJobFromQueue(oldTime, job);
-  }
-
-  private void removeJobFromQueue(TimeRef time, JobRef job) {
-    var jobsAtOldTime = this.queue.get(time);
-    jobsAtOldTime.remove(job);
-    if (jobsAtOldTime.isEmpty()) {
-      this.queue.remove(time);
-    }
+    final var slot = this.slots.removeInt(job);
+    if (slot != NO_SLOT) removeAt(this.heapPositions[slot]);
   }
 
   public Batch<JobRef> extractNextJobs(final Duration maximumTime) {
-    if (this.queue.isEmpty()) return new Batch<>(maximumTime, Collections.emptySet());
+    if (this.size == 0) return new Batch<>(maximumTime, Collections.emptySet());
 
-    final var time = this.queue.firstKey();
-    if (time.project().longerThan(maximumTime)) {
+    final var top = this.heap[0];
+    final var time = this.micros[top];
+    final var priority = this.priorities[top];
+    if (time > maximumTime.in(Duration.MICROSECONDS)) {
       return new Batch<>(maximumTime, Collections.emptySet());
     }
 
     // Ready all tasks at the soonest task time.
-    final var entry = this.queue.pollFirstEntry();
-    entry.getValue().forEach(this.scheduledJobs::remove);
-    return new Batch<>(entry.getKey().project(), entry.getValue());
+    final var batch = new HashSet<JobRef>();
+    while (this.size > 0 && this.micros[this.heap[0]] == time && this.priorities[this.heap[0]] == priority) {
+      final var slot = this.heap[0];
+      @SuppressWarnings("unchecked")
+      final var job = (JobRef) this.jobs[slot];
+      batch.add(job);
+      this.slots.removeInt(job);
+      removeAt(0);
+    }
+    return new Batch<>(Duration.of(time, Duration.MICROSECONDS), batch);
   }
 
   public void clear() {
-    this.scheduledJobs.clear();
-    this.queue.clear();
+    this.slots.clear();
+    Arrays.fill(this.jobs, 0, this.slotCount, null);
+    this.freeSlotCount = 0;
+    this.slotCount = 0;
+    this.size = 0;
   }
 
   public Optional<Duration> peekNextTime() {
-    if(this.queue.isEmpty()) return Optional.empty();
-    return Optional.ofNullable(this.queue.firstKey()).map(SchedulingInstant::offsetFromStart);
+    if (this.size == 0) return Optional.empty();
+    return Optional.of(Duration.of(this.micros[this.heap[0]], Duration.MICROSECONDS));
   }
 
   public record Batch<JobRef>(Duration offsetFromStart, Set<JobRef> jobs) {}
 
   public JobSchedule<JobRef, TimeRef> duplicate() {
-    final JobSchedule<JobRef, TimeRef> jobSchedule = new JobSchedule<>();
-    for (final var entry : this.queue.entrySet()) {
-      jobSchedule.queue.put(entry.getKey(), new HashSet<>(entry.getValue()));
+    return new JobSchedule<>(this);
+  }
+
+  private int allocateSlot() {
+    if (this.freeSlotCount > 0) {
+      this.freeSlotCount -= 1;
+      return this.freeSlots[this.freeSlotCount];
+    }
+
+    if (this.slotCount == this.jobs.length) {
+      final var capacity = 2 * this.jobs.length;
+      this.jobs = Arrays.copyOf(this.jobs, capacity);
+      this.micros = Arrays.copyOf(this.micros, capacity);
+      this.priorities = Arrays.copyOf(this.priorities, capacity);
+      this.heapPositions = Arrays.copyOf(this.heapPositions, capacity);
+      this.freeSlots = Arrays.copyOf(this.freeSlots, capacity);
+      this.heap = Arrays.copyOf(this.heap, capacity);
     }
-    jobSchedule.scheduledJobs.putAll(this.scheduledJobs);
-    return jobSchedule;
+    return this.slotCount++;
+  }
+
+  /** Remove the slot at the given position of the heap, and make it available for reuse. */
+  private void removeAt(final int position) {
+    final var slot = this.heap[position];
+    this.jobs[slot] = null;
+    this.freeSlots[this.freeSlotCount] = slot;
+    this.freeSlotCount += 1;
+
+    this.size -= 1;
+    if (position == this.size) return;
+
+    // Fill the hole with the last slot of the heap, which may belong either above or below it.
+    final var last = this.heap[this.size];
+    this.heap[position] = last;
+    this.heapPositions[last] = position;
+    siftDown(position);
+    if (this.heap[position] == last) siftUp(position);
+  }
+
+  private void siftUp(int position) {
+    final var slot = this.heap[position];
+    while (position > 0) {
+      final var parentPosition = (position - 1) >>> 1;
+      final var parent = this.heap[parentPosition];
+      if (!isEarlier(slot, parent)) break;
+      this.heap[position] = parent;
+      this.heapPositions[parent] = position;
+      position = parentPosition;
+    }
+    this.heap[position] = slot;
+    this.heapPositions[slot] = position;
+  }
+
+  private void siftDown(int position) {
+    final var slot = this.heap[position];
+    while (true) {
+      var childPosition = 2 * position + 1;
+      if (childPosition >= this.size) break;
+      if (childPosition + 1 < this.size && isEarlier(this.heap[childPosition + 1], this.heap[childPosition])) {
+        childPosition += 1;
+      }
+      final var child = this.heap[childPosition];
+      if (!isEarlier(child, slot)) break;
+      this.heap[position] = child;
+      this.heapPositions[child] = position;
+      position = childPosition;
+    }
+    this.heap[position] = slot;
+    this.heapPositions[slot] = position;
+  }
+
+  private boolean isEarlier(final int slot, final int otherSlot) {
+    return isEarlier(this.micros[slot], this.priorities[slot], this.micros[otherSlot], this.priorities[otherSlot]);
+  }
+
+  /** Instants are ordered by their time, then by their sub-instant priority, as {@link SchedulingInstant} is. */
+  private static boolean isEarlier(final long micros, final byte priority, final long otherMicros, final byte otherPriority) {
+    return micros < otherMicros || (micros == otherMicros && priority < otherPriority);
   }
 }
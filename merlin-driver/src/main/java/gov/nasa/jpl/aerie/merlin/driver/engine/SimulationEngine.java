@@ -3,6 +3,8 @@ package gov.nasa.jpl.aerie.merlin.driver.engine;
 import gov.nasa.jpl.aerie.merlin.driver.MissionModel.SerializableTopic;
 import gov.nasa.jpl.aerie.types.ActivityInstance;
 import gov.nasa.jpl.aerie.types.ActivityInstanceId;
+import gov.nasa.jpl.aerie.merlin.driver.SimulationEvents;
+import gov.nasa.jpl.aerie.merlin.driver.resources.AsyncConsumer;
 import gov.nasa.jpl.aerie.merlin.driver.resources.SimulationResourceManager;
 import gov.nasa.jpl.aerie.merlin.driver.SimulationResults;
 import gov.nasa.jpl.aerie.merlin.driver.UnfinishedActivity;
@@ -16,6 +18,7 @@ import gov.nasa.jpl.aerie.merlin.protocol.driver.Scheduler;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
 import gov.nasa.jpl.aerie.merlin.protocol.model.Condition;
 import gov.nasa.jpl.aerie.merlin.protocol.model.EffectTrait;
+import gov.nasa.jpl.aerie.merlin.protocol.model.RealOutputType;
 import gov.nasa.jpl.aerie.merlin.protocol.model.Resource;
 import gov.nasa.jpl.aerie.merlin.protocol.model.Task;
 import gov.nasa.jpl.aerie.merlin.protocol.model.TaskFactory;
@@ -49,10 +52,14 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -60,6 +67,12 @@ import java.util.stream.Collectors;
  */
 public final class SimulationEngine implements AutoCloseable {
   private boolean closed = false;
+  /**
+   * Whether a batch of jobs has failed. The jobs of a failed batch that were never performed -- or, when performed
+   * concurrently, whose effects were discarded -- leave the engine's state out of step with its timeline,
+   * so no further jobs may be performed.
+   */
+  private boolean failed = false;
 
   /** The set of all jobs waiting for time to pass. */
   private final JobSchedule<JobId, SchedulingInstant> scheduledJobs;
@@ -90,13 +103,39 @@ public final class SimulationEngine implements AutoCloseable {
   /** A thread pool that modeled tasks can use to keep track of their state between steps. */
   private final ExecutorService executor;
 
+  /** Whether the jobs of a batch are performed on concurrent workers instead of one after another. */
+  private final boolean parallelJobs;
+  /** Guards the engine's bookkeeping against concurrent jobs when {@link #parallelJobs} is set. */
+  private final Object lock = new Object();
+
   /* The top-level simulation timeline. */
   private final TemporalEventSource timeline;
   private final TemporalEventSource referenceTimeline;
   private final LiveCells cells;
   private Duration elapsedTime;
 
+  /** Per-span information extracted from every commit so far, if the engine has been asked to track it. */
+  private Optional<SpanInfoIndex> spanInfoIndex = Optional.empty();
+
+  /** The destination of serialized events, if they are streamed during simulation rather than at the end. */
+  private Optional<EventStream> eventStream = Optional.empty();
+  /** Activity instance ids handed out before the computation of results, which must therefore honor them. */
+  private final Map<SpanId, ActivityInstanceId> activityInstanceIds = new HashMap<>();
+  /** Activity instance ids that may not be handed out to activities not backed by a directive. */
+  private final Set<Long> reservedActivityInstanceIds = new HashSet<>();
+  private long nextActivityInstanceId = 1L;
+
   public SimulationEngine(LiveCells initialCells) {
+    this(initialCells, false);
+  }
+
+  /**
+   * @param parallelJobs whether to perform the jobs of each batch concurrently. Jobs in a batch are already
+   *     semantically concurrent, so this only changes how fast the batch is performed, not its results --
+   *     provided that the model does not share mutable state between tasks outside of its cells.
+   */
+  public SimulationEngine(LiveCells initialCells, boolean parallelJobs) {
+    this.parallelJobs = parallelJobs;
     timeline = new TemporalEventSource();
     referenceTimeline = new TemporalEventSource();
     cells = new LiveCells(timeline, initialCells);
@@ -116,12 +155,17 @@ public final class SimulationEngine implements AutoCloseable {
     executor = Executors.newVirtualThreadPerTaskExecutor();
   }
 
-  private SimulationEngine(SimulationEngine other) {
+  private SimulationEngine(SimulationEngine other, boolean parallelJobs) {
     other.timeline.freeze();
     other.referenceTimeline.freeze();
     other.cells.freeze();
+    // Catch every cell up to the end of the other engine's timeline once, so that our first read of a cell
+    // (and that of any other duplicate) need not replay the other engine's history.
+    other.cells.snapshot();
 
     elapsedTime = other.elapsedTime;
+    this.parallelJobs = parallelJobs;
+    failed = other.failed;
 
     timeline = new TemporalEventSource();
     cells = new LiveCells(timeline, other.cells);
@@ -149,6 +193,12 @@ public final class SimulationEngine implements AutoCloseable {
     for (final var entry : other.spanContributorCount.entrySet()) {
       spanContributorCount.put(entry.getKey(), new MutableInt(entry.getValue().getValue()));
     }
+    // The other engine's index covers its whole combined timeline, which is exactly our reference timeline.
+    spanInfoIndex = other.spanInfoIndex.map(SpanInfoIndex::duplicate);
+    // Events already streamed by the other engine refer to these ids, but the duplicate does not stream its own.
+    activityInstanceIds.putAll(other.activityInstanceIds);
+    reservedActivityInstanceIds.addAll(other.reservedActivityInstanceIds);
+    nextActivityInstanceId = other.nextActivityInstanceId;
   }
 
   /** Initialize the engine by tracking resources and kicking off daemon tasks. **/
@@ -167,7 +217,7 @@ public final class SimulationEngine implements AutoCloseable {
       final var batch = this.extractNextJobs(Duration.MAX_VALUE);
       final var results = this.performJobs(batch.jobs(), cells, elapsedTime, Duration.MAX_VALUE);
       for (final var commit : results.commits()) {
-        timeline.add(commit);
+        this.appendCommit(commit);
       }
       if (results.error.isPresent()) {
         throw results.error.get();
@@ -203,6 +253,7 @@ public final class SimulationEngine implements AutoCloseable {
     final var delta = batch.offsetFromStart().minus(elapsedTime);
     elapsedTime = batch.offsetFromStart();
     timeline.add(delta);
+    this.eventStream.ifPresent($ -> $.flushBefore(elapsedTime));
 
     // TODO: Advance a dense time counter so that future tasks are strictly ordered relative to these,
     //   even if they occur at the same real time.
@@ -211,7 +262,7 @@ public final class SimulationEngine implements AutoCloseable {
     // Run the jobs in this batch.
     final var results = this.performJobs(batch.jobs(), cells, elapsedTime, simulationDuration);
     for (final var commit : results.commits()) {
-      timeline.add(commit);
+      this.appendCommit(commit);
     }
     if (results.error.isPresent()) {
       throw results.error.get();
@@ -238,11 +289,22 @@ public final class SimulationEngine implements AutoCloseable {
     return new Status.Nominal(elapsedTime, realResourceUpdates, dynamicResourceUpdates);
   }
 
+  private void appendCommit(final EventGraph<Event> commit) {
+    timeline.add(commit);
+    this.spanInfoIndex.ifPresent($ -> $.add(commit));
+    this.eventStream.ifPresent($ -> $.add(elapsedTime, commit));
+  }
+
   private static <Dynamics> RealDynamics extractRealDynamics(final ResourceUpdates.ResourceUpdate<Dynamics> update) {
-    final var resource = update.resource;
+    final var outputType = update.resource.getOutputType();
     final var dynamics = update.update.dynamics();
 
-    final var serializedSegment = resource.getOutputType().serialize(dynamics).asMap().orElseThrow();
+    // Read the dynamics directly when the model allows it, rather than serializing and then parsing them.
+    if (outputType instanceof RealOutputType<Dynamics> realOutputType) {
+      return RealDynamics.linear(realOutputType.getInitial(dynamics), realOutputType.getRate(dynamics));
+    }
+
+    final var serializedSegment = outputType.serialize(dynamics).asMap().orElseThrow();
     final var initial = serializedSegment.get("initial").asReal().orElseThrow();
     final var rate = serializedSegment.get("rate").asReal().orElseThrow();
 
@@ -285,17 +347,19 @@ public final class SimulationEngine implements AutoCloseable {
   /** Schedules any conditions or resources dependent on the given topic to be re-checked at the given time. */
   public void invalidateTopic(final Topic<?> topic, final Duration invalidationTime) {
     if (this.closed) throw new IllegalStateException("Cannot invalidate topic on closed simulation engine");
-    final var resources = this.waitingResources.invalidateTopic(topic);
-    for (final var resource : resources) {
-      this.scheduledJobs.schedule(JobId.forResource(resource), SubInstant.Resources.at(invalidationTime));
-    }
+    synchronized (this.lock) {
+      final var resources = this.waitingResources.invalidateTopic(topic);
+      for (final var resource : resources) {
+        this.scheduledJobs.schedule(JobId.forResource(resource), SubInstant.Resources.at(invalidationTime));
+      }
 
-    final var conditions = this.waitingConditions.invalidateTopic(topic);
-    for (final var condition : conditions) {
-      // If we were going to signal tasks on this condition, well, don't do that.
-      // Schedule the condition to be rechecked ASAP.
-      this.scheduledJobs.unschedule(JobId.forSignal(condition));
-      this.scheduledJobs.schedule(JobId.forCondition(condition), SubInstant.Conditions.at(invalidationTime));
+      final var conditions = this.waitingConditions.invalidateTopic(topic);
+      for (final var condition : conditions) {
+        // If we were going to signal tasks on this condition, well, don't do that.
+        // Schedule the condition to be rechecked ASAP.
+        this.scheduledJobs.unschedule(JobId.forSignal(condition));
+        this.scheduledJobs.schedule(JobId.forCondition(condition), SubInstant.Conditions.at(invalidationTime));
+      }
     }
   }
 
@@ -335,6 +399,10 @@ public final class SimulationEngine implements AutoCloseable {
       this.updates.add(update);
     }
 
+    public void addAll(ResourceUpdates other) {
+      this.updates.addAll(other.updates);
+    }
+
     public record ResourceUpdate<Dynamics>(
         ResourceId resourceId,
         Resource<Dynamics> resource,
@@ -367,6 +435,9 @@ public final class SimulationEngine implements AutoCloseable {
       final Duration maximumTime
   ) throws SpanException {
     if (this.closed) throw new IllegalStateException("Cannot perform jobs on closed simulation engine");
+    if (this.failed) throw new IllegalStateException("Cannot perform jobs on simulation engine after a failed batch");
+    if (this.parallelJobs && jobs.size() > 1) return this.performJobsConcurrently(jobs, context, currentTime, maximumTime);
+
     var tip = EventGraph.<Event>empty();
     Mutable<Optional<Throwable>> exception = new MutableObject<>(Optional.empty());
     final var resourceUpdates = new ResourceUpdates();
@@ -380,12 +451,70 @@ public final class SimulationEngine implements AutoCloseable {
       }));
 
       if (exception.getValue().isPresent()) {
+        this.failed = true;
         return new StepResult(List.of(tip), resourceUpdates, exception.getValue());
       }
     }
     return new StepResult(List.of(tip), resourceUpdates, Optional.empty());
   }
 
+  private record JobResult(EventGraph<Event> events, ResourceUpdates resourceUpdates, Optional<Throwable> error) {}
+
+  /**
+   * Performs each job of a batch on its own worker.
+   *
+   * The per-job results are merged in the iteration order of `jobs`, exactly as {@link #performJobs} would
+   * have accumulated them had the jobs been performed one after another.
+   *
+   * If a job fails, only the effects of the jobs up to and including it are reported, as they would have been
+   * had the jobs been performed one after another. The jobs after it have nonetheless been performed against the
+   * engine's state, so the engine refuses to perform any further jobs, as it does after any failed batch.
+   */
+  private StepResult performJobsConcurrently(
+      final Collection<JobId> jobs,
+      final LiveCells context,
+      final Duration currentTime,
+      final Duration maximumTime
+  ) {
+    final var pending = new ArrayList<Future<JobResult>>(jobs.size());
+    for (final var job$ : jobs) {
+      pending.add(this.executor.submit(() -> {
+        final var resourceUpdates = new ResourceUpdates();
+        final Mutable<Optional<Throwable>> exception = new MutableObject<>(Optional.empty());
+        final var events = TaskFrame.run(job$, context, (job, frame) -> {
+          try {
+            this.performJob(job, frame, currentTime, maximumTime, resourceUpdates);
+          } catch (Throwable ex) {
+            exception.setValue(Optional.of(ex));
+          }
+        });
+        return new JobResult(events, resourceUpdates, exception.getValue());
+      }));
+    }
+
+    var tip = EventGraph.<Event>empty();
+    final var resourceUpdates = new ResourceUpdates();
+    Optional<Throwable> error = Optional.empty();
+    for (final var result$ : pending) {
+      final JobResult result;
+      try {
+        result = result$.get();
+      } catch (final InterruptedException ex) {
+        throw new Error("Merlin host unexpectedly interrupted", ex);
+      } catch (final ExecutionException ex) {
+        throw new Error("Unexpected failure while performing a job", ex.getCause());
+      }
+
+      // Every job still runs to completion, but we only report the effects up to the first failure.
+      if (error.isPresent()) continue;
+      tip = EventGraph.concurrently(tip, result.events());
+      resourceUpdates.addAll(result.resourceUpdates());
+      error = result.error();
+    }
+    if (error.isPresent()) this.failed = true;
+    return new StepResult(List.of(tip), resourceUpdates, error);
+  }
+
   /** Performs a single job. */
   public void performJob(
       final JobId job,
@@ -396,7 +525,13 @@ public final class SimulationEngine implements AutoCloseable {
   ) throws SpanException {
     switch (job) {
       case JobId.TaskJobId j -> this.stepTask(j.id(), frame, currentTime);
-      case JobId.SignalJobId j -> this.stepTask(this.waitingTasks.remove(j.id()), frame, currentTime);
+      case JobId.SignalJobId j -> {
+        final TaskId task;
+        synchronized (this.lock) {
+          task = this.waitingTasks.remove(j.id());
+        }
+        this.stepTask(task, frame, currentTime);
+      }
       case JobId.ConditionJobId j -> this.updateCondition(j.id(), frame, currentTime, maximumTime);
       case JobId.ResourceJobId j -> this.updateResource(j.id(), frame, currentTime, resourceUpdates);
       case null -> throw new IllegalArgumentException("Unexpected null value for JobId");
@@ -410,10 +545,13 @@ public final class SimulationEngine implements AutoCloseable {
   public void stepTask(final TaskId task, final TaskFrame<JobId> frame, final Duration currentTime)
   throws SpanException {
     if (this.closed) throw new IllegalStateException("Cannot step task on closed simulation engine");
-    this.unstartedTasks.remove(task);
     // The handler for the next status of the task is responsible
     //   for putting an updated state back into the task set.
-    var state = this.tasks.remove(task);
+    final ExecutionState<?> state;
+    synchronized (this.lock) {
+      this.unstartedTasks.remove(task);
+      state = this.tasks.remove(task);
+    }
 
     stepEffectModel(task, state, frame, currentTime);
   }
@@ -437,77 +575,79 @@ public final class SimulationEngine implements AutoCloseable {
     // TODO: Report which cells this activity read from at this point in time. This is useful insight for any user.
 
     // Based on the task's return status, update its execution state and schedule its resumption.
-    switch (status) {
-      case TaskStatus.Completed<Output> s -> {
-        // Propagate completion up the span hierarchy.
-        // TERMINATION: The span hierarchy is a finite tree, so eventually we find a parentless span.
-        var span = scheduler.span;
-        while (true) {
-          if (this.spanContributorCount.get(span).decrementAndGet() > 0) break;
-          this.spanContributorCount.remove(span);
-
-          this.spans.compute(span, (_id, $) -> $.close(currentTime));
-
-          final var span$ = this.spans.get(span).parent;
-          if (span$.isEmpty()) break;
-
-          span = span$.get();
-        }
-
-        // Notify any blocked caller of our completion.
-        progress.caller().ifPresent($ -> {
-          if (this.blockedTasks.get($).decrementAndGet() == 0) {
-            this.blockedTasks.remove($);
-            this.scheduledJobs.schedule(JobId.forTask($), SubInstant.Tasks.at(currentTime));
+    synchronized (this.lock) {
+      switch (status) {
+        case TaskStatus.Completed<Output> s -> {
+          // Propagate completion up the span hierarchy.
+          // TERMINATION: The span hierarchy is a finite tree, so eventually we find a parentless span.
+          var span = scheduler.span;
+          while (true) {
+            if (this.spanContributorCount.get(span).decrementAndGet() > 0) break;
+            this.spanContributorCount.remove(span);
+
+            this.spans.compute(span, (_id, $) -> $.close(currentTime));
+
+            final var span$ = this.spans.get(span).parent;
+            if (span$.isEmpty()) break;
+
+            span = span$.get();
           }
-        });
-      }
-
-      case TaskStatus.Delayed<Output> s -> {
-        if (s.delay().isNegative()) throw new IllegalArgumentException("Cannot schedule a task in the past");
-
-        this.tasks.put(task, progress.continueWith(s.continuation()));
-        this.scheduledJobs.schedule(JobId.forTask(task), SubInstant.Tasks.at(currentTime.plus(s.delay())));
-      }
 
-      case TaskStatus.CallingTask<Output> s -> {
-        // Prepare a span for the child task.
-        final var childSpan = switch (s.childSpan()) {
-          case Parent -> scheduler.span;
+          // Notify any blocked caller of our completion.
+          progress.caller().ifPresent($ -> {
+            if (this.blockedTasks.get($).decrementAndGet() == 0) {
+              this.blockedTasks.remove($);
+              this.scheduledJobs.schedule(JobId.forTask($), SubInstant.Tasks.at(currentTime));
+            }
+          });
+        }
 
-          case Fresh -> {
-            final var freshSpan = SpanId.generate();
-            SimulationEngine.this.spans.put(
-                freshSpan,
-                new Span(Optional.of(scheduler.span), currentTime, Optional.empty()));
-            SimulationEngine.this.spanContributorCount.put(freshSpan, new MutableInt(1));
-            yield freshSpan;
-          }
-        };
+        case TaskStatus.Delayed<Output> s -> {
+          if (s.delay().isNegative()) throw new IllegalArgumentException("Cannot schedule a task in the past");
 
-        // Spawn the child task.
-        final var childTask = TaskId.generate();
-        SimulationEngine.this.spanContributorCount.get(scheduler.span).increment();
-        SimulationEngine.this.tasks.put(
-            childTask,
-            new ExecutionState<>(
-                childSpan,
-                Optional.of(task),
-                s.child().create(this.executor)));
-        frame.signal(JobId.forTask(childTask));
+          this.tasks.put(task, progress.continueWith(s.continuation()));
+          this.scheduledJobs.schedule(JobId.forTask(task), SubInstant.Tasks.at(currentTime.plus(s.delay())));
+        }
 
-        // Arrange for the parent task to resume.... later.
-        SimulationEngine.this.blockedTasks.put(task, new MutableInt(1));
-        this.tasks.put(task, progress.continueWith(s.continuation()));
-      }
+        case TaskStatus.CallingTask<Output> s -> {
+          // Prepare a span for the child task.
+          final var childSpan = switch (s.childSpan()) {
+            case Parent -> scheduler.span;
+
+            case Fresh -> {
+              final var freshSpan = SpanId.generate();
+              SimulationEngine.this.spans.put(
+                  freshSpan,
+                  new Span(Optional.of(scheduler.span), currentTime, Optional.empty()));
+              SimulationEngine.this.spanContributorCount.put(freshSpan, new MutableInt(1));
+              yield freshSpan;
+            }
+          };
+
+          // Spawn the child task.
+          final var childTask = TaskId.generate();
+          SimulationEngine.this.spanContributorCount.get(scheduler.span).increment();
+          SimulationEngine.this.tasks.put(
+              childTask,
+              new ExecutionState<>(
+                  childSpan,
+                  Optional.of(task),
+                  s.child().create(this.executor)));
+          frame.signal(JobId.forTask(childTask));
+
+          // Arrange for the parent task to resume.... later.
+          SimulationEngine.this.blockedTasks.put(task, new MutableInt(1));
+          this.tasks.put(task, progress.continueWith(s.continuation()));
+        }
 
-      case TaskStatus.AwaitingCondition<Output> s -> {
-        final var condition = ConditionId.generate();
-        this.conditions.put(condition, s.condition());
-        this.scheduledJobs.schedule(JobId.forCondition(condition), SubInstant.Conditions.at(currentTime));
+        case TaskStatus.AwaitingCondition<Output> s -> {
+          final var condition = ConditionId.generate();
+          this.conditions.put(condition, s.condition());
+          this.scheduledJobs.schedule(JobId.forCondition(condition), SubInstant.Conditions.at(currentTime));
 
-        this.tasks.put(task, progress.continueWith(s.continuation()));
-        this.waitingTasks.put(condition, task);
+          this.tasks.put(task, progress.continueWith(s.continuation()));
+          this.waitingTasks.put(condition, task);
+        }
       }
     }
   }
@@ -521,20 +661,25 @@ public final class SimulationEngine implements AutoCloseable {
   ) {
     if (this.closed) throw new IllegalStateException("Cannot update condition on closed simulation engine");
     final var querier = new EngineQuerier(frame);
-    final var prediction = this.conditions
-        .get(condition)
+    final Condition getter;
+    synchronized (this.lock) {
+      getter = this.conditions.get(condition);
+    }
+    final var prediction = getter
         .nextSatisfied(querier, horizonTime.minus(currentTime))
         .map(currentTime::plus);
 
-    this.waitingConditions.subscribeQuery(condition, querier.referencedTopics);
+    synchronized (this.lock) {
+      this.waitingConditions.subscribeQuery(condition, querier.referencedTopics);
 
-    final var expiry = querier.expiry.map(currentTime::plus);
-    if (prediction.isPresent() && (expiry.isEmpty() || prediction.get().shorterThan(expiry.get()))) {
-      this.scheduledJobs.schedule(JobId.forSignal(condition), SubInstant.Tasks.at(prediction.get()));
-    } else {
-      // Try checking again later -- where "later" is in some non-zero amount of time!
-      final var nextCheckTime = Duration.max(expiry.orElse(horizonTime), currentTime.plus(Duration.EPSILON));
-      this.scheduledJobs.schedule(JobId.forCondition(condition), SubInstant.Conditions.at(nextCheckTime));
+      final var expiry = querier.expiry.map(currentTime::plus);
+      if (prediction.isPresent() && (expiry.isEmpty() || prediction.get().shorterThan(expiry.get()))) {
+        this.scheduledJobs.schedule(JobId.forSignal(condition), SubInstant.Tasks.at(prediction.get()));
+      } else {
+        // Try checking again later -- where "later" is in some non-zero amount of time!
+        final var nextCheckTime = Duration.max(expiry.orElse(horizonTime), currentTime.plus(Duration.EPSILON));
+        this.scheduledJobs.schedule(JobId.forCondition(condition), SubInstant.Conditions.at(nextCheckTime));
+      }
     }
   }
 
@@ -546,17 +691,23 @@ public final class SimulationEngine implements AutoCloseable {
       final ResourceUpdates resourceUpdates) {
     if (this.closed) throw new IllegalStateException("Cannot update resource on closed simulation engine");
     final var querier = new EngineQuerier(frame);
+    final Resource<?> resource;
+    synchronized (this.lock) {
+      resource = this.resources.get(resourceId);
+    }
     resourceUpdates.add(new ResourceUpdates.ResourceUpdate<>(
         querier,
         currentTime,
         resourceId,
-        this.resources.get(resourceId)));
+        resource));
 
-    this.waitingResources.subscribeQuery(resourceId, querier.referencedTopics);
+    synchronized (this.lock) {
+      this.waitingResources.subscribeQuery(resourceId, querier.referencedTopics);
 
-    final var expiry = querier.expiry.map(currentTime::plus);
-    if (expiry.isPresent()) {
-      this.scheduledJobs.schedule(JobId.forResource(resourceId), SubInstant.Resources.at(expiry.get()));
+      final var expiry = querier.expiry.map(currentTime::plus);
+      if (expiry.isPresent()) {
+        this.scheduledJobs.schedule(JobId.forResource(resourceId), SubInstant.Resources.at(expiry.get()));
+      }
     }
   }
 
@@ -677,6 +828,61 @@ public final class SimulationEngine implements AutoCloseable {
     }
   }
 
+  /** A {@link SpanInfo} that is kept up to date as commits are appended to the timeline. */
+  private static final class SpanInfoIndex {
+    private final Topic<ActivityDirectiveId> activityTopic;
+    private final Iterable<SerializableTopic<?>> serializableTopics;
+    private final SpanInfo.Trait trait;
+    private final SpanInfo spanInfo;
+
+    private SpanInfoIndex(
+        final Topic<ActivityDirectiveId> activityTopic,
+        final Iterable<SerializableTopic<?>> serializableTopics,
+        final SpanInfo spanInfo
+    ) {
+      this.activityTopic = activityTopic;
+      this.serializableTopics = serializableTopics;
+      this.trait = new SpanInfo.Trait(serializableTopics, activityTopic);
+      this.spanInfo = spanInfo;
+    }
+
+    public SpanInfoIndex(final Topic<ActivityDirectiveId> activityTopic, final Iterable<SerializableTopic<?>> serializableTopics) {
+      this(activityTopic, serializableTopics, new SpanInfo());
+    }
+
+    public void add(final EventGraph<Event> commit) {
+      commit.evaluate(this.trait, this.trait::atom).accept(this.spanInfo);
+    }
+
+    public boolean isFor(final Topic<ActivityDirectiveId> activityTopic, final Iterable<SerializableTopic<?>> serializableTopics) {
+      return this.activityTopic == activityTopic && Objects.equals(this.serializableTopics, serializableTopics);
+    }
+
+    public SpanInfoIndex duplicate() {
+      return new SpanInfoIndex(this.activityTopic, this.serializableTopics, new SpanInfo(
+          new HashMap<>(this.spanInfo.spanToPlannedDirective),
+          new HashMap<>(this.spanInfo.input),
+          new HashMap<>(this.spanInfo.output)));
+    }
+  }
+
+  /**
+   * Keep per-span information up to date as the simulation progresses,
+   * so that results and error reports for these topics need not re-read the whole timeline.
+   */
+  public void trackSpanInfo(
+      final Topic<ActivityDirectiveId> activityTopic,
+      final Iterable<SerializableTopic<?>> serializableTopics
+  ) {
+    if (this.spanInfoIndex.isPresent() && this.spanInfoIndex.get().isFor(activityTopic, serializableTopics)) return;
+
+    final var index = new SpanInfoIndex(activityTopic, serializableTopics);
+    for (final var point : this.combineTimeline()) {
+      if (point instanceof TemporalEventSource.TimePoint.Commit p) index.add(p.events());
+    }
+    this.spanInfoIndex = Optional.of(index);
+  }
+
 
   /**
    * Get an Activity Directive Id from a SpanId, if the span is a descendent of a directive.
@@ -687,7 +893,7 @@ public final class SimulationEngine implements AutoCloseable {
       final SpanId spanId
   ) {
     // Collect per-span information from the event graph.
-    final var spanInfo = computeSpanInfo(activityTopic, serializableTopics, this.timeline);
+    final var spanInfo = computeSpanInfo(activityTopic, serializableTopics, this::combineTimeline);
 
     // Identify the nearest ancestor directive by walking up the parent
     // span tree. Save the activity trace along the way
@@ -719,12 +925,17 @@ public final class SimulationEngine implements AutoCloseable {
   private SpanInfo computeSpanInfo(
       final Topic<ActivityDirectiveId> activityTopic,
       final Iterable<SerializableTopic<?>> serializableTopics,
-      final TemporalEventSource timeline
+      final Supplier<TemporalEventSource> timeline
   ) {
+    // Use the incrementally-maintained index if it was built for these topics.
+    if (this.spanInfoIndex.isPresent() && this.spanInfoIndex.get().isFor(activityTopic, serializableTopics)) {
+      return this.spanInfoIndex.get().spanInfo;
+    }
+
     // Collect per-span information from the event graph.
     final var spanInfo = new SpanInfo();
 
-    for (final var point : timeline) {
+    for (final var point : timeline.get()) {
       if (!(point instanceof TemporalEventSource.TimePoint.Commit p)) continue;
 
       final var trait = new SpanInfo.Trait(serializableTopics, activityTopic);
@@ -740,7 +951,7 @@ public final class SimulationEngine implements AutoCloseable {
   ) {
     return computeActivitySimulationResults(
         startTime,
-        computeSpanInfo(activityTopic, serializableTopics, combineTimeline())
+        computeSpanInfo(activityTopic, serializableTopics, this::combineTimeline)
     );
   }
 
@@ -760,8 +971,9 @@ public final class SimulationEngine implements AutoCloseable {
       final SpanInfo spanInfo
   ) {
     final var activityDirectiveIds = spanToActivityDirectiveId(spanInfo);
-    final var spanToActivityInstanceId = new HashMap<SpanId, ActivityInstanceId>(activityDirectiveIds.size());
-    final var usedActivityInstanceIds = new HashSet<>();
+    // Ids already handed out to streamed events must be kept.
+    final var spanToActivityInstanceId = new HashMap<SpanId, ActivityInstanceId>(this.activityInstanceIds);
+    final var usedActivityInstanceIds = new HashSet<>(this.reservedActivityInstanceIds);
     for (final var entry : activityDirectiveIds.entrySet()) {
       spanToActivityInstanceId.put(entry.getKey(), new ActivityInstanceId(entry.getValue().id()));
       usedActivityInstanceIds.add(entry.getValue().id());
@@ -855,47 +1067,33 @@ public final class SimulationEngine implements AutoCloseable {
       final Iterable<SerializableTopic<?>> serializableTopics,
       final HashMap<SpanId, ActivityInstanceId> spanToActivities,
       final HashMap<SerializableTopic<?>, Integer> serializableTopicToId) {
+    final Function<SpanId, Optional<ActivityInstanceId>> activityOf = provenance -> {
+      // If the event's `provenance` has no simulated activity id, search its ancestors to find the nearest
+      // simulated activity id, if one exists
+      if (!spanToActivities.containsKey(provenance)) {
+        var spanId = Optional.of(provenance);
+
+        while (true) {
+          if (spanToActivities.containsKey(spanId.get())) {
+            spanToActivities.put(provenance, spanToActivities.get(spanId.get()));
+            break;
+          }
+          spanId = this.getSpan(spanId.get()).parent();
+          if (spanId.isEmpty()) {
+            break;
+          }
+        }
+      }
+      return Optional.ofNullable(spanToActivities.get(provenance));
+    };
+
     final var serializedTimeline = new TreeMap<Duration, List<EventGraph<EventRecord>>>();
     var time = Duration.ZERO;
     for (var point : combinedTimeline.points()) {
       if (point instanceof TemporalEventSource.TimePoint.Delta delta) {
         time = time.plus(delta.delta());
       } else if (point instanceof TemporalEventSource.TimePoint.Commit commit) {
-        final var serializedEventGraph = commit.events().substitute(
-            event -> {
-              // TODO can we do this more efficiently?
-              EventGraph<EventRecord> output = EventGraph.empty();
-              for (final var serializableTopic : serializableTopics) {
-                Optional<SerializedValue> serializedEvent = trySerializeEvent(event, serializableTopic);
-                if (serializedEvent.isPresent()) {
-                  // If the event's `provenance` has no simulated activity id, search its ancestors to find the nearest
-                  // simulated activity id, if one exists
-                  if (!spanToActivities.containsKey(event.provenance())) {
-                    var spanId = Optional.of(event.provenance());
-
-                    while (true) {
-                      if (spanToActivities.containsKey(spanId.get())) {
-                        spanToActivities.put(event.provenance(), spanToActivities.get(spanId.get()));
-                        break;
-                      }
-                      spanId = this.getSpan(spanId.get()).parent();
-                      if (spanId.isEmpty()) {
-                        break;
-                      }
-                    }
-                  }
-                  var activitySpanID = Optional.ofNullable(spanToActivities.get(event.provenance())).map(ActivityInstanceId::id);
-                  output = EventGraph.concurrently(
-                      output,
-                      EventGraph.atom(
-                          new EventRecord(serializableTopicToId.get(serializableTopic),
-                                          activitySpanID,
-                                          serializedEvent.get())));
-                }
-              }
-              return output;
-            }
-        ).evaluate(new EventGraph.IdentityTrait<>(), EventGraph::atom);
+        final var serializedEventGraph = serializeCommit(commit.events(), serializableTopics, serializableTopicToId, activityOf);
         if (!(serializedEventGraph instanceof EventGraph.Empty)) {
           serializedTimeline
               .computeIfAbsent(time, x -> new ArrayList<>())
@@ -906,6 +1104,193 @@ public final class SimulationEngine implements AutoCloseable {
     return serializedTimeline;
   }
 
+  private static EventGraph<EventRecord> serializeCommit(
+      final EventGraph<Event> events,
+      final Iterable<SerializableTopic<?>> serializableTopics,
+      final Map<SerializableTopic<?>, Integer> serializableTopicToId,
+      final Function<SpanId, Optional<ActivityInstanceId>> activityOf
+  ) {
+    return events.substitute(
+        event -> {
+          // TODO can we do this more efficiently?
+          EventGraph<EventRecord> output = EventGraph.empty();
+          for (final var serializableTopic : serializableTopics) {
+            Optional<SerializedValue> serializedEvent = trySerializeEvent(event, serializableTopic);
+            if (serializedEvent.isPresent()) {
+              var activitySpanID = activityOf.apply(event.provenance()).map(ActivityInstanceId::id);
+              output = EventGraph.concurrently(
+                  output,
+                  EventGraph.atom(
+                      new EventRecord(serializableTopicToId.get(serializableTopic),
+                                      activitySpanID,
+                                      serializedEvent.get())));
+            }
+          }
+          return output;
+        }
+    ).evaluate(new EventGraph.IdentityTrait<>(), EventGraph::atom);
+  }
+
+  /** The number of transactions to accumulate before streaming events, if not otherwise specified. */
+  public static final int DEFAULT_EVENT_CHUNK_SIZE = 4096;
+
+  public void streamEvents(
+      final Instant startTime,
+      final Topic<ActivityDirectiveId> activityTopic,
+      final Iterable<SerializableTopic<?>> serializableTopics,
+      final Collection<ActivityDirectiveId> directiveIds,
+      final AsyncConsumer<SimulationEvents> consumer
+  ) {
+    this.streamEvents(startTime, activityTopic, serializableTopics, directiveIds, consumer, DEFAULT_EVENT_CHUNK_SIZE);
+  }
+
+  /**
+   * Serializes the events committed from now on as the simulation advances, handing them off to the given consumer
+   * in chunks rather than accumulating them for {@link #computeResults}.
+   *
+   * Events are handed off only once simulation time has moved past them, so that every time point is streamed
+   * whole. Whatever remains is streamed, and the consumer closed, when results are computed;
+   * the events of those results are then empty.
+   *
+   * @param directiveIds the ids of every directive that may be simulated. Activity instances not backed by
+   *     a directive are numbered around these, since ids must be handed out before the whole plan has been seen.
+   * @param chunkSize the number of transactions to accumulate before streaming them.
+   */
+  public void streamEvents(
+      final Instant startTime,
+      final Topic<ActivityDirectiveId> activityTopic,
+      final Iterable<SerializableTopic<?>> serializableTopics,
+      final Collection<ActivityDirectiveId> directiveIds,
+      final AsyncConsumer<SimulationEvents> consumer,
+      final int chunkSize
+  ) {
+    if (this.eventStream.isPresent()) throw new IllegalStateException("Events are already being streamed");
+
+    this.trackSpanInfo(activityTopic, serializableTopics);
+    for (final var directiveId : directiveIds) this.reservedActivityInstanceIds.add(directiveId.id());
+
+    this.eventStream = Optional.of(new EventStream(startTime, serializableTopics, consumer, chunkSize));
+  }
+
+  /** The state of an in-progress stream of serialized events. */
+  private final class EventStream {
+    private final Instant startTime;
+    private final Iterable<SerializableTopic<?>> serializableTopics;
+    private final List<Triple<Integer, String, ValueSchema>> topics = new ArrayList<>();
+    private final HashMap<SerializableTopic<?>, Integer> serializableTopicToId = new HashMap<>();
+    private final AsyncConsumer<SimulationEvents> consumer;
+    private final int chunkSize;
+
+    private TreeMap<Duration, List<EventGraph<EventRecord>>> pending = new TreeMap<>();
+    private int pendingTransactions = 0;
+    private boolean finished = false;
+
+    public EventStream(
+        final Instant startTime,
+        final Iterable<SerializableTopic<?>> serializableTopics,
+        final AsyncConsumer<SimulationEvents> consumer,
+        final int chunkSize
+    ) {
+      this.startTime = startTime;
+      this.serializableTopics = serializableTopics;
+      this.consumer = consumer;
+      this.chunkSize = chunkSize;
+
+      for (final var serializableTopic : serializableTopics) {
+        this.serializableTopicToId.put(serializableTopic, this.topics.size());
+        this.topics.add(Triple.of(this.topics.size(), serializableTopic.name(), serializableTopic.outputType().getSchema()));
+      }
+    }
+
+    public void add(final Duration time, final EventGraph<Event> commit) {
+      if (this.finished) throw new IllegalStateException("Cannot stream events after the stream has finished");
+
+      final var serializedEventGraph = serializeCommit(
+          commit,
+          this.serializableTopics,
+          this.serializableTopicToId,
+          SimulationEngine.this::assignActivityInstanceId);
+      if (serializedEventGraph instanceof EventGraph.Empty) return;
+
+      this.pending.computeIfAbsent(time, $ -> new ArrayList<>()).add(serializedEventGraph);
+      this.pendingTransactions += 1;
+    }
+
+    /** Stream every pending time point before the given time, if enough transactions have accumulated. */
+    public void flushBefore(final Duration time) {
+      if (this.pendingTransactions < this.chunkSize) return;
+
+      final var completed = this.pending.headMap(time, false);
+      if (completed.isEmpty()) return;
+
+      final var chunk = new TreeMap<>(completed);
+      completed.clear();
+      this.pendingTransactions = this.pending.values().stream().mapToInt(List::size).sum();
+      this.consumer.accept(new SimulationEvents(this.startTime, this.topics, chunk));
+    }
+
+    public void finish() {
+      if (this.finished) return;
+      this.finished = true;
+
+      this.consumer.accept(new SimulationEvents(this.startTime, this.topics, this.pending));
+      this.consumer.close(); // Wait for the consumer to finish before continuing
+      this.pending = new TreeMap<>();
+      this.pendingTransactions = 0;
+    }
+  }
+
+  /**
+   * Find the activity an event emitted by the given span should be attributed to, handing out a new
+   * activity instance id if that activity doesn't have one yet.
+   */
+  private Optional<ActivityInstanceId> assignActivityInstanceId(final SpanId provenance) {
+    final var spanInfo = this.spanInfoIndex.orElseThrow().spanInfo;
+
+    // Find the nearest enclosing activity.
+    var spanId = Optional.of(provenance);
+    while (spanId.isPresent() && !spanInfo.isActivity(spanId.get())) {
+      spanId = this.getSpan(spanId.get()).parent();
+    }
+    if (spanId.isEmpty()) return Optional.empty();
+
+    final var activity = spanId.get();
+    final var existing = this.activityInstanceIds.get(activity);
+    if (existing != null) return Optional.of(existing);
+
+    final ActivityInstanceId id;
+    if (spanInfo.isDirective(activity)) {
+      id = new ActivityInstanceId(spanInfo.getDirective(activity).id());
+    } else {
+      while (this.reservedActivityInstanceIds.contains(this.nextActivityInstanceId)) this.nextActivityInstanceId++;
+      id = new ActivityInstanceId(this.nextActivityInstanceId++);
+    }
+    this.activityInstanceIds.put(activity, id);
+    this.reservedActivityInstanceIds.add(id.id());
+    return Optional.of(id);
+  }
+
+  /**
+   * Serialize the events of the given timeline, unless they have been streamed as the simulation progressed,
+   * in which case the remainder of the stream is flushed and no events are returned.
+   */
+  private TreeMap<Duration, List<EventGraph<EventRecord>>> serializeTimeline(
+      final TemporalEventSource combinedTimeline,
+      final Iterable<SerializableTopic<?>> serializableTopics,
+      final SpanInfo spanInfo,
+      final HashMap<SerializableTopic<?>, Integer> serializableTopicToId
+  ) {
+    if (this.eventStream.isPresent()) {
+      this.eventStream.get().finish();
+      return new TreeMap<>();
+    }
+
+    return createSerializedTimeline(
+        combinedTimeline,
+        serializableTopics,
+        spanToSimulatedActivities(spanInfo),
+        serializableTopicToId);
+  }
 
   /** Compute a set of results from the current state of simulation. */
   // TODO: Move result extraction out of the SimulationEngine.
@@ -922,7 +1307,7 @@ public final class SimulationEngine implements AutoCloseable {
   ) {
     final var combinedTimeline = this.combineTimeline();
     // Collect per-task information from the event graph.
-    final var spanInfo = computeSpanInfo(activityTopic, serializableTopics, combinedTimeline);
+    final var spanInfo = computeSpanInfo(activityTopic, serializableTopics, () -> combinedTimeline);
 
     // Extract profiles for every resource.
     final var resourceProfiles = resourceManager.computeProfiles(elapsedTime);
@@ -938,10 +1323,10 @@ public final class SimulationEngine implements AutoCloseable {
       topics.add(Triple.of(topics.size(), serializableTopic.name(), serializableTopic.outputType().getSchema()));
     }
 
-    final var serializedTimeline = createSerializedTimeline(
+    final var serializedTimeline = serializeTimeline(
         combinedTimeline,
         serializableTopics,
-        spanToSimulatedActivities(spanInfo),
+        spanInfo,
         serializableTopicToId
     );
 
@@ -965,7 +1350,7 @@ public final class SimulationEngine implements AutoCloseable {
   ) {
     final var combinedTimeline = this.combineTimeline();
     // Collect per-task information from the event graph.
-    final var spanInfo = computeSpanInfo(activityTopic, serializableTopics, combinedTimeline);
+    final var spanInfo = computeSpanInfo(activityTopic, serializableTopics, () -> combinedTimeline);
 
     // Extract profiles for every resource.
     final var resourceProfiles = resourceManager.computeProfiles(elapsedTime, resourceNames);
@@ -981,10 +1366,10 @@ public final class SimulationEngine implements AutoCloseable {
       topics.add(Triple.of(topics.size(), serializableTopic.name(), serializableTopic.outputType().getSchema()));
     }
 
-    final var serializedTimeline = createSerializedTimeline(
+    final var serializedTimeline = serializeTimeline(
         combinedTimeline,
         serializableTopics,
-        spanToSimulatedActivities(spanInfo),
+        spanInfo,
         serializableTopicToId
     );
 
@@ -1014,7 +1399,7 @@ public final class SimulationEngine implements AutoCloseable {
   /** A handle for processing requests from a modeled resource or condition. */
   private static final class EngineQuerier implements Querier {
     private final TaskFrame<JobId> frame;
-    private final Set<Topic<?>> referencedTopics = new HashSet<>();
+    private final Subscriptions.TopicSet<Topic<?>> referencedTopics = new Subscriptions.TopicSet<>();
     private Optional<Duration> expiry = Optional.empty();
 
     public EngineQuerier(final TaskFrame<JobId> frame) {
@@ -1028,10 +1413,10 @@ public final class SimulationEngine implements AutoCloseable {
       final var query = ((EngineCellId<?, State>) token);
 
       this.expiry = min(this.expiry, this.frame.getExpiry(query.query()));
-      this.referencedTopics.add(query.topic());
+      this.referencedTopics.add(query.topic(), query.topicIndex());
 
-      // TODO: Cache the state (until the query returns) to avoid unnecessary copies
-      //  if the same state is requested multiple times in a row.
+      // Cells whose type is read-only hand out one copy of their state until they next change;
+      //  the states of other cells are copied on every read.
       final var state$ = this.frame.getState(query.query());
 
       return state$.orElseThrow(IllegalArgumentException::new);
@@ -1069,8 +1454,8 @@ public final class SimulationEngine implements AutoCloseable {
       @SuppressWarnings("unchecked")
       final var query = ((EngineCellId<?, State>) token);
 
-      // TODO: Cache the return value (until the next emit or until the task yields) to avoid unnecessary copies
-      //  if the same state is requested multiple times in a row.
+      // Cells whose type is read-only hand out one copy of their state until they next change;
+      //  the states of other cells are copied on every read.
       final var state$ = this.frame.getState(query.query());
       return state$.orElseThrow(IllegalArgumentException::new);
     }
@@ -1085,29 +1470,31 @@ public final class SimulationEngine implements AutoCloseable {
 
     @Override
     public void spawn(final InSpan inSpan, final TaskFactory<?> state) {
-      // Prepare a span for the child task
-      final var childSpan = switch (inSpan) {
-        case Parent -> this.span;
-
-        case Fresh -> {
-          final var freshSpan = SpanId.generate();
-          SimulationEngine.this.spans.put(freshSpan, new Span(Optional.of(this.span), currentTime, Optional.empty()));
-          SimulationEngine.this.spanContributorCount.put(freshSpan, new MutableInt(1));
-          yield freshSpan;
-        }
-      };
+      synchronized (SimulationEngine.this.lock) {
+        // Prepare a span for the child task
+        final var childSpan = switch (inSpan) {
+          case Parent -> this.span;
 
-      final var childTask = TaskId.generate();
-      SimulationEngine.this.spanContributorCount.get(this.span).increment();
-      SimulationEngine.this.tasks.put(
-          childTask,
-          new ExecutionState<>(
-              childSpan,
-              this.caller,
-              state.create(SimulationEngine.this.executor)));
-      this.frame.signal(JobId.forTask(childTask));
+          case Fresh -> {
+            final var freshSpan = SpanId.generate();
+            SimulationEngine.this.spans.put(freshSpan, new Span(Optional.of(this.span), currentTime, Optional.empty()));
+            SimulationEngine.this.spanContributorCount.put(freshSpan, new MutableInt(1));
+            yield freshSpan;
+          }
+        };
 
-      this.caller.ifPresent($ -> SimulationEngine.this.blockedTasks.get($).increment());
+        final var childTask = TaskId.generate();
+        SimulationEngine.this.spanContributorCount.get(this.span).increment();
+        SimulationEngine.this.tasks.put(
+            childTask,
+            new ExecutionState<>(
+                childSpan,
+                this.caller,
+                state.create(SimulationEngine.this.executor)));
+        this.frame.signal(JobId.forTask(childTask));
+
+        this.caller.ifPresent($ -> SimulationEngine.this.blockedTasks.get($).increment());
+      }
     }
   }
 
@@ -1175,7 +1562,12 @@ public final class SimulationEngine implements AutoCloseable {
   }
 
   public SimulationEngine duplicate() {
-    return new SimulationEngine(this);
+    return new SimulationEngine(this, this.parallelJobs);
+  }
+
+  /** Duplicate this engine, performing the jobs of each batch of the duplicate concurrently or not, as given. */
+  /*package-local*/ SimulationEngine duplicate(final boolean parallelJobs) {
+    return new SimulationEngine(this, parallelJobs);
   }
 
   public Optional<Duration> peekNextTime() {
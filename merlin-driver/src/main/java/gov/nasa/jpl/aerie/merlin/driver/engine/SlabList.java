@@ -5,6 +5,7 @@ import org.apache.commons.lang3.mutable.MutableObject;
 
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 
@@ -23,6 +24,8 @@ public final class SlabList<T> implements Iterable<T> {
   /*derived*/
   private Slab<T> tail = this.head;
   /*derived*/
+  private final ArrayList<Slab<T>> slabs = new ArrayList<>(List.of(this.head));
+  /*derived*/
   private int size = 0;
   private boolean frozen = false;
 
@@ -36,9 +39,16 @@ public final class SlabList<T> implements Iterable<T> {
     if (this.size % SLAB_SIZE == 0) {
       this.tail.next().setValue(new Slab<>());
       this.tail = this.tail.next().getValue();
+      this.slabs.add(this.tail);
     }
   }
 
+  public T get(final int index) {
+    if (index < 0 || index >= this.size) throw new IndexOutOfBoundsException(index);
+
+    return this.slabs.get(index / SLAB_SIZE).elements().get(index % SLAB_SIZE);
+  }
+
   public int size() {
     return this.size;
   }
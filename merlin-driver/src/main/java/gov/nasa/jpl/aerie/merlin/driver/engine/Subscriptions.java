@@ -1,63 +1,247 @@
 package gov.nasa.jpl.aerie.merlin.driver.engine;
 
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Optional;
-import java.util.Set;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An index of the topics each query depends upon, from which the queries to re-evaluate are found when a topic is
+ * written to.
+ *
+ * Topics are identified by the dense index they were given when the model was built (see {@link EngineCellId}),
+ * and queries by a dense id given on their first subscription. The queries subscribed to each topic are kept as a
+ * bitset over query ids.
+ *
+ * Invalidating a topic disarms its queries rather than unsubscribing them. A query that is re-evaluated against the
+ * same topics as before is then re-armed without touching the index.
+ */
 public final class Subscriptions<TopicRef, QueryRef> {
-  /** The set of topics depended upon by a given query. */
-  private final Map<QueryRef, Set<TopicRef>> topicsByQuery = new HashMap<>();
+  private static final int NONE = -1;
+  private static final int INITIAL_CAPACITY = 64;
+
+  /** The index of each topic that has ever been subscribed to. */
+  private final Object2IntOpenHashMap<TopicRef> topicIndices;
+
+  /** The id of each subscribed query. */
+  private final Object2IntOpenHashMap<QueryRef> queryIds;
+
+  /** The query holding each id, or null if the id is free. */
+  private Object[] queries;
+
+  /** The sorted indices of the topics depended upon by each query, by query id. */
+  private int[][] topicsByQuery;
+
+  /** Ids no longer held by any query, available for reuse. */
+  private int[] freeIds;
+  private int freeIdCount;
+  /** The number of ids that have ever been handed out. */
+  private int idCount;
 
-  /** An index of queries by subscribed topic. */
+  /** The queries subscribed to each topic, as a bitset over query ids, by topic index. */
   @DerivedFrom("topicsByQuery")
-  private final Map<TopicRef, Set<QueryRef>> queriesByTopic = new HashMap<>();
+  private long[][] queriesByTopic;
 
-  // This method takes ownership of `topics`; the set should not be referenced after calling this method.
-  public void subscribeQuery(final QueryRef query, final Set<TopicRef> topics) {
-    this.topicsByQuery.put(query, topics);
+  /** The queries that have not been invalidated since they last subscribed, as a bitset over query ids. */
+  private long[] armed;
 
-    for (final var topic : topics) {
-      this.queriesByTopic.computeIfAbsent(topic, $ -> new HashSet<>()).add(query);
+  public Subscriptions() {
+    this.topicIndices = new Object2IntOpenHashMap<>();
+    this.topicIndices.defaultReturnValue(NONE);
+    this.queryIds = new Object2IntOpenHashMap<>();
+    this.queryIds.defaultReturnValue(NONE);
+    this.queries = new Object[INITIAL_CAPACITY];
+    this.topicsByQuery = new int[INITIAL_CAPACITY][];
+    this.freeIds = new int[INITIAL_CAPACITY];
+    this.queriesByTopic = new long[0][];
+    this.armed = new long[words(INITIAL_CAPACITY)];
+  }
+
+  private Subscriptions(final Subscriptions<TopicRef, QueryRef> other) {
+    this.topicIndices = other.topicIndices.clone();
+    this.queryIds = other.queryIds.clone();
+    this.queries = other.queries.clone();
+    // The topics of a query are replaced rather than modified in place, so they can be shared.
+    this.topicsByQuery = other.topicsByQuery.clone();
+    this.freeIds = other.freeIds.clone();
+    this.freeIdCount = other.freeIdCount;
+    this.idCount = other.idCount;
+    this.queriesByTopic = new long[other.queriesByTopic.length][];
+    for (var topic = 0; topic < this.queriesByTopic.length; topic += 1) {
+      final var queries = other.queriesByTopic[topic];
+      if (queries != null) this.queriesByTopic[topic] = queries.clone();
     }
+    this.armed = other.armed.clone();
   }
 
-  public void unsubscribeQuery(final QueryRef query) {
-    final var topics = this.topicsByQuery.remove(query);
+  /** Subscribe a query to the given topics, replacing any topics it was previously subscribed to. */
+  public void subscribeQuery(final QueryRef query, final TopicSet<TopicRef> topics) {
+    var id = this.queryIds.getInt(query);
+    if (id == NONE) {
+      id = allocateId();
+      this.queryIds.put(query, id);
+      this.queries[id] = query;
+    }
 
-    for (final var topic : topics) {
-      final var queries = this.queriesByTopic.get(topic);
-      if (queries == null) continue;
+    final var previousTopics = this.topicsByQuery[id];
+    if (!topics.hasIndices(previousTopics)) {
+      if (previousTopics != null) {
+        for (final var topic : previousTopics) clearBit(this.queriesByTopic[topic], id);
+      }
+      for (var i = 0; i < topics.size; i += 1) {
+        setBit(topicBits(topics.topicAt(i), topics.indices[i]), id);
+      }
+      this.topicsByQuery[id] = Arrays.copyOf(topics.indices, topics.size);
+    }
 
-      queries.remove(query);
-      if (queries.isEmpty()) this.queriesByTopic.remove(topic);
+    setBit(this.armed, id);
+  }
+
+  public void unsubscribeQuery(final QueryRef query) {
+    final var id = this.queryIds.removeInt(query);
+    if (id == NONE) return;
+
+    final var topics = this.topicsByQuery[id];
+    if (topics != null) {
+      for (final var topic : topics) clearBit(this.queriesByTopic[topic], id);
     }
+    clearBit(this.armed, id);
+
+    this.topicsByQuery[id] = null;
+    this.queries[id] = null;
+    this.freeIds[this.freeIdCount] = id;
+    this.freeIdCount += 1;
   }
 
-  public Set<QueryRef> invalidateTopic(final TopicRef topic) {
-    final var queries = Optional
-        .ofNullable(this.queriesByTopic.remove(topic))
-        .orElseGet(Collections::emptySet);
+  /**
+   * Get the queries subscribed to a topic, and disarm them until they next subscribe.
+   * A disarmed query is not returned again, whichever of its topics is invalidated.
+   */
+  public List<QueryRef> invalidateTopic(final TopicRef topic) {
+    final var index = this.topicIndices.getInt(topic);
+    if (index == NONE) return List.of();
+
+    final var subscribers = this.queriesByTopic[index];
+    final var words = Math.min(subscribers.length, this.armed.length);
 
-    for (final var query : queries) unsubscribeQuery(query);
+    List<QueryRef> invalidated = null;
+    for (var w = 0; w < words; w += 1) {
+      var word = subscribers[w] & this.armed[w];
+      if (word == 0) continue;
 
-    return queries;
+      this.armed[w] &= ~word;
+      if (invalidated == null) invalidated = new ArrayList<>();
+      while (word != 0) {
+        @SuppressWarnings("unchecked")
+        final var query = (QueryRef) this.queries[(w << 6) + Long.numberOfTrailingZeros(word)];
+        invalidated.add(query);
+        word &= word - 1;
+      }
+    }
+
+    return (invalidated == null) ? List.of() : invalidated;
   }
 
   public void clear() {
-    this.topicsByQuery.clear();
-    this.queriesByTopic.clear();
+    this.topicIndices.clear();
+    this.queryIds.clear();
+    Arrays.fill(this.queries, 0, this.idCount, null);
+    Arrays.fill(this.topicsByQuery, 0, this.idCount, null);
+    this.freeIdCount = 0;
+    this.idCount = 0;
+    this.queriesByTopic = new long[0][];
+    Arrays.fill(this.armed, 0);
   }
 
   public Subscriptions<TopicRef, QueryRef> duplicate() {
-    final Subscriptions<TopicRef, QueryRef> subscriptions = new Subscriptions<>();
-    for (final var entry : this.topicsByQuery.entrySet()) {
-      final var query = entry.getKey();
-      final var topics = entry.getValue();
-      subscriptions.subscribeQuery(query, new HashSet<>(topics));
+    return new Subscriptions<>(this);
+  }
+
+  private int allocateId() {
+    if (this.freeIdCount > 0) {
+      this.freeIdCount -= 1;
+      return this.freeIds[this.freeIdCount];
+    }
+
+    if (this.idCount == this.queries.length) {
+      final var capacity = 2 * this.queries.length;
+      this.queries = Arrays.copyOf(this.queries, capacity);
+      this.topicsByQuery = Arrays.copyOf(this.topicsByQuery, capacity);
+      this.freeIds = Arrays.copyOf(this.freeIds, capacity);
+      this.armed = Arrays.copyOf(this.armed, words(capacity));
+    }
+    return this.idCount++;
+  }
+
+  /** Get the bitset of queries subscribed to a topic, registering the topic if it is new to this index. */
+  private long[] topicBits(final TopicRef topic, final int index) {
+    if (index >= this.queriesByTopic.length) {
+      this.queriesByTopic = Arrays.copyOf(this.queriesByTopic, Math.max(index + 1, 2 * this.queriesByTopic.length));
+    }
+
+    var bits = this.queriesByTopic[index];
+    if (bits == null) {
+      this.topicIndices.put(topic, index);
+      bits = new long[this.armed.length];
+    } else if (bits.length < this.armed.length) {
+      bits = Arrays.copyOf(bits, this.armed.length);
+    } else {
+      return bits;
+    }
+    this.queriesByTopic[index] = bits;
+    return bits;
+  }
+
+  private static int words(final int bits) {
+    return (bits + 63) >>> 6;
+  }
+
+  private static void setBit(final long[] bits, final int id) {
+    bits[id >>> 6] |= 1L << id;
+  }
+
+  private static void clearBit(final long[] bits, final int id) {
+    if ((id >>> 6) < bits.length) bits[id >>> 6] &= ~(1L << id);
+  }
+
+  /**
+   * The topics read by a query while it is evaluated, each with the index it was given when the model was built.
+   *
+   * Queries read few distinct topics, many times over, so the indices are kept in a small sorted array.
+   */
+  public static final class TopicSet<TopicRef> {
+    private int[] indices = new int[4];
+    private Object[] topics = new Object[4];
+    private int size = 0;
+
+    public void add(final TopicRef topic, final int index) {
+      var position = Arrays.binarySearch(this.indices, 0, this.size, index);
+      if (position >= 0) return;
+      position = -(position + 1);
+
+      if (this.size == this.indices.length) {
+        this.indices = Arrays.copyOf(this.indices, 2 * this.size);
+        this.topics = Arrays.copyOf(this.topics, 2 * this.size);
+      }
+      System.arraycopy(this.indices, position, this.indices, position + 1, this.size - position);
+      System.arraycopy(this.topics, position, this.topics, position + 1, this.size - position);
+      this.indices[position] = index;
+      this.topics[position] = topic;
+      this.size += 1;
+    }
+
+    public int size() {
+      return this.size;
+    }
+
+    @SuppressWarnings("unchecked")
+    private TopicRef topicAt(final int position) {
+      return (TopicRef) this.topics[position];
+    }
+
+    private boolean hasIndices(final int[] indices) {
+      return indices != null && Arrays.equals(this.indices, 0, this.size, indices, 0, indices.length);
     }
-    return subscriptions;
   }
 }
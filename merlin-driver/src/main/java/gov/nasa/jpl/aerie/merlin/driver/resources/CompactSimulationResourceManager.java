@@ -0,0 +1,237 @@
+package gov.nasa.jpl.aerie.merlin.driver.resources;
+
+import gov.nasa.jpl.aerie.merlin.driver.engine.ProfileSegment;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.RealDynamics;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import gov.nasa.jpl.aerie.merlin.protocol.types.ValueSchema;
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.MICROSECONDS;
+
+/**
+ * A variant of the SimulationResourceManager that keeps all segments in memory, like
+ * {@link InMemorySimulationResourceManager}, but more compactly.
+ *
+ * Real segments are stored in parallel primitive columns rather than as boxed dynamics, and an update that leaves
+ * a resource's dynamics unchanged does not start a new segment. The resulting profiles describe the same behavior
+ * as those of an {@link InMemorySimulationResourceManager}, but with redundant segments merged.
+ */
+public class CompactSimulationResourceManager implements SimulationResourceManager {
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final HashMap<String, RealColumns> realResourceSegments;
+  private final HashMap<String, DiscreteColumns> discreteResourceSegments;
+
+  private Duration lastReceivedTime;
+
+  public CompactSimulationResourceManager() {
+    this.realResourceSegments = new HashMap<>();
+    this.discreteResourceSegments = new HashMap<>();
+    this.lastReceivedTime = Duration.ZERO;
+  }
+
+  public CompactSimulationResourceManager(final CompactSimulationResourceManager other) {
+    this.realResourceSegments = new HashMap<>(other.realResourceSegments.size());
+    this.discreteResourceSegments = new HashMap<>(other.discreteResourceSegments.size());
+
+    this.lastReceivedTime = other.lastReceivedTime;
+
+    // Deep copy the resource maps
+    for (final var entry : other.realResourceSegments.entrySet()) {
+      this.realResourceSegments.put(entry.getKey(), entry.getValue().deepCopy());
+    }
+    for (final var entry : other.discreteResourceSegments.entrySet()) {
+      this.discreteResourceSegments.put(entry.getKey(), entry.getValue().deepCopy());
+    }
+  }
+
+  /**
+   * Clear out the Resource Manager's cache of Resource Segments
+   */
+  public void clear() {
+    realResourceSegments.clear();
+    discreteResourceSegments.clear();
+  }
+
+  /**
+   * Compute all ProfileSegments stored in this resource manager.
+   * @param elapsedDuration the amount of time elapsed since the start of simulation.
+   */
+  @Override
+  public ResourceProfiles computeProfiles(final Duration elapsedDuration) {
+    final var keySet = new HashSet<>(realResourceSegments.keySet());
+    keySet.addAll(discreteResourceSegments.keySet());
+    return computeProfiles(elapsedDuration, keySet);
+  }
+
+  /**
+   * Compute a subset of the ProfileSegments stored in this resource manager
+   * @param elapsedDuration the amount of time elapsed since the start of simulation.
+   * @param resources the set of names of the resources to be computed
+   */
+  @Override
+  public ResourceProfiles computeProfiles(final Duration elapsedDuration, final Set<String> resources) {
+    final var profiles = new ResourceProfiles(new HashMap<>(), new HashMap<>());
+    final var end = elapsedDuration.in(MICROSECONDS);
+
+    for (final var resource : realResourceSegments.entrySet()) {
+      if (!resources.contains(resource.getKey())) continue;
+
+      final var columns = resource.getValue();
+      final var profile = new ArrayList<ProfileSegment<RealDynamics>>(columns.size);
+      for (int i = 0; i < columns.size; i++) {
+        final var segmentEnd = (i + 1 < columns.size) ? columns.starts[i + 1] : end;
+        profile.add(new ProfileSegment<>(
+            Duration.of(segmentEnd - columns.starts[i], MICROSECONDS),
+            RealDynamics.linear(columns.initials[i], columns.rates[i])));
+      }
+      profiles.realProfiles().put(resource.getKey(), new ResourceProfile<>(columns.schema, profile));
+    }
+
+    for (final var resource : discreteResourceSegments.entrySet()) {
+      if (!resources.contains(resource.getKey())) continue;
+
+      final var columns = resource.getValue();
+      final var profile = new ArrayList<ProfileSegment<SerializedValue>>(columns.values.size());
+      for (int i = 0; i < columns.values.size(); i++) {
+        final var segmentEnd = (i + 1 < columns.values.size()) ? columns.starts[i + 1] : end;
+        profile.add(new ProfileSegment<>(
+            Duration.of(segmentEnd - columns.starts[i], MICROSECONDS),
+            columns.values.get(i)));
+      }
+      profiles.discreteProfiles().put(resource.getKey(), new ResourceProfile<>(columns.schema, profile));
+    }
+
+    return profiles;
+  }
+
+  /**
+   * Add new segments to this manager's internal store of segments, skipping those that don't change their resource.
+   * @param elapsedTime the amount of time elapsed since the start of simulation.  Must be monotonically increasing on subsequent calls.
+   * @param realResourceUpdates the set of updates to real resources. Up to one update per resource is permitted.
+   * @param discreteResourceUpdates the set of updates to discrete resources. Up to one update per resource is permitted.
+   */
+  @Override
+  public void acceptUpdates(
+      final Duration elapsedTime,
+      final Map<String, Pair<ValueSchema, RealDynamics>> realResourceUpdates,
+      final Map<String, Pair<ValueSchema, SerializedValue>> discreteResourceUpdates
+  ) {
+    if (elapsedTime.shorterThan(lastReceivedTime)) {
+      throw new IllegalArgumentException(("elapsedTime must be monotonically increasing between calls.\n"
+                                          + "\telaspedTime: %s,\tlastReceivedTme: %s")
+                                             .formatted(elapsedTime, lastReceivedTime));
+    }
+    lastReceivedTime = elapsedTime;
+    final var start = elapsedTime.in(MICROSECONDS);
+
+    for (final var e : realResourceUpdates.entrySet()) {
+      final var update = e.getValue();
+      realResourceSegments
+          .computeIfAbsent(e.getKey(), $ -> new RealColumns(update.getLeft()))
+          .append(start, update.getRight());
+    }
+
+    for (final var e : discreteResourceUpdates.entrySet()) {
+      final var update = e.getValue();
+      discreteResourceSegments
+          .computeIfAbsent(e.getKey(), $ -> new DiscreteColumns(update.getLeft()))
+          .append(start, update.getRight());
+    }
+  }
+
+  /** The segments of a real resource, as parallel columns of start offsets (in microseconds) and dynamics. */
+  private static final class RealColumns {
+    private final ValueSchema schema;
+    private long[] starts;
+    private double[] initials;
+    private double[] rates;
+    private int size;
+
+    RealColumns(final ValueSchema schema) {
+      this(schema, new long[INITIAL_CAPACITY], new double[INITIAL_CAPACITY], new double[INITIAL_CAPACITY], 0);
+    }
+
+    private RealColumns(
+        final ValueSchema schema,
+        final long[] starts,
+        final double[] initials,
+        final double[] rates,
+        final int size)
+    {
+      this.schema = schema;
+      this.starts = starts;
+      this.initials = initials;
+      this.rates = rates;
+      this.size = size;
+    }
+
+    void append(final long start, final RealDynamics dynamics) {
+      if (this.size > 0) {
+        final var last = this.size - 1;
+        if (ResourceSegments.isUnchanged(RealDynamics.linear(this.initials[last], this.rates[last]), dynamics)) return;
+      }
+
+      if (this.size == this.starts.length) {
+        final var capacity = this.size * 2;
+        this.starts = Arrays.copyOf(this.starts, capacity);
+        this.initials = Arrays.copyOf(this.initials, capacity);
+        this.rates = Arrays.copyOf(this.rates, capacity);
+      }
+      this.starts[this.size] = start;
+      this.initials[this.size] = dynamics.initial;
+      this.rates[this.size] = dynamics.rate;
+      this.size += 1;
+    }
+
+    RealColumns deepCopy() {
+      return new RealColumns(
+          this.schema,
+          Arrays.copyOf(this.starts, Math.max(this.size, INITIAL_CAPACITY)),
+          Arrays.copyOf(this.initials, Math.max(this.size, INITIAL_CAPACITY)),
+          Arrays.copyOf(this.rates, Math.max(this.size, INITIAL_CAPACITY)),
+          this.size);
+    }
+  }
+
+  /** The segments of a discrete resource, as parallel columns of start offsets (in microseconds) and values. */
+  private static final class DiscreteColumns {
+    private final ValueSchema schema;
+    private long[] starts;
+    private final ArrayList<SerializedValue> values;
+
+    DiscreteColumns(final ValueSchema schema) {
+      this(schema, new long[INITIAL_CAPACITY], new ArrayList<>());
+    }
+
+    private DiscreteColumns(final ValueSchema schema, final long[] starts, final ArrayList<SerializedValue> values) {
+      this.schema = schema;
+      this.starts = starts;
+      this.values = values;
+    }
+
+    void append(final long start, final SerializedValue value) {
+      final var size = this.values.size();
+      if (size > 0 && ResourceSegments.isUnchanged(this.values.get(size - 1), value)) return;
+
+      if (size == this.starts.length) this.starts = Arrays.copyOf(this.starts, size * 2);
+      this.starts[size] = start;
+      this.values.add(value);
+    }
+
+    DiscreteColumns deepCopy() {
+      return new DiscreteColumns(
+          this.schema,
+          Arrays.copyOf(this.starts, Math.max(this.values.size(), INITIAL_CAPACITY)),
+          new ArrayList<>(this.values));
+    }
+  }
+}
@@ -1,9 +1,12 @@
 package gov.nasa.jpl.aerie.merlin.driver.resources;
 
 import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.RealDynamics;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
 import gov.nasa.jpl.aerie.merlin.protocol.types.ValueSchema;
 
 import java.util.ArrayList;
+import java.util.Objects;
 
 record ResourceSegments<T> (ValueSchema valueSchema, ArrayList<Segment<T>> segments) {
     record Segment<T> (Duration startOffset, T dynamics) {}
@@ -17,4 +20,20 @@ record ResourceSegments<T> (ValueSchema valueSchema, ArrayList<Segment<T>> segme
       segmentsCopy.addAll(this.segments);
       return new ResourceSegments<>(valueSchema, segmentsCopy);
     }
+
+    /**
+     * Whether a real resource whose dynamics were `previous` is unchanged by being updated to `next`,
+     * in which case resource managers may extend the previous segment rather than start a new one.
+     *
+     * Only constant dynamics are merged: for a changing resource, equal dynamics at a later time describe a jump back to
+     * an earlier value, and comparing against an extrapolation of `previous` would be subject to rounding.
+     */
+    static boolean isUnchanged(final RealDynamics previous, final RealDynamics next) {
+      return previous.rate == 0.0 && next.rate == 0.0 && previous.initial == next.initial;
+    }
+
+    /** Whether a discrete resource whose value was `previous` is unchanged by being updated to `next`. */
+    static boolean isUnchanged(final SerializedValue previous, final SerializedValue next) {
+      return Objects.equals(previous, next);
+    }
 }
@@ -174,12 +174,18 @@ public class StreamingSimulationResourceManager implements SimulationResourceMan
       final var resourceName = e.getKey();
       final var resourceSegment = e.getValue();
 
-      realResourceSegments
+      final var segments = realResourceSegments
           .computeIfAbsent(
               resourceName,
               r -> new ResourceSegments<>(resourceSegment.getLeft(), threshold))
-          .segments()
-          .add(new ResourceSegments.Segment<>(elapsedTime, resourceSegment.getRight()));
+          .segments();
+
+      // Skip updates that leave the resource unchanged, so redundant segments are never streamed
+      if (!segments.isEmpty()
+          && ResourceSegments.isUnchanged(segments.getLast().dynamics(), resourceSegment.getRight())) {
+        continue;
+      }
+      segments.add(new ResourceSegments.Segment<>(elapsedTime, resourceSegment.getRight()));
 
       if(realResourceSegments.get(resourceName).segments().size() >= threshold) {
         readyToStream = true;
@@ -190,12 +196,18 @@ public class StreamingSimulationResourceManager implements SimulationResourceMan
       final var resourceName = e.getKey();
       final var resourceSegment = e.getValue();
 
-      discreteResourceSegments
+      final var segments = discreteResourceSegments
           .computeIfAbsent(
               resourceName,
               r -> new ResourceSegments<>(resourceSegment.getLeft(), threshold))
-          .segments()
-          .add(new ResourceSegments.Segment<>(elapsedTime, resourceSegment.getRight()));
+          .segments();
+
+      // Skip updates that leave the resource unchanged, so redundant segments are never streamed
+      if (!segments.isEmpty()
+          && ResourceSegments.isUnchanged(segments.getLast().dynamics(), resourceSegment.getRight())) {
+        continue;
+      }
+      segments.add(new ResourceSegments.Segment<>(elapsedTime, resourceSegment.getRight()));
 
       if(discreteResourceSegments.get(resourceName).segments().size() >= threshold) {
         readyToStream = true;
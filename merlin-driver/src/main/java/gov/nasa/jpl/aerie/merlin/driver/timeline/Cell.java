@@ -13,6 +13,12 @@ public final class Cell<State> {
   private final GenericCell<?, State> inner;
   private final State state;
 
+  /**
+   * A duplicate of the current state, shared by every read until the state next changes,
+   * for cell types whose states are read-only to their readers. Null when there is none.
+   */
+  private volatile State snapshot = null;
+
   private <Effect> Cell(final GenericCell<Effect, State> inner, final State state) {
     this.inner = inner;
     this.state = state;
@@ -24,7 +30,7 @@ public final class Cell<State> {
       final EventGraphEvaluator evaluator,
       final State state
   ) {
-    this(new GenericCell<>(cellType, cellType.getEffectType(), selector, evaluator), state);
+    this(new GenericCell<>(cellType, cellType.getEffectType(), selector, selector.topics(), evaluator), state);
   }
 
   public Cell<State> duplicate() {
@@ -33,32 +39,50 @@ public final class Cell<State> {
 
   public void step(final Duration delta) {
     this.inner.cellType.step(this.state, delta);
+    if (!delta.isZero()) this.snapshot = null;
   }
 
   public void apply(final EventGraph<Event> events) {
-    this.inner.apply(this.state, events);
+    if (this.inner.apply(this.state, events)) this.snapshot = null;
   }
 
   public void apply(final Event event) {
-    this.inner.apply(this.state, event);
+    if (this.inner.apply(this.state, event)) this.snapshot = null;
   }
 
   public void apply(final Event[] events, final int from, final int to) {
-    this.inner.apply(this.state, events, from, to);
+    if (this.inner.apply(this.state, events, from, to)) this.snapshot = null;
   }
 
   public Optional<Duration> getExpiry() {
     return this.inner.cellType.getExpiry(this.state);
   }
 
+  /**
+   * Get a copy of the current state, which does not change as this cell does.
+   *
+   * For cell types whose states are read-only, the same copy is returned until this cell next changes.
+   */
   public State getState() {
-    return this.inner.cellType.duplicate(this.state);
+    if (!this.inner.cellType.isReadOnly()) return this.inner.cellType.duplicate(this.state);
+
+    var snapshot = this.snapshot;
+    if (snapshot == null) {
+      snapshot = this.inner.cellType.duplicate(this.state);
+      this.snapshot = snapshot;
+    }
+    return snapshot;
   }
 
   public boolean isInterestedIn(final Set<Topic<?>> topics) {
     return this.inner.selector.matchesAny(topics);
   }
 
+  /** The topics whose events this cell may be affected by. Do not modify the returned array. */
+  public Topic<?>[] getTopics() {
+    return this.inner.topics;
+  }
+
   @Override
   public String toString() {
     return this.state.toString();
@@ -68,20 +92,28 @@ public final class Cell<State> {
       CellType<Effect, State> cellType,
       EffectTrait<Effect> algebra,
       Selector<Effect> selector,
+      Topic<?>[] topics,
       EventGraphEvaluator evaluator
   ) {
-    public void apply(final State state, final EventGraph<Event> events) {
+    /** Apply the effect of some events to a state, returning whether any of them affected it. */
+    public boolean apply(final State state, final EventGraph<Event> events) {
       final var effect$ = this.evaluator.evaluate(this.algebra, this.selector, events);
-      if (effect$.isPresent()) this.cellType.apply(state, effect$.get());
+      if (effect$.isEmpty()) return false;
+      this.cellType.apply(state, effect$.get());
+      return true;
     }
 
-    public void apply(final State state, final Event event) {
+    public boolean apply(final State state, final Event event) {
       final var effect$ = this.selector.select(this.algebra, event);
-      if (effect$.isPresent()) this.cellType.apply(state, effect$.get());
+      if (effect$.isEmpty()) return false;
+      this.cellType.apply(state, effect$.get());
+      return true;
     }
 
-    public void apply(final State state, final Event[] events, int from, final int to) {
-      while (from < to) apply(state, events[from++]);
+    public boolean apply(final State state, final Event[] events, int from, final int to) {
+      var applied = false;
+      while (from < to) applied |= apply(state, events[from++]);
+      return applied;
     }
   }
 }
@@ -3,14 +3,18 @@ package gov.nasa.jpl.aerie.merlin.driver.timeline;
 import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 public final class LiveCells {
   // INVARIANT: Every Query<T> maps to a LiveCell<T>; that is, the type parameters are correlated.
   private final Map<Query<?>, LiveCell<?>> cells = new HashMap<>();
   private final EventSource source;
-  private final LiveCells parent;
+  // Cleared once a snapshot has copied every cell of the ancestors, which are then no longer consulted.
+  private LiveCells parent;
+  private boolean snapshotted = false;
 
   public LiveCells(final EventSource source) {
     this.source = source;
@@ -35,7 +39,8 @@ public final class LiveCells {
     this.cells.put(query, new LiveCell<>(cell, this.source.cursor()));
   }
 
-  private <State> Optional<Cell<State>> getCell(final Query<State> query) {
+  // Synchronized so that the concurrent jobs of a batch may share a common parent context.
+  private synchronized <State> Optional<Cell<State>> getCell(final Query<State> query) {
     // First, check if we have this cell already.
     {
       // SAFETY: By the invariant, if there is an entry for this query, it is of type Cell<State>.
@@ -58,7 +63,31 @@ public final class LiveCells {
     return Optional.of(cell.get());
   }
 
-  public void freeze() {
+  /**
+   * Brings every cell known to these cells or to their ancestors up to the end of the source, keeping a copy here.
+   *
+   * The source must be frozen. Cells derived from these ones afterward start from the snapshot, so that their first
+   * read replays only the time points added since, rather than every time point since each cell was last read.
+   * Snapshotting more than once has no further effect.
+   */
+  public synchronized void snapshot() {
+    if (this.snapshotted) return;
+    this.snapshotted = true;
+
+    if (this.parent != null) {
+      for (final var query : this.parent.queries()) this.getCell(query);
+      this.parent = null;
+    }
+    for (final var cell : this.cells.values()) cell.get();
+  }
+
+  private synchronized Set<Query<?>> queries() {
+    final var queries = new HashSet<Query<?>>(this.cells.keySet());
+    if (this.parent != null) queries.addAll(this.parent.queries());
+    return queries;
+  }
+
+  public synchronized void freeze() {
     if (this.parent != null) this.parent.freeze();
     this.source.freeze();
   }
@@ -3,24 +3,45 @@ package gov.nasa.jpl.aerie.merlin.driver.timeline;
 import gov.nasa.jpl.aerie.merlin.driver.engine.SlabList;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
 import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Set;
 
-public record TemporalEventSource(SlabList<TimePoint> points) implements EventSource, Iterable<TemporalEventSource.TimePoint> {
-  public TemporalEventSource() {
-    this(new SlabList<>());
+public final class TemporalEventSource implements EventSource, Iterable<TemporalEventSource.TimePoint> {
+  private final SlabList<TimePoint> points = new SlabList<>();
+
+  // Secondary indices over `points`, allowing a cursor to visit only the time points relevant to its cell.
+  /*derived*/
+  private final IntArrayList deltaPositions = new IntArrayList();
+  /*derived*/
+  private final ArrayList<Duration> deltas = new ArrayList<>();
+  /*derived*/
+  private final Map<Topic<?>, IntArrayList> commitPositions = new HashMap<>();
+
+  public SlabList<TimePoint> points() {
+    return this.points;
   }
 
   public void add(final Duration delta) {
     if (delta.isZero()) return;
+    this.deltaPositions.add(this.points.size());
+    this.deltas.add(delta);
     this.points.append(new TimePoint.Delta(delta));
   }
 
   public void add(final EventGraph<Event> graph) {
     if (graph instanceof EventGraph.Empty) return;
-    this.points.append(new TimePoint.Commit(graph, extractTopics(graph)));
+    final var topics = extractTopics(graph);
+    for (final var topic : topics) {
+      this.commitPositions.computeIfAbsent(topic, $ -> new IntArrayList()).add(this.points.size());
+    }
+    this.points.append(new TimePoint.Commit(graph, topics));
   }
 
   @Override
@@ -34,26 +55,81 @@ public record TemporalEventSource(SlabList<TimePoint> points) implements EventSo
   }
 
   public final class TemporalCursor implements Cursor {
-    private final SlabList<TimePoint>.SlabIterator iterator = TemporalEventSource.this.points.iterator();
+    private int position = 0;
+    private int nextDelta = 0;
 
     private TemporalCursor() {}
 
+    /**
+     * Brings the cell up to the end of the timeline.
+     *
+     * Only the commits on the cell's topics are visited, by way of the topic index. Every delta is still
+     * stepped individually and in order, so the cell ends up exactly as if it had visited every time point.
+     */
     @Override
     public void stepUp(final Cell<?> cell) {
-      while (this.iterator.hasNext()) {
-        final var point = this.iterator.next();
-
-        if (point instanceof TimePoint.Delta p) {
-          cell.step(p.delta());
-        } else if (point instanceof TimePoint.Commit p) {
-          if (cell.isInterestedIn(p.topics())) cell.apply(p.events());
-        } else {
-          throw new IllegalStateException();
+      final var size = TemporalEventSource.this.points.size();
+      if (this.position >= size) return;
+
+      final var topics = cell.getTopics();
+      if (topics.length == 1) {
+        // Bail out as fast as possible if we're in a trivial (and incredibly common) case.
+        final var commits = TemporalEventSource.this.commitPositions.get(topics[0]);
+        if (commits != null) {
+          for (var i = firstAtOrAfter(commits, this.position); i < commits.size(); i += 1) {
+            this.applyCommit(cell, commits.getInt(i));
+          }
+        }
+      } else if (topics.length > 1) {
+        // Merge the commit positions of every topic, visiting commits on several of these topics only once.
+        final var commits = new IntArrayList[topics.length];
+        final var indices = new int[topics.length];
+        for (var k = 0; k < topics.length; k += 1) {
+          commits[k] = TemporalEventSource.this.commitPositions.get(topics[k]);
+          if (commits[k] != null) indices[k] = firstAtOrAfter(commits[k], this.position);
+        }
+
+        while (true) {
+          var next = Integer.MAX_VALUE;
+          for (var k = 0; k < topics.length; k += 1) {
+            if (commits[k] != null && indices[k] < commits[k].size()) next = Math.min(next, commits[k].getInt(indices[k]));
+          }
+          if (next == Integer.MAX_VALUE) break;
+
+          for (var k = 0; k < topics.length; k += 1) {
+            if (commits[k] != null && indices[k] < commits[k].size() && commits[k].getInt(indices[k]) == next) indices[k] += 1;
+          }
+          this.applyCommit(cell, next);
         }
       }
+
+      this.stepDeltasBefore(cell, size);
+      this.position = size;
+    }
+
+    private void applyCommit(final Cell<?> cell, final int position) {
+      this.stepDeltasBefore(cell, position);
+
+      if (!(TemporalEventSource.this.points.get(position) instanceof TimePoint.Commit p)) throw new IllegalStateException();
+      cell.apply(p.events());
+    }
+
+    private void stepDeltasBefore(final Cell<?> cell, final int position) {
+      final var deltaPositions = TemporalEventSource.this.deltaPositions;
+      final var deltas = TemporalEventSource.this.deltas;
+
+      while (this.nextDelta < deltaPositions.size() && deltaPositions.getInt(this.nextDelta) < position) {
+        cell.step(deltas.get(this.nextDelta));
+        this.nextDelta += 1;
+      }
     }
   }
 
+  /** Finds the index of the first entry in a sorted list of positions that is no earlier than the given position. */
+  private static int firstAtOrAfter(final IntArrayList positions, final int position) {
+    final var index = Arrays.binarySearch(positions.elements(), 0, positions.size(), position);
+    return (index >= 0) ? index : -(index + 1);
+  }
 
   private static Set<Topic<?>> extractTopics(final EventGraph<Event> graph) {
     final var set = new ReferenceOpenHashSet<Topic<?>>();
@@ -0,0 +1,68 @@
+package gov.nasa.jpl.aerie.merlin.driver;
+
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Random;
+
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.MICROSECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class CheckpointPoliciesTest {
+  private static final Duration period = Duration.of(100, MICROSECONDS);
+  private static final Duration horizon = period.times(50);
+
+  @Test
+  @DisplayName("Periodic checkpoints are taken at the same steps as the desired checkpoints at each multiple of the period")
+  public void testPeriodicMatchesDesiredCheckpoints() {
+    final var multiples = new ArrayList<Duration>();
+    for (var multiple = period; multiple.noLongerThan(horizon); multiple = multiple.plus(period)) {
+      multiples.add(multiple);
+    }
+
+    final var periodic = CheckpointSimulationDriver.periodicCheckpoints(period);
+    final var desired = CheckpointSimulationDriver.desiredCheckpoints(multiples);
+
+    // Steps of every length from every time, including empty steps and those starting or ending on a multiple.
+    final var steps = new ArrayList<CheckpointSimulationDriver.SimulationState>();
+    for (var current = 0; current <= 350; current += 1) {
+      for (var next = current; next <= 350; next += 1) {
+        steps.add(state(current, next));
+      }
+    }
+    // Longer steps, spanning many multiples at once.
+    final var random = new Random(42);
+    for (var i = 0; i < 10_000; i += 1) {
+      final var current = random.nextLong(horizon.in(MICROSECONDS) + 1);
+      final var next = current + random.nextLong(horizon.in(MICROSECONDS) - current + 1);
+      steps.add(state(current, next));
+    }
+
+    for (final var step : steps) {
+      assertEquals(desired.apply(step), periodic.apply(step), step.toString());
+    }
+  }
+
+  @Test
+  @DisplayName("Periodic checkpoints need a positive period")
+  public void testPeriodicRejectsNonPositivePeriod() {
+    assertThrows(IllegalArgumentException.class, () -> CheckpointSimulationDriver.periodicCheckpoints(Duration.ZERO));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> CheckpointSimulationDriver.periodicCheckpoints(Duration.of(-1, MICROSECONDS)));
+  }
+
+  /** A step of the simulation between two times; the policies look at nothing else, so there is no engine. */
+  private static CheckpointSimulationDriver.SimulationState state(final long current, final long next) {
+    return new CheckpointSimulationDriver.SimulationState(
+        Duration.of(current, MICROSECONDS),
+        Duration.of(next, MICROSECONDS),
+        null,
+        Map.of(),
+        Map.of());
+  }
+}
@@ -0,0 +1,151 @@
+package gov.nasa.jpl.aerie.merlin.driver;
+
+import gov.nasa.jpl.aerie.merlin.protocol.driver.CellId;
+import gov.nasa.jpl.aerie.merlin.protocol.driver.Querier;
+import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
+import gov.nasa.jpl.aerie.merlin.protocol.model.CellType;
+import gov.nasa.jpl.aerie.merlin.protocol.model.EffectTrait;
+import gov.nasa.jpl.aerie.merlin.protocol.model.OutputType;
+import gov.nasa.jpl.aerie.merlin.protocol.model.RealOutputType;
+import gov.nasa.jpl.aerie.merlin.protocol.model.Resource;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import gov.nasa.jpl.aerie.merlin.protocol.types.ValueSchema;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.MILLISECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public final class RealResourceExtractionTest {
+  private static final ValueSchema SCHEMA = ValueSchema.ofStruct(Map.of(
+      "initial", ValueSchema.REAL,
+      "rate", ValueSchema.REAL));
+
+  @Test
+  @DisplayName("Real dynamics read through a RealOutputType match those read by serialization")
+  public void testTypedAndSerializedExtractionAgree() {
+    final var initializer = new MissionModelBuilder();
+    final var ref = initializer.allocate(new int[] {0}, new ExpiringCellType(), $ -> $, new Topic<>());
+
+    // The typed output type refuses to serialize, so the profile can only come from its direct accessors.
+    initializer.resource("/typed", makeResource(ref, new RealOutputType<>() {
+      @Override
+      public ValueSchema getSchema() {
+        return SCHEMA;
+      }
+
+      @Override
+      public SerializedValue serialize(final double[] value) {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public double getInitial(final double[] value) {
+        return value[0];
+      }
+
+      @Override
+      public double getRate(final double[] value) {
+        return value[1];
+      }
+    }));
+    initializer.resource("/serialized", makeResource(ref, new OutputType<>() {
+      @Override
+      public ValueSchema getSchema() {
+        return SCHEMA;
+      }
+
+      @Override
+      public SerializedValue serialize(final double[] value) {
+        return SerializedValue.of(Map.of(
+            "initial", SerializedValue.of(value[0]),
+            "rate", SerializedValue.of(value[1])));
+      }
+    }));
+
+    final var model = initializer.build(ref, new DirectiveTypeRegistry<>(Map.of()));
+
+    final var now = Instant.now();
+    final var results = SimulationDriver.simulate(
+        model,
+        Map.of(),
+        now,
+        Duration.SECONDS.times(5),
+        now,
+        Duration.SECONDS.times(5),
+        () -> false);
+
+    final var typed = results.realProfiles.get("/typed").segments();
+    assertEquals(11, typed.size());
+    assertEquals(results.realProfiles.get("/serialized").segments(), typed);
+  }
+
+  private static Resource<double[]> makeResource(final CellId<?> ref, final OutputType<double[]> outputType) {
+    return new Resource<>() {
+      @Override
+      public String getType() {
+        return "real";
+      }
+
+      @Override
+      public OutputType<double[]> getOutputType() {
+        return outputType;
+      }
+
+      @Override
+      public double[] getDynamics(final Querier querier) {
+        // Color this resource with the expiry of the cell.
+        querier.getState(ref);
+        return new double[] {1.5, -0.25};
+      }
+    };
+  }
+
+  /** A stateless cell which expires every half second, so that its resources are re-queried at a regular rate. */
+  private static final class ExpiringCellType implements CellType<Object, int[]> {
+    @Override
+    public EffectTrait<Object> getEffectType() {
+      return new EffectTrait<>() {
+        @Override
+        public Object empty() {
+          return new Object();
+        }
+
+        @Override
+        public Object sequentially(final Object prefix, final Object suffix) {
+          return empty();
+        }
+
+        @Override
+        public Object concurrently(final Object left, final Object right) {
+          return empty();
+        }
+      };
+    }
+
+    @Override
+    public int[] duplicate(final int[] state) {
+      return state;
+    }
+
+    @Override
+    public void apply(final int[] state, final Object event) {
+      // no internal state
+    }
+
+    @Override
+    public void step(final int[] state, final Duration duration) {
+      // no internal state
+    }
+
+    @Override
+    public Optional<Duration> getExpiry(final int[] state) {
+      return Optional.of(MILLISECONDS.times(500));
+    }
+  }
+}
@@ -0,0 +1,109 @@
+package gov.nasa.jpl.aerie.merlin.driver;
+
+import gov.nasa.jpl.aerie.merlin.driver.engine.SimulationEngine;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.types.ActivityDirective;
+import gov.nasa.jpl.aerie.types.ActivityDirectiveId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.MINUTES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class SpanInfoIndexTest {
+  private static final Map<ActivityDirectiveId, ActivityDirective> schedule = Map.of(
+      new ActivityDirectiveId(1), new ActivityDirective(Duration.ZERO, "DecomposingActivityDirective", Map.of(), null, true),
+      new ActivityDirectiveId(2), new ActivityDirective(Duration.of(3, MINUTES), "DelayActivityDirective", Map.of(), null, true),
+      new ActivityDirectiveId(3), new ActivityDirective(Duration.of(10, MINUTES), "DecomposingActivityDirective", Map.of(), null, true),
+      new ActivityDirectiveId(4), new ActivityDirective(Duration.of(30, MINUTES), "DelayActivityDirective", Map.of(), null, true));
+
+  @Test
+  @DisplayName("Results and directive details from the span info index match those folded from the whole timeline")
+  public void testIndexMatchesFullFold() {
+    // Checkpoint part way through, so that the engine left at the end is a duplicate whose earlier spans are in its ancestors.
+    final var inputs = simulate(List.of(Duration.of(5, MINUTES)));
+    final var topics = inputs.serializableTopics();
+
+    assertMatchesFullFold(inputs, inputs.engine(), topics);
+    assertMatchesFullFold(inputs, inputs.engine().duplicate(), topics);
+
+    // Tracking other topics replaces the index with one for those topics.
+    final var inputTopics = new ArrayList<MissionModel.SerializableTopic<?>>();
+    for (final var topic : topics) {
+      if (topic.name().startsWith("ActivityType.Input.")) inputTopics.add(topic);
+    }
+    final var engine = inputs.engine().duplicate();
+    engine.trackSpanInfo(inputs.activityTopic(), inputTopics);
+    assertMatchesFullFold(inputs, engine, inputTopics);
+  }
+
+  /**
+   * Compare what the engine computes through its index with what it computes by folding the timeline.
+   * Topics are only indexed when equal to those tracked, so a fresh view of the same topics is never indexed.
+   */
+  private static void assertMatchesFullFold(
+      final SimulationResultsComputerInputs inputs,
+      final SimulationEngine engine,
+      final Iterable<MissionModel.SerializableTopic<?>> topics
+  ) {
+    final Iterable<MissionModel.SerializableTopic<?>> unindexedTopics = topics::iterator;
+
+    assertEquals(
+        engine.computeResults(Instant.EPOCH, inputs.activityTopic(), unindexedTopics, inputs.resourceManager()),
+        engine.computeResults(Instant.EPOCH, inputs.activityTopic(), topics, inputs.resourceManager()));
+
+    assertEquals(schedule.keySet(), inputs.activityDirectiveIdTaskIdMap().keySet());
+    for (final var entry : inputs.activityDirectiveIdTaskIdMap().entrySet()) {
+      final var expected = engine.getDirectiveDetailsFromSpan(inputs.activityTopic(), unindexedTopics, entry.getValue());
+      assertEquals(expected, engine.getDirectiveDetailsFromSpan(inputs.activityTopic(), topics, entry.getValue()));
+      // Spans started before the checkpoint are found through the engine's ancestors.
+      assertTrue(expected.directiveId().isPresent());
+      assertEquals(entry.getKey(), expected.directiveId().get());
+    }
+  }
+
+  private static SimulationResultsComputerInputs simulate(final List<Duration> desiredCheckpoints) {
+    final var missionModel = TestMissionModel.missionModel();
+    return CheckpointSimulationDriver.simulateWithCheckpoints(
+        missionModel,
+        schedule,
+        Instant.EPOCH,
+        Duration.HOUR,
+        Instant.EPOCH,
+        Duration.HOUR,
+        $ -> {},
+        () -> false,
+        CachedSimulationEngine.empty(missionModel, Instant.EPOCH),
+        CheckpointSimulationDriver.desiredCheckpoints(desiredCheckpoints),
+        CheckpointSimulationDriver.noCondition(),
+        new RetainingEngineStore(),
+        SimulationDuplicationTest.mockConfiguration());
+  }
+
+  /** A store that keeps every engine saved to it, so that checkpoints are taken. */
+  private static final class RetainingEngineStore implements CachedEngineStore {
+    private final Map<SimulationEngineConfiguration, List<CachedSimulationEngine>> engines = new HashMap<>();
+
+    @Override
+    public void save(final CachedSimulationEngine cachedSimulationEngine, final SimulationEngineConfiguration configuration) {
+      this.engines.computeIfAbsent(configuration, $ -> new ArrayList<>()).add(cachedSimulationEngine);
+    }
+
+    @Override
+    public List<CachedSimulationEngine> getCachedEngines(final SimulationEngineConfiguration configuration) {
+      return this.engines.getOrDefault(configuration, List.of());
+    }
+
+    @Override
+    public int capacity() {
+      return Integer.MAX_VALUE;
+    }
+  }
+}
@@ -0,0 +1,116 @@
+package gov.nasa.jpl.aerie.merlin.driver;
+
+import gov.nasa.jpl.aerie.merlin.driver.engine.EventRecord;
+import gov.nasa.jpl.aerie.merlin.driver.resources.AsyncConsumer;
+import gov.nasa.jpl.aerie.merlin.driver.resources.InMemorySimulationResourceManager;
+import gov.nasa.jpl.aerie.merlin.driver.timeline.EventGraph;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import gov.nasa.jpl.aerie.types.ActivityDirective;
+import gov.nasa.jpl.aerie.types.ActivityDirectiveId;
+import gov.nasa.jpl.aerie.types.ActivityInstanceId;
+import gov.nasa.jpl.aerie.types.SerializedActivity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class StreamedEventsTest {
+  private final Duration tenDays = Duration.of(10 * 24, Duration.HOURS);
+  private final Map<String, SerializedValue> arguments = Map.of("unusedArg", SerializedValue.of("test-param"));
+
+  @Test
+  @DisplayName("Streaming events in chunks gives the same events as serializing them at the end")
+  public void streamedMatchesBatch() {
+    final var schedule = new HashMap<ActivityDirectiveId, ActivityDirective>();
+    for (long l = 0; l < 10_000; l++) {
+      schedule.put(
+          new ActivityDirectiveId(l),
+          new ActivityDirective(
+              Duration.of(l, Duration.MINUTES),
+              new SerializedActivity((l % 10 == 0) ? "DecomposingActivityDirective" : "DelayActivityDirective", arguments),
+              null,
+              true));
+    }
+
+    final var chunks = new ArrayList<SimulationEvents>();
+    final var closed = new boolean[] {false};
+    final var consumer = new AsyncConsumer<SimulationEvents>() {
+      @Override
+      public void accept(final SimulationEvents events) {
+        assertFalse(closed[0]);
+        chunks.add(events);
+      }
+
+      @Override
+      public void close() {
+        closed[0] = true;
+      }
+    };
+
+    final var batch = simulate(schedule, Optional.empty());
+    final var streamed = simulate(schedule, Optional.of(consumer));
+
+    assertTrue(closed[0]);
+    assertTrue(chunks.size() > 1);
+    assertTrue(streamed.events.isEmpty());
+
+    // Every time point must be streamed whole, in a single chunk.
+    final var events = new TreeMap<Duration, List<EventGraph<EventRecord>>>();
+    for (final var chunk : chunks) {
+      assertEquals(batch.topics, chunk.topics());
+      for (final var entry : chunk.events().entrySet()) {
+        assertFalse(events.containsKey(entry.getKey()));
+        events.put(entry.getKey(), entry.getValue());
+      }
+    }
+
+    assertEquals(batch.events.keySet(), events.keySet());
+    for (final var entry : batch.events.entrySet()) {
+      assertEquals(entry.getValue().size(), events.get(entry.getKey()).size());
+    }
+
+    // Every activity referenced by a streamed event must be among the results, with the same directive.
+    assertEquals(batch.simulatedActivities.size(), streamed.simulatedActivities.size());
+    for (final var entry : events.entrySet()) {
+      for (final var graph : entry.getValue()) {
+        graph.evaluate(new EventGraph.IdentityTrait<>(), record -> {
+          record.spanId().ifPresent(id -> {
+            final var activity = streamed.simulatedActivities.get(new ActivityInstanceId(id));
+            assertTrue(activity != null);
+            activity.directiveId().ifPresent(directiveId -> assertEquals((long) id, directiveId.id()));
+          });
+          return EventGraph.atom(record);
+        });
+      }
+    }
+  }
+
+  private SimulationResults simulate(
+      final Map<ActivityDirectiveId, ActivityDirective> schedule,
+      final Optional<AsyncConsumer<SimulationEvents>> eventConsumer)
+  {
+    return SimulationDriver.simulate(
+        TestMissionModel.missionModel(),
+        schedule,
+        Instant.EPOCH,
+        tenDays,
+        Instant.EPOCH,
+        tenDays,
+        () -> false,
+        $ -> {},
+        new InMemorySimulationResourceManager(),
+        false,
+        eventConsumer);
+  }
+}
@@ -0,0 +1,120 @@
+package gov.nasa.jpl.aerie.merlin.driver.engine;
+
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public final class JobScheduleTest {
+  @Test
+  @DisplayName("Jobs at the same instant are extracted together, conditions before tasks before resources")
+  public void testBatchesByInstant() {
+    final var schedule = new JobSchedule<String, SchedulingInstant>();
+    schedule.schedule("resource", SubInstant.Resources.at(Duration.of(1, SECONDS)));
+    schedule.schedule("task-a", SubInstant.Tasks.at(Duration.of(1, SECONDS)));
+    schedule.schedule("later", SubInstant.Conditions.at(Duration.of(2, SECONDS)));
+    schedule.schedule("task-b", SubInstant.Tasks.at(Duration.of(1, SECONDS)));
+    schedule.schedule("condition", SubInstant.Conditions.at(Duration.of(1, SECONDS)));
+
+    assertEquals(Optional.of(Duration.of(1, SECONDS)), schedule.peekNextTime());
+    assertEquals(batch(1, "condition"), schedule.extractNextJobs(Duration.MAX_VALUE));
+    assertEquals(batch(1, "task-a", "task-b"), schedule.extractNextJobs(Duration.MAX_VALUE));
+    assertEquals(batch(1, "resource"), schedule.extractNextJobs(Duration.MAX_VALUE));
+
+    // Jobs past the maximum time stay scheduled.
+    assertEquals(batch(1), schedule.extractNextJobs(Duration.of(1, SECONDS)));
+    assertEquals(batch(2, "later"), schedule.extractNextJobs(Duration.MAX_VALUE));
+    assertEquals(Optional.empty(), schedule.peekNextTime());
+  }
+
+  @Test
+  @DisplayName("Rescheduling a job replaces its previous time, and unscheduling it removes it")
+  public void testRescheduleAndUnschedule() {
+    final var schedule = new JobSchedule<String, SchedulingInstant>();
+    schedule.schedule("a", SubInstant.Tasks.at(Duration.of(5, SECONDS)));
+    schedule.schedule("b", SubInstant.Tasks.at(Duration.of(3, SECONDS)));
+    schedule.schedule("c", SubInstant.Tasks.at(Duration.of(4, SECONDS)));
+
+    schedule.schedule("a", SubInstant.Tasks.at(Duration.of(1, SECONDS)));
+    schedule.schedule("b", SubInstant.Tasks.at(Duration.of(6, SECONDS)));
+    schedule.unschedule("c");
+    schedule.unschedule("not scheduled");
+
+    assertEquals(batch(1, "a"), schedule.extractNextJobs(Duration.MAX_VALUE));
+    assertEquals(batch(6, "b"), schedule.extractNextJobs(Duration.MAX_VALUE));
+    assertEquals(batch(10), schedule.extractNextJobs(Duration.of(10, SECONDS)));
+  }
+
+  @Test
+  @DisplayName("A duplicated schedule evolves independently of the original")
+  public void testDuplicateIsIndependent() {
+    final var schedule = new JobSchedule<String, SchedulingInstant>();
+    schedule.schedule("a", SubInstant.Tasks.at(Duration.of(1, SECONDS)));
+    schedule.schedule("b", SubInstant.Tasks.at(Duration.of(2, SECONDS)));
+
+    final var duplicate = schedule.duplicate();
+    duplicate.schedule("a", SubInstant.Tasks.at(Duration.of(3, SECONDS)));
+    duplicate.schedule("c", SubInstant.Tasks.at(Duration.of(1, SECONDS)));
+
+    assertEquals(batch(1, "a"), schedule.extractNextJobs(Duration.MAX_VALUE));
+    assertEquals(batch(2, "b"), schedule.extractNextJobs(Duration.MAX_VALUE));
+
+    assertEquals(batch(1, "c"), duplicate.extractNextJobs(Duration.MAX_VALUE));
+    assertEquals(batch(2, "b"), duplicate.extractNextJobs(Duration.MAX_VALUE));
+    assertEquals(batch(3, "a"), duplicate.extractNextJobs(Duration.MAX_VALUE));
+  }
+
+  @Test
+  @DisplayName("Random schedules, reschedules and unschedules extract the same batches as a sorted map of instants")
+  public void testAgainstSortedMap() {
+    final var random = new Random(0);
+    final var subInstants = SubInstant.values();
+    final var schedule = new JobSchedule<Integer, SchedulingInstant>();
+    final var expectedTimes = new HashMap<Integer, SchedulingInstant>();
+
+    for (var step = 0; step < 10_000; step += 1) {
+      final var job = random.nextInt(200);
+      switch (random.nextInt(4)) {
+        case 0 -> {
+          schedule.unschedule(job);
+          expectedTimes.remove(job);
+        }
+        case 1 -> {
+          final var expected = expectedBatches(expectedTimes).firstEntry();
+          final var actual = schedule.extractNextJobs(Duration.MAX_VALUE);
+          if (expected == null) {
+            assertEquals(Set.of(), actual.jobs());
+          } else {
+            assertEquals(expected.getKey().offsetFromStart(), actual.offsetFromStart());
+            assertEquals(expected.getValue(), actual.jobs());
+            expected.getValue().forEach(expectedTimes::remove);
+          }
+        }
+        default -> {
+          final var time = subInstants[random.nextInt(subInstants.length)].at(Duration.of(random.nextInt(50), SECONDS));
+          schedule.schedule(job, time);
+          expectedTimes.put(job, time);
+        }
+      }
+    }
+  }
+
+  private static TreeMap<SchedulingInstant, Set<Integer>> expectedBatches(final HashMap<Integer, SchedulingInstant> times) {
+    final var batches = new TreeMap<SchedulingInstant, Set<Integer>>();
+    times.forEach((job, time) -> batches.computeIfAbsent(time, $ -> new HashSet<>()).add(job));
+    return batches;
+  }
+
+  private static JobSchedule.Batch<String> batch(final long seconds, final String... jobs) {
+    return new JobSchedule.Batch<>(Duration.of(seconds, SECONDS), Set.of(jobs));
+  }
+}
@@ -0,0 +1,93 @@
+package gov.nasa.jpl.aerie.merlin.driver.engine;
+
+import gov.nasa.jpl.aerie.merlin.driver.timeline.LiveCells;
+import gov.nasa.jpl.aerie.merlin.driver.timeline.TemporalEventSource;
+import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
+import gov.nasa.jpl.aerie.merlin.protocol.model.Task;
+import gov.nasa.jpl.aerie.merlin.protocol.model.TaskFactory;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Unit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class ParallelJobsTest {
+  private static final Topic<Integer> topic = new Topic<>();
+  private static final int JOB_COUNT = 32;
+
+  @Test
+  @DisplayName("A batch performed in parallel gives the same step result as when performed serially")
+  public void testParallelMatchesSerial() {
+    final var results = performBothWays(-1);
+
+    assertEquals(results.serial().commits().toString(), results.parallel().commits().toString());
+    assertEquals(results.serial().resourceUpdates().updates(), results.parallel().resourceUpdates().updates());
+    assertTrue(results.serial().error().isEmpty());
+    assertTrue(results.parallel().error().isEmpty());
+  }
+
+  @Test
+  @DisplayName("A failing job in a batch performed in parallel gives the same step result as when performed serially")
+  public void testFailingJobMatchesSerial() {
+    final var results = performBothWays(JOB_COUNT / 2);
+
+    // Only the effects of the jobs up to and including the failed one are reported, in both cases.
+    assertEquals(results.serial().commits().toString(), results.parallel().commits().toString());
+    assertEquals(results.serial().resourceUpdates().updates(), results.parallel().resourceUpdates().updates());
+
+    final var serialError = assertInstanceOf(SpanException.class, results.serial().error().orElseThrow());
+    final var parallelError = assertInstanceOf(SpanException.class, results.parallel().error().orElseThrow());
+    assertEquals(serialError.spanId, parallelError.spanId);
+    assertEquals(serialError.cause.getMessage(), parallelError.cause.getMessage());
+  }
+
+  @Test
+  @DisplayName("An engine refuses to perform further jobs after a failed batch")
+  public void testNoJobsAfterFailedBatch() {
+    for (final var parallelJobs : List.of(false, true)) {
+      final var engine = new SimulationEngine(new LiveCells(new TemporalEventSource()), parallelJobs);
+      for (var i = 0; i < JOB_COUNT; i++) engine.scheduleTask(Duration.ZERO, emitting(i, i == 0));
+      engine.scheduleTask(Duration.SECOND, emitting(JOB_COUNT, false));
+
+      final var cells = new LiveCells(new TemporalEventSource());
+      final var batch = engine.extractNextJobs(Duration.MAX_VALUE);
+      assertTrue(engine.performJobs(batch.jobs(), cells, Duration.ZERO, Duration.MAX_VALUE).error().isPresent());
+
+      final var nextBatch = engine.extractNextJobs(Duration.MAX_VALUE);
+      assertThrows(
+          IllegalStateException.class,
+          () -> engine.performJobs(nextBatch.jobs(), cells, Duration.SECOND, Duration.MAX_VALUE));
+    }
+  }
+
+  private record StepResults(SimulationEngine.StepResult serial, SimulationEngine.StepResult parallel) {}
+
+  /** Performs one batch of jobs serially and in parallel, in the same order, failing the job with the given index. */
+  private static StepResults performBothWays(final int failingJob) {
+    final var engine = new SimulationEngine(new LiveCells(new TemporalEventSource()));
+    for (var i = 0; i < JOB_COUNT; i++) engine.scheduleTask(Duration.ZERO, emitting(i, i == failingJob));
+
+    // Duplicates share the ids of their tasks, so both can perform the very same jobs.
+    final var serial = engine.duplicate(false);
+    final var parallel = engine.duplicate(true);
+    final var jobs = List.copyOf(serial.extractNextJobs(Duration.MAX_VALUE).jobs());
+    parallel.extractNextJobs(Duration.MAX_VALUE);
+
+    return new StepResults(
+        serial.performJobs(jobs, new LiveCells(new TemporalEventSource()), Duration.ZERO, Duration.MAX_VALUE),
+        parallel.performJobs(jobs, new LiveCells(new TemporalEventSource()), Duration.ZERO, Duration.MAX_VALUE));
+  }
+
+  private static TaskFactory<Unit> emitting(final int value, final boolean fail) {
+    return executor -> Task.run(scheduler -> {
+      scheduler.emit(value, topic);
+      if (fail) throw new RuntimeException("Job %d failed".formatted(value));
+    });
+  }
+}
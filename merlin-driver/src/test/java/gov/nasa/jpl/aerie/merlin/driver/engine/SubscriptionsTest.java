@@ -0,0 +1,88 @@
+package gov.nasa.jpl.aerie.merlin.driver.engine;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public final class SubscriptionsTest {
+  @Test
+  @DisplayName("Invalidating a topic returns its queries once, until they subscribe again")
+  public void testInvalidationDisarmsUntilResubscribed() {
+    final var subscriptions = new Subscriptions<String, String>();
+    subscriptions.subscribeQuery("q1", topics("a", "b"));
+    subscriptions.subscribeQuery("q2", topics("b"));
+
+    assertEquals(Set.of("q1", "q2"), new HashSet<>(subscriptions.invalidateTopic("b")));
+    assertEquals(List.of(), subscriptions.invalidateTopic("a"));
+    assertEquals(List.of(), subscriptions.invalidateTopic("b"));
+
+    subscriptions.subscribeQuery("q1", topics("a", "b"));
+    assertEquals(List.of("q1"), subscriptions.invalidateTopic("a"));
+  }
+
+  @Test
+  @DisplayName("Subscribing again with other topics replaces the query's previous topics")
+  public void testResubscribeReplacesTopics() {
+    final var subscriptions = new Subscriptions<String, String>();
+    subscriptions.subscribeQuery("q", topics("a", "b"));
+    subscriptions.subscribeQuery("q", topics("c"));
+
+    assertEquals(List.of(), subscriptions.invalidateTopic("a"));
+    assertEquals(List.of(), subscriptions.invalidateTopic("b"));
+    assertEquals(List.of("q"), subscriptions.invalidateTopic("c"));
+    assertEquals(List.of(), subscriptions.invalidateTopic("never subscribed to"));
+  }
+
+  @Test
+  @DisplayName("Unsubscribed queries are not invalidated, and their ids are reused by new queries")
+  public void testUnsubscribe() {
+    final var subscriptions = new Subscriptions<String, String>();
+    subscriptions.subscribeQuery("q1", topics("a"));
+    subscriptions.unsubscribeQuery("q1");
+    subscriptions.unsubscribeQuery("never subscribed");
+    subscriptions.subscribeQuery("q2", topics("b"));
+
+    assertEquals(List.of(), subscriptions.invalidateTopic("a"));
+    assertEquals(List.of("q2"), subscriptions.invalidateTopic("b"));
+  }
+
+  @Test
+  @DisplayName("A duplicate evolves independently of the original")
+  public void testDuplicateIsIndependent() {
+    final var subscriptions = new Subscriptions<String, String>();
+    subscriptions.subscribeQuery("q1", topics("a"));
+
+    final var duplicate = subscriptions.duplicate();
+    duplicate.subscribeQuery("q2", topics("a"));
+    assertEquals(Set.of("q1", "q2"), new HashSet<>(duplicate.invalidateTopic("a")));
+
+    assertEquals(List.of("q1"), subscriptions.invalidateTopic("a"));
+  }
+
+  @Test
+  @DisplayName("Queries beyond the first word of the bitsets are tracked")
+  public void testManyQueries() {
+    final var subscriptions = new Subscriptions<String, Integer>();
+    final var expected = new HashSet<Integer>();
+    for (var query = 0; query < 200; query += 1) {
+      subscriptions.subscribeQuery(query, topics((query % 2 == 0) ? "even" : "odd"));
+      if (query % 2 == 0) expected.add(query);
+    }
+
+    assertEquals(expected, new HashSet<>(subscriptions.invalidateTopic("even")));
+  }
+
+  /** The topics of these tests, each indexed by its position, as the model builder would index them. */
+  private static final List<String> TOPICS = List.of("a", "b", "c", "even", "odd");
+
+  private static Subscriptions.TopicSet<String> topics(final String... topics) {
+    final var set = new Subscriptions.TopicSet<String>();
+    for (final var topic : topics) set.add(topic, TOPICS.indexOf(topic));
+    return set;
+  }
+}
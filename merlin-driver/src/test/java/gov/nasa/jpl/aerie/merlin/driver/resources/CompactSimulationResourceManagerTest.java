@@ -0,0 +1,137 @@
+package gov.nasa.jpl.aerie.merlin.driver.resources;
+
+import gov.nasa.jpl.aerie.merlin.driver.engine.ProfileSegment;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.RealDynamics;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import gov.nasa.jpl.aerie.merlin.protocol.types.ValueSchema;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.BiPredicate;
+
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class CompactSimulationResourceManagerTest {
+  @Test
+  public void unchangedUpdatesDoNotStartNewSegments() {
+    final var manager = new CompactSimulationResourceManager();
+    manager.acceptUpdates(Duration.of(0, SECONDS), real(RealDynamics.constant(1)), discrete(SerializedValue.of("a")));
+    manager.acceptUpdates(Duration.of(1, SECONDS), real(RealDynamics.constant(1)), discrete(SerializedValue.of("a")));
+    manager.acceptUpdates(Duration.of(2, SECONDS), real(RealDynamics.constant(2)), discrete(SerializedValue.of("a")));
+    manager.acceptUpdates(Duration.of(3, SECONDS), real(RealDynamics.constant(2)), discrete(SerializedValue.of("b")));
+
+    final var profiles = manager.computeProfiles(Duration.of(5, SECONDS));
+    assertEquals(
+        List.of(
+            new ProfileSegment<>(Duration.of(2, SECONDS), RealDynamics.constant(1)),
+            new ProfileSegment<>(Duration.of(3, SECONDS), RealDynamics.constant(2))),
+        profiles.realProfiles().get("x").segments());
+    assertEquals(
+        List.of(
+            new ProfileSegment<>(Duration.of(3, SECONDS), SerializedValue.of("a")),
+            new ProfileSegment<>(Duration.of(2, SECONDS), SerializedValue.of("b"))),
+        profiles.discreteProfiles().get("y").segments());
+  }
+
+  @Test
+  public void repeatedLinearDynamicsAreKeptAsResets() {
+    final var manager = new CompactSimulationResourceManager();
+    manager.acceptUpdates(Duration.of(0, SECONDS), real(RealDynamics.linear(0, 1)), Map.of());
+    manager.acceptUpdates(Duration.of(1, SECONDS), real(RealDynamics.linear(0, 1)), Map.of());
+
+    final var profiles = manager.computeProfiles(Duration.of(2, SECONDS));
+    assertEquals(2, profiles.realProfiles().get("x").segments().size());
+  }
+
+  @Test
+  public void matchesInMemoryManagerUpToCoalescing() {
+    final var random = new Random(0);
+    final var compact = new CompactSimulationResourceManager();
+    final var inMemory = new InMemorySimulationResourceManager();
+
+    for (var step = 0; step < 1_000; step += 1) {
+      final var time = Duration.of(step * 3L + random.nextInt(3), SECONDS);
+      final var real = real(random.nextInt(4) == 0
+          ? RealDynamics.linear(random.nextInt(3), random.nextInt(2))
+          : RealDynamics.constant(random.nextInt(2)));
+      final var discrete = discrete(SerializedValue.of(random.nextInt(3)));
+
+      compact.acceptUpdates(time, real, discrete);
+      inMemory.acceptUpdates(time, real, discrete);
+    }
+
+    final var end = Duration.of(4_000, SECONDS);
+    final var expected = inMemory.computeProfiles(end);
+    final var actual = compact.computeProfiles(end);
+
+    assertEquals(
+        coalesce(expected.realProfiles().get("x").segments(), ResourceSegments::isUnchanged),
+        actual.realProfiles().get("x").segments());
+    assertEquals(
+        coalesce(expected.discreteProfiles().get("y").segments(), ResourceSegments::isUnchanged),
+        actual.discreteProfiles().get("y").segments());
+  }
+
+  @Test
+  public void computesOnlyRequestedResources() {
+    final var manager = new CompactSimulationResourceManager();
+    manager.acceptUpdates(Duration.ZERO, real(RealDynamics.constant(1)), discrete(SerializedValue.of(true)));
+
+    final var profiles = manager.computeProfiles(Duration.of(1, SECONDS), Set.of("y"));
+    assertEquals(Set.of(), profiles.realProfiles().keySet());
+    assertEquals(Set.of("y"), profiles.discreteProfiles().keySet());
+  }
+
+  @Test
+  public void copiesAreIndependent() {
+    final var original = new CompactSimulationResourceManager();
+    original.acceptUpdates(Duration.ZERO, real(RealDynamics.constant(1)), Map.of());
+
+    final var copy = new CompactSimulationResourceManager(original);
+    copy.acceptUpdates(Duration.of(1, SECONDS), real(RealDynamics.constant(2)), Map.of());
+
+    assertEquals(1, original.computeProfiles(Duration.of(2, SECONDS)).realProfiles().get("x").segments().size());
+    assertEquals(2, copy.computeProfiles(Duration.of(2, SECONDS)).realProfiles().get("x").segments().size());
+  }
+
+  @Test
+  public void rejectsUpdatesBackInTime() {
+    final var manager = new CompactSimulationResourceManager();
+    manager.acceptUpdates(Duration.of(1, SECONDS), real(RealDynamics.constant(1)), Map.of());
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> manager.acceptUpdates(Duration.ZERO, real(RealDynamics.constant(1)), Map.of()));
+  }
+
+  private static Map<String, Pair<ValueSchema, RealDynamics>> real(final RealDynamics dynamics) {
+    return Map.of("x", Pair.of(ValueSchema.REAL, dynamics));
+  }
+
+  private static Map<String, Pair<ValueSchema, SerializedValue>> discrete(final SerializedValue value) {
+    return Map.of("y", Pair.of(ValueSchema.INT, value));
+  }
+
+  private static <T> List<ProfileSegment<T>> coalesce(
+      final List<ProfileSegment<T>> segments,
+      final BiPredicate<T, T> isUnchanged)
+  {
+    final var result = new ArrayList<ProfileSegment<T>>();
+    for (final var segment : segments) {
+      if (!result.isEmpty() && isUnchanged.test(result.getLast().dynamics(), segment.dynamics())) {
+        final var last = result.removeLast();
+        result.add(new ProfileSegment<>(last.extent().plus(segment.extent()), last.dynamics()));
+      } else {
+        result.add(segment);
+      }
+    }
+    return result;
+  }
+}
@@ -0,0 +1,94 @@
+package gov.nasa.jpl.aerie.merlin.driver.resources;
+
+import gov.nasa.jpl.aerie.merlin.driver.engine.ProfileSegment;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.RealDynamics;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import gov.nasa.jpl.aerie.merlin.protocol.types.ValueSchema;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public final class StreamingSimulationResourceManagerTest {
+  @Test
+  public void repeatedConstantDynamicsAreNotStreamed() {
+    final var streamer = new CapturingStreamer();
+    final var manager = new StreamingSimulationResourceManager(streamer, 2);
+
+    // Every resource is resampled at every step, but only changes value a handful of times.
+    for (var step = 0; step < 100; step += 1) {
+      manager.acceptUpdates(
+          Duration.of(step, SECONDS),
+          Map.of("x", Pair.of(ValueSchema.REAL, RealDynamics.constant(step / 25))),
+          Map.of("y", Pair.of(ValueSchema.STRING, SerializedValue.of(step < 40 ? "a" : "b"))));
+    }
+    manager.computeProfiles(Duration.of(100, SECONDS));
+
+    assertEquals(
+        List.of(
+            new ProfileSegment<>(Duration.of(25, SECONDS), RealDynamics.constant(0)),
+            new ProfileSegment<>(Duration.of(25, SECONDS), RealDynamics.constant(1)),
+            new ProfileSegment<>(Duration.of(25, SECONDS), RealDynamics.constant(2)),
+            new ProfileSegment<>(Duration.of(25, SECONDS), RealDynamics.constant(3))),
+        streamer.realSegments("x"));
+    assertEquals(
+        List.of(
+            new ProfileSegment<>(Duration.of(40, SECONDS), SerializedValue.of("a")),
+            new ProfileSegment<>(Duration.of(60, SECONDS), SerializedValue.of("b"))),
+        streamer.discreteSegments("y"));
+
+    // A batch is streamed only when a resource changes enough to cross the threshold, and once more at the end.
+    assertEquals(5, streamer.batches.size());
+    assertEquals(1, streamer.closeCount);
+  }
+
+  @Test
+  public void repeatedLinearDynamicsAreStreamedAsResets() {
+    final var streamer = new CapturingStreamer();
+    final var manager = new StreamingSimulationResourceManager(streamer);
+
+    manager.acceptUpdates(Duration.ZERO, Map.of("x", Pair.of(ValueSchema.REAL, RealDynamics.linear(0, 1))), Map.of());
+    manager.acceptUpdates(Duration.of(1, SECONDS), Map.of("x", Pair.of(ValueSchema.REAL, RealDynamics.linear(0, 1))), Map.of());
+    manager.computeProfiles(Duration.of(2, SECONDS));
+
+    assertEquals(
+        List.of(
+            new ProfileSegment<>(Duration.of(1, SECONDS), RealDynamics.linear(0, 1)),
+            new ProfileSegment<>(Duration.of(1, SECONDS), RealDynamics.linear(0, 1))),
+        streamer.realSegments("x"));
+  }
+
+  /** Records every batch of profiles it is given, so the streamed profiles can be put back together. */
+  private static final class CapturingStreamer implements AsyncConsumer<ResourceProfiles> {
+    final List<ResourceProfiles> batches = new ArrayList<>();
+    int closeCount = 0;
+
+    @Override
+    public void accept(final ResourceProfiles profiles) {
+      this.batches.add(profiles);
+    }
+
+    @Override
+    public void close() {
+      this.closeCount += 1;
+    }
+
+    List<ProfileSegment<RealDynamics>> realSegments(final String name) {
+      final var segments = new ArrayList<ProfileSegment<RealDynamics>>();
+      for (final var batch : this.batches) segments.addAll(batch.realProfiles().get(name).segments());
+      return segments;
+    }
+
+    List<ProfileSegment<SerializedValue>> discreteSegments(final String name) {
+      final var segments = new ArrayList<ProfileSegment<SerializedValue>>();
+      for (final var batch : this.batches) segments.addAll(batch.discreteProfiles().get(name).segments());
+      return segments;
+    }
+  }
+}
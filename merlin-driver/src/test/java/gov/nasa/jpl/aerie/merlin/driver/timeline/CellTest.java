@@ -0,0 +1,118 @@
+package gov.nasa.jpl.aerie.merlin.driver.timeline;
+
+import gov.nasa.jpl.aerie.merlin.driver.engine.SpanId;
+import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
+import gov.nasa.jpl.aerie.merlin.protocol.model.CellType;
+import gov.nasa.jpl.aerie.merlin.protocol.model.EffectTrait;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.MICROSECONDS;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public final class CellTest {
+  private final Topic<Integer> topic = new Topic<>();
+  private final Topic<Integer> otherTopic = new Topic<>();
+
+  @Test
+  @DisplayName("Every read of a mutable cell type gets its own copy of the state")
+  public void testMutableStatesAreCopiedOnEveryRead() {
+    final var cell = makeCell(false);
+
+    final var first = cell.getState();
+    final var second = cell.getState();
+    assertNotSame(first, second);
+
+    first[0] = 100;
+    assertArrayEquals(new long[] {0, 0}, cell.getState());
+  }
+
+  @Test
+  @DisplayName("Reads of a read-only cell type share a copy of the state until the cell changes")
+  public void testReadOnlyStatesAreSharedUntilChanged() {
+    final var cell = makeCell(true);
+
+    final var first = cell.getState();
+    assertSame(first, cell.getState());
+
+    // Neither an event on another topic nor an empty step changes the cell.
+    cell.apply(Event.create(this.otherTopic, 1, SpanId.generate()));
+    cell.step(Duration.ZERO);
+    assertSame(first, cell.getState());
+
+    cell.apply(Event.create(this.topic, 3, SpanId.generate()));
+    final var afterEffect = cell.getState();
+    assertNotSame(first, afterEffect);
+    assertArrayEquals(new long[] {0, 0}, first);
+    assertArrayEquals(new long[] {3, 0}, afterEffect);
+
+    cell.step(Duration.of(5, MICROSECONDS));
+    final var afterStep = cell.getState();
+    assertNotSame(afterEffect, afterStep);
+    assertArrayEquals(new long[] {3, 0}, afterEffect);
+    assertArrayEquals(new long[] {3, 5}, afterStep);
+  }
+
+  @Test
+  @DisplayName("A duplicated read-only cell does not share copies with the original")
+  public void testDuplicatesDoNotShareReads() {
+    final var cell = makeCell(true);
+    final var shared = cell.getState();
+
+    final var duplicate = cell.duplicate();
+    duplicate.apply(Event.create(this.topic, 2, SpanId.generate()));
+
+    assertSame(shared, cell.getState());
+    assertArrayEquals(new long[] {0, 0}, shared);
+    assertArrayEquals(new long[] {2, 0}, duplicate.getState());
+  }
+
+  private Cell<long[]> makeCell(final boolean readOnly) {
+    return new Cell<>(
+        new AccumulatorCellType(readOnly),
+        new Selector<>(this.topic, $ -> $),
+        new RecursiveEventGraphEvaluator(),
+        new long[2]);
+  }
+
+  /** Accumulates its effects and the passage of time, in microseconds. */
+  private record AccumulatorCellType(boolean isReadOnly) implements CellType<Integer, long[]> {
+    @Override
+    public EffectTrait<Integer> getEffectType() {
+      return new EffectTrait<>() {
+        @Override
+        public Integer empty() {
+          return 0;
+        }
+
+        @Override
+        public Integer sequentially(final Integer prefix, final Integer suffix) {
+          return prefix + suffix;
+        }
+
+        @Override
+        public Integer concurrently(final Integer left, final Integer right) {
+          return left + right;
+        }
+      };
+    }
+
+    @Override
+    public long[] duplicate(final long[] state) {
+      return state.clone();
+    }
+
+    @Override
+    public void apply(final long[] state, final Integer effect) {
+      state[0] += effect;
+    }
+
+    @Override
+    public void step(final long[] state, final Duration duration) {
+      state[1] += duration.in(MICROSECONDS);
+    }
+  }
+}
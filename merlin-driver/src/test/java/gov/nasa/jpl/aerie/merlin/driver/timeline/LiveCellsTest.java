@@ -0,0 +1,138 @@
+package gov.nasa.jpl.aerie.merlin.driver.timeline;
+
+import gov.nasa.jpl.aerie.merlin.driver.engine.SpanId;
+import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
+import gov.nasa.jpl.aerie.merlin.protocol.model.CellType;
+import gov.nasa.jpl.aerie.merlin.protocol.model.EffectTrait;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.MICROSECONDS;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public final class LiveCellsTest {
+  private final Topic<Long> topic = new Topic<>();
+  private final Query<long[]> query = new Query<>();
+
+  /** The number of steps taken by every cell of the current test. */
+  private long steps = 0;
+
+  @Test
+  @DisplayName("After a snapshot, the first read of a cell in a derived context replays only the recent history")
+  public void testColdReadAfterSnapshotReplaysOnlyRecentHistory() {
+    final var initialCells = new LiveCells(new CausalEventSource());
+    initialCells.put(this.query, makeCell());
+
+    // A chain of contexts, each frozen in turn as an engine would be when duplicated, and none reading the cell.
+    final var timelines = new ArrayList<TemporalEventSource>();
+    var cells = initialCells;
+    for (var i = 0; i < 3; i += 1) {
+      final var timeline = new TemporalEventSource();
+      cells = new LiveCells(timeline, cells);
+      extend(timeline, 1_000, i);
+      cells.freeze();
+      cells.snapshot();
+      timelines.add(timeline);
+    }
+
+    final var recent = new TemporalEventSource();
+    final var child = new LiveCells(recent, cells);
+    extend(recent, 10, 3);
+    timelines.add(recent);
+
+    this.steps = 0;
+    final var state = child.getState(this.query).orElseThrow();
+    assertEquals(10, this.steps);
+
+    // The state is exactly that of a single cell visiting every time point in turn.
+    final var expected = makeCell();
+    for (final var timeline : timelines) {
+      for (final var point : timeline) {
+        if (point instanceof TemporalEventSource.TimePoint.Delta p) {
+          expected.step(p.delta());
+        } else if (point instanceof TemporalEventSource.TimePoint.Commit p) {
+          expected.apply(p.events());
+        }
+      }
+    }
+    assertArrayEquals(expected.getState(), state);
+  }
+
+  @Test
+  @DisplayName("Snapshotting again, or reading the snapshotted context, does not step its cells again")
+  public void testSnapshotIsTakenOnce() {
+    final var initialCells = new LiveCells(new CausalEventSource());
+    initialCells.put(this.query, makeCell());
+
+    final var timeline = new TemporalEventSource();
+    final var cells = new LiveCells(timeline, initialCells);
+    extend(timeline, 100, 0);
+    cells.freeze();
+
+    this.steps = 0;
+    cells.snapshot();
+    assertEquals(100, this.steps);
+
+    cells.snapshot();
+    final var first = new LiveCells(new TemporalEventSource(), cells);
+    final var second = new LiveCells(new TemporalEventSource(), cells);
+    assertArrayEquals(first.getState(this.query).orElseThrow(), second.getState(this.query).orElseThrow());
+    assertArrayEquals(first.getState(this.query).orElseThrow(), cells.getState(this.query).orElseThrow());
+    assertEquals(100, this.steps);
+  }
+
+  /** Appends the given number of deltas to a timeline, with a commit on the cell's topic after every tenth. */
+  private void extend(final TemporalEventSource timeline, final int deltas, final long seed) {
+    for (var i = 0; i < deltas; i += 1) {
+      timeline.add(Duration.of(1 + (i + seed) % 7, MICROSECONDS));
+      if (i % 10 == 9) timeline.add(EventGraph.atom(Event.create(this.topic, seed * 1_000 + i, SpanId.generate())));
+    }
+  }
+
+  private Cell<long[]> makeCell() {
+    return new Cell<>(new CountingCellType(), new Selector<>(this.topic, $ -> $), new RecursiveEventGraphEvaluator(), new long[] {0, 0});
+  }
+
+  /** Accumulates the time elapsed, weighted by the latest value emitted, while counting the steps taken. */
+  private final class CountingCellType implements CellType<Long, long[]> {
+    @Override
+    public EffectTrait<Long> getEffectType() {
+      return new EffectTrait<>() {
+        @Override
+        public Long empty() {
+          return null;
+        }
+
+        @Override
+        public Long sequentially(final Long prefix, final Long suffix) {
+          return (suffix != null) ? suffix : prefix;
+        }
+
+        @Override
+        public Long concurrently(final Long left, final Long right) {
+          return (right != null) ? right : left;
+        }
+      };
+    }
+
+    @Override
+    public long[] duplicate(final long[] state) {
+      return state.clone();
+    }
+
+    @Override
+    public void apply(final long[] state, final Long value) {
+      if (value != null) state[1] = value;
+    }
+
+    @Override
+    public void step(final long[] state, final Duration duration) {
+      LiveCellsTest.this.steps += 1;
+      state[0] += (state[1] + 1) * duration.in(MICROSECONDS);
+    }
+  }
+}
@@ -0,0 +1,121 @@
+package gov.nasa.jpl.aerie.merlin.driver.timeline;
+
+import gov.nasa.jpl.aerie.merlin.driver.engine.SpanId;
+import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
+import gov.nasa.jpl.aerie.merlin.protocol.model.CellType;
+import gov.nasa.jpl.aerie.merlin.protocol.model.EffectTrait;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.MICROSECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public final class TemporalEventSourceTest {
+  private final Topic<Double> rateTopic = new Topic<>();
+  private final Topic<Double> otherTopic = new Topic<>();
+
+  @Test
+  @DisplayName("A cursor brings a cell to the same state as visiting every time point in turn")
+  public void testCursorMatchesNaiveReplay() {
+    assertCursorMatchesNaiveReplay(() -> makeCell(new Selector<>(this.rateTopic, $ -> $)));
+  }
+
+  @Test
+  @DisplayName("A cursor applies each commit once to a cell selecting several of its topics")
+  public void testCursorMatchesNaiveReplayOnSeveralTopics() {
+    assertCursorMatchesNaiveReplay(() -> makeCell(new Selector<>(
+        new Selector.SelectorRow<>(this.rateTopic, $ -> $),
+        new Selector.SelectorRow<>(this.otherTopic, $ -> -$))));
+  }
+
+  private void assertCursorMatchesNaiveReplay(final Supplier<Cell<double[]>> makeCell) {
+    final var source = new TemporalEventSource();
+    final var random = new Random(0);
+
+    final var cell = makeCell.get();
+    final var cursor = source.cursor();
+    final var expected = makeCell.get();
+
+    for (var i = 0; i < 5_000; i += 1) {
+      final var roll = random.nextInt(100);
+      if (roll < 50) {
+        source.add(Duration.of(1 + random.nextInt(1_000), MICROSECONDS));
+      } else if (roll < 52) {
+        source.add(EventGraph.atom(Event.create(this.rateTopic, random.nextDouble(), SpanId.generate())));
+      } else if (roll < 54) {
+        source.add(EventGraph.concurrently(
+            EventGraph.atom(Event.create(this.rateTopic, random.nextDouble(), SpanId.generate())),
+            EventGraph.atom(Event.create(this.otherTopic, random.nextDouble(), SpanId.generate()))));
+      } else {
+        source.add(EventGraph.atom(Event.create(this.otherTopic, random.nextDouble(), SpanId.generate())));
+      }
+
+      // Catch up at irregular intervals, so that the cursor resumes from arbitrary positions.
+      if (random.nextInt(37) == 0) cursor.stepUp(cell);
+    }
+    cursor.stepUp(cell);
+
+    for (final var point : source) {
+      if (point instanceof TemporalEventSource.TimePoint.Delta p) {
+        expected.step(p.delta());
+      } else if (point instanceof TemporalEventSource.TimePoint.Commit p) {
+        if (expected.isInterestedIn(p.topics())) expected.apply(p.events());
+      }
+    }
+
+    final var actualState = cell.getState();
+    final var expectedState = expected.getState();
+    assertEquals(expectedState[0], actualState[0]);
+    assertEquals(expectedState[1], actualState[1]);
+  }
+
+  private static Cell<double[]> makeCell(final Selector<Double> selector) {
+    return new Cell<>(
+        new IntegratorCellType(),
+        selector,
+        new RecursiveEventGraphEvaluator(),
+        new double[] {0.0, 1.0});
+  }
+
+  /** Accumulates a rate over time, so that the result depends on every individual step taken. */
+  private static final class IntegratorCellType implements CellType<Double, double[]> {
+    @Override
+    public EffectTrait<Double> getEffectType() {
+      return new EffectTrait<>() {
+        @Override
+        public Double empty() {
+          return null;
+        }
+
+        @Override
+        public Double sequentially(final Double prefix, final Double suffix) {
+          return (suffix != null) ? suffix : prefix;
+        }
+
+        @Override
+        public Double concurrently(final Double left, final Double right) {
+          return (right != null) ? right : left;
+        }
+      };
+    }
+
+    @Override
+    public double[] duplicate(final double[] state) {
+      return state.clone();
+    }
+
+    @Override
+    public void apply(final double[] state, final Double rate) {
+      if (rate != null) state[1] = rate;
+    }
+
+    @Override
+    public void step(final double[] state, final Duration duration) {
+      state[0] += state[1] * duration.ratioOver(MICROSECONDS) / 3.0;
+    }
+  }
+}
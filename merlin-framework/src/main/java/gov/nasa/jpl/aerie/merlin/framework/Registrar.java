@@ -3,13 +3,13 @@ package gov.nasa.jpl.aerie.merlin.framework;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.Initializer;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.Querier;
 import gov.nasa.jpl.aerie.merlin.protocol.model.OutputType;
+import gov.nasa.jpl.aerie.merlin.protocol.model.RealOutputType;
 import gov.nasa.jpl.aerie.merlin.protocol.types.RealDynamics;
 import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
 import gov.nasa.jpl.aerie.merlin.protocol.types.ValueSchema;
 
 import java.util.Map;
 import java.util.Objects;
-import java.util.function.Function;
 import java.util.function.UnaryOperator;
 
 public final class Registrar {
@@ -24,7 +24,17 @@ public final class Registrar {
   }
 
   public <Value> void discrete(final String name, final Resource<Value> resource, final ValueMapper<Value> mapper) {
-    this.builder.resource(name, makeResource("discrete", resource, mapper.getValueSchema(), mapper::serializeValue));
+    this.builder.resource(name, makeResource("discrete", resource, new OutputType<>() {
+      @Override
+      public ValueSchema getSchema() {
+        return mapper.getValueSchema();
+      }
+
+      @Override
+      public SerializedValue serialize(final Value value) {
+        return mapper.serializeValue(value);
+      }
+    }));
   }
 
   public void real(final String name, final Resource<RealDynamics> resource) {
@@ -36,24 +46,39 @@ public final class Registrar {
   }
 
   private void real(final String name, final Resource<RealDynamics> resource, UnaryOperator<ValueSchema> schemaModifier) {
-    this.builder.resource(
-        name,
-        makeResource(
-            "real",
-            resource,
-            schemaModifier.apply(ValueSchema.ofStruct(Map.of(
-                "initial", ValueSchema.REAL,
-                "rate", ValueSchema.REAL))),
-            dynamics -> SerializedValue.of(Map.of(
-                "initial", SerializedValue.of(dynamics.initial),
-                "rate", SerializedValue.of(dynamics.rate)))));
+    final var valueSchema = schemaModifier.apply(ValueSchema.ofStruct(Map.of(
+        "initial", ValueSchema.REAL,
+        "rate", ValueSchema.REAL)));
+
+    this.builder.resource(name, makeResource("real", resource, new RealOutputType<>() {
+      @Override
+      public ValueSchema getSchema() {
+        return valueSchema;
+      }
+
+      @Override
+      public SerializedValue serialize(final RealDynamics dynamics) {
+        return SerializedValue.of(Map.of(
+            "initial", SerializedValue.of(dynamics.initial),
+            "rate", SerializedValue.of(dynamics.rate)));
+      }
+
+      @Override
+      public double getInitial(final RealDynamics dynamics) {
+        return dynamics.initial;
+      }
+
+      @Override
+      public double getRate(final RealDynamics dynamics) {
+        return dynamics.rate;
+      }
+    }));
   }
 
   private static <Value> gov.nasa.jpl.aerie.merlin.protocol.model.Resource<Value> makeResource(
       final String type,
       final Resource<Value> resource,
-      final ValueSchema valueSchema,
-      final Function<Value, SerializedValue> serializer
+      final OutputType<Value> outputType
   ) {
     return new gov.nasa.jpl.aerie.merlin.protocol.model.Resource<>() {
       @Override
@@ -63,17 +88,7 @@ public final class Registrar {
 
       @Override
       public OutputType<Value> getOutputType() {
-        return new OutputType<>() {
-          @Override
-          public ValueSchema getSchema() {
-            return valueSchema;
-          }
-
-          @Override
-          public SerializedValue serialize(final Value value) {
-            return serializer.apply(value);
-          }
-        };
+        return outputType;
       }
 
       @Override
@@ -9,7 +9,9 @@ import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
 import gov.nasa.jpl.aerie.merlin.protocol.types.InSpan;
 import gov.nasa.jpl.aerie.merlin.protocol.types.TaskStatus;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.ArrayBlockingQueue;
@@ -31,9 +33,17 @@ public final class ThreadedTask<Return> implements Task<Return> {
 
   private Lifecycle lifecycle = Lifecycle.Inactive;
   private Return returnValue;
-  private final List<Object> readLog = new ArrayList<>();
+  private ReadLog readLog = new ReadLog(null);
   private int stepCount = 0;
 
+  /** The number of steps that must be replayed from the read log before this task can next be resumed. */
+  private int pendingReplaySteps = 0;
+  private boolean replaying = false;
+
+  /** The cost incurred by this task in catching up to the task it was duplicated from. */
+  private long replayedSteps = 0;
+  private long replayNanos = 0;
+
   public ThreadedTask(final Executor executor, final Scoped<Context> rootContext, final Supplier<Return> task) {
     this.rootContext = Objects.requireNonNull(rootContext);
     this.task = Objects.requireNonNull(task);
@@ -42,7 +52,13 @@ public final class ThreadedTask<Return> implements Task<Return> {
 
   @Override
   public TaskStatus<Return> step(final Scheduler scheduler) {
+    if (this.pendingReplaySteps > 0) replay();
+
     this.stepCount++;
+    return resume(scheduler);
+  }
+
+  private TaskStatus<Return> resume(final Scheduler scheduler) {
     try {
       if (this.lifecycle == Lifecycle.Terminated) {
         return TaskStatus.completed(this.returnValue);
@@ -152,7 +168,7 @@ public final class ThreadedTask<Return> implements Task<Return> {
       if (request instanceof TaskRequest.Resume resume) {
         final var scheduler = resume.scheduler;
 
-        final Consumer<Object> readLogger = cacheReads ? ThreadedTask.this.readLog::add : $ -> {};
+        final Consumer<Object> readLogger = cacheReads ? ThreadedTask.this::logRead : $ -> {};
         final var context = new ThreadedReactionContext(ThreadedTask.this.rootContext, scheduler, this, readLogger);
 
         try (final var restore = ThreadedTask.this.rootContext.set(context)) {
@@ -264,17 +280,40 @@ public final class ThreadedTask<Return> implements Task<Return> {
     }
   }
 
+  /**
+   * Duplicates this task without re-running it.
+   *
+   * The duplicate shares this task's read log, and only re-runs the task against that log
+   * when it is first resumed. Duplicates that are never resumed cost nothing beyond the duplication itself.
+   */
   @Override
   public Task<Return> duplicate(Executor executor) {
     if (!cacheReads) {
       throw new RuntimeException("Cannot duplicate threaded task without cached reads");
     }
     final ThreadedTask<Return> threadedTask = new ThreadedTask<>(executor, rootContext, task);
-    final var readIterator = readLog.iterator();
+
+    // Both tasks continue from a common (and henceforth immutable) prefix of reads.
+    final var prefix = this.readLog;
+    this.readLog = new ReadLog(prefix);
+    threadedTask.readLog = new ReadLog(prefix);
+
+    threadedTask.stepCount = this.stepCount;
+    threadedTask.pendingReplaySteps = this.stepCount;
+
+    return threadedTask;
+  }
+
+  /** Re-runs the task up to the point it was duplicated from, feeding it the reads it made originally. */
+  private void replay() {
+    final var start = System.nanoTime();
+    final var steps = this.pendingReplaySteps;
+    final var reads = this.readLog.iterator();
+
     final Scheduler scheduler = new Scheduler() {
       @Override
       public <State> State get(final CellId<State> cellId) {
-        return (State) readIterator.next();
+        return (State) reads.next();
       }
 
       @Override
@@ -287,10 +326,65 @@ public final class ThreadedTask<Return> implements Task<Return> {
 
       }
     };
-    for (int i = 0; i < stepCount; i++) {
-      threadedTask.step(scheduler);
+
+    this.pendingReplaySteps = 0;
+    this.replaying = true;
+    try {
+      for (int i = 0; i < steps; i++) {
+        resume(scheduler);
+      }
+    } finally {
+      this.replaying = false;
+    }
+
+    final var elapsed = System.nanoTime() - start;
+    this.replayedSteps += steps;
+    this.replayNanos += elapsed;
+  }
+
+  private void logRead(final Object value) {
+    // Reads made while replaying are already in the log.
+    if (this.replaying) return;
+    this.readLog.add(value);
+  }
+
+  /** The number of steps this task has re-run in order to catch up after being duplicated. */
+  public long getReplayedSteps() {
+    return this.replayedSteps;
+  }
+
+  /** The wall-clock time this task has spent re-running steps in order to catch up after being duplicated. */
+  public long getReplayNanos() {
+    return this.replayNanos;
+  }
+
+  /**
+   * An append-only log of reads, structurally sharing its prefix with the logs of duplicated tasks.
+   *
+   * A log is never appended to once it has become the prefix of another log.
+   */
+  private static final class ReadLog implements Iterable<Object> {
+    private final ReadLog prefix;
+    private final ArrayList<Object> reads = new ArrayList<>();
+
+    public ReadLog(final ReadLog prefix) {
+      // Skip over empty prefixes, so that repeated duplication of an idle task doesn't deepen the chain.
+      var nonEmptyPrefix = prefix;
+      while (nonEmptyPrefix != null && nonEmptyPrefix.reads.isEmpty()) nonEmptyPrefix = nonEmptyPrefix.prefix;
+      this.prefix = nonEmptyPrefix;
+    }
+
+    public void add(final Object value) {
+      this.reads.add(value);
+    }
+
+    @Override
+    public Iterator<Object> iterator() {
+      final var segments = new ArrayDeque<List<Object>>();
+      for (var log = this; log != null; log = log.prefix) segments.push(log.reads);
+
+      return segments.stream().flatMap(List::stream).iterator();
     }
-    return threadedTask;
   }
 
   private static String getEnv(final String key, final String fallback) {
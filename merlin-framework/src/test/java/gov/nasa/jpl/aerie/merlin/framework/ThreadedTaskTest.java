@@ -4,12 +4,16 @@ import gov.nasa.jpl.aerie.merlin.protocol.driver.CellId;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.Scheduler;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
 import gov.nasa.jpl.aerie.merlin.protocol.model.TaskFactory;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
 import gov.nasa.jpl.aerie.merlin.protocol.types.InSpan;
+import gov.nasa.jpl.aerie.merlin.protocol.types.TaskStatus;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.util.concurrent.Executors;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -50,6 +54,75 @@ public final class ThreadedTaskTest {
     }
   }
 
+  @Test
+  @DisplayName("Duplicated tasks resume from the point they were duplicated at")
+  public void testDuplication() {
+    final var cacheReads = ThreadedTask.CACHE_READS;
+    ThreadedTask.CACHE_READS = true;
+
+    final var pool = Executors.newCachedThreadPool();
+    try {
+      final Scoped<Context> rootContext = Scoped.create();
+      final CellId<Integer> cellId = new CellId<>() {};
+
+      final var task = new ThreadedTask<>(pool, rootContext, () -> {
+        var digits = 0;
+        for (var i = 0; i < 4; i += 1) {
+          digits = 10 * digits + rootContext.get().ask(cellId);
+          rootContext.get().delay(Duration.SECOND);
+        }
+        return digits;
+      });
+
+      task.step(schedulerReading(1));
+      task.step(schedulerReading(2));
+
+      final var duplicate = (ThreadedTask<Integer>) task.duplicate(pool);
+      final var duplicateOfDuplicate = (ThreadedTask<Integer>) duplicate.duplicate(pool);
+
+      assertEquals(1234, (int) runToCompletion(task, 3, 4));
+      assertEquals(1256, (int) runToCompletion(duplicate, 5, 6));
+      assertEquals(1278, (int) runToCompletion(duplicateOfDuplicate, 7, 8));
+
+      assertEquals(0, task.getReplayedSteps());
+      assertEquals(2, duplicate.getReplayedSteps());
+      assertEquals(2, duplicateOfDuplicate.getReplayedSteps());
+    } finally {
+      pool.shutdown();
+      ThreadedTask.CACHE_READS = cacheReads;
+    }
+  }
+
+  private static <Return> Return runToCompletion(final ThreadedTask<Return> task, final int... reads) {
+    for (final var read : reads) {
+      assertInstanceOf(TaskStatus.Delayed.class, task.step(schedulerReading(read)));
+    }
+
+    final var status = task.step(schedulerReading(0));
+    if (!(status instanceof TaskStatus.Completed<Return> completed)) return fail("Expected task to complete");
+    return completed.returnValue();
+  }
+
+  private static Scheduler schedulerReading(final int value) {
+    return new Scheduler() {
+      @Override
+      @SuppressWarnings("unchecked")
+      public <State> State get(final CellId<State> query) {
+        return (State) Integer.valueOf(value);
+      }
+
+      @Override
+      public <Event> void emit(final Event event, final Topic<Event> topic) {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public void spawn(final InSpan inSpan, final TaskFactory<?> task) {
+        throw new UnsupportedOperationException();
+      }
+    };
+  }
+
   private static void assertSuppressed(final Class<? extends Throwable> expected, final Throwable ex) {
     for (final var suppressed : ex.getSuppressed()) {
       if (expected.isAssignableFrom(suppressed.getClass())) return;
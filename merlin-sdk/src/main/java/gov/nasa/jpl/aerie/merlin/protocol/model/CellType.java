@@ -18,4 +18,15 @@ public interface CellType<Effect, State> {
   default Optional<Duration> getExpiry(final State state) {
     return Optional.empty();
   }
+
+  /**
+   * Whether a state of this cell, once handed to a reader, is never modified by that reader.
+   *
+   * If so, the driver may hand the same duplicate of a state to every reader until the cell next changes,
+   * rather than duplicating the state for every read. Only opt in when a state cannot be modified
+   * except through {@link #apply} and {@link #step}.
+   */
+  default boolean isReadOnly() {
+    return false;
+  }
 }
@@ -0,0 +1,19 @@
+package gov.nasa.jpl.aerie.merlin.protocol.model;
+
+/**
+ * An {@link OutputType} whose values describe linear real-valued dynamics.
+ *
+ * <p> Every value of this type must {@linkplain #serialize(T) serialize} to a struct of two reals named {@code initial}
+ * and {@code rate}. Implementing this interface lets a simulation system read those two fields directly, without
+ * building and then picking apart the serialized form of every new value of a real resource. </p>
+ *
+ * @param <T>
+ *   The abstract type of output described by this object.
+ */
+public interface RealOutputType<T> extends OutputType<T> {
+  /** Gets the value of {@code value} at the start of its dynamics, as would be found in its serialized {@code initial} field. */
+  double getInitial(T value);
+
+  /** Gets the rate of change of {@code value}, as would be found in its serialized {@code rate} field. */
+  double getRate(T value);
+}
@@ -30,7 +30,8 @@
  *    be produced by the model. It provides facilities for interrogating the type's schematic structure and serializing
  *    individual values of the type. As a reflective interface, it is roughly analogous to the {@link java.lang.Class}
  *    returned by {@link java.lang.reflect.Method#getReturnType()}. The model produces such output from directives
- *    and resources. </li>
+ *    and resources. Real resources may describe their dynamics with a
+ *    {@link gov.nasa.jpl.aerie.merlin.protocol.model.RealOutputType}, which exposes them without serialization. </li>
  *
  *    <li> The {@link gov.nasa.jpl.aerie.merlin.protocol.model.DirectiveType} interface describes a directive type,
  *    a family of behaviors that the model can perform. As a reflective interface, it is roughly analogous to
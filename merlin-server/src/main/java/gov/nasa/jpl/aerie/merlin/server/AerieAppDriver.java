@@ -70,7 +70,9 @@ public final class AerieAppDriver {
 
     final ConstraintsDSLCompilationService constraintsDSLCompilationService;
     try {
-      constraintsDSLCompilationService = new ConstraintsDSLCompilationService(typescriptCodeGenerationService);
+      constraintsDSLCompilationService = new ConstraintsDSLCompilationService(
+          typescriptCodeGenerationService,
+          configuration.constraintsDslCompilerProcesses());
     } catch (IOException e) {
       throw new Error("Failed to start ConstraintsDSLCompilationService", e);
     }
@@ -90,7 +92,8 @@ public final class AerieAppDriver {
       constraintsDSLCompilationService,
       constraintService,
       planController,
-      simulationController
+      simulationController,
+      configuration.constraintEvaluationThreads()
     );
     final var generateConstraintsLibAction = new GenerateConstraintsLibAction(typescriptCodeGenerationService);
     final var permissionsService = new PermissionsService(
@@ -181,7 +184,9 @@ public final class AerieAppDriver {
         URI.create(getEnv("HASURA_GRAPHQL_URL", "http://localhost:8080/v1/graphql")),
         getEnv("HASURA_GRAPHQL_ADMIN_SECRET", ""),
         Boolean.parseBoolean(getEnv("ENABLE_CONTINUOUS_VALIDATION_THREAD", "true")),
-        Integer.parseInt(getEnv("VALIDATION_THREAD_POLLING_PERIOD", "500"))
+        Integer.parseInt(getEnv("VALIDATION_THREAD_POLLING_PERIOD", "500")),
+        Integer.parseInt(getEnv("CONSTRAINT_EVALUATION_THREADS", String.valueOf(Runtime.getRuntime().availableProcessors()))),
+        Integer.parseInt(getEnv("CONSTRAINTS_DSL_COMPILER_PROCESSES", "1"))
     );
   }
 }
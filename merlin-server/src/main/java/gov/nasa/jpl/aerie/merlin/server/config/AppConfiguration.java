@@ -14,11 +14,19 @@ public record AppConfiguration (
     URI hasuraGraphqlURI,
     String hasuraGraphQlAdminSecret,
     boolean enableContinuousValidationThread,
-    int validationThreadPollingPeriod
+    int validationThreadPollingPeriod,
+    int constraintEvaluationThreads,
+    int constraintsDslCompilerProcesses
 ) {
   public AppConfiguration {
     Objects.requireNonNull(merlinFileStore);
     Objects.requireNonNull(store);
     Objects.requireNonNull(untruePlanStart);
+    if (constraintEvaluationThreads < 1) {
+      throw new IllegalArgumentException("constraintEvaluationThreads must be at least 1, got " + constraintEvaluationThreads);
+    }
+    if (constraintsDslCompilerProcesses < 1) {
+      throw new IllegalArgumentException("constraintsDslCompilerProcesses must be at least 1, got " + constraintsDslCompilerProcesses);
+    }
   }
 }
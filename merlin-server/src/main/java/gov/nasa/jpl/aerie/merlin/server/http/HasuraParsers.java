@@ -1,13 +1,19 @@
 package gov.nasa.jpl.aerie.merlin.server.http;
 
+import gov.nasa.jpl.aerie.json.JsonParseResult;
 import gov.nasa.jpl.aerie.json.JsonParser;
+import gov.nasa.jpl.aerie.json.SchemaCache;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
 import gov.nasa.jpl.aerie.types.SerializedActivity;
 import gov.nasa.jpl.aerie.merlin.server.models.HasuraAction;
 import gov.nasa.jpl.aerie.merlin.server.models.HasuraMissionModelEvent;
 
+import javax.json.JsonObject;
+import javax.json.JsonValue;
 import java.util.Optional;
 
 import static gov.nasa.jpl.aerie.json.BasicParsers.boolP;
+import static gov.nasa.jpl.aerie.json.BasicParsers.doubleP;
 import static gov.nasa.jpl.aerie.json.BasicParsers.listP;
 import static gov.nasa.jpl.aerie.json.BasicParsers.longP;
 import static gov.nasa.jpl.aerie.json.BasicParsers.mapP;
@@ -56,6 +62,62 @@ public abstract class HasuraParsers {
                           .field("planId", planIdP)
                           .map(HasuraAction.PlanInput::new, HasuraAction.PlanInput::planId));
 
+  /** An offset from the start of a plan, in microseconds; GraphQL has no integer type wide enough, so it may be a float. */
+  private static final JsonParser<Duration> offsetMicrosP
+      = doubleP
+      . map(
+          microseconds -> Duration.of(Math.round(microseconds), Duration.MICROSECONDS),
+          duration -> (double) duration.in(Duration.MICROSECONDS));
+
+  private static final JsonParser<HasuraAction.ResourceSamplesInput> resourceSamplesWindowP
+      = productP
+      .field("planId", planIdP)
+      .optionalField("startOffset", nullableP(offsetMicrosP))
+      .optionalField("endOffset", nullableP(offsetMicrosP))
+      .map(
+          untuple((planId, startOffset, endOffset) -> new HasuraAction.ResourceSamplesInput(
+              planId,
+              startOffset.flatMap($ -> $),
+              endOffset.flatMap($ -> $))),
+          $ -> tuple($.planId(), Optional.of($.startOffset()), Optional.of($.endOffset()))
+      );
+
+  /** Resource samples are requested over a window of offsets, which must not be negative nor end before it starts. */
+  private static final JsonParser<HasuraAction.ResourceSamplesInput> resourceSamplesInputP = new JsonParser<>() {
+    @Override
+    public JsonObject getSchema(final SchemaCache anchors) {
+      return resourceSamplesWindowP.getSchema(anchors);
+    }
+
+    @Override
+    public JsonParseResult<HasuraAction.ResourceSamplesInput> parse(final JsonValue json) {
+      final var result = resourceSamplesWindowP.parse(json);
+      if (result instanceof JsonParseResult.Success<HasuraAction.ResourceSamplesInput> s) {
+        final var input = s.result();
+        if (input.startOffset().filter(Duration::isNegative).isPresent()
+            || input.endOffset().filter(Duration::isNegative).isPresent())
+        {
+          return JsonParseResult.failure("offsets must not be negative");
+        }
+        if (input.startOffset().isPresent()
+            && input.endOffset().isPresent()
+            && input.endOffset().get().shorterThan(input.startOffset().get()))
+        {
+          return JsonParseResult.failure("endOffset precedes startOffset");
+        }
+      }
+      return result;
+    }
+
+    @Override
+    public JsonValue unparse(final HasuraAction.ResourceSamplesInput value) {
+      return resourceSamplesWindowP.unparse(value);
+    }
+  };
+
+  public static final JsonParser<HasuraAction<HasuraAction.ResourceSamplesInput>> hasuraResourceSamplesActionP
+      = hasuraActionF(resourceSamplesInputP);
+
   public static final JsonParser<HasuraAction<HasuraAction.SimulateInput>> hasuraSimulateActionP
       = hasuraActionF(
           productP
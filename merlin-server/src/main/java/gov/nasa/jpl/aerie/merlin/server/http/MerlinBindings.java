@@ -42,6 +42,7 @@ import static gov.nasa.jpl.aerie.merlin.server.http.HasuraParsers.hasuraMissionM
 import static gov.nasa.jpl.aerie.merlin.server.http.HasuraParsers.hasuraMissionModelArgumentsActionP;
 import static gov.nasa.jpl.aerie.merlin.server.http.HasuraParsers.hasuraMissionModelEventTriggerP;
 import static gov.nasa.jpl.aerie.merlin.server.http.HasuraParsers.hasuraPlanActionP;
+import static gov.nasa.jpl.aerie.merlin.server.http.HasuraParsers.hasuraResourceSamplesActionP;
 import static gov.nasa.jpl.aerie.merlin.server.http.HasuraParsers.hasuraExtendExternalDatasetActionP;
 import static gov.nasa.jpl.aerie.merlin.server.http.HasuraParsers.hasuraNewConstraintRevisionEventTriggerP;
 import static io.javalin.apibuilder.ApiBuilder.before;
@@ -237,12 +238,15 @@ public final class MerlinBindings implements Plugin {
 
   private void getResourceSamples(final Context ctx) {
     try {
-      final var body = parseJson(ctx.body(), hasuraPlanActionP);
+      final var body = parseJson(ctx.body(), hasuraResourceSamplesActionP);
       final var planId = body.input().planId();
 
       this.checkPermissions(Action.resource_samples, body.session(), planId);
 
-      final var resourceSamples = this.simulationAction.getResourceSamples(planId);
+      final var resourceSamples = this.simulationAction.getResourceSamples(
+          planId,
+          body.input().startOffset(),
+          body.input().endOffset());
       ctx.result(ResponseSerializers.serializeResourceSamples(resourceSamples).toString());
     } catch (final InvalidJsonException ex) {
       ctx.status(400).result(ResponseSerializers.serializeInvalidJsonException(ex).toString());
@@ -273,7 +277,7 @@ public final class MerlinBindings implements Plugin {
 
       final var constraintViolations = this.constraintAction.getViolations(planId, simulationDatasetId, force, body.session());
 
-      ctx.result(ResponseSerializers.serializeConstraintResults(constraintViolations.getLeft(), constraintViolations.getRight()).toString());
+      ctx.result(ResponseSerializers.serializeConstraintResults(constraintViolations).toString());
     } catch (final InvalidJsonException ex) {
       ctx.status(400).result(ResponseSerializers.serializeInvalidJsonException(ex).toString());
     } catch (final InvalidEntityException ex) {
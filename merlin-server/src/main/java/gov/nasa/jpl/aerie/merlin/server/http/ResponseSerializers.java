@@ -3,7 +3,6 @@ package gov.nasa.jpl.aerie.merlin.server.http;
 import gov.nasa.jpl.aerie.constraints.InputMismatchException;
 import gov.nasa.jpl.aerie.constraints.model.ConstraintResult;
 import gov.nasa.jpl.aerie.json.JsonParseResult.FailureReason;
-import gov.nasa.jpl.aerie.merlin.server.models.ConstraintRecord;
 import gov.nasa.jpl.aerie.merlin.driver.json.ValueSchemaJsonParser;
 import gov.nasa.jpl.aerie.merlin.protocol.model.InputType.Parameter;
 import gov.nasa.jpl.aerie.merlin.protocol.model.InputType.ValidationNotice;
@@ -16,6 +15,7 @@ import gov.nasa.jpl.aerie.merlin.server.exceptions.NoSuchPlanException;
 import gov.nasa.jpl.aerie.merlin.server.exceptions.SimulationDatasetMismatchException;
 import gov.nasa.jpl.aerie.merlin.server.models.ConstraintsCompilationError;
 import gov.nasa.jpl.aerie.merlin.server.remotes.MissionModelAccessException;
+import gov.nasa.jpl.aerie.merlin.server.services.ConstraintAction;
 import gov.nasa.jpl.aerie.merlin.server.services.GetSimulationResultsAction;
 import gov.nasa.jpl.aerie.merlin.server.services.LocalMissionModelService;
 import gov.nasa.jpl.aerie.merlin.server.services.MissionModelService;
@@ -32,6 +32,7 @@ import javax.json.stream.JsonParsingException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -234,11 +235,15 @@ public final class ResponseSerializers {
         .build();
   }
 
-  public static JsonValue serializeConstraintResults(final int requestId, final Map<ConstraintRecord, Fallible<ConstraintResult, List<? extends Exception>>> resultMap) {
-    var results = resultMap.entrySet().stream().map(entry -> {
+  public static JsonValue serializeConstraintResults(final ConstraintAction.ConstraintViolations violations) {
+    var results = violations.results().entrySet().stream().map(entry -> {
 
       final var constraint = entry.getKey();
       final var fallible = entry.getValue();
+      final var evaluationTime = Optional
+          .ofNullable(violations.evaluationTimes().get(constraint))
+          .<JsonValue>map($ -> Json.createValue($.toNanos() / 1_000_000.0))
+          .orElse(JsonValue.NULL);
 
       if (fallible.isFailure()) {
         return Json.createObjectBuilder()
@@ -249,6 +254,7 @@ public final class ResponseSerializers {
                    .add("constraintRevision", constraint.revision())
                    .add("errors", serializeConstraintErrors(fallible.getFailureOptional().orElse(List.of())))
                    .add("results", JsonValue.EMPTY_JSON_OBJECT)
+                   .add("evaluationTimeMs", evaluationTime)
                    .build();
       }
 
@@ -266,6 +272,7 @@ public final class ResponseSerializers {
                            .add("stack", "")
                            .add("location", JsonValue.EMPTY_JSON_OBJECT)).build())
                    .add("results", JsonValue.EMPTY_JSON_OBJECT)
+                   .add("evaluationTimeMs", evaluationTime)
                    .build();
       }
 
@@ -279,6 +286,7 @@ public final class ResponseSerializers {
                  .add("constraintRevision", constraint.revision())
                  .add("errors", JsonValue.EMPTY_JSON_ARRAY)
                  .add("results", constraintResult.toJSON())
+                 .add("evaluationTimeMs", evaluationTime)
                  .build();
 
     }).toList();
@@ -288,7 +296,7 @@ public final class ResponseSerializers {
 
     return Json.createObjectBuilder()
                .add("success", JsonValue.TRUE)
-               .add("requestId", requestId)
+               .add("requestId", violations.requestId())
                .add("constraintsRun", resultsArrayBuilder)
                .build();
   }
@@ -2,6 +2,7 @@ package gov.nasa.jpl.aerie.merlin.server.models;
 
 import gov.nasa.jpl.aerie.types.MissionModelId;
 import gov.nasa.jpl.aerie.types.SerializedActivity;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
 import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
 import gov.nasa.jpl.aerie.types.Timestamp;
 
@@ -18,6 +19,9 @@ public record HasuraAction<I extends HasuraAction.Input>(String name, I input, S
   public record MissionModelInput(MissionModelId missionModelId) implements Input { }
   public record PlanInput(PlanId planId) implements Input { }
   public record SimulateInput(PlanId planId, Optional<Boolean> force) implements Input {}
+  public record ResourceSamplesInput(PlanId planId,
+                                     Optional<Duration> startOffset,
+                                     Optional<Duration> endOffset) implements Input {}
   public record ConstraintViolationsInput(PlanId planId,
                                           Optional<SimulationDatasetId> simulationDatasetId,
                                           Optional<Boolean> force) implements Input {}
@@ -2,13 +2,17 @@ package gov.nasa.jpl.aerie.merlin.server.models;
 
 import gov.nasa.jpl.aerie.merlin.driver.engine.ProfileSegment;
 import gov.nasa.jpl.aerie.merlin.driver.resources.ResourceProfile;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
 import gov.nasa.jpl.aerie.merlin.protocol.types.RealDynamics;
 import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
 import org.apache.commons.lang3.tuple.Pair;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
 public record ProfileSet(
@@ -65,4 +69,48 @@ public record ProfileSet(
                  .toList())))
         .collect(Collectors.toMap(Pair::getKey, Pair::getValue));
   }
+
+  /**
+   * Restrict every profile to the window [start, end) of offsets from the start of the profiles.
+   *
+   * The segments of each returned profile begin at {@code start}, and end at {@code end} or at the end of the profile,
+   * whichever comes first. A real segment cut short at the start of the window has its initial value moved forward
+   * to match.
+   */
+  public ProfileSet restrictTo(final Duration start, final Duration end) {
+    return new ProfileSet(
+        restrictTo(this.realProfiles, start, end, ProfileSet::advanceRealDynamics),
+        restrictTo(this.discreteProfiles, start, end, (value, elapsed) -> value));
+  }
+
+  /** Get the dynamics describing the same line as the given ones, but starting the given time later. */
+  public static Optional<RealDynamics> advanceRealDynamics(final Optional<RealDynamics> dynamics, final Duration elapsed) {
+    if (elapsed.isZero()) return dynamics;
+    return dynamics.map($ -> RealDynamics.linear($.initial + $.rate * elapsed.ratioOver(Duration.SECONDS), $.rate));
+  }
+
+  private static <T> Map<String, ResourceProfile<T>> restrictTo(
+      final Map<String, ResourceProfile<T>> profileMap,
+      final Duration start,
+      final Duration end,
+      final BiFunction<T, Duration, T> advance
+  ) {
+    final var result = new HashMap<String, ResourceProfile<T>>(profileMap.size());
+    for (final var entry : profileMap.entrySet()) {
+      final var segments = new ArrayList<ProfileSegment<T>>();
+      var elapsed = Duration.ZERO;
+      for (final var segment : entry.getValue().segments()) {
+        if (!elapsed.shorterThan(end)) break;
+        final var segmentEnd = elapsed.plus(segment.extent());
+        final var segmentStart = Duration.max(elapsed, start);
+        final var extent = Duration.min(segmentEnd, end).minus(segmentStart);
+        if (extent.isPositive()) {
+          segments.add(new ProfileSegment<>(extent, advance.apply(segment.dynamics(), segmentStart.minus(elapsed))));
+        }
+        elapsed = segmentEnd;
+      }
+      result.put(entry.getKey(), ResourceProfile.of(entry.getValue().schema(), segments));
+    }
+    return result;
+  }
 }
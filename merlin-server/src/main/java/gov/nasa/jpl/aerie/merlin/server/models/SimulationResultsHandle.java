@@ -20,5 +20,8 @@ public interface SimulationResultsHandle {
 
   ProfileSet getProfiles(final List<String> profileNames);
 
+  /** Get every profile, restricted to the window [start, end) of offsets from the start of simulation. */
+  ProfileSet getProfilesInWindow(final Duration start, final Duration end);
+
   Map<ActivityInstanceId, ActivityInstance> getSimulatedActivities();
 }
@@ -197,6 +197,13 @@ public final class InMemoryResultsCellRepository implements ResultsCellRepositor
       return ProfileSet.of(realProfiles, discreteProfiles);
     }
 
+    @Override
+    public ProfileSet getProfilesInWindow(final Duration start, final Duration end) {
+      return ProfileSet
+          .of(this.simulationResults.realProfiles, this.simulationResults.discreteProfiles)
+          .restrictTo(start, end);
+    }
+
     @Override
     public Map<ActivityInstanceId, ActivityInstance> getSimulatedActivities() {
       return this.simulationResults.simulatedActivities;
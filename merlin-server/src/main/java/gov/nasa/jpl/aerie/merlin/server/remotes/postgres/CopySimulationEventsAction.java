@@ -0,0 +1,68 @@
+package gov.nasa.jpl.aerie.merlin.server.remotes.postgres;
+
+import gov.nasa.jpl.aerie.merlin.driver.engine.EventRecord;
+import gov.nasa.jpl.aerie.merlin.driver.timeline.EventGraph;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import org.intellij.lang.annotations.Language;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import static gov.nasa.jpl.aerie.merlin.driver.json.SerializedValueJsonParser.serializedValueP;
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.MICROSECONDS;
+
+/**
+ * Writes the same rows as {@link InsertSimulationEventsAction}, using `COPY` rather than batched inserts.
+ * */
+public final class CopySimulationEventsAction {
+  @Language("SQL") private static final String sql = """
+      copy merlin.event (dataset_id, real_time, transaction_index, causal_time, topic_index, value, span_id)
+      from stdin
+    """;
+
+  private final Connection connection;
+
+  public CopySimulationEventsAction(final Connection connection) {
+    this.connection = connection;
+  }
+
+  public void apply(
+      final long datasetId,
+      final Map<Duration, List<EventGraph<EventRecord>>> eventPoints
+  ) throws SQLException {
+    if (eventPoints.isEmpty()) return;
+
+    try (final var writer = new PostgresCopyWriter(this.connection, sql)) {
+      for (final var eventPoint : eventPoints.entrySet()) {
+        // The insert path computes the offset by subtracting timestamps, which yields an interval with a day part.
+        final var realTime = realTime(eventPoint.getKey());
+        final var transactions = eventPoint.getValue();
+        for (int transactionIndex = 0; transactionIndex < transactions.size(); transactionIndex++) {
+          for (final var entry : EventGraphFlattener.flatten(transactions.get(transactionIndex))) {
+            final var event = entry.getRight();
+            writer
+                .field(datasetId)
+                .field(realTime)
+                .field(transactionIndex)
+                .field(entry.getLeft())
+                .field(event.topicId())
+                .field(serializedValueP.unparse(event.value()).toString());
+            if (event.spanId().isPresent()) writer.field(event.spanId().get());
+            else writer.nullField();
+            writer.endRow();
+          }
+        }
+      }
+      writer.finish();
+    }
+  }
+
+  private static String realTime(final Duration offset) {
+    final var micros = offset.in(MICROSECONDS);
+    final var microsPerDay = 86_400L * 1_000_000L;
+    final var dayMicros = micros % microsPerDay;
+    return "P%dDT%d.%06dS".formatted(micros / microsPerDay, dayMicros / 1_000_000, dayMicros % 1_000_000);
+  }
+}
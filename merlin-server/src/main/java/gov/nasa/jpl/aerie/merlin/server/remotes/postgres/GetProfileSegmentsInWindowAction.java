@@ -0,0 +1,216 @@
+package gov.nasa.jpl.aerie.merlin.server.remotes.postgres;
+
+import gov.nasa.jpl.aerie.json.JsonParser;
+import gov.nasa.jpl.aerie.merlin.driver.engine.ProfileSegment;
+import gov.nasa.jpl.aerie.merlin.driver.resources.ResourceProfile;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.RealDynamics;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import gov.nasa.jpl.aerie.merlin.protocol.types.ValueSchema;
+import gov.nasa.jpl.aerie.merlin.server.http.InvalidEntityException;
+import gov.nasa.jpl.aerie.merlin.server.http.InvalidJsonException;
+import gov.nasa.jpl.aerie.merlin.server.models.ProfileSet;
+import org.intellij.lang.annotations.Language;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Optional;
+import java.util.function.BiFunction;
+
+import static gov.nasa.jpl.aerie.merlin.driver.json.SerializedValueJsonParser.serializedValueP;
+import static gov.nasa.jpl.aerie.merlin.server.http.MerlinParsers.parseJson;
+import static gov.nasa.jpl.aerie.merlin.server.http.ProfileParsers.realDynamicsP;
+import static gov.nasa.jpl.aerie.merlin.server.remotes.postgres.PostgresParsers.profileTypeP;
+
+/**
+ * Reads the part of every profile in a dataset that lies within a window of time, in a single query.
+ *
+ * Besides the segments starting within the window, the segment in effect at the start of the window is fetched too.
+ * The start of that segment is looked up once per profile, and a profile with no segment in the window is still
+ * returned, without segments.
+ * Offsets are read as whole microseconds, so the session's interval style does not matter.
+ */
+/*package-local*/ final class GetProfileSegmentsInWindowAction implements AutoCloseable {
+  /** Number of rows to hold in memory at once, when the connection allows results to be streamed. */
+  private static final int FETCH_SIZE = 4096;
+
+  private final @Language("SQL") String sql = """
+      select
+        p.id,
+        p.name,
+        p.type,
+        ceil(extract(epoch from p.duration) * 1000*1000) as duration_in_micros,
+        ceil(extract(epoch from seg.start_offset) * 1000*1000) as start_offset_in_micros,
+        seg.dynamics,
+        seg.is_gap
+      from merlin.profile as p
+      left join lateral (
+        select coalesce(max(prior.start_offset), interval '0') as start_offset
+        from merlin.profile_segment as prior
+        where
+          prior.dataset_id = p.dataset_id
+          and prior.profile_id = p.id
+          and prior.start_offset <= ?::interval
+      ) as window_start on true
+      left join merlin.profile_segment as seg
+        on seg.dataset_id = p.dataset_id
+        and seg.profile_id = p.id
+        and seg.start_offset >= window_start.start_offset
+        and seg.start_offset < ?::interval
+      where
+        p.dataset_id = ?
+      order by p.id, seg.start_offset asc
+    """;
+  private final PreparedStatement statement;
+
+  public GetProfileSegmentsInWindowAction(final Connection connection) throws SQLException {
+    this.statement = connection.prepareStatement(sql);
+    this.statement.setFetchSize(FETCH_SIZE);
+  }
+
+  /**
+   * Get every profile of the given dataset, restricted to the window [start, end).
+   *
+   * The segments of each returned profile begin at {@code start}, and end at {@code end} or at the end of the profile,
+   * whichever comes first.
+   */
+  public ProfileSet get(final long datasetId, final Duration start, final Duration end) throws SQLException {
+    PreparedStatements.setDuration(this.statement, 1, start);
+    PreparedStatements.setDuration(this.statement, 2, end);
+    this.statement.setLong(3, datasetId);
+
+    try (final var resultSet = this.statement.executeQuery()) {
+      return assemble(() -> resultSet.next() ? Optional.of(readRow(resultSet)) : Optional.empty(), start, end);
+    }
+  }
+
+  /** A row of the query: a profile, and one of its segments if it has any in the window. */
+  /*package-local*/ record ProfileRow(
+      long profileId,
+      String name,
+      String type,
+      long durationInMicros,
+      Optional<Long> startOffsetInMicros,
+      String dynamics,
+      boolean isGap
+  ) {}
+
+  /** The rows of the query, in its order: by profile, then by segment start. */
+  /*package-local*/ interface ProfileRows {
+    /** The next row, or empty once every row has been read. */
+    Optional<ProfileRow> next() throws SQLException;
+  }
+
+  private static ProfileRow readRow(final ResultSet resultSet) throws SQLException {
+    final var startOffset = resultSet.getLong("start_offset_in_micros");
+    final var hasSegment = !resultSet.wasNull();
+    return new ProfileRow(
+        resultSet.getLong("id"),
+        resultSet.getString("name"),
+        resultSet.getString("type"),
+        resultSet.getLong("duration_in_micros"),
+        hasSegment ? Optional.of(startOffset) : Optional.empty(),
+        resultSet.getString("dynamics"),
+        resultSet.getBoolean("is_gap"));
+  }
+
+  /**
+   * Build the profiles described by the rows of the query, restricted to the window [start, end),
+   * reading the rows only once and in order.
+   */
+  /*package-local*/ static ProfileSet assemble(final ProfileRows rows, final Duration start, final Duration end)
+  throws SQLException
+  {
+    final var realProfiles = new HashMap<String, ResourceProfile<Optional<RealDynamics>>>();
+    final var discreteProfiles = new HashMap<String, ResourceProfile<Optional<SerializedValue>>>();
+
+    try {
+      var row = rows.next();
+      while (row.isPresent()) {
+        final var first = row.get();
+        final var type = parseJson(first.type(), profileTypeP);
+        final var profileEnd = Math.min(end.in(Duration.MICROSECONDS), first.durationInMicros());
+
+        switch (type.getLeft()) {
+          case "real" -> {
+            final var read = readProfile(first, rows, type.getRight(), start, profileEnd, realDynamicsP, ProfileSet::advanceRealDynamics);
+            realProfiles.put(first.name(), read.profile());
+            row = read.nextRow();
+          }
+          case "discrete" -> {
+            final var read = readProfile(first, rows, type.getRight(), start, profileEnd, serializedValueP, (value, elapsed) -> value);
+            discreteProfiles.put(first.name(), read.profile());
+            row = read.nextRow();
+          }
+          default -> throw new Error("Unrecognized profile type " + type.getLeft());
+        }
+      }
+    } catch (final InvalidJsonException | InvalidEntityException e) {
+      throw new SQLException(e);
+    }
+
+    return new ProfileSet(realProfiles, discreteProfiles);
+  }
+
+  /** A profile read from the rows, and the first row of the next profile, if any. */
+  private record ProfileRead<Dynamics>(ResourceProfile<Optional<Dynamics>> profile, Optional<ProfileRow> nextRow) {}
+
+  /**
+   * Read the rows of one profile, starting at its first row, and clip its segments to [start, profileEnd).
+   *
+   * A segment cut short at the start of the window is moved forward with {@code advance}.
+   */
+  private static <Dynamics> ProfileRead<Dynamics> readProfile(
+      final ProfileRow first,
+      final ProfileRows rows,
+      final ValueSchema schema,
+      final Duration start,
+      final long profileEnd,
+      final JsonParser<Dynamics> dynamicsP,
+      final BiFunction<Optional<Dynamics>, Duration, Optional<Dynamics>> advance
+  ) throws SQLException, InvalidJsonException, InvalidEntityException
+  {
+    final var windowStart = start.in(Duration.MICROSECONDS);
+    final var segments = new ArrayList<ProfileSegment<Optional<Dynamics>>>();
+
+    // A profile without segments in the window is still returned, by the left join, as a single row without a segment.
+    if (first.startOffsetInMicros().isEmpty()) {
+      return new ProfileRead<>(ResourceProfile.of(schema, segments), rows.next());
+    }
+
+    var row = first;
+    while (true) {
+      final var next = rows.next();
+      final var hasNextSegment = next.isPresent() && next.get().profileId() == first.profileId();
+      final var segmentStart = row.startOffsetInMicros().orElseThrow();
+      final var segmentEnd = hasNextSegment ? next.get().startOffsetInMicros().orElseThrow() : profileEnd;
+
+      final var clippedStart = Math.max(segmentStart, windowStart);
+      final var extent = Math.min(segmentEnd, profileEnd) - clippedStart;
+      if (extent > 0) {
+        segments.add(new ProfileSegment<>(
+            Duration.of(extent, Duration.MICROSECONDS),
+            advance.apply(getDynamics(row, dynamicsP), Duration.of(clippedStart - segmentStart, Duration.MICROSECONDS))));
+      }
+      if (!hasNextSegment) return new ProfileRead<>(ResourceProfile.of(schema, segments), next);
+
+      row = next.get();
+    }
+  }
+
+  private static <Dynamics> Optional<Dynamics> getDynamics(final ProfileRow row, final JsonParser<Dynamics> dynamicsP)
+  throws InvalidJsonException, InvalidEntityException
+  {
+    if (row.isGap()) return Optional.empty();
+    return Optional.of(parseJson(row.dynamics(), dynamicsP));
+  }
+
+  @Override
+  public void close() throws SQLException {
+    this.statement.close();
+  }
+}
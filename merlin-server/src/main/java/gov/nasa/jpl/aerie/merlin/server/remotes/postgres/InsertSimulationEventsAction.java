@@ -18,7 +18,7 @@ import static gov.nasa.jpl.aerie.merlin.driver.json.SerializedValueJsonParser.se
 import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.MICROSECONDS;
 import static gov.nasa.jpl.aerie.merlin.server.remotes.postgres.PreparedStatements.setTimestamp;
 
-/*package-local*/ final class InsertSimulationEventsAction implements AutoCloseable {
+public final class InsertSimulationEventsAction implements AutoCloseable {
   @Language("SQL") private static final String sql = """
       insert into merlin.event (dataset_id, real_time, transaction_index, causal_time, topic_index, value, span_id)
       values (?, ?::timestamptz - ?::timestamptz, ?, ?, ?, ?::jsonb,?)
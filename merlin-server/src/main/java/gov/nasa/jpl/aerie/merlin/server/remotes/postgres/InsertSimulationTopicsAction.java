@@ -11,10 +11,11 @@ import java.util.List;
 
 import static gov.nasa.jpl.aerie.merlin.driver.json.ValueSchemaJsonParser.valueSchemaP;
 
-/*package-local*/ final class InsertSimulationTopicsAction implements AutoCloseable {
+public final class InsertSimulationTopicsAction implements AutoCloseable {
   @Language("SQL") private static final String sql = """
       insert into merlin.topic (dataset_id, topic_index, name, value_schema)
       values (?, ?, ?, ?::jsonb)
+      on conflict (dataset_id, topic_index) do nothing
     """;
 
   private final PreparedStatement statement;
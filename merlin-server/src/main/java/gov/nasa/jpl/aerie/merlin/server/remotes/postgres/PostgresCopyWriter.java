@@ -0,0 +1,135 @@
+package gov.nasa.jpl.aerie.merlin.server.remotes.postgres;
+
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import org.intellij.lang.annotations.Language;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Streams rows into a table using Postgres' `COPY ... from stdin` in its text format,
+ * which avoids the per-row overhead of batched `insert` statements.
+ *
+ * Rows are buffered and shipped to the server in blocks as they are written.
+ * The copy must be completed with {@link #finish()}; closing the writer beforehand aborts it.
+ * */
+public final class PostgresCopyWriter implements AutoCloseable {
+  /*package-local*/ static final int FLUSH_THRESHOLD = 1 << 16;
+
+  /** Where blocks of encoded rows are shipped; a {@link CopyIn} outside of tests. */
+  /*package-local*/ interface Sink {
+    void write(byte[] bytes) throws SQLException;
+
+    /** Complete the copy, returning the number of rows written. */
+    long end() throws SQLException;
+
+    /** Abort the copy, if it is still in progress. */
+    void cancel() throws SQLException;
+  }
+
+  private final Sink sink;
+  private final StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD + 1024);
+  private boolean rowStarted = false;
+  private boolean finished = false;
+
+  public PostgresCopyWriter(final Connection connection, final @Language("SQL") String copySql) throws SQLException {
+    this(copyInSink(connection.unwrap(PGConnection.class).getCopyAPI().copyIn(copySql)));
+  }
+
+  /*package-local*/ PostgresCopyWriter(final Sink sink) {
+    this.sink = sink;
+  }
+
+  private static Sink copyInSink(final CopyIn copyIn) {
+    return new Sink() {
+      @Override
+      public void write(final byte[] bytes) throws SQLException {
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+      }
+
+      @Override
+      public long end() throws SQLException {
+        return copyIn.endCopy();
+      }
+
+      @Override
+      public void cancel() throws SQLException {
+        if (copyIn.isActive()) copyIn.cancelCopy();
+      }
+    };
+  }
+
+  public PostgresCopyWriter field(final long value) {
+    this.separate();
+    this.buffer.append(value);
+    return this;
+  }
+
+  public PostgresCopyWriter field(final boolean value) {
+    this.separate();
+    this.buffer.append(value ? 't' : 'f');
+    return this;
+  }
+
+  public PostgresCopyWriter nullField() {
+    this.separate();
+    this.buffer.append("\\N");
+    return this;
+  }
+
+  /** Write an arbitrary string, escaping the characters that are meaningful to the text format. */
+  public PostgresCopyWriter field(final String value) {
+    this.separate();
+    for (int i = 0; i < value.length(); i++) {
+      final var c = value.charAt(i);
+      switch (c) {
+        case '\\' -> this.buffer.append("\\\\");
+        case '\n' -> this.buffer.append("\\n");
+        case '\r' -> this.buffer.append("\\r");
+        case '\t' -> this.buffer.append("\\t");
+        default -> this.buffer.append(c);
+      }
+    }
+    return this;
+  }
+
+  /** Write a duration in the same ISO 8601 form used by {@link PreparedStatements#setDuration}. */
+  public PostgresCopyWriter interval(final Duration duration) {
+    final var micros = duration.in(Duration.MICROSECONDS);
+    this.separate();
+    this.buffer.append("PT%d.%06dS".formatted(micros / 1_000_000, micros % 1_000_000));
+    return this;
+  }
+
+  public void endRow() throws SQLException {
+    this.buffer.append('\n');
+    this.rowStarted = false;
+    if (this.buffer.length() >= FLUSH_THRESHOLD) this.flush();
+  }
+
+  /** Complete the copy, returning the number of rows written. */
+  public long finish() throws SQLException {
+    this.flush();
+    this.finished = true;
+    return this.sink.end();
+  }
+
+  private void separate() {
+    if (this.rowStarted) this.buffer.append('\t');
+    this.rowStarted = true;
+  }
+
+  private void flush() throws SQLException {
+    if (this.buffer.isEmpty()) return;
+    this.sink.write(this.buffer.toString().getBytes(StandardCharsets.UTF_8));
+    this.buffer.setLength(0);
+  }
+
+  @Override
+  public void close() throws SQLException {
+    if (!this.finished) this.sink.cancel();
+  }
+}
@@ -682,6 +682,15 @@ public final class PostgresResultsCellRepository implements ResultsCellRepositor
       }
     }
 
+    @Override
+    public ProfileSet getProfilesInWindow(final Duration start, final Duration end) {
+      try (final var connection = this.dataSource.getConnection()) {
+        return ProfileRepository.getProfilesInWindow(connection, record.datasetId(), start, end);
+      } catch (SQLException e) {
+        throw new RuntimeException(e);
+      }
+    }
+
     @Override
     public Map<ActivityInstanceId, ActivityInstance> getSimulatedActivities() {
       try (final var connection = this.dataSource.getConnection()) {
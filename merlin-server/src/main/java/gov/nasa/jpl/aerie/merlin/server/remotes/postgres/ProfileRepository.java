@@ -85,6 +85,28 @@ import static gov.nasa.jpl.aerie.merlin.server.http.ProfileParsers.realDynamicsP
     return new ProfileSet(realProfiles, discreteProfiles);
   }
 
+  /**
+   * Get every profile of a dataset, restricted to the window [start, end) of offsets from the start of the dataset.
+   *
+   * The segments are streamed from the database rather than loaded all at once, so only the window is held in memory.
+   */
+  static ProfileSet getProfilesInWindow(
+      final Connection connection,
+      final long datasetId,
+      final Duration start,
+      final Duration end
+  ) throws SQLException {
+    if (end.shorterThan(start)) {
+      throw new IllegalArgumentException("Window end %s precedes window start %s".formatted(end, start));
+    }
+
+    // Postgres only streams query results from within a transaction.
+    try (final var transactionContext = new TransactionContext(connection);
+         final var getProfileSegmentsInWindowAction = new GetProfileSegmentsInWindowAction(connection)) {
+      return getProfileSegmentsInWindowAction.get(datasetId, start, end);
+    }
+  }
+
   static Map<String, ValueSchema> getProfileSchemas(
       final Connection connection,
       final long datasetId
@@ -9,26 +9,67 @@ import gov.nasa.jpl.aerie.merlin.server.exceptions.SimulationDatasetMismatchExce
 import gov.nasa.jpl.aerie.merlin.server.http.Fallible;
 import gov.nasa.jpl.aerie.merlin.server.models.*;
 import gov.nasa.jpl.aerie.types.MissionModelId;
-import org.apache.commons.lang3.tuple.Pair;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
 
 public class ConstraintAction {
   private final ConstraintsDSLCompilationService constraintsDSLCompilationService;
   private final ConstraintService constraintService;
   private final PlanService planService;
   private final SimulationService simulationService;
+  /** Evaluates EDSL constraints, bounding how many are evaluated at once across all requests. */
+  private final ExecutorService evaluationExecutor;
+
+  /**
+   * The outcome of checking the constraints on a plan.
+   * @param requestId The id of the stored constraint request.
+   * @param results The result of each constraint, whether freshly evaluated or cached.
+   * @param evaluationTimes How long each constraint evaluated by this request took. Cached results have no entry.
+   */
+  public record ConstraintViolations(
+      int requestId,
+      Map<ConstraintRecord, Fallible<ConstraintResult, List<? extends Exception>>> results,
+      Map<ConstraintRecord, Duration> evaluationTimes
+  ) {}
 
   public ConstraintAction(
       final ConstraintsDSLCompilationService constraintsDSLCompilationService,
       final ConstraintService constraintService,
       final PlanService planService,
       final SimulationService simulationService
+  ) {
+    this(
+        constraintsDSLCompilationService,
+        constraintService,
+        planService,
+        simulationService,
+        Runtime.getRuntime().availableProcessors());
+  }
+
+  public ConstraintAction(
+      final ConstraintsDSLCompilationService constraintsDSLCompilationService,
+      final ConstraintService constraintService,
+      final PlanService planService,
+      final SimulationService simulationService,
+      final int evaluationThreads
   ) {
     this.constraintsDSLCompilationService = constraintsDSLCompilationService;
     this.constraintService = constraintService;
     this.planService = planService;
     this.simulationService = simulationService;
+    this.evaluationExecutor = Executors.newFixedThreadPool(evaluationThreads, runnable -> {
+      final var thread = new Thread(runnable, "constraint-evaluation");
+      thread.setDaemon(true);
+      return thread;
+    });
   }
 
   /**
@@ -48,12 +89,12 @@ public class ConstraintAction {
    * Defaults to the latest simulation of the plan
    * @param force If true, ignore cached values and rerun all constraints.
    * @param userSession The Hasura Session that made the request.
-   * @return A mapping of each constraint and its result.
+   * @return A mapping of each constraint and its result, and how long each constraint evaluated in this call took.
    * @throws NoSuchPlanException If the plan does not exist.
    * @throws MissionModelService.NoSuchMissionModelException If the plan's mission model does not exist.
    * @throws SimulationDatasetMismatchException If the specified simulation is not a simulation of the specified plan.
    */
-  public Pair<Integer, Map<ConstraintRecord, Fallible<ConstraintResult, List<? extends Exception>>>> getViolations(
+  public ConstraintViolations getViolations(
       final PlanId planId,
       final Optional<SimulationDatasetId> simulationDatasetId,
       final boolean force,
@@ -82,6 +123,7 @@ public class ConstraintAction {
 
     final var constraints = new ArrayList<>(this.planService.getConstraintsForPlan(planId));
     final var constraintResultMap = new HashMap<ConstraintRecord, Fallible<ConstraintResult, List<? extends Exception>>>();
+    final var evaluationTimes = new ConcurrentHashMap<ConstraintRecord, Duration>();
 
     // Load cached results if the force rerun flag is not set
     final var validConstraintRuns = force ? new HashMap<ConstraintRecord, ConstraintResult>() :
@@ -125,29 +167,44 @@ public class ConstraintAction {
       // successful and cached in the past
 
 
-      //compile
+      //compile -- EDSL constraints are compiled concurrently, so that they can share the pool of compiler processes
+      final var pendingCompilations = new LinkedHashMap<ConstraintRecord, Future<Fallible<Expression<EDSLConstraintResult>, ConstraintsDSLCompilationService.ConstraintsDSLCompilationResult.Error>>>();
       final var compiledConstraints = new ArrayList<ExecutableConstraint>();
       for (final var constraint : constraints) {
         switch (constraint.type()) {
-          case ConstraintType.EDSL e -> {
-            final var compilationResult = tryCompileEDSLConstraint(
-                plan.missionModelId(),
-                planId,
-                simDatasetId,
-                constraint);
-
-            if (compilationResult.isFailure()) {
-              final Fallible<ConstraintResult, List<? extends Exception>> r = Fallible.failure(compilationResult.getFailure().errors(), compilationResult.getMessage());
-              constraintResultMap.put(constraint, r);
-              continue;
-            }
-
-            compiledConstraints.add(new ExecutableConstraint.EDSLConstraint(constraint, compilationResult.get()));
-          }
+          case ConstraintType.EDSL e -> pendingCompilations.put(constraint, this.evaluationExecutor.submit(() -> tryCompileEDSLConstraint(
+              plan.missionModelId(),
+              planId,
+              simDatasetId,
+              constraint)));
           case ConstraintType.JAR j -> compiledConstraints.add(new ExecutableConstraint.JARConstraint(constraint));
         }
       }
 
+      for (final var entry : pendingCompilations.entrySet()) {
+        final var constraint = entry.getKey();
+        final Fallible<Expression<EDSLConstraintResult>, ConstraintsDSLCompilationService.ConstraintsDSLCompilationResult.Error> compilationResult;
+        try {
+          compilationResult = entry.getValue().get();
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
+          pendingCompilations.values().forEach($ -> $.cancel(true));
+          constraintResultMap.put(constraint, Fallible.failure(List.of(e), "Constraint compilation was interrupted"));
+          continue;
+        } catch (final CancellationException | ExecutionException e) {
+          constraintResultMap.put(constraint, Fallible.failure(List.of(e), e.getMessage()));
+          continue;
+        }
+
+        if (compilationResult.isFailure()) {
+          final Fallible<ConstraintResult, List<? extends Exception>> r = Fallible.failure(compilationResult.getFailure().errors(), compilationResult.getMessage());
+          constraintResultMap.put(constraint, r);
+          continue;
+        }
+
+        compiledConstraints.add(new ExecutableConstraint.EDSLConstraint(constraint, compilationResult.get()));
+      }
+
       // sort constraints
       Collections.sort(compiledConstraints);
 
@@ -155,28 +212,46 @@ public class ConstraintAction {
       //    a procedural constraint will access
       final var merlinSimResults = resultsHandle.getSimulationResults();
       final var edslSimResults = new SimulationResults(merlinSimResults);
-      final var environment = new EvaluationEnvironment(realExternalProfiles, discreteExternalProfiles);
+      // Constraints evaluated for this request share a memo table, so subexpressions they have in common are only
+      //    evaluated once.
+      final var environment = new EvaluationEnvironment(realExternalProfiles, discreteExternalProfiles, new EvaluationCache());
 
       final var timelinePlan = new ReadonlyPlan(plan, environment);
       final var timelineSimResults = new ReadonlyProceduralSimResults(merlinSimResults, timelinePlan);
 
 
-      // run constraints
+      // run constraints -- EDSL constraints are independent of each other, so they are evaluated concurrently.
+      //    Procedural constraints run user code that may not be thread-safe, so they run on this thread meanwhile.
+      final var pendingResults = new LinkedHashMap<ConstraintRecord, Future<Fallible<ConstraintResult, List<? extends Exception>>>>();
       for(final var constraint : compiledConstraints) {
         final var record = constraint.record();
-        try {
-          switch (constraint) {
-            case ExecutableConstraint.EDSLConstraint edsl: {
-              constraintResultMap.put(record, Fallible.of(edsl.run(edslSimResults, environment)));
-              break;
-            }
-            case ExecutableConstraint.JARConstraint jar: {
-              constraintResultMap.put(record, Fallible.of(jar.run(timelinePlan, timelineSimResults, merlinSimResults)));
-              break;
-            }
+        switch (constraint) {
+          case ExecutableConstraint.EDSLConstraint edsl: {
+            pendingResults.put(record, this.evaluationExecutor.submit(() -> timeEvaluation(
+                record,
+                evaluationTimes,
+                () -> edsl.run(edslSimResults, environment))));
+            break;
+          }
+          case ExecutableConstraint.JARConstraint jar: {
+            constraintResultMap.put(record, timeEvaluation(
+                record,
+                evaluationTimes,
+                () -> jar.run(timelinePlan, timelineSimResults, merlinSimResults)));
+            break;
           }
-        } catch (Exception e) {
-          constraintResultMap.put(record, Fallible.failure(List.of(e), e.getMessage()));
+        }
+      }
+
+      for (final var entry : pendingResults.entrySet()) {
+        try {
+          constraintResultMap.put(entry.getKey(), entry.getValue().get());
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
+          pendingResults.values().forEach($ -> $.cancel(true));
+          constraintResultMap.put(entry.getKey(), Fallible.failure(List.of(e), "Constraint evaluation was interrupted"));
+        } catch (final CancellationException | ExecutionException e) {
+          constraintResultMap.put(entry.getKey(), Fallible.failure(List.of(e), e.getMessage()));
         }
       }
     }
@@ -186,7 +261,23 @@ public class ConstraintAction {
         new ConstraintRequestConfiguration(planId, simDatasetId, force, userSession.hasuraUserId()),
         constraintResultMap);
 
-    return Pair.of(requestId, constraintResultMap);
+    return new ConstraintViolations(requestId, constraintResultMap, evaluationTimes);
+  }
+
+  /** Evaluate a constraint, recording how long it took and capturing any failure in the result. */
+  private static Fallible<ConstraintResult, List<? extends Exception>> timeEvaluation(
+      final ConstraintRecord record,
+      final Map<ConstraintRecord, Duration> evaluationTimes,
+      final Supplier<ConstraintResult> evaluation
+  ) {
+    final var start = System.nanoTime();
+    try {
+      return Fallible.of(evaluation.get());
+    } catch (Exception e) {
+      return Fallible.failure(List.of(e), e.getMessage());
+    } finally {
+      evaluationTimes.put(record, Duration.ofNanos(System.nanoTime() - start));
+    }
   }
 
   /**
@@ -18,18 +18,51 @@ import javax.json.stream.JsonParsingException;
 import java.io.File;
 import java.io.IOException;
 import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
 public class ConstraintsDSLCompilationService {
+  public static final int DEFAULT_PROCESS_COUNT = 1;
+  public static final int DEFAULT_CACHE_CAPACITY = 1024;
 
-  private final Process nodeProcess;
   private final TypescriptCodeGenerationServiceAdapter typescriptCodeGenerationService;
+  private final List<CompilerProcess> processes;
+  private final BlockingQueue<CompilerProcess> idleProcesses;
+  private final LinkedHashMap<String, ConstraintsDSLCompilationResult> compiledConstraints;
 
   public ConstraintsDSLCompilationService(final TypescriptCodeGenerationServiceAdapter typescriptCodeGenerationService)
   throws IOException
   {
+    this(typescriptCodeGenerationService, DEFAULT_PROCESS_COUNT, DEFAULT_CACHE_CAPACITY);
+  }
+
+  public ConstraintsDSLCompilationService(
+      final TypescriptCodeGenerationServiceAdapter typescriptCodeGenerationService,
+      final int processCount)
+  throws IOException
+  {
+    this(typescriptCodeGenerationService, processCount, DEFAULT_CACHE_CAPACITY);
+  }
+
+  public ConstraintsDSLCompilationService(
+      final TypescriptCodeGenerationServiceAdapter typescriptCodeGenerationService,
+      final int processCount,
+      final int cacheCapacity)
+  throws IOException
+  {
+    if (processCount < 1) throw new IllegalArgumentException("processCount must be at least 1, got " + processCount);
+    if (cacheCapacity < 0) throw new IllegalArgumentException("cacheCapacity must not be negative, got " + cacheCapacity);
+
     this.typescriptCodeGenerationService = typescriptCodeGenerationService;
     final var constraintsDslCompilerRoot = System.getenv("CONSTRAINTS_DSL_COMPILER_ROOT");
     final var constraintsDslCompilerCommand = System.getenv("CONSTRAINTS_DSL_COMPILER_COMMAND");
@@ -38,24 +71,41 @@ public class ConstraintsDSLCompilationService {
         .redirectError(ProcessBuilder.Redirect.INHERIT)
         .directory(new File(constraintsDslCompilerRoot));
     processBuilder.environment().put("NODE_NO_WARNINGS", "1");
-    this.nodeProcess = processBuilder.start();
 
-    final var inputStream = this.nodeProcess.outputWriter();
-    inputStream.write("ping\n");
-    inputStream.flush();
-    if (!Objects.equals(this.nodeProcess.inputReader().readLine(), "pong")) {
-      throw new Error("Could not create node subprocess");
+    this.processes = new ArrayList<>(processCount);
+    this.idleProcesses = new ArrayBlockingQueue<>(processCount);
+    try {
+      for (var i = 0; i < processCount; i++) {
+        final var process = new CompilerProcess(processBuilder);
+        this.processes.add(process);
+        process.start();
+        this.idleProcesses.add(process);
+      }
+    } catch (final IOException | Error e) {
+      this.close();
+      throw e;
     }
+
+    this.compiledConstraints = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<String, ConstraintsDSLCompilationResult> eldest) {
+        return this.size() > cacheCapacity;
+      }
+    };
   }
 
   public void close() {
-    this.nodeProcess.destroy();
+    this.processes.forEach(CompilerProcess::destroy);
   }
 
   /**
-   * NOTE: This method is not re-entrant (assumes only one call to this method is running at any given time)
+   * Compile an EDSL constraint against the types of the given mission model, plan and simulation dataset.
+   *
+   * Successful compilations are cached by the content of the constraint and of the generated mission model code it is
+   *   compiled against, so recompiling an unchanged constraint does not involve the compiler.
+   * Otherwise, the constraint is compiled by the next idle compiler process, waiting for one if all are busy.
    */
-  synchronized public ConstraintsDSLCompilationResult compileConstraintsDSL(
+  public ConstraintsDSLCompilationResult compileConstraintsDSL(
       final MissionModelId missionModelId,
       final Optional<PlanId> planId,
       final Optional<SimulationDatasetId> simulationDatasetId,
@@ -63,47 +113,148 @@ public class ConstraintsDSLCompilationService {
   ) throws MissionModelService.NoSuchMissionModelException, NoSuchPlanException
   {
     final var missionModelGeneratedCode = this.typescriptCodeGenerationService.generateTypescriptTypes(missionModelId, planId, simulationDatasetId);
+    final var key = cacheKey(constraintTypescript, missionModelGeneratedCode);
+    synchronized (this.compiledConstraints) {
+      final var cached = this.compiledConstraints.get(key);
+      if (cached != null) return cached;
+    }
+
     final JsonObject messageJson = Json.createObjectBuilder()
         .add("constraintCode", constraintTypescript)
         .add("missionModelGeneratedCode", missionModelGeneratedCode)
         .add("expectedReturnType", "Constraint")
         .build();
-    /*
-     * PROTOCOL:
-     *   denote this java program as JAVA, and the node subprocess as NODE
-     *
-     *   JAVA -- stdin --> NODE: { "constraintCode": "sourcecode", "missionModelGeneratedCode": "generatedcode" } \n
-     *   NODE -- stdout --> JAVA: one of "success\n", "error\n", or "panic\n"
-     *   NODE -- stdout --> JAVA: payload associated with success, error, or panic, must be exactly one line terminated with \n
-     * */
-    final var inputWriter = this.nodeProcess.outputWriter();
-    final var outputReader = this.nodeProcess.inputReader();
+
+    final CompilerProcess process;
     try {
-      inputWriter.write(messageJson +"\n");
-      inputWriter.flush();
-      final var status = outputReader.readLine();
-      return switch (status) {
-        case "panic" -> throw new Error(outputReader.readLine());
-        case "error" -> {
-          final var output = outputReader.readLine();
-          try {
-            yield new ConstraintsDSLCompilationResult.Error(parseJson(output, ConstraintsCompilationError.constraintsErrorJsonP));
-          } catch (InvalidJsonException | InvalidEntityException e) {
-            throw new Error("Could not parse error JSON returned from typescript: " + output, e);
-          }
+      process = this.idleProcesses.take();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new Error("Interrupted while waiting for a constraints dsl compiler process", e);
+    }
+
+    final ConstraintsDSLCompilationResult result;
+    try {
+      result = process.compile(messageJson);
+    } finally {
+      this.idleProcesses.add(process);
+    }
+
+    // Only successes are cached: compiled expressions are immutable, but callers annotate the errors they are given.
+    if (result instanceof ConstraintsDSLCompilationResult.Success) {
+      synchronized (this.compiledConstraints) {
+        this.compiledConstraints.put(key, result);
+      }
+    }
+    return result;
+  }
+
+  /** A SHA-256 digest of everything the compiler's output depends on. */
+  private static String cacheKey(final String constraintTypescript, final String missionModelGeneratedCode) {
+    final MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (final NoSuchAlgorithmException e) {
+      throw new Error(e);
+    }
+    digest.update(constraintTypescript.getBytes(StandardCharsets.UTF_8));
+    // Separate the two inputs, so that moving text from one to the other changes the key.
+    digest.update((byte) 0);
+    digest.update(missionModelGeneratedCode.getBytes(StandardCharsets.UTF_8));
+    return HexFormat.of().formatHex(digest.digest());
+  }
+
+  /**
+   * A node subprocess running the constraints dsl compiler.
+   *
+   * A process that panics, dies, or stops following the protocol is destroyed, and a fresh one is started the next
+   *   time it is used, so that a single bad compilation cannot take the compiler down for good.
+   */
+  private static final class CompilerProcess {
+    private final ProcessBuilder processBuilder;
+    private Process nodeProcess = null;
+
+    CompilerProcess(final ProcessBuilder processBuilder) {
+      this.processBuilder = processBuilder;
+    }
+
+    void start() throws IOException {
+      this.nodeProcess = this.processBuilder.start();
+
+      final var inputStream = this.nodeProcess.outputWriter();
+      inputStream.write("ping\n");
+      inputStream.flush();
+      if (!Objects.equals(this.nodeProcess.inputReader().readLine(), "pong")) {
+        this.destroy();
+        throw new Error("Could not create node subprocess");
+      }
+    }
+
+    void destroy() {
+      if (this.nodeProcess != null) this.nodeProcess.destroy();
+      this.nodeProcess = null;
+    }
+
+    ConstraintsDSLCompilationResult compile(final JsonObject messageJson) {
+      try {
+        if (this.nodeProcess == null || !this.nodeProcess.isAlive()) {
+          this.destroy();
+          this.start();
         }
-        case "success" -> {
-          final var output = outputReader.readLine();
-          try {
-            yield new ConstraintsDSLCompilationResult.Success(parseJson(output, ConstraintParsers.constraintP));
-          } catch (InvalidJsonException | InvalidEntityException e) {
-            throw new Error("Could not parse success JSON returned from typescript: " + output, e);
-          }
+      } catch (final IOException e) {
+        this.destroy();
+        throw new Error("Could not restart node subprocess", e);
+      }
+
+      /*
+       * PROTOCOL:
+       *   denote this java program as JAVA, and the node subprocess as NODE
+       *
+       *   JAVA -- stdin --> NODE: { "constraintCode": "sourcecode", "missionModelGeneratedCode": "generatedcode" } \n
+       *   NODE -- stdout --> JAVA: one of "success\n", "error\n", or "panic\n"
+       *   NODE -- stdout --> JAVA: payload associated with success, error, or panic, must be exactly one line terminated with \n
+       * */
+      final var inputWriter = this.nodeProcess.outputWriter();
+      final var outputReader = this.nodeProcess.inputReader();
+      try {
+        inputWriter.write(messageJson +"\n");
+        inputWriter.flush();
+        final var status = outputReader.readLine();
+        if (status == null) {
+          this.destroy();
+          throw new Error("constraints dsl compiler exited unexpectedly");
         }
-        default -> throw new Error("constraints dsl compiler returned unexpected status: " + status);
-      };
-    } catch (IOException e) {
-      throw new Error(e);
+        return switch (status) {
+          case "panic" -> {
+            final var message = outputReader.readLine();
+            this.destroy();
+            throw new Error(message);
+          }
+          case "error" -> {
+            final var output = outputReader.readLine();
+            try {
+              yield new ConstraintsDSLCompilationResult.Error(parseJson(output, ConstraintsCompilationError.constraintsErrorJsonP));
+            } catch (InvalidJsonException | InvalidEntityException e) {
+              throw new Error("Could not parse error JSON returned from typescript: " + output, e);
+            }
+          }
+          case "success" -> {
+            final var output = outputReader.readLine();
+            try {
+              yield new ConstraintsDSLCompilationResult.Success(parseJson(output, ConstraintParsers.constraintP));
+            } catch (InvalidJsonException | InvalidEntityException e) {
+              throw new Error("Could not parse success JSON returned from typescript: " + output, e);
+            }
+          }
+          default -> {
+            this.destroy();
+            throw new Error("constraints dsl compiler returned unexpected status: " + status);
+          }
+        };
+      } catch (IOException e) {
+        this.destroy();
+        throw new Error(e);
+      }
     }
   }
 
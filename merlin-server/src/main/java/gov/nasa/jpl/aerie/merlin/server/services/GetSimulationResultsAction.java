@@ -15,6 +15,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 
 public final class GetSimulationResultsAction {
   public sealed interface Response {
@@ -52,44 +53,69 @@ public final class GetSimulationResultsAction {
 
   public Map<String, List<Pair<Duration, SerializedValue>>> getResourceSamples(final PlanId planId)
   throws NoSuchPlanException
+  {
+    return this.getResourceSamples(planId, Optional.empty(), Optional.empty());
+  }
+
+  /**
+   * Sample every resource profile of the plan's latest simulation within the window [start, end).
+   *
+   * Only the requested window is read from the results store. The window defaults to the whole simulation, and sample
+   * times remain relative to the start of simulation. Gaps in a profile produce no samples.
+   */
+  public Map<String, List<Pair<Duration, SerializedValue>>> getResourceSamples(
+      final PlanId planId,
+      final Optional<Duration> start,
+      final Optional<Duration> end
+  ) throws NoSuchPlanException
   {
     final var revisionData = this.planService.getPlanRevisionData(planId);
     final var simulationResultsHandle$ = this.simulationService.get(planId, revisionData);
     if (simulationResultsHandle$.isEmpty()) return Collections.emptyMap();
-    final var simulationResults = simulationResultsHandle$.get().getSimulationResults();
+    final var simulationResultsHandle = simulationResultsHandle$.get();
+
+    final var windowStart = start.orElse(Duration.ZERO);
+    // A window starting after the simulation ends holds no samples, rather than ending before it starts.
+    final var windowEnd = end.orElseGet(() -> Duration.max(windowStart, simulationResultsHandle.duration()));
+    final var profiles = simulationResultsHandle.getProfilesInWindow(windowStart, windowEnd);
 
     final var samples = new HashMap<String, List<Pair<Duration, SerializedValue>>>();
 
-    simulationResults.realProfiles.forEach((name, p) -> {
-      var elapsed = Duration.ZERO;
+    profiles.realProfiles().forEach((name, p) -> {
+      var elapsed = windowStart;
       var profile = p.segments();
 
       final var timeline = new ArrayList<Pair<Duration, SerializedValue>>();
       for (final var piece : profile) {
         final var extent = piece.extent();
-        final var dynamics = piece.dynamics();
-
-        timeline.add(Pair.of(elapsed, SerializedValue.of(
-            dynamics.initial)));
+        final var dynamics$ = piece.dynamics();
+
+        if (dynamics$.isPresent()) {
+          final var dynamics = dynamics$.get();
+          timeline.add(Pair.of(elapsed, SerializedValue.of(
+              dynamics.initial)));
+          timeline.add(Pair.of(elapsed.plus(extent), SerializedValue.of(
+              dynamics.initial + dynamics.rate * extent.ratioOver(Duration.SECONDS))));
+        }
         elapsed = elapsed.plus(extent);
-        timeline.add(Pair.of(elapsed, SerializedValue.of(
-            dynamics.initial + dynamics.rate * extent.ratioOver(Duration.SECONDS))));
       }
 
       samples.put(name, timeline);
     });
-    simulationResults.discreteProfiles.forEach((name, p) -> {
-      var elapsed = Duration.ZERO;
+    profiles.discreteProfiles().forEach((name, p) -> {
+      var elapsed = windowStart;
       var profile = p.segments();
 
       final var timeline = new ArrayList<Pair<Duration, SerializedValue>>();
       for (final var piece : profile) {
         final var extent = piece.extent();
-        final var value = piece.dynamics();
+        final var value$ = piece.dynamics();
 
-        timeline.add(Pair.of(elapsed, value));
+        if (value$.isPresent()) {
+          timeline.add(Pair.of(elapsed, value$.get()));
+          timeline.add(Pair.of(elapsed.plus(extent), value$.get()));
+        }
         elapsed = elapsed.plus(extent);
-        timeline.add(Pair.of(elapsed, value));
       }
 
       samples.put(name, timeline);
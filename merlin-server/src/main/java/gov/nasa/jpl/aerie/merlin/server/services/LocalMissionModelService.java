@@ -8,7 +8,9 @@ import gov.nasa.jpl.aerie.types.MissionModelId;
 import gov.nasa.jpl.aerie.types.Plan;
 import gov.nasa.jpl.aerie.types.SerializedActivity;
 import gov.nasa.jpl.aerie.merlin.driver.SimulationDriver;
+import gov.nasa.jpl.aerie.merlin.driver.SimulationEvents;
 import gov.nasa.jpl.aerie.merlin.driver.SimulationResults;
+import gov.nasa.jpl.aerie.merlin.driver.resources.AsyncConsumer;
 import gov.nasa.jpl.aerie.merlin.driver.resources.SimulationResourceManager;
 import gov.nasa.jpl.aerie.merlin.protocol.model.InputType.Parameter;
 import gov.nasa.jpl.aerie.merlin.protocol.model.InputType.ValidationNotice;
@@ -49,15 +51,30 @@ public final class LocalMissionModelService implements MissionModelService {
   private final Path missionModelDataPath;
   private final MissionModelRepository missionModelRepository;
   private final Instant untruePlanStart;
+  private final MissionModelTypeCache modelTypeCache;
 
   public LocalMissionModelService(
       final Path missionModelDataPath,
       final MissionModelRepository missionModelRepository,
       final Instant untruePlanStart
+  ) {
+    this(missionModelDataPath, missionModelRepository, untruePlanStart, new MissionModelTypeCache());
+  }
+
+  public LocalMissionModelService(
+      final Path missionModelDataPath,
+      final MissionModelRepository missionModelRepository,
+      final Instant untruePlanStart,
+      final MissionModelTypeCache modelTypeCache
   ) {
     this.missionModelDataPath = missionModelDataPath;
     this.missionModelRepository = missionModelRepository;
     this.untruePlanStart = untruePlanStart;
+    this.modelTypeCache = modelTypeCache;
+  }
+
+  public MissionModelTypeCache.Metrics getModelTypeCacheMetrics() {
+    return this.modelTypeCache.getMetrics();
   }
 
   @Override
@@ -281,6 +298,7 @@ public final class LocalMissionModelService implements MissionModelService {
    * Validate that a set of activity parameters conforms to the expectations of a named mission model.
    *
    * @param plan The plan to be simulated. Contains the parameters defining the simulation to perform.
+   * @param eventConsumer If present, receives the events of the simulation as it progresses, rather than the results.
    * @return A set of samples over the course of the simulation.
    * @throws NoSuchMissionModelException If no mission model is known by the given ID.
    */
@@ -289,7 +307,8 @@ public final class LocalMissionModelService implements MissionModelService {
       final Plan plan,
       final Consumer<Duration> simulationExtentConsumer,
       final Supplier<Boolean> canceledListener,
-      final SimulationResourceManager resourceManager)
+      final SimulationResourceManager resourceManager,
+      final Optional<AsyncConsumer<SimulationEvents>> eventConsumer)
   throws NoSuchMissionModelException
   {
     final var config = plan.simulationConfiguration();
@@ -311,13 +330,17 @@ public final class LocalMissionModelService implements MissionModelService {
         plan.duration(),
         canceledListener,
         simulationExtentConsumer,
-        resourceManager);
+        resourceManager,
+        false,
+        eventConsumer);
   }
 
   @Override
   public void refreshModelParameters(final MissionModelId missionModelId)
   throws NoSuchMissionModelException
   {
+    // Refreshes are requested when a model's JAR is uploaded or replaced, so don't trust a previously loaded copy.
+    this.modelTypeCache.invalidate(missionModelId);
     try {
       this.missionModelRepository.updateModelParameters(missionModelId, getModelParameters(missionModelId));
     } catch (final MissionModelRepository.NoSuchMissionModelException ex) {
@@ -329,6 +352,7 @@ public final class LocalMissionModelService implements MissionModelService {
   public void refreshActivityTypes(final MissionModelId missionModelId)
   throws NoSuchMissionModelException
   {
+    this.modelTypeCache.invalidate(missionModelId);
     try {
       final var modelType = this.loadMissionModelType(missionModelId);
       final var registry = DirectiveTypeRegistry.extract(modelType);
@@ -367,7 +391,11 @@ public final class LocalMissionModelService implements MissionModelService {
   {
     try {
       final var missionModelJar = this.missionModelRepository.getMissionModel(missionModelId);
-      return MissionModelLoader.loadModelType(missionModelDataPath.resolve(missionModelJar.path), missionModelJar.name, missionModelJar.version);
+      final var path = missionModelDataPath.resolve(missionModelJar.path);
+      return this.modelTypeCache.get(
+          missionModelId,
+          MissionModelTypeCache.Fingerprint.of(path, missionModelJar.name, missionModelJar.version),
+          () -> MissionModelLoader.loadModelType(path, missionModelJar.name, missionModelJar.version));
     } catch (final MissionModelRepository.NoSuchMissionModelException ex) {
       throw new NoSuchMissionModelException(missionModelId, ex);
     } catch (final MissionModelLoader.MissionModelLoadException ex) {
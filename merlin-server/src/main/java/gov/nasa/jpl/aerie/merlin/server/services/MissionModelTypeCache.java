@@ -0,0 +1,107 @@
+package gov.nasa.jpl.aerie.merlin.server.services;
+
+import gov.nasa.jpl.aerie.merlin.driver.MissionModelLoader;
+import gov.nasa.jpl.aerie.merlin.protocol.model.ModelType;
+import gov.nasa.jpl.aerie.types.MissionModelId;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded, least-recently-used cache of the {@link ModelType}s loaded from mission model JARs.
+ *
+ * Loading a model type creates a fresh class loader and scans the JAR, which is wasteful for requests that only need
+ * the model's metadata (validation, effective arguments, parameters). An entry is only reused while the JAR it was
+ * loaded from is unchanged, as judged by its {@link Fingerprint}; otherwise it is reloaded.
+ */
+public final class MissionModelTypeCache {
+  public static final int DEFAULT_CAPACITY = 16;
+
+  /** Identifies the contents of a mission model JAR without reading it. */
+  public record Fingerprint(Path path, String name, String version, long size, long lastModifiedMillis) {
+    public static Fingerprint of(final Path path, final String name, final String version) {
+      try {
+        return new Fingerprint(path, name, version, Files.size(path), Files.getLastModifiedTime(path).toMillis());
+      } catch (final IOException ex) {
+        // An unreadable JAR will fail to load anyway; make sure its fingerprint never matches a cached entry.
+        return new Fingerprint(path, name, version, -1, -1);
+      }
+    }
+  }
+
+  public record Metrics(long hits, long misses, long evictions, long invalidations, int size) {}
+
+  @FunctionalInterface
+  public interface Loader {
+    ModelType<?, ?> load() throws MissionModelLoader.MissionModelLoadException;
+  }
+
+  private record Entry(Fingerprint fingerprint, ModelType<?, ?> modelType) {}
+
+  private final LinkedHashMap<MissionModelId, Entry> entries;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private final LongAdder invalidations = new LongAdder();
+
+  public MissionModelTypeCache() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  public MissionModelTypeCache(final int capacity) {
+    if (capacity < 1) throw new IllegalArgumentException("capacity must be positive, but was " + capacity);
+
+    this.entries = new LinkedHashMap<>(capacity, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<MissionModelId, Entry> eldest) {
+        if (this.size() <= capacity) return false;
+        evictions.increment();
+        return true;
+      }
+    };
+  }
+
+  /**
+   * Get the model type of the given mission model, loading it if it is not cached or if its JAR has changed.
+   *
+   * Concurrent misses on the same model may each load it; the last to finish is kept.
+   */
+  public ModelType<?, ?> get(final MissionModelId id, final Fingerprint fingerprint, final Loader loader)
+  throws MissionModelLoader.MissionModelLoadException
+  {
+    synchronized (this.entries) {
+      final var entry = this.entries.get(id);
+      if (entry != null && entry.fingerprint().equals(fingerprint)) {
+        this.hits.increment();
+        return entry.modelType();
+      }
+    }
+
+    this.misses.increment();
+    final var modelType = loader.load();
+    synchronized (this.entries) {
+      this.entries.put(id, new Entry(fingerprint, modelType));
+    }
+    return modelType;
+  }
+
+  /** Drop the cached model type of the given mission model, e.g. because its JAR has been replaced. */
+  public void invalidate(final MissionModelId id) {
+    synchronized (this.entries) {
+      if (this.entries.remove(id) != null) this.invalidations.increment();
+    }
+  }
+
+  public Metrics getMetrics() {
+    final int size;
+    synchronized (this.entries) {
+      size = this.entries.size();
+    }
+    return new Metrics(this.hits.sum(), this.misses.sum(), this.evictions.sum(), this.invalidations.sum(), size);
+  }
+}
@@ -1,7 +1,9 @@
 package gov.nasa.jpl.aerie.merlin.server.services;
 
 import gov.nasa.jpl.aerie.merlin.driver.SimulationException;
+import gov.nasa.jpl.aerie.merlin.driver.SimulationEvents;
 import gov.nasa.jpl.aerie.merlin.driver.SimulationResults;
+import gov.nasa.jpl.aerie.merlin.driver.resources.AsyncConsumer;
 import gov.nasa.jpl.aerie.merlin.driver.resources.SimulationResourceManager;
 import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
 import gov.nasa.jpl.aerie.merlin.server.ResultsProtocol;
@@ -12,6 +14,7 @@ import gov.nasa.jpl.aerie.types.Plan;
 
 import javax.json.Json;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -25,7 +28,8 @@ public record SimulationAgent (
       final RevisionData revisionData,
       final ResultsProtocol.WriterRole writer,
       final Supplier<Boolean> canceledListener,
-      final SimulationResourceManager resourceManager
+      final SimulationResourceManager resourceManager,
+      final Optional<AsyncConsumer<SimulationEvents>> eventConsumer
   ) {
     final Plan plan;
     try {
@@ -75,7 +79,8 @@ public record SimulationAgent (
            plan,
             extentListener::updateValue,
             canceledListener,
-            resourceManager);
+            resourceManager,
+            eventConsumer);
       }
     } catch (SimulationException ex) {
       final var errorMsgBuilder = Json.createObjectBuilder()
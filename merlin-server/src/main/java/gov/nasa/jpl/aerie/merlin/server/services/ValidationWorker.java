@@ -48,6 +48,11 @@ public record ValidationWorker(LocalMissionModelService missionModelService, int
           final var duration = (endTime - beginTime) / 1_000_000.0;
           logger.debug("processed model batch of size {} in {} ms", unvalidatedDirectives.size(), duration);
         }
+
+        // report how well model types are being reused, once per round of validations rather than on every poll
+        if (!validationRequests.isEmpty()) {
+          logger.info("model type cache: {}", missionModelService.getModelTypeCacheMetrics());
+        }
       } catch (InterruptedException ex) {
         // we were interrupted, so exit gracefully
         return;
@@ -1,16 +1,20 @@
 package gov.nasa.jpl.aerie.merlin.server.http;
 
 import gov.nasa.jpl.aerie.json.JsonParser;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
 import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
 import gov.nasa.jpl.aerie.merlin.server.models.HasuraAction;
 import gov.nasa.jpl.aerie.merlin.server.models.HasuraMissionModelEvent;
+import gov.nasa.jpl.aerie.merlin.server.models.PlanId;
 import gov.nasa.jpl.aerie.types.MissionModelId;
 import org.junit.jupiter.api.Test;
 
 import javax.json.Json;
+import javax.json.JsonObjectBuilder;
 import javax.json.JsonValue;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 
 import static gov.nasa.jpl.aerie.json.BasicParsers.listP;
 import static gov.nasa.jpl.aerie.json.BasicParsers.longP;
@@ -19,6 +23,7 @@ import static gov.nasa.jpl.aerie.merlin.driver.json.SerializedValueJsonParser.se
 import static gov.nasa.jpl.aerie.merlin.server.http.HasuraParsers.*;
 import static gov.nasa.jpl.aerie.merlin.server.http.MerlinParsersTest.NestedLists.nestedList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public final class MerlinParsersTest {
@@ -152,4 +157,52 @@ public final class MerlinParsersTest {
 
     assertEquals(expected, hasuraMissionModelEventTriggerP.parse(json).getSuccessOrThrow());
   }
+
+  @Test
+  public void testHasuraResourceSamplesParser() {
+    final var session = new HasuraAction.Session("aerie_admin", null);
+    final var planId = new PlanId(1L);
+    final var start = Duration.of(10, Duration.SECONDS);
+    final var end = Duration.of(20, Duration.SECONDS);
+
+    assertEquals(
+        new HasuraAction<>("resourceSamples", new HasuraAction.ResourceSamplesInput(planId, Optional.of(start), Optional.of(end)), session),
+        hasuraResourceSamplesActionP.parse(resourceSamplesAction(Json
+            .createObjectBuilder()
+            .add("planId", 1)
+            .add("startOffset", 10_000_000)
+            .add("endOffset", 20_000_000.0))).getSuccessOrThrow());
+    assertEquals(
+        new HasuraAction<>("resourceSamples", new HasuraAction.ResourceSamplesInput(planId, Optional.empty(), Optional.empty()), session),
+        hasuraResourceSamplesActionP.parse(resourceSamplesAction(Json
+            .createObjectBuilder()
+            .add("planId", 1)
+            .addNull("endOffset"))).getSuccessOrThrow());
+
+    // An empty window is allowed, but not one that ends before it starts, nor one with negative offsets.
+    assertFalse(hasuraResourceSamplesActionP.parse(resourceSamplesAction(Json
+        .createObjectBuilder()
+        .add("planId", 1)
+        .add("startOffset", 10_000_000)
+        .add("endOffset", 10_000_000))).isFailure());
+    assertTrue(hasuraResourceSamplesActionP.parse(resourceSamplesAction(Json
+        .createObjectBuilder()
+        .add("planId", 1)
+        .add("startOffset", 20_000_000)
+        .add("endOffset", 10_000_000))).isFailure());
+    assertTrue(hasuraResourceSamplesActionP.parse(resourceSamplesAction(Json
+        .createObjectBuilder()
+        .add("planId", 1)
+        .add("endOffset", -1))).isFailure());
+  }
+
+  private static JsonValue resourceSamplesAction(final JsonObjectBuilder input) {
+    return Json
+        .createObjectBuilder()
+        .add("action", Json.createObjectBuilder().add("name", "resourceSamples"))
+        .add("input", input)
+        .add("session_variables", Json.createObjectBuilder().add("x-hasura-role", "aerie_admin"))
+        .add("request_query", "query { resourceSamples }")
+        .build();
+  }
 }
@@ -0,0 +1,59 @@
+package gov.nasa.jpl.aerie.merlin.server.models;
+
+import gov.nasa.jpl.aerie.merlin.driver.engine.ProfileSegment;
+import gov.nasa.jpl.aerie.merlin.driver.resources.ResourceProfile;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.RealDynamics;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import gov.nasa.jpl.aerie.merlin.protocol.types.ValueSchema;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public final class ProfileSetTest {
+  private static final ProfileSet profiles = new ProfileSet(
+      Map.of("real", ResourceProfile.of(ValueSchema.REAL, List.of(
+          new ProfileSegment<>(Duration.of(10, SECONDS), Optional.of(RealDynamics.linear(0, 1))),
+          new ProfileSegment<>(Duration.of(10, SECONDS), Optional.empty()),
+          new ProfileSegment<>(Duration.of(10, SECONDS), Optional.of(RealDynamics.constant(5)))))),
+      Map.of("discrete", ResourceProfile.of(ValueSchema.BOOLEAN, List.of(
+          new ProfileSegment<>(Duration.of(10, SECONDS), Optional.of(SerializedValue.of(true))),
+          new ProfileSegment<>(Duration.of(20, SECONDS), Optional.of(SerializedValue.of(false)))))));
+
+  @Test
+  public void restrictingToAWindowClipsTheSegmentsAtItsEdges() {
+    final var window = profiles.restrictTo(Duration.of(5, SECONDS), Duration.of(25, SECONDS));
+
+    assertEquals(
+        List.of(
+            new ProfileSegment<>(Duration.of(5, SECONDS), Optional.of(RealDynamics.linear(5, 1))),
+            new ProfileSegment<>(Duration.of(10, SECONDS), Optional.<RealDynamics>empty()),
+            new ProfileSegment<>(Duration.of(5, SECONDS), Optional.of(RealDynamics.constant(5)))),
+        window.realProfiles().get("real").segments());
+    assertEquals(
+        List.of(
+            new ProfileSegment<>(Duration.of(5, SECONDS), Optional.of(SerializedValue.of(true))),
+            new ProfileSegment<>(Duration.of(15, SECONDS), Optional.of(SerializedValue.of(false)))),
+        window.discreteProfiles().get("discrete").segments());
+  }
+
+  @Test
+  public void restrictingToAWindowPastTheEndLeavesTheProfilesEmpty() {
+    final var window = profiles.restrictTo(Duration.of(40, SECONDS), Duration.of(50, SECONDS));
+
+    assertEquals(List.of(), window.realProfiles().get("real").segments());
+    assertEquals(List.of(), window.discreteProfiles().get("discrete").segments());
+  }
+
+  @Test
+  public void restrictingToTheWholeProfileChangesNothing() {
+    final var window = profiles.restrictTo(Duration.ZERO, Duration.of(30, SECONDS));
+
+    assertEquals(profiles, window);
+  }
+}
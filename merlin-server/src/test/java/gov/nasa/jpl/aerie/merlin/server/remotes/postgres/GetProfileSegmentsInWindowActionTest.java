@@ -0,0 +1,108 @@
+package gov.nasa.jpl.aerie.merlin.server.remotes.postgres;
+
+import gov.nasa.jpl.aerie.merlin.driver.engine.ProfileSegment;
+import gov.nasa.jpl.aerie.merlin.driver.resources.ResourceProfile;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.RealDynamics;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import gov.nasa.jpl.aerie.merlin.protocol.types.ValueSchema;
+import gov.nasa.jpl.aerie.merlin.server.models.ProfileSet;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static gov.nasa.jpl.aerie.merlin.driver.json.SerializedValueJsonParser.serializedValueP;
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.MICROSECONDS;
+import static gov.nasa.jpl.aerie.merlin.server.http.ProfileParsers.realDynamicsP;
+import static gov.nasa.jpl.aerie.merlin.server.remotes.postgres.PostgresParsers.profileTypeP;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class GetProfileSegmentsInWindowActionTest {
+  private static final String REAL = profileTypeP.unparse(Pair.of("real", ValueSchema.REAL)).toString();
+  private static final String DISCRETE = profileTypeP.unparse(Pair.of("discrete", ValueSchema.STRING)).toString();
+
+  private static final Duration start = Duration.of(25, MICROSECONDS);
+  private static final Duration end = Duration.of(65, MICROSECONDS);
+
+  @Test
+  public void assemblesProfilesRestrictedToWindow() throws SQLException {
+    // The rows the query returns for the window [25, 65): for each profile, the segment in effect at 25
+    // and those starting before 65, or a single row without a segment when there are none.
+    final var rows = new ArrayList<GetProfileSegmentsInWindowAction.ProfileRow>();
+    rows.add(row(1, "/real", REAL, 100, 0L, realDynamicsP.unparse(RealDynamics.linear(0, 2)).toString(), false));
+    rows.add(row(1, "/real", REAL, 100, 30L, null, true));
+    rows.add(row(1, "/real", REAL, 100, 50L, realDynamicsP.unparse(RealDynamics.constant(5)).toString(), false));
+    rows.add(row(2, "/discrete", DISCRETE, 60, 20L, serializedValueP.unparse(SerializedValue.of("b")).toString(), false));
+    rows.add(row(2, "/discrete", DISCRETE, 60, 45L, serializedValueP.unparse(SerializedValue.of("c")).toString(), false));
+    rows.add(row(3, "/empty", DISCRETE, 100, null, null, false));
+    rows.add(row(4, "/late", REAL, 100, null, null, false));
+
+    // The same profiles in full, restricted in memory.
+    final var full = new ProfileSet(
+        Map.of(
+            "/real", ResourceProfile.of(ValueSchema.REAL, List.of(
+                segment(30, Optional.of(RealDynamics.linear(0, 2))),
+                segment(20, Optional.empty()),
+                segment(30, Optional.of(RealDynamics.constant(5))),
+                segment(20, Optional.of(RealDynamics.linear(1, -1))))),
+            "/late", ResourceProfile.of(ValueSchema.REAL, List.of())),
+        Map.of(
+            "/discrete", ResourceProfile.of(ValueSchema.STRING, List.of(
+                segment(20, Optional.of(SerializedValue.of("a"))),
+                segment(25, Optional.of(SerializedValue.of("b"))),
+                segment(15, Optional.of(SerializedValue.of("c"))))),
+            "/empty", ResourceProfile.of(ValueSchema.STRING, List.of())));
+
+    final var iterator = rows.iterator();
+    final var actual = GetProfileSegmentsInWindowAction.assemble(
+        () -> iterator.hasNext() ? Optional.of(iterator.next()) : Optional.empty(),
+        start,
+        end);
+
+    assertEquals(full.restrictTo(start, end), actual);
+    // Profiles without any segment in the window are still present.
+    assertEquals(ResourceProfile.of(ValueSchema.REAL, List.of()), actual.realProfiles().get("/late"));
+    assertEquals(ResourceProfile.of(ValueSchema.STRING, List.of()), actual.discreteProfiles().get("/empty"));
+  }
+
+  @Test
+  public void assemblesNoProfiles() throws SQLException {
+    assertEquals(
+        new ProfileSet(Map.of(), Map.of()),
+        GetProfileSegmentsInWindowAction.assemble(Optional::empty, start, end));
+  }
+
+  @Test
+  public void rejectsCorruptDynamics() {
+    final var rows = List.of(row(1, "/real", REAL, 100, 0L, "not json", false)).iterator();
+    assertThrows(
+        SQLException.class,
+        () -> GetProfileSegmentsInWindowAction.assemble(
+            () -> rows.hasNext() ? Optional.of(rows.next()) : Optional.empty(),
+            start,
+            end));
+  }
+
+  private static GetProfileSegmentsInWindowAction.ProfileRow row(
+      final long id,
+      final String name,
+      final String type,
+      final long duration,
+      final Long startOffset,
+      final String dynamics,
+      final boolean isGap)
+  {
+    return new GetProfileSegmentsInWindowAction.ProfileRow(
+        id, name, type, duration, Optional.ofNullable(startOffset), dynamics, isGap);
+  }
+
+  private static <Dynamics> ProfileSegment<Dynamics> segment(final long micros, final Dynamics dynamics) {
+    return new ProfileSegment<>(Duration.of(micros, MICROSECONDS), dynamics);
+  }
+}
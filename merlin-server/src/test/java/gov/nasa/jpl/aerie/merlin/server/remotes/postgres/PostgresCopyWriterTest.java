@@ -0,0 +1,117 @@
+package gov.nasa.jpl.aerie.merlin.server.remotes.postgres;
+
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.MICROSECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class PostgresCopyWriterTest {
+  @Test
+  public void encodesFieldsInTextFormat() throws SQLException {
+    final var sink = new RecordingSink();
+    try (final var writer = new PostgresCopyWriter(sink)) {
+      writer.field(-7).field(true).field(false).nullField().endRow();
+      writer.field("back\\slash\ttab\rreturn\nnewline").field("").field("é ☃").endRow();
+      writer.nullField().endRow();
+      assertEquals(3, writer.finish());
+    }
+
+    assertEquals(
+        "-7\tt\tf\t\\N\n"
+        + "back\\\\slash\\ttab\\rreturn\\nnewline\t\té ☃\n"
+        + "\\N\n",
+        sink.text());
+    assertEquals(0, sink.cancels);
+  }
+
+  @Test
+  public void encodesIntervalsAsIsoDurations() throws SQLException {
+    final var sink = new RecordingSink();
+    try (final var writer = new PostgresCopyWriter(sink)) {
+      writer
+          .interval(Duration.ZERO)
+          .interval(Duration.of(1, MICROSECONDS))
+          .interval(Duration.of(1_500_000, MICROSECONDS))
+          .interval(Duration.of(90, Duration.MINUTES))
+          .endRow();
+      writer.finish();
+    }
+
+    assertEquals("PT0.000000S\tPT0.000001S\tPT1.500000S\tPT5400.000000S\n", sink.text());
+  }
+
+  @Test
+  public void flushesWholeRowsOncePastThreshold() throws SQLException {
+    final var sink = new RecordingSink();
+    final var expected = new StringBuilder();
+    try (final var writer = new PostgresCopyWriter(sink)) {
+      var rows = 0;
+      while (sink.writes.isEmpty()) {
+        final var value = "row " + rows + "\t";
+        writer.field(rows).field(value).endRow();
+        expected.append(rows).append('\t').append("row ").append(rows).append("\\t").append('\n');
+        rows += 1;
+      }
+
+      // Nothing is shipped until a row takes the buffer past the threshold, and then only whole rows are.
+      assertEquals(1, sink.writes.size());
+      assertTrue(sink.writes.getFirst().length >= PostgresCopyWriter.FLUSH_THRESHOLD);
+      assertEquals(expected.toString(), sink.text());
+
+      writer.field(rows).field("last").endRow();
+      expected.append(rows).append("\tlast\n");
+      assertEquals(1, sink.writes.size());
+
+      assertEquals(rows + 1, writer.finish());
+    }
+
+    assertEquals(2, sink.writes.size());
+    assertEquals(expected.toString(), sink.text());
+    assertEquals(0, sink.cancels);
+  }
+
+  @Test
+  public void cancelsUnfinishedCopy() throws SQLException {
+    final var sink = new RecordingSink();
+    try (final var writer = new PostgresCopyWriter(sink)) {
+      writer.field(1).endRow();
+    }
+
+    assertEquals(1, sink.cancels);
+    assertEquals(List.of(), sink.writes);
+  }
+
+  /** Records the blocks shipped to it, counting each row ended within them. */
+  private static final class RecordingSink implements PostgresCopyWriter.Sink {
+    final List<byte[]> writes = new ArrayList<>();
+    int cancels = 0;
+
+    @Override
+    public void write(final byte[] bytes) {
+      this.writes.add(bytes);
+    }
+
+    @Override
+    public long end() {
+      return this.text().chars().filter(c -> c == '\n').count();
+    }
+
+    @Override
+    public void cancel() {
+      this.cancels += 1;
+    }
+
+    String text() {
+      final var text = new StringBuilder();
+      for (final var bytes : this.writes) text.append(new String(bytes, StandardCharsets.UTF_8));
+      return text.toString();
+    }
+  }
+}
@@ -70,6 +70,7 @@ import static gov.nasa.jpl.aerie.constraints.tree.RollingThreshold.RollingThresh
 import static gov.nasa.jpl.aerie.constraints.tree.RollingThreshold.RollingThresholdAlgorithm.ExcessSpans;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.fail;
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
@@ -143,6 +144,20 @@ class ConstraintsDSLCompilationServiceTests {
     );
   }
 
+  @Test
+  void testConstraintsDSL_recompilation_is_cached() {
+    final var constraint = """
+          export default () => {
+            return Real.Resource("state of charge").changes()
+          }
+        """;
+    final var first = assertDoesNotThrow(() -> constraintsDSLCompilationService.compileConstraintsDSL(
+        MISSION_MODEL_ID, Optional.of(PLAN_ID), Optional.empty(), constraint));
+    final var second = assertDoesNotThrow(() -> constraintsDSLCompilationService.compileConstraintsDSL(
+        MISSION_MODEL_ID, Optional.of(PLAN_ID), Optional.empty(), constraint));
+    assertSame(first, second);
+  }
+
   @Test
   void testConstraintsDSL_variable_not_defined() {
     checkFailedCompilation(
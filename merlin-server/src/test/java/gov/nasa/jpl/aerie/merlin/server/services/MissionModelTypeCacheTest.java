@@ -0,0 +1,80 @@
+package gov.nasa.jpl.aerie.merlin.server.services;
+
+import gov.nasa.jpl.aerie.foomissionmodel.generated.GeneratedModelType;
+import gov.nasa.jpl.aerie.types.MissionModelId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public final class MissionModelTypeCacheTest {
+  @TempDir
+  Path directory;
+
+  @Test
+  public void reusesModelTypeWhileJarIsUnchanged() throws Exception {
+    final var cache = new MissionModelTypeCache();
+    final var id = new MissionModelId(1);
+    final var fingerprint = fingerprint("model.jar", "contents");
+
+    final var first = cache.get(id, fingerprint, GeneratedModelType::new);
+    final var second = cache.get(id, fingerprint, GeneratedModelType::new);
+
+    assertSame(first, second);
+    assertEquals(new MissionModelTypeCache.Metrics(1, 1, 0, 0, 1), cache.getMetrics());
+  }
+
+  @Test
+  public void reloadsWhenJarChanges() throws Exception {
+    final var cache = new MissionModelTypeCache();
+    final var id = new MissionModelId(1);
+
+    final var first = cache.get(id, fingerprint("model.jar", "contents"), GeneratedModelType::new);
+    final var second = cache.get(id, fingerprint("replacement.jar", "contents"), GeneratedModelType::new);
+
+    assertNotSame(first, second);
+    assertEquals(2, cache.getMetrics().misses());
+  }
+
+  @Test
+  public void reloadsAfterInvalidation() throws Exception {
+    final var cache = new MissionModelTypeCache();
+    final var id = new MissionModelId(1);
+    final var fingerprint = fingerprint("model.jar", "contents");
+
+    final var first = cache.get(id, fingerprint, GeneratedModelType::new);
+    cache.invalidate(id);
+    final var second = cache.get(id, fingerprint, GeneratedModelType::new);
+
+    assertNotSame(first, second);
+    assertEquals(new MissionModelTypeCache.Metrics(0, 2, 0, 1, 1), cache.getMetrics());
+  }
+
+  @Test
+  public void evictsLeastRecentlyUsed() throws Exception {
+    final var cache = new MissionModelTypeCache(2);
+    final var fingerprint = fingerprint("model.jar", "contents");
+
+    final var first = cache.get(new MissionModelId(1), fingerprint, GeneratedModelType::new);
+    cache.get(new MissionModelId(2), fingerprint, GeneratedModelType::new);
+    cache.get(new MissionModelId(1), fingerprint, GeneratedModelType::new);
+    cache.get(new MissionModelId(3), fingerprint, GeneratedModelType::new);
+
+    // Model 2 was the least recently used, so model 1 must have survived.
+    assertSame(first, cache.get(new MissionModelId(1), fingerprint, GeneratedModelType::new));
+    cache.get(new MissionModelId(2), fingerprint, GeneratedModelType::new);
+    assertEquals(new MissionModelTypeCache.Metrics(2, 4, 2, 0, 2), cache.getMetrics());
+  }
+
+  private MissionModelTypeCache.Fingerprint fingerprint(final String name, final String contents) throws IOException {
+    final var path = this.directory.resolve(name);
+    Files.writeString(path, contents);
+    return MissionModelTypeCache.Fingerprint.of(path, "model", "1.0");
+  }
+}
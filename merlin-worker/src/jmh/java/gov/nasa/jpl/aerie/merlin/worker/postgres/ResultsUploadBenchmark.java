@@ -0,0 +1,142 @@
+package gov.nasa.jpl.aerie.merlin.worker.postgres;
+
+import gov.nasa.jpl.aerie.merlin.driver.SimulationEvents;
+import gov.nasa.jpl.aerie.merlin.driver.engine.EventRecord;
+import gov.nasa.jpl.aerie.merlin.driver.engine.ProfileSegment;
+import gov.nasa.jpl.aerie.merlin.driver.resources.ResourceProfile;
+import gov.nasa.jpl.aerie.merlin.driver.resources.ResourceProfiles;
+import gov.nasa.jpl.aerie.merlin.driver.timeline.EventGraph;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.RealDynamics;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import gov.nasa.jpl.aerie.merlin.protocol.types.ValueSchema;
+import org.apache.commons.lang3.tuple.Triple;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.postgresql.ds.PGSimpleDataSource;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the throughput of uploading profile segments and events with batched inserts and with `COPY`.
+ *
+ * Every invocation uploads into a fresh dataset, which is deleted (along with its partitions) afterwards.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class ResultsUploadBenchmark {
+  private static final int PROFILE_COUNT = 100;
+
+  @Param({"Insert", "Copy"})
+  public PostgresUploadMode uploadMode;
+
+  /** The total number of profile segments, or of events, uploaded by each invocation. */
+  @Param({"100000", "1000000"})
+  public int rowCount;
+
+  private PGSimpleDataSource dataSource;
+  private ResourceProfiles profiles;
+  private SimulationEvents events;
+  private long datasetId;
+
+  @Setup(Level.Trial)
+  public void setupTrial() {
+    this.dataSource = new PGSimpleDataSource();
+    this.dataSource.setServerNames(new String[] {getEnv("AERIE_DB_HOST", "localhost")});
+    this.dataSource.setPortNumbers(new int[] {Integer.parseInt(getEnv("AERIE_DB_PORT", "5432"))});
+    this.dataSource.setDatabaseName("aerie");
+    this.dataSource.setUser(getEnv("MERLIN_DB_USER", "aerie"));
+    this.dataSource.setPassword(getEnv("MERLIN_DB_PASSWORD", "aerie"));
+
+    final var realProfiles = new HashMap<String, ResourceProfile<RealDynamics>>();
+    final var discreteProfiles = new HashMap<String, ResourceProfile<SerializedValue>>();
+    final var segmentsPerProfile = this.rowCount / PROFILE_COUNT;
+    for (var i = 0; i < PROFILE_COUNT; i += 1) {
+      if (i % 2 == 0) {
+        final var segments = new ArrayList<ProfileSegment<RealDynamics>>(segmentsPerProfile);
+        for (var j = 0; j < segmentsPerProfile; j += 1) {
+          segments.add(new ProfileSegment<>(Duration.SECOND, RealDynamics.linear(j, 0.5)));
+        }
+        realProfiles.put("real" + i, ResourceProfile.of(ValueSchema.REAL, segments));
+      } else {
+        final var segments = new ArrayList<ProfileSegment<SerializedValue>>(segmentsPerProfile);
+        for (var j = 0; j < segmentsPerProfile; j += 1) {
+          segments.add(new ProfileSegment<>(Duration.SECOND, SerializedValue.of("state-" + (j % 7))));
+        }
+        discreteProfiles.put("discrete" + i, ResourceProfile.of(ValueSchema.STRING, segments));
+      }
+    }
+    this.profiles = new ResourceProfiles(realProfiles, discreteProfiles);
+
+    final var topics = List.of(Triple.of(0, "benchmark", ValueSchema.REAL));
+    final var eventPoints = new TreeMap<Duration, List<EventGraph<EventRecord>>>();
+    for (var i = 0; i < this.rowCount / 2; i += 1) {
+      final var record = new EventRecord(0, Optional.of((long) i), SerializedValue.of(i));
+      eventPoints.put(
+          Duration.of(i, Duration.SECONDS),
+          List.of(EventGraph.sequentially(EventGraph.atom(record), EventGraph.atom(record))));
+    }
+    this.events = new SimulationEvents(Instant.EPOCH, topics, eventPoints);
+  }
+
+  @Setup(Level.Invocation)
+  public void createDataset() throws SQLException {
+    try (final var connection = this.dataSource.getConnection();
+         final var statement = connection.prepareStatement("insert into merlin.dataset default values returning id")) {
+      final var results = statement.executeQuery();
+      results.next();
+      this.datasetId = results.getLong(1);
+    }
+  }
+
+  @TearDown(Level.Invocation)
+  public void deleteDataset() throws SQLException {
+    try (final var connection = this.dataSource.getConnection();
+         final var statement = connection.prepareStatement("delete from merlin.dataset where id = ?")) {
+      statement.setLong(1, this.datasetId);
+      statement.executeUpdate();
+    }
+  }
+
+  @Benchmark
+  public void uploadProfiles() throws SQLException {
+    try (final var streamer = new PostgresProfileStreamer(this.dataSource, this.datasetId, this.uploadMode)) {
+      streamer.accept(this.profiles);
+    }
+  }
+
+  @Benchmark
+  public void uploadEvents() throws SQLException {
+    try (final var streamer = new PostgresEventStreamer(this.dataSource, this.datasetId, this.uploadMode)) {
+      streamer.accept(this.events);
+    }
+  }
+
+  private static String getEnv(final String key, final String fallback) {
+    final var env = System.getenv(key);
+    return env == null ? fallback : env;
+  }
+}
@@ -16,14 +16,19 @@ import gov.nasa.jpl.aerie.merlin.server.services.LocalMissionModelService;
 import gov.nasa.jpl.aerie.merlin.server.services.LocalPlanService;
 import gov.nasa.jpl.aerie.merlin.server.services.SimulationAgent;
 import gov.nasa.jpl.aerie.merlin.server.services.UnexpectedSubtypeError;
+import gov.nasa.jpl.aerie.merlin.worker.postgres.PostgresEventStreamer;
 import gov.nasa.jpl.aerie.merlin.worker.postgres.PostgresProfileStreamer;
+import gov.nasa.jpl.aerie.merlin.worker.postgres.PostgresUploadMode;
 import gov.nasa.jpl.aerie.merlin.worker.postgres.PostgresSimulationNotificationPayload;
 import io.javalin.Javalin;
 
+import javax.json.Json;
 import java.nio.file.Path;
 import java.time.Instant;
 import java.util.Optional;
+import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
 public final class MerlinWorkerAppDriver {
@@ -42,7 +47,9 @@ public final class MerlinWorkerAppDriver {
     hikariConfig.addDataSourceProperty("applicationName", "Merlin Server");
     hikariConfig.setUsername(postgresStore.user());
     hikariConfig.setPassword(postgresStore.password());
-    hikariConfig.setMaximumPoolSize(3);
+    // One connection for the notification listener, plus for every simulation slot: one for each of the
+    // profile and event streamers, and one for claiming the dataset and reporting progress and results.
+    hikariConfig.setMaximumPoolSize(1 + 3 * configuration.simulationSlots());
 
     hikariConfig.setConnectionInitSql("set time zone 'UTC'");
 
@@ -69,21 +76,45 @@ public final class MerlinWorkerAppDriver {
     final var canceledListener = new SimulationCanceledListener();
     final var listenThread = listenAction.registerListener(canceledListener);
 
+    // Each slot simulates one dataset at a time; the main loop only takes up a notification once a slot is free,
+    // so that notifications this worker cannot act on yet remain claimable by other workers.
+    final var simulationSlots = configuration.simulationSlots();
+    final var freeSlots = new Semaphore(simulationSlots);
+    final var simulationExecutor = Executors.newFixedThreadPool(simulationSlots);
+
     try (final var app = Javalin.create().start(8080)) {
-      app.get("/health", ctx -> ctx.status(200));
+      app.get("/health", ctx -> ctx
+          .status(200)
+          .contentType("application/json")
+          .result(Json.createObjectBuilder()
+                      .add("simulationSlots", simulationSlots)
+                      .add("busySimulationSlots", simulationSlots - freeSlots.availablePermits())
+                      .build()
+                      .toString()));
 
       while (listenThread.isAlive()) {
-        final var notification = notificationQueue.poll(1, TimeUnit.MINUTES);
-        if(notification == null) continue;
+        freeSlots.acquire();
+        final PostgresSimulationNotificationPayload notification;
+        try {
+          notification = notificationQueue.poll(1, TimeUnit.MINUTES);
+        } catch (final InterruptedException ex) {
+          freeSlots.release();
+          throw ex;
+        }
+        if (notification == null) {
+          freeSlots.release();
+          continue;
+        }
         final var planId = new PlanId(notification.planId());
         final var datasetId = notification.datasetId();
 
         // Register as early as possible to avoid potentially missing a canceled signal
-        canceledListener.register(new DatasetId(datasetId));
+        final var canceled = canceledListener.register(new DatasetId(datasetId));
 
         final Optional<ResultsProtocol.OwnerRole> owner = stores.results().claim(planId, datasetId);
         if (owner.isEmpty()) {
-          canceledListener.unregister();
+          canceledListener.unregister(new DatasetId(datasetId));
+          freeSlots.release();
           continue;
         }
 
@@ -93,26 +124,32 @@ public final class MerlinWorkerAppDriver {
             notification.simulationRevision(),
             notification.simulationTemplateRevision());
         final ResultsProtocol.WriterRole writer = owner.get();
-        try(final var streamer = new PostgresProfileStreamer(hikariDataSource, datasetId)) {
-          simulationAgent.simulate(
-              planId,
-              revisionData,
-              writer,
-              canceledListener,
-              new StreamingSimulationResourceManager(streamer));
-        } catch (final Throwable ex) {
-          ex.printStackTrace(System.err);
-          writer.failWith(b -> b
-              .type("UNEXPECTED_SIMULATION_EXCEPTION")
-              .message("Something went wrong while simulating")
-              .trace(ex));
-        }
-        finally {
-          canceledListener.unregister();
-        }
+        simulationExecutor.execute(() -> {
+          final var uploadMode = configuration.resultsUploadMode();
+          try (final var streamer = new PostgresProfileStreamer(hikariDataSource, datasetId, uploadMode);
+               final var eventStreamer = new PostgresEventStreamer(hikariDataSource, datasetId, uploadMode)) {
+            simulationAgent.simulate(
+                planId,
+                revisionData,
+                writer,
+                canceled,
+                new StreamingSimulationResourceManager(streamer),
+                Optional.of(eventStreamer));
+          } catch (final Throwable ex) {
+            ex.printStackTrace(System.err);
+            writer.failWith(b -> b
+                .type("UNEXPECTED_SIMULATION_EXCEPTION")
+                .message("Something went wrong while simulating")
+                .trace(ex));
+          } finally {
+            canceledListener.unregister(new DatasetId(datasetId));
+            freeSlots.release();
+          }
+        });
       }
     } finally {
-      // Kill the listening thread
+      // Let in-progress simulations finish, then kill the listening thread
+      simulationExecutor.close();
       listenThread.interrupt();
     }
   }
@@ -131,7 +168,14 @@ public final class MerlinWorkerAppDriver {
                           getEnv("MERLIN_DB_PASSWORD", ""),
                           "aerie"),
         Integer.parseInt(getEnv("SIMULATION_PROGRESS_POLL_PERIOD_MILLIS", "5000")),
-        Instant.parse(getEnv("UNTRUE_PLAN_START", ""))
+        Integer.parseInt(getEnv("SIMULATION_SLOTS", "1")),
+        Instant.parse(getEnv("UNTRUE_PLAN_START", "")),
+        switch (getEnv("SIMULATION_RESULTS_UPLOAD_MODE", "copy")) {
+          case "copy" -> PostgresUploadMode.Copy;
+          case "insert" -> PostgresUploadMode.Insert;
+          default -> throw new IllegalArgumentException(
+              "SIMULATION_RESULTS_UPLOAD_MODE must be either `copy` or `insert`");
+        }
     );
   }
 }
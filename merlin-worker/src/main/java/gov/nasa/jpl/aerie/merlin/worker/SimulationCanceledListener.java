@@ -2,54 +2,51 @@ package gov.nasa.jpl.aerie.merlin.worker;
 
 import gov.nasa.jpl.aerie.merlin.server.models.DatasetId;
 
-import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 
-public class SimulationCanceledListener implements Supplier<Boolean> {
-  private Optional<DatasetId> registeredSimulation;
-  private boolean canceled;
-
-  public SimulationCanceledListener() {
-    registeredSimulation = Optional.empty();
-    canceled = false;
-  }
+/**
+ * Routes cancellation signals to the simulations running in this worker.
+ * Several simulations may be registered at once, one per dataset being simulated.
+ */
+public class SimulationCanceledListener {
+  private final ConcurrentHashMap<DatasetId, AtomicBoolean> registeredSimulations = new ConcurrentHashMap<>();
 
   /**
    * Receive a canceled signal.
-   * All signals that are not for this object's registered simulation will be ignored.
+   * All signals that are not for one of this object's registered simulations will be ignored.
    * @param payload The payload of the signal
    */
   public void receiveSignal(DatasetId payload){
-    if (registeredSimulation.isEmpty() || !registeredSimulation.get().equals(payload)) return;
-    canceled = true;
+    final var canceled = registeredSimulations.get(payload);
+    if (canceled != null) canceled.set(true);
   }
 
   /**
    * Register the listener to a specific simulation run
    * @param id the id of the simulation run
+   * @return a supplier reporting whether that simulation run has been canceled
    */
-  public void register(DatasetId id) {
-    registeredSimulation = Optional.of(id);
-    canceled = false;
+  public Supplier<Boolean> register(DatasetId id) {
+    final var canceled = new AtomicBoolean(false);
+    registeredSimulations.put(id, canceled);
+    return canceled::get;
   }
 
   /**
-   * Unregister the listener
+   * Unregister the listener from a specific simulation run
+   * @param id the id of the simulation run
    */
-  public void unregister(){
-    registeredSimulation = Optional.empty();
-    canceled = false;
+  public void unregister(DatasetId id){
+    registeredSimulations.remove(id);
   }
 
   /**
-   * @return if the current registered simulation has been canceled
+   * @return if the given simulation run is registered and has been canceled
    */
-  public boolean isCanceled() {
-    return registeredSimulation.isPresent() && canceled;
-  }
-
-  @Override
-  public Boolean get() {
-    return isCanceled();
+  public boolean isCanceled(DatasetId id) {
+    final var canceled = registeredSimulations.get(id);
+    return canceled != null && canceled.get();
   }
 }
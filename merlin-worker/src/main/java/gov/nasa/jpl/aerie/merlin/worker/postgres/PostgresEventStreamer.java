@@ -0,0 +1,98 @@
+package gov.nasa.jpl.aerie.merlin.worker.postgres;
+
+import gov.nasa.jpl.aerie.merlin.driver.SimulationEvents;
+import gov.nasa.jpl.aerie.merlin.driver.resources.AsyncConsumer;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.server.remotes.postgres.CopySimulationEventsAction;
+import gov.nasa.jpl.aerie.merlin.server.remotes.postgres.DatabaseException;
+import gov.nasa.jpl.aerie.merlin.server.remotes.postgres.InsertSimulationEventsAction;
+import gov.nasa.jpl.aerie.merlin.server.remotes.postgres.InsertSimulationTopicsAction;
+import gov.nasa.jpl.aerie.types.Timestamp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Uploads the events of a simulation to the database in the background, chunk by chunk, while the simulation runs.
+ * */
+public class PostgresEventStreamer implements AsyncConsumer<SimulationEvents>, AutoCloseable {
+  public static final Logger log = LoggerFactory.getLogger(PostgresEventStreamer.class);
+  private final ExecutorService queryQueue;
+  private final Connection connection;
+  private final InsertSimulationTopicsAction insertTopicsAction;
+  private final InsertSimulationEventsAction insertEventsAction;
+  private final CopySimulationEventsAction copyEventsAction;
+  private final PostgresUploadMode uploadMode;
+  private final long datasetId;
+  private boolean topicsInserted = false;
+  private boolean closed = false;
+
+  // The first failure to upload a chunk, rethrown from close(). Later chunks are not uploaded once one has failed.
+  private volatile RuntimeException failure = null;
+
+  public PostgresEventStreamer(DataSource dataSource, long datasetId) throws SQLException {
+    this(dataSource, datasetId, PostgresUploadMode.Insert);
+  }
+
+  public PostgresEventStreamer(DataSource dataSource, long datasetId, PostgresUploadMode uploadMode)
+  throws SQLException {
+    this.queryQueue = Executors.newSingleThreadExecutor();
+    this.connection = dataSource.getConnection();
+    this.insertTopicsAction = new InsertSimulationTopicsAction(this.connection);
+    this.insertEventsAction = new InsertSimulationEventsAction(this.connection);
+    this.copyEventsAction = new CopySimulationEventsAction(this.connection);
+    this.uploadMode = uploadMode;
+    this.datasetId = datasetId;
+  }
+
+  @Override
+  public void accept(final SimulationEvents simulationEvents) {
+    if (closed) throw new IllegalStateException("accept cannot be called on a closed PostgresEventStreamer");
+    queryQueue.submit(() -> {
+      if (failure != null) return;
+      try {
+        // Events may only be inserted once the topics they refer to exist.
+        if (!topicsInserted) {
+          insertTopicsAction.apply(datasetId, simulationEvents.topics());
+          topicsInserted = true;
+        }
+        switch (uploadMode) {
+          case Insert -> insertEventsAction.apply(
+              datasetId,
+              simulationEvents.events(),
+              new Timestamp(simulationEvents.startTime()));
+          case Copy -> copyEventsAction.apply(datasetId, simulationEvents.events());
+        }
+      } catch (SQLException ex) {
+        failure = new DatabaseException("Exception occurred while posting simulation events.", ex);
+        return;
+      } catch (RuntimeException ex) {
+        failure = ex;
+        return;
+      }
+      simulationEvents.events().keySet().stream().max(Duration::compareTo).ifPresent(lastTime ->
+          log.info("%s : uploaded events at %d time points".formatted(lastTime, simulationEvents.events().size())));
+    });
+  }
+
+  @Override
+  public void close() {
+    if (closed) return;
+    closed = true;
+    queryQueue.close();  // This waits for all submitted jobs to complete before returning
+    try {
+      insertTopicsAction.close();
+      insertEventsAction.close();
+      connection.close();
+    } catch (SQLException e) {
+      throw new DatabaseException("Error occurred while attempting to close PostgresEventStreamer", e);
+    }
+    // Surface a failed upload to whoever is waiting on the stream, so the simulation is reported as failed.
+    if (failure != null) throw failure;
+  }
+}
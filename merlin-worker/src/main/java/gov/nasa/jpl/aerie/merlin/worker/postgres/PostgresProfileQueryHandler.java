@@ -9,6 +9,7 @@ import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
 import gov.nasa.jpl.aerie.merlin.server.remotes.postgres.DatabaseException;
 import gov.nasa.jpl.aerie.merlin.server.remotes.postgres.FailedInsertException;
 import gov.nasa.jpl.aerie.merlin.server.remotes.postgres.FailedUpdateException;
+import gov.nasa.jpl.aerie.merlin.server.remotes.postgres.PostgresCopyWriter;
 import gov.nasa.jpl.aerie.merlin.server.remotes.postgres.PreparedStatements;
 import org.apache.commons.lang3.tuple.Pair;
 
@@ -29,6 +30,8 @@ import static gov.nasa.jpl.aerie.merlin.server.remotes.postgres.PostgresParsers.
  * */
 public class PostgresProfileQueryHandler implements AutoCloseable {
   private final Connection connection;
+  private final long datasetId;
+  private final PostgresUploadMode uploadMode;
   private final HashMap<String, Integer> profileIds;
   private final HashMap<String, Duration> profileDurations;
 
@@ -36,8 +39,22 @@ public class PostgresProfileQueryHandler implements AutoCloseable {
   private final PreparedStatement postSegmentsStatement;
   private final PreparedStatement updateDurationStatement;
 
+  private static final String copySegmentsSql =
+      //language=sql
+      """
+      copy merlin.profile_segment (dataset_id, profile_id, start_offset, dynamics, is_gap)
+      from stdin
+      """;
+
   public PostgresProfileQueryHandler(DataSource dataSource, long datasetId) throws SQLException {
+    this(dataSource, datasetId, PostgresUploadMode.Insert);
+  }
+
+  public PostgresProfileQueryHandler(DataSource dataSource, long datasetId, PostgresUploadMode uploadMode)
+  throws SQLException {
     connection = dataSource.getConnection();
+    this.datasetId = datasetId;
+    this.uploadMode = uploadMode;
     profileIds = new HashMap<>();
     profileDurations = new HashMap<>();
 
@@ -86,14 +103,28 @@ public class PostgresProfileQueryHandler implements AutoCloseable {
       postProfiles();
 
       // Post Segments
-      for (final var realEntry : resourceProfiles.realProfiles().entrySet()) {
-        addProfileSegmentsToBatch(realEntry.getKey(), realEntry.getValue(), realDynamicsP);
-      }
-      for (final var discreteEntry : resourceProfiles.discreteProfiles().entrySet()) {
-        addProfileSegmentsToBatch(discreteEntry.getKey(), discreteEntry.getValue(), serializedValueP);
+      switch (uploadMode) {
+        case Insert -> {
+          for (final var realEntry : resourceProfiles.realProfiles().entrySet()) {
+            addProfileSegmentsToBatch(realEntry.getKey(), realEntry.getValue(), realDynamicsP);
+          }
+          for (final var discreteEntry : resourceProfiles.discreteProfiles().entrySet()) {
+            addProfileSegmentsToBatch(discreteEntry.getKey(), discreteEntry.getValue(), serializedValueP);
+          }
+          postProfileSegments();
+        }
+        case Copy -> {
+          try (final var writer = new PostgresCopyWriter(connection, copySegmentsSql)) {
+            for (final var realEntry : resourceProfiles.realProfiles().entrySet()) {
+              copyProfileSegments(writer, realEntry.getKey(), realEntry.getValue(), realDynamicsP);
+            }
+            for (final var discreteEntry : resourceProfiles.discreteProfiles().entrySet()) {
+              copyProfileSegments(writer, discreteEntry.getKey(), discreteEntry.getValue(), serializedValueP);
+            }
+            writer.finish();
+          }
+        }
       }
-
-      postProfileSegments();
       updateProfileDurations();
     } catch (SQLException ex) {
       throw new DatabaseException("Exception occurred while posting profiles.", ex);
@@ -166,6 +197,34 @@ public class PostgresProfileQueryHandler implements AutoCloseable {
       newDuration = newDuration.plus(segment.extent());
     }
 
+    addDurationUpdateToBatch(name, id, newDuration);
+  }
+
+  private <T> void copyProfileSegments(
+      final PostgresCopyWriter writer,
+      final String name,
+      final ResourceProfile<T> profile,
+      final JsonParser<T> dynamicsP
+  ) throws SQLException {
+    final var id = profileIds.get(name);
+
+    var newDuration = profileDurations.get(name);
+    for (final var segment : profile.segments()) {
+      writer
+          .field(datasetId)
+          .field(id)
+          .interval(newDuration)
+          .field(dynamicsP.unparse(segment.dynamics()).toString())
+          .field(false)
+          .endRow();
+
+      newDuration = newDuration.plus(segment.extent());
+    }
+
+    addDurationUpdateToBatch(name, id, newDuration);
+  }
+
+  private void addDurationUpdateToBatch(final String name, final int id, final Duration newDuration) throws SQLException {
     this.updateDurationStatement.setLong(2, id);
     PreparedStatements.setDuration(this.updateDurationStatement, 1, newDuration);
     this.updateDurationStatement.addBatch();
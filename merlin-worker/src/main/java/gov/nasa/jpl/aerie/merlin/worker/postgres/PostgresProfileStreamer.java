@@ -19,8 +19,13 @@ public class PostgresProfileStreamer implements AsyncConsumer<ResourceProfiles>,
   private boolean closed = false;
 
   public PostgresProfileStreamer(DataSource dataSource, long datasetId) throws SQLException {
+    this(dataSource, datasetId, PostgresUploadMode.Insert);
+  }
+
+  public PostgresProfileStreamer(DataSource dataSource, long datasetId, PostgresUploadMode uploadMode)
+  throws SQLException {
     this.queryQueue = Executors.newSingleThreadExecutor();
-    this.queryHandler = new PostgresProfileQueryHandler(dataSource, datasetId);
+    this.queryHandler = new PostgresProfileQueryHandler(dataSource, datasetId, uploadMode);
   }
 
   @Override
@@ -0,0 +1,9 @@
+package gov.nasa.jpl.aerie.merlin.worker.postgres;
+
+/** How the bulk of simulation results (profile segments and events) are written to the database. */
+public enum PostgresUploadMode {
+  /** Batched parameterized inserts. */
+  Insert,
+  /** Postgres' `COPY`, which is considerably faster for large numbers of rows. */
+  Copy
+}
@@ -0,0 +1,222 @@
+package gov.nasa.jpl.aerie.orchestration.simulation;
+
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import gov.nasa.jpl.aerie.merlin.protocol.types.ValueSchema;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Constants and value encodings shared by the binary profile writer and reader.
+ *
+ * <pre>
+ * file    := header section* footer trailer
+ * header  := MAGIC:u8[8] VERSION:i32
+ * section := real | discrete                  -- one per resource, each column stored contiguously
+ * real    := extent:i64[n] initial:f64[n] rate:f64[n]
+ * discrete:= extent:i64[n] valueEnd:i64[n] value:u8[valueEnd[n-1]]
+ * footer  := count:i32 entry[count]
+ * entry   := name:string kind:u8 schema:schema segments:i32 sectionOffset:i64
+ * trailer := footerOffset:i64 MAGIC:u8[8]
+ * </pre>
+ *
+ * Extents are in microseconds, and {@code valueEnd} is the offset just past each encoded value within {@code value}.
+ * All numbers are big-endian.
+ */
+/*package-local*/ final class BinaryProfileCodec {
+  private BinaryProfileCodec() {}
+
+  static final byte[] MAGIC = "AERIEPRF".getBytes(StandardCharsets.US_ASCII);
+  static final int VERSION = 1;
+  static final int HEADER_SIZE = MAGIC.length + Integer.BYTES;
+  static final int TRAILER_SIZE = Long.BYTES + MAGIC.length;
+
+  static final byte REAL = 0;
+  static final byte DISCRETE = 1;
+
+  private static final byte NULL_VALUE = 0;
+  private static final byte NUMERIC_VALUE = 1;
+  private static final byte BOOLEAN_VALUE = 2;
+  private static final byte STRING_VALUE = 3;
+  private static final byte MAP_VALUE = 4;
+  private static final byte LIST_VALUE = 5;
+
+  private static final byte REAL_SCHEMA = 0;
+  private static final byte INT_SCHEMA = 1;
+  private static final byte BOOLEAN_SCHEMA = 2;
+  private static final byte STRING_SCHEMA = 3;
+  private static final byte DURATION_SCHEMA = 4;
+  private static final byte PATH_SCHEMA = 5;
+  private static final byte SERIES_SCHEMA = 6;
+  private static final byte STRUCT_SCHEMA = 7;
+  private static final byte VARIANT_SCHEMA = 8;
+  private static final byte META_SCHEMA = 9;
+
+  static byte[] encodeValue(final SerializedValue value) {
+    final var bytes = new ByteArrayOutputStream();
+    try (final var out = new DataOutputStream(bytes)) {
+      writeValue(out, value);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  static void writeString(final DataOutput out, final String value) throws IOException {
+    final var bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  static String readString(final ByteBuffer in) {
+    final var bytes = new byte[in.getInt()];
+    in.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  static void writeValue(final DataOutput out, final SerializedValue value) throws IOException {
+    switch (value) {
+      case SerializedValue.NullValue v -> out.writeByte(NULL_VALUE);
+      case SerializedValue.NumericValue v -> {
+        // Keep the exact decimal, rather than rounding it through a double.
+        final var unscaled = v.value().unscaledValue().toByteArray();
+        out.writeByte(NUMERIC_VALUE);
+        out.writeInt(v.value().scale());
+        out.writeInt(unscaled.length);
+        out.write(unscaled);
+      }
+      case SerializedValue.BooleanValue v -> {
+        out.writeByte(BOOLEAN_VALUE);
+        out.writeBoolean(v.value());
+      }
+      case SerializedValue.StringValue v -> {
+        out.writeByte(STRING_VALUE);
+        writeString(out, v.value());
+      }
+      case SerializedValue.MapValue v -> {
+        out.writeByte(MAP_VALUE);
+        out.writeInt(v.map().size());
+        for (final var entry : v.map().entrySet()) {
+          writeString(out, entry.getKey());
+          writeValue(out, entry.getValue());
+        }
+      }
+      case SerializedValue.ListValue v -> {
+        out.writeByte(LIST_VALUE);
+        out.writeInt(v.list().size());
+        for (final var element : v.list()) writeValue(out, element);
+      }
+    }
+  }
+
+  static SerializedValue readValue(final ByteBuffer in) {
+    final var tag = in.get();
+    return switch (tag) {
+      case NULL_VALUE -> SerializedValue.NULL;
+      case NUMERIC_VALUE -> {
+        final var scale = in.getInt();
+        final var unscaled = new byte[in.getInt()];
+        in.get(unscaled);
+        yield SerializedValue.of(new BigDecimal(new BigInteger(unscaled), scale));
+      }
+      case BOOLEAN_VALUE -> SerializedValue.of(in.get() != 0);
+      case STRING_VALUE -> SerializedValue.of(readString(in));
+      case MAP_VALUE -> {
+        final var size = in.getInt();
+        final var map = new HashMap<String, SerializedValue>(size);
+        for (var i = 0; i < size; i++) map.put(readString(in), readValue(in));
+        yield SerializedValue.of(map);
+      }
+      case LIST_VALUE -> {
+        final var size = in.getInt();
+        final var list = new ArrayList<SerializedValue>(size);
+        for (var i = 0; i < size; i++) list.add(readValue(in));
+        yield SerializedValue.of(list);
+      }
+      default -> throw new IllegalStateException("Unknown value tag " + tag);
+    };
+  }
+
+  static void writeSchema(final DataOutput out, final ValueSchema schema) throws IOException {
+    switch (schema) {
+      case ValueSchema.RealSchema s -> out.writeByte(REAL_SCHEMA);
+      case ValueSchema.IntSchema s -> out.writeByte(INT_SCHEMA);
+      case ValueSchema.BooleanSchema s -> out.writeByte(BOOLEAN_SCHEMA);
+      case ValueSchema.StringSchema s -> out.writeByte(STRING_SCHEMA);
+      case ValueSchema.DurationSchema s -> out.writeByte(DURATION_SCHEMA);
+      case ValueSchema.PathSchema s -> out.writeByte(PATH_SCHEMA);
+      case ValueSchema.SeriesSchema s -> {
+        out.writeByte(SERIES_SCHEMA);
+        writeSchema(out, s.value());
+      }
+      case ValueSchema.StructSchema s -> {
+        out.writeByte(STRUCT_SCHEMA);
+        out.writeInt(s.value().size());
+        for (final var entry : s.value().entrySet()) {
+          writeString(out, entry.getKey());
+          writeSchema(out, entry.getValue());
+        }
+      }
+      case ValueSchema.VariantSchema s -> {
+        out.writeByte(VARIANT_SCHEMA);
+        out.writeInt(s.variants().size());
+        for (final var variant : s.variants()) {
+          writeString(out, variant.key());
+          writeString(out, variant.label());
+        }
+      }
+      case ValueSchema.MetaSchema s -> {
+        out.writeByte(META_SCHEMA);
+        out.writeInt(s.metadata().size());
+        for (final var entry : s.metadata().entrySet()) {
+          writeString(out, entry.getKey());
+          writeValue(out, entry.getValue());
+        }
+        writeSchema(out, s.target());
+      }
+    }
+  }
+
+  static ValueSchema readSchema(final ByteBuffer in) {
+    final var tag = in.get();
+    return switch (tag) {
+      case REAL_SCHEMA -> ValueSchema.REAL;
+      case INT_SCHEMA -> ValueSchema.INT;
+      case BOOLEAN_SCHEMA -> ValueSchema.BOOLEAN;
+      case STRING_SCHEMA -> ValueSchema.STRING;
+      case DURATION_SCHEMA -> ValueSchema.DURATION;
+      case PATH_SCHEMA -> ValueSchema.PATH;
+      case SERIES_SCHEMA -> ValueSchema.ofSeries(readSchema(in));
+      case STRUCT_SCHEMA -> {
+        final var size = in.getInt();
+        final var fields = new HashMap<String, ValueSchema>(size);
+        for (var i = 0; i < size; i++) fields.put(readString(in), readSchema(in));
+        yield ValueSchema.ofStruct(fields);
+      }
+      case VARIANT_SCHEMA -> {
+        final var size = in.getInt();
+        final var variants = new ArrayList<ValueSchema.Variant>(size);
+        for (var i = 0; i < size; i++) variants.add(new ValueSchema.Variant(readString(in), readString(in)));
+        yield ValueSchema.ofVariant(List.copyOf(variants));
+      }
+      case META_SCHEMA -> {
+        final var size = in.getInt();
+        final var metadata = new HashMap<String, SerializedValue>(size);
+        for (var i = 0; i < size; i++) metadata.put(readString(in), readValue(in));
+        yield new ValueSchema.MetaSchema(Map.copyOf(metadata), readSchema(in));
+      }
+      default -> throw new IllegalStateException("Unknown schema tag " + tag);
+    };
+  }
+}
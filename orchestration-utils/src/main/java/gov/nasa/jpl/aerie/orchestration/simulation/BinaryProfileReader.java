@@ -0,0 +1,182 @@
+package gov.nasa.jpl.aerie.orchestration.simulation;
+
+import gov.nasa.jpl.aerie.merlin.driver.engine.ProfileSegment;
+import gov.nasa.jpl.aerie.merlin.driver.resources.ResourceProfile;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.RealDynamics;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import gov.nasa.jpl.aerie.merlin.protocol.types.ValueSchema;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Reads resource profiles from a file written by {@link BinaryProfileWriter}.
+ *
+ * Only the index at the end of the file is read up front. The columns of a resource are memory-mapped when that
+ * resource is streamed, so reading one resource never loads the others, and segments are decoded as they are consumed.
+ */
+public final class BinaryProfileReader implements AutoCloseable {
+  private record Entry(byte kind, ValueSchema schema, int segmentCount, long sectionOffset) {}
+
+  private final FileChannel channel;
+  private final Map<String, Entry> realEntries = new LinkedHashMap<>();
+  private final Map<String, Entry> discreteEntries = new LinkedHashMap<>();
+
+  private BinaryProfileReader(final FileChannel channel) throws IOException {
+    this.channel = channel;
+
+    final var size = channel.size();
+    if (size < BinaryProfileCodec.HEADER_SIZE + BinaryProfileCodec.TRAILER_SIZE) {
+      throw new IOException("File is too short to contain binary profiles");
+    }
+
+    final var header = readFully(0, BinaryProfileCodec.HEADER_SIZE);
+    checkMagic(header);
+    final var version = header.getInt();
+    if (version != BinaryProfileCodec.VERSION) {
+      throw new IOException("Unsupported binary profile version " + version);
+    }
+
+    final var trailer = readFully(size - BinaryProfileCodec.TRAILER_SIZE, BinaryProfileCodec.TRAILER_SIZE);
+    final var footerOffset = trailer.getLong();
+    checkMagic(trailer);
+
+    final var footer = readFully(footerOffset, size - BinaryProfileCodec.TRAILER_SIZE - footerOffset);
+    final var count = footer.getInt();
+    for (var i = 0; i < count; i++) {
+      final var name = BinaryProfileCodec.readString(footer);
+      final var kind = footer.get();
+      final var entry = new Entry(kind, BinaryProfileCodec.readSchema(footer), footer.getInt(), footer.getLong());
+      switch (kind) {
+        case BinaryProfileCodec.REAL -> this.realEntries.put(name, entry);
+        case BinaryProfileCodec.DISCRETE -> this.discreteEntries.put(name, entry);
+        default -> throw new IOException("Unknown profile kind " + kind + " for resource " + name);
+      }
+    }
+  }
+
+  public static BinaryProfileReader open(final Path path) throws IOException {
+    final var channel = FileChannel.open(path, StandardOpenOption.READ);
+    try {
+      return new BinaryProfileReader(channel);
+    } catch (final IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  public Set<String> realProfileNames() {
+    return Collections.unmodifiableSet(this.realEntries.keySet());
+  }
+
+  public Set<String> discreteProfileNames() {
+    return Collections.unmodifiableSet(this.discreteEntries.keySet());
+  }
+
+  public ValueSchema realProfileSchema(final String name) {
+    return getEntry(this.realEntries, "real", name).schema();
+  }
+
+  public ValueSchema discreteProfileSchema(final String name) {
+    return getEntry(this.discreteEntries, "discrete", name).schema();
+  }
+
+  /** Stream the segments of a real resource, in order. */
+  public Stream<ProfileSegment<RealDynamics>> streamRealProfile(final String name) throws IOException {
+    final var entry = getEntry(this.realEntries, "real", name);
+    final var n = entry.segmentCount();
+    final var columnSize = columnSize(n);
+
+    final var extents = map(entry.sectionOffset(), columnSize);
+    final var initials = map(entry.sectionOffset() + columnSize, columnSize);
+    final var rates = map(entry.sectionOffset() + 2 * columnSize, columnSize);
+
+    return IntStream.range(0, n).mapToObj(i -> new ProfileSegment<>(
+        Duration.of(extents.getLong(i * Long.BYTES), Duration.MICROSECONDS),
+        RealDynamics.linear(initials.getDouble(i * Double.BYTES), rates.getDouble(i * Double.BYTES))));
+  }
+
+  /** Stream the segments of a discrete resource, in order. */
+  public Stream<ProfileSegment<SerializedValue>> streamDiscreteProfile(final String name) throws IOException {
+    final var entry = getEntry(this.discreteEntries, "discrete", name);
+    final var n = entry.segmentCount();
+    final var columnSize = columnSize(n);
+
+    final var extents = map(entry.sectionOffset(), columnSize);
+    final var valueEnds = map(entry.sectionOffset() + columnSize, columnSize);
+    final var valuesSize = (n == 0) ? 0 : valueEnds.getLong((n - 1) * Long.BYTES);
+    if (valuesSize > Integer.MAX_VALUE) throw new IOException("Values of resource " + name + " are too large to map");
+    final var values = map(entry.sectionOffset() + 2 * columnSize, valuesSize);
+
+    return IntStream.range(0, n).mapToObj(i -> {
+      final var start = (i == 0) ? 0 : (int) valueEnds.getLong((i - 1) * Long.BYTES);
+      final var end = (int) valueEnds.getLong(i * Long.BYTES);
+      return new ProfileSegment<>(
+          Duration.of(extents.getLong(i * Long.BYTES), Duration.MICROSECONDS),
+          BinaryProfileCodec.readValue(values.slice(start, end - start)));
+    });
+  }
+
+  /** Read the whole of a real resource into memory. */
+  public ResourceProfile<RealDynamics> readRealProfile(final String name) throws IOException {
+    try (final var segments = this.streamRealProfile(name)) {
+      return ResourceProfile.of(this.realProfileSchema(name), segments.toList());
+    }
+  }
+
+  /** Read the whole of a discrete resource into memory. */
+  public ResourceProfile<SerializedValue> readDiscreteProfile(final String name) throws IOException {
+    try (final var segments = this.streamDiscreteProfile(name)) {
+      return ResourceProfile.of(this.discreteProfileSchema(name), segments.toList());
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.channel.close();
+  }
+
+  private static Entry getEntry(final Map<String, Entry> entries, final String kind, final String name) {
+    final var entry = entries.get(name);
+    if (entry == null) throw new NoSuchElementException("No " + kind + " profile named " + name);
+    return entry;
+  }
+
+  private static long columnSize(final int segmentCount) throws IOException {
+    final var size = (long) segmentCount * Long.BYTES;
+    if (size > Integer.MAX_VALUE) throw new IOException("Too many segments to map: " + segmentCount);
+    return size;
+  }
+
+  private MappedByteBuffer map(final long offset, final long size) throws IOException {
+    return this.channel.map(FileChannel.MapMode.READ_ONLY, offset, size);
+  }
+
+  private ByteBuffer readFully(final long offset, final long size) throws IOException {
+    if (offset < 0 || size < 0 || size > Integer.MAX_VALUE) throw new IOException("Corrupt binary profile index");
+    final var buffer = ByteBuffer.allocate((int) size);
+    while (buffer.hasRemaining()) {
+      if (this.channel.read(buffer, offset + buffer.position()) < 0) throw new IOException("Unexpected end of file");
+    }
+    return buffer.flip();
+  }
+
+  private static void checkMagic(final ByteBuffer buffer) throws IOException {
+    final var magic = new byte[BinaryProfileCodec.MAGIC.length];
+    buffer.get(magic);
+    if (!Arrays.equals(magic, BinaryProfileCodec.MAGIC)) throw new IOException("Not a binary profile file");
+  }
+}
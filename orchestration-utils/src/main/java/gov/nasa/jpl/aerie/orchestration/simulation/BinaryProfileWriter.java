@@ -0,0 +1,209 @@
+package gov.nasa.jpl.aerie.orchestration.simulation;
+
+import gov.nasa.jpl.aerie.merlin.driver.resources.ResourceProfile;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.RealDynamics;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import gov.nasa.jpl.aerie.merlin.protocol.types.ValueSchema;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes resource profiles to a single file in the columnar binary format described by {@link BinaryProfileCodec},
+ * which can be read back one resource at a time with {@link BinaryProfileReader}.
+ */
+public final class BinaryProfileWriter {
+  private BinaryProfileWriter() {}
+
+  private record IndexEntry(String name, byte kind, ValueSchema schema, int segmentCount, long sectionOffset) {}
+
+  /** Write profiles held in memory, such as those computed by an InMemorySimulationResourceManager. */
+  public static void write(
+      final Path outputFilePath,
+      final Map<String, ResourceProfile<RealDynamics>> realProfiles,
+      final Map<String, ResourceProfile<SerializedValue>> discreteProfiles
+  ) throws IOException {
+    try (final var out = new Output(Files.newOutputStream(outputFilePath))) {
+      out.writeHeader();
+      final var index = new ArrayList<IndexEntry>(realProfiles.size() + discreteProfiles.size());
+
+      for (final var entry : realProfiles.entrySet()) {
+        final var segments = entry.getValue().segments();
+        index.add(new IndexEntry(entry.getKey(), BinaryProfileCodec.REAL, entry.getValue().schema(), segments.size(), out.position));
+        for (final var segment : segments) out.writeLong(segment.extent().in(Duration.MICROSECONDS));
+        for (final var segment : segments) out.writeDouble(segment.dynamics().initial);
+        for (final var segment : segments) out.writeDouble(segment.dynamics().rate);
+      }
+
+      for (final var entry : discreteProfiles.entrySet()) {
+        final var segments = entry.getValue().segments();
+        index.add(new IndexEntry(entry.getKey(), BinaryProfileCodec.DISCRETE, entry.getValue().schema(), segments.size(), out.position));
+        final var values = new ArrayList<byte[]>(segments.size());
+        for (final var segment : segments) values.add(BinaryProfileCodec.encodeValue(segment.dynamics()));
+
+        for (final var segment : segments) out.writeLong(segment.extent().in(Duration.MICROSECONDS));
+        var valueEnd = 0L;
+        for (final var value : values) out.writeLong(valueEnd += value.length);
+        for (final var value : values) out.write(value);
+      }
+
+      out.writeFooter(index);
+    }
+  }
+
+  /**
+   * Assemble the resources spooled by a {@link BinaryResourceFileStreamer} into a single file.
+   *
+   * The streamer is closed first, as no more segments may be spooled once they have been assembled.
+   * Each resource's chunks are read from the spool file by offset, once per column,
+   * so at most one chunk is held in memory at a time.
+   */
+  public static void write(final Path outputFilePath, final BinaryResourceFileStreamer streamer) throws IOException {
+    streamer.close();
+
+    try (final var spoolFile = FileChannel.open(streamer.path(), StandardOpenOption.READ);
+         final var out = new Output(Files.newOutputStream(outputFilePath)))
+    {
+      out.writeHeader();
+      final var realSpools = streamer.realSpools();
+      final var discreteSpools = streamer.discreteSpools();
+      final var index = new ArrayList<IndexEntry>(realSpools.size() + discreteSpools.size());
+
+      for (final var entry : realSpools.entrySet()) {
+        final var spool = entry.getValue();
+        index.add(new IndexEntry(entry.getKey(), BinaryProfileCodec.REAL, spool.schema, spool.segmentCount, out.position));
+        // Each spooled segment is an extent, an initial value and a rate; copy out one column at a time.
+        for (var column = 0; column < 3; column++) {
+          for (final var chunk : spool.chunks) {
+            final var in = readChunk(spoolFile, chunk);
+            for (var i = 0; i < chunk.segmentCount(); i++) {
+              final var extent = in.readLong();
+              final var initial = in.readDouble();
+              final var rate = in.readDouble();
+              switch (column) {
+                case 0 -> out.writeLong(extent);
+                case 1 -> out.writeDouble(initial);
+                default -> out.writeDouble(rate);
+              }
+            }
+          }
+        }
+      }
+
+      for (final var entry : discreteSpools.entrySet()) {
+        final var spool = entry.getValue();
+        index.add(new IndexEntry(entry.getKey(), BinaryProfileCodec.DISCRETE, spool.schema, spool.segmentCount, out.position));
+        // Each spooled segment is an extent followed by a length-prefixed value; copy out one column at a time.
+        for (final var chunk : spool.chunks) {
+          final var in = readChunk(spoolFile, chunk);
+          for (var i = 0; i < chunk.segmentCount(); i++) {
+            out.writeLong(in.readLong());
+            in.skipNBytes(in.readInt());
+          }
+        }
+        var valueEnd = 0L;
+        for (final var chunk : spool.chunks) {
+          final var in = readChunk(spoolFile, chunk);
+          for (var i = 0; i < chunk.segmentCount(); i++) {
+            in.readLong();
+            final var length = in.readInt();
+            out.writeLong(valueEnd += length);
+            in.skipNBytes(length);
+          }
+        }
+        for (final var chunk : spool.chunks) {
+          final var in = readChunk(spoolFile, chunk);
+          for (var i = 0; i < chunk.segmentCount(); i++) {
+            in.readLong();
+            out.write(in.readNBytes(in.readInt()));
+          }
+        }
+      }
+
+      out.writeFooter(index);
+    }
+  }
+
+  private static DataInputStream readChunk(final FileChannel spoolFile, final BinaryResourceFileStreamer.Chunk chunk)
+  throws IOException
+  {
+    final var buffer = ByteBuffer.allocate(chunk.length());
+    while (buffer.hasRemaining()) {
+      if (spoolFile.read(buffer, chunk.offset() + buffer.position()) < 0) {
+        throw new EOFException("Spool file ends within a chunk at offset " + chunk.offset());
+      }
+    }
+    return new DataInputStream(new ByteArrayInputStream(buffer.array()));
+  }
+
+  /** A buffered output stream that keeps track of how many bytes have been written to it. */
+  private static final class Output implements AutoCloseable {
+    private final DataOutputStream out;
+    private long position = 0;
+
+    Output(final OutputStream out) {
+      this.out = new DataOutputStream(new BufferedOutputStream(out, 1 << 16));
+    }
+
+    void writeLong(final long value) throws IOException {
+      this.out.writeLong(value);
+      this.position += Long.BYTES;
+    }
+
+    void writeDouble(final double value) throws IOException {
+      this.out.writeDouble(value);
+      this.position += Double.BYTES;
+    }
+
+    void write(final byte[] bytes) throws IOException {
+      this.out.write(bytes);
+      this.position += bytes.length;
+    }
+
+    void writeHeader() throws IOException {
+      this.write(BinaryProfileCodec.MAGIC);
+      this.out.writeInt(BinaryProfileCodec.VERSION);
+      this.position += Integer.BYTES;
+    }
+
+    void writeFooter(final List<IndexEntry> index) throws IOException {
+      final var footerOffset = this.position;
+
+      final var footer = new ByteArrayOutputStream();
+      try (final var footerOut = new DataOutputStream(footer)) {
+        footerOut.writeInt(index.size());
+        for (final var entry : index) {
+          BinaryProfileCodec.writeString(footerOut, entry.name());
+          footerOut.writeByte(entry.kind());
+          BinaryProfileCodec.writeSchema(footerOut, entry.schema());
+          footerOut.writeInt(entry.segmentCount());
+          footerOut.writeLong(entry.sectionOffset());
+        }
+      }
+      this.write(footer.toByteArray());
+
+      this.writeLong(footerOffset);
+      this.write(BinaryProfileCodec.MAGIC);
+    }
+
+    @Override
+    public void close() throws IOException {
+      this.out.close();
+    }
+  }
+}
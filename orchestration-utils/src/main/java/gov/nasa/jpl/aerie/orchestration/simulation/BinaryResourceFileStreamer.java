@@ -0,0 +1,184 @@
+package gov.nasa.jpl.aerie.orchestration.simulation;
+
+import gov.nasa.jpl.aerie.merlin.driver.resources.AsyncConsumer;
+import gov.nasa.jpl.aerie.merlin.driver.resources.ResourceProfiles;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.ValueSchema;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A consumer that spools resource segments to the file system in a compact binary form,
+ * to be assembled into a single columnar file by {@link BinaryProfileWriter}.
+ *
+ * Every resource is spooled to the same append-only file, which stays open across batches,
+ * so that only one file is held open however many resources a model has.
+ * Each batch of a resource's segments is appended as a chunk: the resource's index and the chunk's segment count,
+ * followed by the segments themselves. The offset of each chunk is kept in memory, alongside its resource.
+ * A real segment is spooled as its extent in microseconds, initial value and rate;
+ * a discrete segment as its extent in microseconds and its length-prefixed encoded value.
+ */
+public class BinaryResourceFileStreamer implements AsyncConsumer<ResourceProfiles> {
+  /** The segments of one resource spooled by one batch, found at an offset within the spool file. */
+  /*package-local*/ record Chunk(long offset, int length, int segmentCount) {}
+
+  /** A resource's chunks within the spool file, and how many segments they hold in total. */
+  /*package-local*/ static final class Spool {
+    final int index;
+    final ValueSchema schema;
+    final List<Chunk> chunks = new ArrayList<>();
+    int segmentCount = 0;
+
+    private Spool(final int index, final ValueSchema schema) {
+      this.index = index;
+      this.schema = schema;
+    }
+  }
+
+  private final Path directory;
+  private final Path path;
+  private final DataOutputStream out;
+  private long position = 0;
+  private final Map<String, Spool> realSpools = new LinkedHashMap<>();
+  private final Map<String, Spool> discreteSpools = new LinkedHashMap<>();
+  private boolean closed = false;
+
+  /** Spool resources to a fresh directory within the system's temporary directory. */
+  public BinaryResourceFileStreamer() {
+    try {
+      this.directory = Files.createTempDirectory("aerie-profiles");
+      this.path = Files.createTempFile(this.directory, "resources", ".spool");
+      this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(this.path), 1 << 16));
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public synchronized void accept(final ResourceProfiles resourceProfiles) {
+    if (this.closed) throw new IllegalStateException("accept called after close");
+
+    try {
+      for (final var entry : resourceProfiles.realProfiles().entrySet()) {
+        final var spool = getSpool(this.realSpools, entry.getKey(), entry.getValue().schema());
+        final var segments = entry.getValue().segments();
+        if (segments.isEmpty()) continue;
+
+        final var offset = this.startChunk(spool, segments.size());
+        for (final var segment : segments) {
+          this.out.writeLong(segment.extent().in(Duration.MICROSECONDS));
+          this.out.writeDouble(segment.dynamics().initial);
+          this.out.writeDouble(segment.dynamics().rate);
+        }
+        this.endChunk(spool, offset, segments.size() * (Long.BYTES + 2 * Double.BYTES), segments.size());
+      }
+
+      for (final var entry : resourceProfiles.discreteProfiles().entrySet()) {
+        final var spool = getSpool(this.discreteSpools, entry.getKey(), entry.getValue().schema());
+        final var segments = entry.getValue().segments();
+        if (segments.isEmpty()) continue;
+
+        final var offset = this.startChunk(spool, segments.size());
+        var length = 0;
+        for (final var segment : segments) {
+          final var value = BinaryProfileCodec.encodeValue(segment.dynamics());
+          this.out.writeLong(segment.extent().in(Duration.MICROSECONDS));
+          this.out.writeInt(value.length);
+          this.out.write(value);
+          length += Long.BYTES + Integer.BYTES + value.length;
+        }
+        this.endChunk(spool, offset, length, segments.size());
+      }
+    } catch (final IOException e) {
+      // The spooled profiles are now incomplete, so they are of no use to anyone.
+      final var failure = new UncheckedIOException(e);
+      try {
+        this.delete();
+      } catch (final UncheckedIOException ex) {
+        failure.addSuppressed(ex);
+      }
+      throw failure;
+    }
+  }
+
+  private Spool getSpool(final Map<String, Spool> spools, final String name, final ValueSchema schema) {
+    var spool = spools.get(name);
+    if (spool == null) {
+      spool = new Spool(this.realSpools.size() + this.discreteSpools.size(), schema);
+      spools.put(name, spool);
+    }
+    return spool;
+  }
+
+  /** Write a chunk's header, returning the offset at which its segments start. */
+  private long startChunk(final Spool spool, final int segmentCount) throws IOException {
+    this.out.writeInt(spool.index);
+    this.out.writeInt(segmentCount);
+    this.position += 2 * Integer.BYTES;
+    return this.position;
+  }
+
+  private void endChunk(final Spool spool, final long offset, final int length, final int segmentCount) {
+    this.position += length;
+    spool.chunks.add(new Chunk(offset, length, segmentCount));
+    spool.segmentCount += segmentCount;
+  }
+
+  /*package-local*/ Path path() {
+    return this.path;
+  }
+
+  /*package-local*/ synchronized Map<String, Spool> realSpools() {
+    return this.realSpools;
+  }
+
+  /*package-local*/ synchronized Map<String, Spool> discreteSpools() {
+    return this.discreteSpools;
+  }
+
+  /** Flush and close the spool file, so that it can be assembled. */
+  @Override
+  public synchronized void close() {
+    if (this.closed) return;
+    this.closed = true;
+
+    try {
+      this.out.close();
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Close and remove the spool file, along with the directory holding it.
+   * Removal is attempted even if closing fails, and it is safe to delete more than once.
+   */
+  public synchronized void delete() {
+    try {
+      this.close();
+    } finally {
+      IOException failure = null;
+      try {
+        Files.deleteIfExists(this.path);
+      } catch (final IOException e) {
+        failure = e;
+      }
+      try {
+        Files.deleteIfExists(this.directory);
+      } catch (final IOException e) {
+        if (failure == null) failure = e;
+        else failure.addSuppressed(e);
+      }
+      if (failure != null) throw new UncheckedIOException(failure);
+    }
+  }
+}
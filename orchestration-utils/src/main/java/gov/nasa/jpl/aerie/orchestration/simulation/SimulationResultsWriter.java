@@ -94,6 +94,61 @@ public class SimulationResultsWriter {
     };
   }
 
+  /**
+   * Creates a SimulationResultsWriter that will write SimulationResults generated
+   * using a StreamingResourceManager using the provided BinaryResourceFileStreamer.
+   * The resource profiles are written to a separate binary file, which the results JSON refers to,
+   * and can be read back with a BinaryProfileReader.
+   * @param results The SimulationResults to be written
+   * @param plan The Plan simulated
+   * @param streamer The BinaryResourceFileStreamer used during the simulation
+   * @param profilesFilePath The file path to write the binary resource profiles to
+   */
+  public SimulationResultsWriter(
+      SimulationResults results,
+      Plan plan,
+      BinaryResourceFileStreamer streamer,
+      Path profilesFilePath
+  ) {
+    this.plan = plan;
+    this.extent = results.duration;
+    this.profilesTask = new RecursiveTask<>() {
+      @Override
+      protected JsonObject compute() {
+        try {
+          BinaryProfileWriter.write(profilesFilePath, streamer);
+        } catch (IOException e) {
+          throw new RuntimeException("Unable to write to file: "+profilesFilePath, e);
+        } finally {
+          // The spool files are of no further use, whether or not they were assembled.
+          streamer.delete();
+        }
+        return Json.createObjectBuilder()
+                   .add("format", "binary")
+                   .add("file", profilesFilePath.toAbsolutePath().toString())
+                   .build();
+      }
+    };
+    this.eventsTask = new RecursiveTask<>() {
+      @Override
+      protected JsonObject compute() {
+        return buildEvents(results.events,results.topics);
+      }
+    };
+    this.spansTask = new RecursiveTask<>() {
+      @Override
+      protected JsonObject compute() {
+        return buildSpans(results.simulatedActivities,results.unfinishedActivities, plan.simulationStartTimestamp);
+      }
+    };
+    this.simConfigTask = new RecursiveTask<>() {
+      @Override
+      protected JsonObject compute() {
+        return buildSimConfig(plan);
+      }
+    };
+  }
+
   /**
    * Create a SimulationResultsWriter that will write SimulationResults generated
    * using an InMemorySimulationResourceManager.
@@ -540,6 +595,11 @@ profiles: {
    }
   ]
 }
+// or, when profiles are written in the binary format:
+profiles: {
+  format: "binary"
+  file: string // absolute path of the file, to be read with BinaryProfileReader
+}
 
 spans: {
   simulatedActivities: [
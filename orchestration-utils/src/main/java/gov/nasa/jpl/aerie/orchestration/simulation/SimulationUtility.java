@@ -7,7 +7,9 @@ import gov.nasa.jpl.aerie.merlin.driver.MissionModelLoader;
 import gov.nasa.jpl.aerie.merlin.driver.SimulationDriver;
 import gov.nasa.jpl.aerie.merlin.driver.SimulationException;
 import gov.nasa.jpl.aerie.merlin.driver.SimulationResults;
+import gov.nasa.jpl.aerie.merlin.driver.resources.AsyncConsumer;
 import gov.nasa.jpl.aerie.merlin.driver.resources.InMemorySimulationResourceManager;
+import gov.nasa.jpl.aerie.merlin.driver.resources.ResourceProfiles;
 import gov.nasa.jpl.aerie.merlin.driver.resources.SimulationResourceManager;
 import gov.nasa.jpl.aerie.merlin.driver.resources.StreamingSimulationResourceManager;
 import gov.nasa.jpl.aerie.merlin.protocol.model.ModelType;
@@ -31,23 +33,32 @@ import java.util.function.Supplier;
 
 public class SimulationUtility implements AutoCloseable {
   private final ExecutorService exec;
-  private final ResourceFileStreamer resourceFileStreamer;
+  private final Supplier<SimulationResourceManager> resourceManagerFactory;
 
   /**
    * Create a new SimulationUtility that manages resources using an InMemorySimulationResourceManager.
    */
   public SimulationUtility() {
-    this.exec = Executors.newSingleThreadExecutor();
-    resourceFileStreamer = null;
+    this(InMemorySimulationResourceManager::new);
   }
 
   /**
    * Create a new SimulationUtility that manages resources using a StreamingSimulationResourceManager.
-   * @param resourceStreamer a Consumer defining how the ResourceManager will stream resources.
+   * @param resourceStreamer a Consumer defining how the ResourceManager will stream resources,
+   *                         such as a ResourceFileStreamer or a BinaryResourceFileStreamer.
+   */
+  public SimulationUtility(AsyncConsumer<ResourceProfiles> resourceStreamer) {
+    this(() -> new StreamingSimulationResourceManager(resourceStreamer));
+  }
+
+  /**
+   * Create a new SimulationUtility that manages resources using a fresh ResourceManager for each simulation,
+   * such as a CompactSimulationResourceManager to hold long simulations' profiles in less memory.
+   * @param resourceManagerFactory Creates the ResourceManager to be used by each simulation.
    */
-  public SimulationUtility(ResourceFileStreamer resourceStreamer) {
+  public SimulationUtility(Supplier<SimulationResourceManager> resourceManagerFactory) {
     this.exec = Executors.newSingleThreadExecutor();
-    resourceFileStreamer = resourceStreamer;
+    this.resourceManagerFactory = resourceManagerFactory;
   }
 
   /**
@@ -78,6 +89,42 @@ public class SimulationUtility implements AutoCloseable {
       );
   }
 
+  /**
+   * Load a Mission Model's type from a JAR on the file system, without instantiating it.
+   * The type can be instantiated any number of times, such as once for each plan in a batch,
+   * while the JAR is only loaded once.
+   *
+   * @param modelJarPath Path to the JAR
+   * @return The Model's type
+   * @throws MissionModelLoader.MissionModelLoadException If there is an issue while loading the JAR,
+   *         such as the JAR not existing at the specified path.
+   */
+  public static ModelType<?, ?> loadMissionModelType(Path modelJarPath)
+  throws MissionModelLoader.MissionModelLoadException
+  {
+    return MissionModelLoader.loadModelType(modelJarPath, modelJarPath.getFileName().toString(), "");
+  }
+
+  /**
+   * Instantiate a Mission Model from a type previously loaded with {@link #loadMissionModelType(Path)}.
+   *
+   * @param modelType The Model's type
+   * @param simulationStartTime The time the loaded model expects to be simulated starting at.
+   *                            Necessary to correctly instantiate internal resources.
+   * @param modelConfiguration The configuration to be used while instantiating the model.
+   *                           Expected contents defined by the Model's Configuration.
+   * @return An instantiated MissionModel
+   * @throws MissionModelLoader.MissionModelInstantiationException If there is an issue while instantiating the Model,
+   *         such as a invalid configuration or simulationStartTime.
+   */
+  public static MissionModel<?> instantiateMissionModel(
+      ModelType<?, ?> modelType,
+      Instant simulationStartTime,
+      Map<String, SerializedValue> modelConfiguration
+  ) {
+    return MissionModelLoader.loadMissionModel(simulationStartTime, SerializedValue.of(modelConfiguration), modelType);
+  }
+
   /**
    * Instantiate a Mission Model using the generated Java code
    *
@@ -126,12 +173,7 @@ public class SimulationUtility implements AutoCloseable {
       Supplier<Boolean> canceledListener,
       Consumer<Duration> extentConsumer
   ) {
-    final SimulationResourceManager resourceManager;
-    if (resourceFileStreamer != null) {
-      resourceManager = new StreamingSimulationResourceManager(resourceFileStreamer);
-    } else {
-      resourceManager = new InMemorySimulationResourceManager();
-    }
+    final var resourceManager = resourceManagerFactory.get();
     final var simulationDuration = Duration.of(plan.simulationStartTimestamp
                                                    .microsUntil(plan.simulationEndTimestamp), Duration.MICROSECOND);
     final var resultsThread = new Callable<SimulationResults>() {
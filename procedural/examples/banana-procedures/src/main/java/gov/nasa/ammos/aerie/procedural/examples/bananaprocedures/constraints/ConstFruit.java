@@ -3,7 +3,6 @@ package gov.nasa.ammos.aerie.procedural.examples.bananaprocedures.constraints;
 import gov.nasa.ammos.aerie.procedural.constraints.Constraint;
 import gov.nasa.ammos.aerie.procedural.constraints.Violations;
 import gov.nasa.ammos.aerie.procedural.constraints.annotations.ConstraintProcedure;
-import gov.nasa.ammos.aerie.procedural.timeline.collections.profiles.Real;
 import gov.nasa.ammos.aerie.procedural.timeline.plan.Plan;
 import gov.nasa.ammos.aerie.procedural.timeline.plan.SimulationResults;
 import org.jetbrains.annotations.NotNull;
@@ -13,7 +12,7 @@ public record ConstFruit() implements Constraint {
   @NotNull
   @Override
   public Violations run(@NotNull Plan plan, @NotNull SimulationResults simResults) {
-    final var fruit = simResults.resource("/fruit", Real.deserializer());
+    final var fruit = simResults.realResource("/fruit");
 
     return Violations.on(
         fruit.equalTo(4),
@@ -15,6 +15,6 @@ sealed interface CheckpointGeneration {
   /** Generate a checkpoint at the end of the simulation. */
   data object AtEnd: CheckpointGeneration
 
-  /** Do not generate any checkpoints. */
+  /** Do not generate any checkpoints beyond those the scheduler takes on its own. */
   data object None: CheckpointGeneration
 }
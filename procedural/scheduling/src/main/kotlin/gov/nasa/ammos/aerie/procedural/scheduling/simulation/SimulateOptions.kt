@@ -2,9 +2,10 @@ package gov.nasa.ammos.aerie.procedural.scheduling.simulation
 
 /** Configuration for simulation. */
 /* data */ class SimulateOptions(
-    // The following two options will be uncommented when checkpoint simulation is released.
-//    val checkPointGeneration: CheckpointGeneration = CheckpointGeneration.None,
-//    val checkpointRetention: CheckpointRetention = CheckpointRetention.All,
   /** Configuration for when the simulation will pause. */
     val pause: PauseBehavior = PauseBehavior.AtEnd,
+  /** Configuration for when checkpoints will be taken, in addition to those the scheduler takes on its own. */
+    val checkpointGeneration: CheckpointGeneration = CheckpointGeneration.None,
+  /** Configuration for which checkpoints will be kept in memory once the simulation has paused. */
+    val checkpointRetention: CheckpointRetention = CheckpointRetention.All,
 )
@@ -6,6 +6,7 @@ import gov.nasa.ammos.aerie.procedural.timeline.collections.Directives
 import gov.nasa.ammos.aerie.procedural.timeline.payloads.Segment
 import gov.nasa.ammos.aerie.procedural.timeline.payloads.activities.AnyInstance
 import gov.nasa.ammos.aerie.procedural.timeline.collections.Instances
+import gov.nasa.ammos.aerie.procedural.timeline.collections.profiles.Real
 import gov.nasa.ammos.aerie.procedural.timeline.ops.SerialSegmentOps
 import gov.nasa.ammos.aerie.procedural.timeline.payloads.activities.AnyDirective
 
@@ -25,6 +26,16 @@ interface SimulationResults {
    */
   fun <V: Any, TL: SerialSegmentOps<V, TL>> resource(name: String, deserializer: (List<Segment<SerializedValue>>) -> TL): TL
 
+  /**
+   * Query a real resource profile from this simulation dataset.
+   *
+   * Equivalent to `resource(name, Real.deserializer())`, but implementations may build the profile
+   * without going through [SerializedValue].
+   *
+   * @param name string name of the resource
+   */
+  fun realResource(name: String): Real = resource(name, Real.deserializer())
+
   /**
    * Query activity instances.
    *
@@ -0,0 +1,140 @@
+package gov.nasa.jpl.aerie.scheduler.plan;
+
+import gov.nasa.ammos.aerie.procedural.scheduling.plan.EditablePlan;
+import gov.nasa.ammos.aerie.procedural.scheduling.simulation.CheckpointGeneration;
+import gov.nasa.ammos.aerie.procedural.scheduling.simulation.CheckpointRetention;
+import gov.nasa.ammos.aerie.procedural.scheduling.simulation.PauseBehavior;
+import gov.nasa.ammos.aerie.procedural.scheduling.simulation.SimulateOptions;
+import gov.nasa.ammos.aerie.procedural.scheduling.utils.DefaultEditablePlanDriver;
+import gov.nasa.ammos.aerie.procedural.timeline.payloads.activities.DirectiveStart;
+import gov.nasa.jpl.aerie.merlin.driver.DirectiveTypeRegistry;
+import gov.nasa.jpl.aerie.merlin.driver.MissionModel;
+import gov.nasa.jpl.aerie.merlin.driver.MissionModelBuilder;
+import gov.nasa.jpl.aerie.merlin.driver.SimulationEngineConfiguration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import gov.nasa.jpl.aerie.scheduler.DirectiveIdGenerator;
+import gov.nasa.jpl.aerie.scheduler.model.PlanInMemory;
+import gov.nasa.jpl.aerie.scheduler.model.PlanningHorizon;
+import gov.nasa.jpl.aerie.scheduler.model.Problem;
+import gov.nasa.jpl.aerie.scheduler.simulation.CheckpointSimulationFacade;
+import gov.nasa.jpl.aerie.scheduler.simulation.InMemoryCachedEngineStore;
+import gov.nasa.jpl.aerie.types.MissionModelId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a procedural goal that places activities one at a time through the horizon, simulating the plan after
+ * each edit, as a goal does when each placement depends on the results of the previous ones.
+ *
+ * With checkpoints, each simulation can resume from a checkpoint taken before the new activity, instead of
+ * resimulating the plan from the start.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class IncrementalEditBenchmark {
+  private static final Instant START = Instant.EPOCH;
+  private static final Instant END = START.plus(1, ChronoUnit.DAYS);
+  private static final Duration HORIZON = Duration.DAY;
+
+  @Param({"None", "Periodic"})
+  public String checkpointGeneration;
+
+  @Param({"All", "Latest"})
+  public String checkpointRetention;
+
+  @Param({"24"})
+  public int edits;
+
+  /** The number of engines the store may hold; checkpoints are only taken when it is more than one. */
+  @Param({"16"})
+  public int storeCapacity;
+
+  private MissionModel<?> missionModel;
+  private InMemoryCachedEngineStore store;
+  private EditablePlan plan;
+  private SimulateOptions options;
+
+  @Setup(Level.Trial)
+  public void setupTrial() {
+    final var builder = new MissionModelBuilder();
+    final var factory = new gov.nasa.jpl.aerie.foomissionmodel.generated.GeneratedModelType();
+    final var registry = DirectiveTypeRegistry.extract(factory);
+    final var model = factory.instantiate(START, new gov.nasa.jpl.aerie.foomissionmodel.Configuration(), builder);
+    this.missionModel = builder.build(model, registry);
+
+    final var period = HORIZON.dividedBy(this.edits);
+    this.options = new SimulateOptions(
+        PauseBehavior.AtEnd.INSTANCE,
+        switch (this.checkpointGeneration) {
+          case "None" -> CheckpointGeneration.None.INSTANCE;
+          case "Periodic" -> new CheckpointGeneration.Periodic(period);
+          default -> throw new IllegalArgumentException("Unknown checkpoint generation: " + this.checkpointGeneration);
+        },
+        switch (this.checkpointRetention) {
+          case "All" -> CheckpointRetention.All.INSTANCE;
+          case "Latest" -> CheckpointRetention.Latest.INSTANCE;
+          default -> throw new IllegalArgumentException("Unknown checkpoint retention: " + this.checkpointRetention);
+        });
+  }
+
+  @Setup(Level.Invocation)
+  public void setupInvocation() {
+    final var horizon = new PlanningHorizon(START, END);
+    final var schedulerModel = new gov.nasa.jpl.aerie.foomissionmodel.generated.GeneratedSchedulerModel();
+    this.store = new InMemoryCachedEngineStore(this.storeCapacity);
+    final var facade = new CheckpointSimulationFacade(
+        this.missionModel,
+        schedulerModel,
+        this.store,
+        horizon,
+        new SimulationEngineConfiguration(Map.of(), START, new MissionModelId(1)),
+        () -> false);
+    final var problem = new Problem(this.missionModel, horizon, facade, schedulerModel);
+    this.plan = new DefaultEditablePlanDriver(new SchedulerPlanEditAdapter(
+        this.missionModel,
+        new DirectiveIdGenerator(0),
+        new SchedulerToProcedurePlanAdapter(new PlanInMemory(), horizon, Map.of(), Map.of(), Map.of()),
+        facade,
+        problem::getActivityType));
+  }
+
+  @TearDown(Level.Invocation)
+  public void tearDownInvocation() {
+    this.store.close();
+  }
+
+  @Benchmark
+  public Object placeActivitiesOneAtATime() {
+    final var spacing = HORIZON.dividedBy(this.edits);
+    Object results = null;
+    for (var i = 0; i < this.edits; i++) {
+      this.plan.create(
+          "foo",
+          new DirectiveStart.Absolute(spacing.times(i).plus(Duration.MINUTE)),
+          Map.of("x", SerializedValue.of(i % 10), "y", SerializedValue.of("test"), "z", SerializedValue.of(i)));
+      results = this.plan.simulate(this.options);
+    }
+    return results;
+  }
+}
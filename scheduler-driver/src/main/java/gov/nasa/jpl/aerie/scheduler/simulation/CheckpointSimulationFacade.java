@@ -142,7 +142,7 @@ public class CheckpointSimulationFacade implements SimulationFacade {
   public SimulationResultsComputerInputs simulateNoResultsAllActivities(final Plan plan)
   throws SimulationException, SchedulingInterruptedException
   {
-    return simulateNoResults(plan, null, null).simulationResultsComputerInputs();
+    return simulateNoResults(plan, null, null, null).simulationResultsComputerInputs();
   }
 
   /**
@@ -158,12 +158,12 @@ public class CheckpointSimulationFacade implements SimulationFacade {
       final Plan plan,
       final SchedulingActivity activity)
   throws SimulationException, SchedulingInterruptedException {
-    return simulateNoResults(plan, null, activity).simulationResultsComputerInputs();
+    return simulateNoResults(plan, null, activity, null).simulationResultsComputerInputs();
   }
 
   public AugmentedSimulationResultsComputerInputs simulateNoResults(final Plan plan, final Duration until)
   throws SimulationException, SchedulingInterruptedException {
-    return simulateNoResults(plan, until, null);
+    return simulateNoResults(plan, until, null, null);
   }
 
 
@@ -172,11 +172,13 @@ public class CheckpointSimulationFacade implements SimulationFacade {
    * @param plan
    * @param until can be null
    * @param activity can be null
+   * @param requestedCheckpoints checkpoints to take in addition to those spread over the simulation, can be null
    */
   private AugmentedSimulationResultsComputerInputs simulateNoResults(
       final Plan plan,
       final Duration until,
-      final SchedulingActivity activity)
+      final SchedulingActivity activity,
+      final Function<CheckpointSimulationDriver.SimulationState, Boolean> requestedCheckpoints)
   throws SimulationException, SchedulingInterruptedException {
     final var planSimCorrespondence = scheduleFromPlan(plan, this.schedulerModel);
 
@@ -234,6 +236,9 @@ public class CheckpointSimulationFacade implements SimulationFacade {
     if (stoppingCondition.equals(CheckpointSimulationDriver.onceAllActivitiesAreFinished())) {
       checkpointPolicy = or(checkpointPolicy, onceAllActivitiesAreFinished());
     }
+    if (requestedCheckpoints != null) {
+      checkpointPolicy = or(checkpointPolicy, requestedCheckpoints);
+    }
 
     if (best.isPresent()) cachedEngines.registerUsed(engine);
     try {
@@ -305,7 +310,37 @@ public class CheckpointSimulationFacade implements SimulationFacade {
       final Duration until,
       final Set<String> resourceNames
   ) throws SimulationException, SchedulingInterruptedException {
-    if (this.initialSimulationResults != null) {
+    return simulateWithResults(plan, until, resourceNames, null);
+  }
+
+  @Override
+  public SimulationData simulateWithCheckpoints(
+      final Plan plan,
+      final Duration until,
+      final Function<CheckpointSimulationDriver.SimulationState, Boolean> checkpointPolicy
+  ) throws SimulationException, SchedulingInterruptedException {
+    return simulateWithResults(plan, until, missionModel.getResources().keySet(), checkpointPolicy);
+  }
+
+  @Override
+  public void retainLatestCheckpoint() {
+    cachedEngines.retainLatest(configuration);
+  }
+
+  @Override
+  public void retainCheckpointsAfter(final Duration time) {
+    cachedEngines.retainEndingAfter(configuration, time);
+  }
+
+  private SimulationData simulateWithResults(
+      final Plan plan,
+      final Duration until,
+      final Set<String> resourceNames,
+      final Function<CheckpointSimulationDriver.SimulationState, Boolean> requestedCheckpoints
+  ) throws SimulationException, SchedulingInterruptedException {
+    // The initial results may have been computed for only some of the resources, so they can only stand in
+    // for a simulation whose requested resources they all have profiles for.
+    if (this.initialSimulationResults != null && hasProfilesFor(this.initialSimulationResults, resourceNames)) {
       final var inputPlan = scheduleFromPlan(plan, schedulerModel);
       final var initialPlan = scheduleFromPlan(this.initialSimulationResults.plan(), schedulerModel);
 
@@ -314,7 +349,7 @@ public class CheckpointSimulationFacade implements SimulationFacade {
         return initialSimulationResults.replaceIds(equalPlanIdMap.get());
       }
     }
-    final var resultsInput = simulateNoResults(plan, until);
+    final var resultsInput = simulateNoResults(plan, until, null, requestedCheckpoints);
     final var driverResults = resultsInput.simulationResultsComputerInputs().computeResults(resourceNames);
     this.latestSimulationData = new SimulationData(
         plan,
@@ -324,6 +359,14 @@ public class CheckpointSimulationFacade implements SimulationFacade {
     return this.latestSimulationData;
   }
 
+  private static boolean hasProfilesFor(final SimulationData simulationData, final Set<String> resourceNames) {
+    final var results = simulationData.driverResults();
+    for (final var name : resourceNames) {
+      if (!results.realProfiles.containsKey(name) && !results.discreteProfiles.containsKey(name)) return false;
+    }
+    return true;
+  }
+
   @Override
   public Optional<SimulationData> getLatestSimulationData() {
     if (this.latestSimulationData == null)
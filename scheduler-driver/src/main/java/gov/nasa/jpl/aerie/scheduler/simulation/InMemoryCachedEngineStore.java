@@ -8,19 +8,23 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Instant;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Predicate;
 
 public class InMemoryCachedEngineStore implements AutoCloseable, CachedEngineStore {
   private record CachedEngineMetadata(
       SimulationEngineConfiguration configuration,
-      Instant creationDate){}
+      Instant creationDate,
+      long saveOrder){}
 
   private static final Logger LOGGER = LoggerFactory.getLogger(InMemoryCachedEngineStore.class);
   private final ListOrderedMap<CachedSimulationEngine, CachedEngineMetadata> cachedEngines;
   private final int capacity;
   private Duration savedSimulationTime;
+  private long savedEngines;
 
   /**
    *
@@ -31,6 +35,7 @@ public class InMemoryCachedEngineStore implements AutoCloseable, CachedEngineSto
     this.cachedEngines = new ListOrderedMap<>();
     this.capacity = capacity;
     this.savedSimulationTime = Duration.ZERO;
+    this.savedEngines = 0;
   }
 
   public Duration getTotalSavedSimulationTime(){
@@ -62,12 +67,51 @@ public class InMemoryCachedEngineStore implements AutoCloseable, CachedEngineSto
       if (cachedEngines.size() + 1 > capacity) {
         removeLast();
       }
-      final var metadata = new CachedEngineMetadata(configuration, Instant.now());
+      final var metadata = new CachedEngineMetadata(configuration, Instant.now(), savedEngines++);
       cachedEngines.put(cachedEngines.size(), engine, metadata);
       LOGGER.info("Added a cached simulation engine to the store. Current occupation ratio: " + cachedEngines.size() + "/" + this.capacity);
     }
   }
 
+  /**
+   * Remove all engines of a configuration but the one that was saved last.
+   * @param configuration the configuration of the engines to remove
+   */
+  public void retainLatest(final SimulationEngineConfiguration configuration) {
+    final var latest = cachedEngines
+        .entrySet()
+        .stream()
+        .filter(ce -> configuration.equals(ce.getValue().configuration))
+        .max(Comparator.comparingLong(ce -> ce.getValue().saveOrder))
+        .map(Map.Entry::getKey);
+    latest.ifPresent(engine -> removeIf(configuration, ce -> ce != engine));
+  }
+
+  /**
+   * Remove the engines of a configuration that end before a given time. Engines ending at or after it are kept.
+   * @param configuration the configuration of the engines to remove
+   * @param time the earliest end time of the engines to keep
+   */
+  public void retainEndingAfter(final SimulationEngineConfiguration configuration, final Duration time) {
+    removeIf(configuration, ce -> ce.endsAt().shorterThan(time));
+  }
+
+  private void removeIf(
+      final SimulationEngineConfiguration configuration,
+      final Predicate<CachedSimulationEngine> predicate)
+  {
+    final var toRemove = cachedEngines
+        .entrySet()
+        .stream()
+        .filter(ce -> configuration.equals(ce.getValue().configuration) && predicate.test(ce.getKey()))
+        .map(Map.Entry::getKey)
+        .toList();
+    toRemove.forEach(cachedEngines::remove);
+    if (!toRemove.isEmpty()) {
+      LOGGER.info("Removed " + toRemove.size() + " cached simulation engines from the store. Current occupation ratio: " + cachedEngines.size() + "/" + this.capacity);
+    }
+  }
+
   @Override
   public int capacity(){
     return capacity;
@@ -1,5 +1,6 @@
 package gov.nasa.jpl.aerie.scheduler.simulation;
 
+import gov.nasa.jpl.aerie.merlin.driver.CheckpointSimulationDriver;
 import gov.nasa.jpl.aerie.merlin.driver.SimulationResultsComputerInputs;
 import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
 import gov.nasa.jpl.aerie.scheduler.SchedulingInterruptedException;
@@ -15,6 +16,7 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -47,6 +49,22 @@ public interface SimulationFacade {
       Duration until,
       Set<String> resourceNames) throws SimulationException, SchedulingInterruptedException;
 
+  /**
+   * Simulates as {@link #simulateWithResults(Plan, Duration)} does, also saving the simulation wherever the given
+   * policy asks for a checkpoint, so that later simulations of an edited plan can resume from there.
+   */
+  SimulationData simulateWithCheckpoints(
+      Plan plan,
+      Duration until,
+      Function<CheckpointSimulationDriver.SimulationState, Boolean> checkpointPolicy
+  ) throws SimulationException, SchedulingInterruptedException;
+
+  /** Discards all saved checkpoints but the one taken last. */
+  void retainLatestCheckpoint();
+
+  /** Discards the saved checkpoints taken before a given time. */
+  void retainCheckpointsAfter(Duration time);
+
   Optional<SimulationData> getLatestSimulationData();
 
   class SimulationException extends Exception {
@@ -3,7 +3,9 @@ package gov.nasa.jpl.aerie.scheduler.plan
 import gov.nasa.ammos.aerie.procedural.scheduling.utils.PerishableSimulationResults
 import gov.nasa.ammos.aerie.procedural.timeline.Interval
 import gov.nasa.ammos.aerie.procedural.timeline.collections.Instances
+import gov.nasa.ammos.aerie.procedural.timeline.collections.profiles.Real
 import gov.nasa.ammos.aerie.procedural.timeline.ops.SerialSegmentOps
+import gov.nasa.ammos.aerie.procedural.timeline.payloads.LinearEquation
 import gov.nasa.ammos.aerie.procedural.timeline.payloads.Segment
 import gov.nasa.ammos.aerie.procedural.timeline.payloads.activities.Instance
 import gov.nasa.ammos.aerie.procedural.timeline.plan.Plan
@@ -51,76 +53,128 @@ class MerlinToProcedureSimulationResultsAdapter(
     }
   }
 
+  /** Profiles already converted to [SerializedValue] segments, by resource name. */
+  private val serializedProfiles = HashMap<String, List<Segment<SerializedValue>>>()
+
+  /** Real profiles already converted directly to [Real], by resource name. */
+  private val realProfiles = HashMap<String, Real>()
+
   override fun <V: Any, TL: SerialSegmentOps<V, TL>> resource(name: String, deserializer: (List<Segment<SerializedValue>>) -> TL): TL {
-    val profile =
-        if (results.discreteProfiles.containsKey(name)) convertProfileWithoutGaps(results.discreteProfiles[name]!!.segments) { it }
-        else if (results.realProfiles.containsKey(name)) convertProfileWithoutGaps(results.realProfiles[name]!!.segments) {
-          SerializedValue.of(mapOf(
-              "initial" to SerializedValue.of(it.initial),
-              "rate" to SerializedValue.of(it.rate)
-          ))
-        }
-        else throw IllegalArgumentException("No such resource $name")
+    val profile = serializedProfiles.getOrPut(name) {
+      if (results.discreteProfiles.containsKey(name)) convertProfileWithoutGaps(results.discreteProfiles[name]!!.segments) { it }
+      else if (results.realProfiles.containsKey(name)) convertProfileWithoutGaps(results.realProfiles[name]!!.segments) {
+        SerializedValue.of(mapOf(
+            "initial" to SerializedValue.of(it.initial),
+            "rate" to SerializedValue.of(it.rate)
+        ))
+      }
+      else throw IllegalArgumentException("No such resource $name")
+    }
     return deserializer.invoke(profile)
   }
 
-  private data class FinishedActivityAttributes(val duration: Duration, val computedAttributes: SerializedValue)
+  /**
+   * Query a real profile, converting its segments directly rather than through [SerializedValue].
+   *
+   * Discrete profiles are still deserialized as reals, as [resource] would.
+   *
+   * @param name string name of a real resource
+   */
+  override fun realResource(name: String): Real = realProfiles.getOrPut(name) {
+    val profile = results.realProfiles[name] ?: return resource(name, Real.deserializer())
+    val segments: MutableList<Segment<LinearEquation>> = ArrayList(profile.segments.size)
+    var elapsedTime = Duration.ZERO
+    for (segment in profile.segments) {
+      segments.add(Segment(
+          Interval.betweenClosedOpen(elapsedTime, elapsedTime + segment.extent),
+          LinearEquation(elapsedTime, segment.dynamics.initial, segment.dynamics.rate)
+      ))
+      elapsedTime += segment.extent
+    }
+    Real(segments)
+  }
+
+  /** A simulated or unfinished activity, already serialized and placed relative to the plan, ready to deserialize. */
   private data class CommonActivity(
-      val arguments: Map<String, SerializedValue>,
+      val serializedActivity: SerializedValue,
       val type: String,
       val directiveId: ActivityDirectiveId?,
       val instanceId: ActivityInstanceId,
-      val startTime: Instant,
       val parentId: ActivityInstanceId?,
-      val finishedActivityAttributes: FinishedActivityAttributes?
+      val interval: Interval
   )
 
+  private fun commonActivity(
+      arguments: Map<String, SerializedValue>,
+      type: String,
+      directiveId: ActivityDirectiveId?,
+      instanceId: ActivityInstanceId,
+      start: Instant,
+      parentId: ActivityInstanceId?,
+      duration: Duration?,
+      computedAttributes: SerializedValue,
+      unfinishedEnd: Duration
+  ): CommonActivity {
+    val startTime = plan.toRelative(start)
+    val endTime = duration?.let { it + startTime } ?: unfinishedEnd
+    return CommonActivity(
+      SerializedValue.of(mapOf(
+        "arguments" to SerializedValue.of(arguments),
+        "computedAttributes" to computedAttributes
+      )),
+      type,
+      directiveId,
+      instanceId,
+      parentId,
+      Interval(startTime, endTime)
+    )
+  }
+
   private val commonActivities by lazy {
+    val unfinishedEnd = simBounds().end
     val result = mutableListOf<CommonActivity>()
     for ((key, a) in results.simulatedActivities) {
-      result.add(CommonActivity(
+      result.add(commonActivity(
         a.arguments,
         a.type,
         a.directiveId.getOrNull(),
         ActivityInstanceId(key.id),
         a.start,
         a.parentId,
-        FinishedActivityAttributes(a.duration, a.computedAttributes)
+        a.duration,
+        a.computedAttributes,
+        unfinishedEnd
       ))
     }
     for ((key, a) in results.unfinishedActivities) {
-      result.add(CommonActivity(
+      result.add(commonActivity(
         a.arguments,
         a.type,
         a.directiveId.getOrNull(),
         ActivityInstanceId(key.id),
         a.start,
         a.parentId,
-        null
+        null,
+        SerializedValue.of(mapOf()),
+        unfinishedEnd
       ))
     }
     result
   }
 
+  private val commonActivitiesByType by lazy { commonActivities.groupBy { it.type } }
+
   override fun <A: Any> instances(type: String?, deserializer: (SerializedValue) -> A): Instances<A> {
-    val instances = mutableListOf<Instance<A>>()
-    for (a in commonActivities) {
-      if (type != null && a.type != type) continue
-      val startTime = plan.toRelative(a.startTime)
-      val endTime = a.finishedActivityAttributes?.let { it.duration + startTime }
-        ?: simBounds().end
-      val computedAttributes = a.finishedActivityAttributes?.computedAttributes ?: SerializedValue.of(mapOf())
-      val serializedActivity = SerializedValue.of(mapOf(
-        "arguments" to SerializedValue.of(a.arguments),
-        "computedAttributes" to computedAttributes
-      ))
+    val activities = if (type == null) commonActivities else commonActivitiesByType[type] ?: listOf()
+    val instances = ArrayList<Instance<A>>(activities.size)
+    for (a in activities) {
       instances.add(Instance(
-        deserializer(serializedActivity),
+        deserializer(a.serializedActivity),
         a.type,
         a.instanceId,
         a.directiveId,
         a.parentId,
-        Interval(startTime, endTime)
+        a.interval
       ))
     }
     return Instances(instances)
@@ -1,7 +1,10 @@
 package gov.nasa.jpl.aerie.scheduler.plan
 
+import gov.nasa.jpl.aerie.merlin.driver.CheckpointSimulationDriver
 import gov.nasa.jpl.aerie.merlin.driver.MissionModel
 import gov.nasa.jpl.aerie.merlin.protocol.types.Duration
+import gov.nasa.ammos.aerie.procedural.scheduling.simulation.CheckpointGeneration
+import gov.nasa.ammos.aerie.procedural.scheduling.simulation.CheckpointRetention
 import gov.nasa.ammos.aerie.procedural.scheduling.simulation.SimulateOptions
 import gov.nasa.ammos.aerie.procedural.scheduling.utils.DefaultEditablePlanDriver
 import gov.nasa.ammos.aerie.procedural.scheduling.utils.PerishableSimulationResults
@@ -43,7 +46,23 @@ data class SchedulerPlanEditAdapter(
   }
 
   override fun simulate(options: SimulateOptions) {
-    simulationFacade.simulateWithResults(plan, options.pause.resolve(this))
+    val until = options.pause.resolve(this)
+    when (val generation = options.checkpointGeneration) {
+      CheckpointGeneration.None -> simulationFacade.simulateWithResults(plan, until)
+      else -> simulationFacade.simulateWithCheckpoints(plan, until, checkpointPolicy(generation, until))
+    }
+    when (val retention = options.checkpointRetention) {
+      CheckpointRetention.All -> {}
+      CheckpointRetention.Latest -> simulationFacade.retainLatestCheckpoint()
+      is CheckpointRetention.DurationFromPresent -> simulationFacade.retainCheckpointsAfter(until.minus(retention.dur))
+    }
+  }
+
+  private fun checkpointPolicy(generation: CheckpointGeneration, until: Duration) = when (generation) {
+    is CheckpointGeneration.Periodic -> CheckpointSimulationDriver.periodicCheckpoints(generation.period)
+    is CheckpointGeneration.AtTimes -> CheckpointSimulationDriver.desiredCheckpoints(generation.times)
+    CheckpointGeneration.AtEnd -> CheckpointSimulationDriver.desiredCheckpoints(listOf(until))
+    CheckpointGeneration.None -> CheckpointSimulationDriver.noCondition()
   }
 
   override fun validate(directive: Directive<AnyDirective>) {
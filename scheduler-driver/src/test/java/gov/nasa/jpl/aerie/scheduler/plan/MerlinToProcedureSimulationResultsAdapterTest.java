@@ -0,0 +1,155 @@
+package gov.nasa.jpl.aerie.scheduler.plan;
+
+import gov.nasa.ammos.aerie.procedural.timeline.Interval;
+import gov.nasa.ammos.aerie.procedural.timeline.collections.profiles.Real;
+import gov.nasa.ammos.aerie.procedural.timeline.collections.profiles.Strings;
+import gov.nasa.ammos.aerie.procedural.timeline.payloads.activities.Instance;
+import gov.nasa.jpl.aerie.merlin.driver.SimulationResults;
+import gov.nasa.jpl.aerie.merlin.driver.UnfinishedActivity;
+import gov.nasa.jpl.aerie.merlin.driver.engine.ProfileSegment;
+import gov.nasa.jpl.aerie.merlin.driver.resources.ResourceProfile;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.RealDynamics;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import gov.nasa.jpl.aerie.merlin.protocol.types.ValueSchema;
+import gov.nasa.jpl.aerie.scheduler.model.PlanInMemory;
+import gov.nasa.jpl.aerie.scheduler.model.PlanningHorizon;
+import gov.nasa.jpl.aerie.types.ActivityDirectiveId;
+import gov.nasa.jpl.aerie.types.ActivityInstance;
+import gov.nasa.jpl.aerie.types.ActivityInstanceId;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.MINUTES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MerlinToProcedureSimulationResultsAdapterTest {
+  private static final Instant start = Instant.parse("2025-01-01T00:00:00Z");
+  private static final Duration simulationDuration = Duration.of(60, MINUTES);
+
+  private static final SimulationResults results = new SimulationResults(
+      Map.of(
+          "/real", ResourceProfile.of(ValueSchema.REAL, List.of(
+              segment(10, RealDynamics.linear(0, 1)),
+              segment(0, RealDynamics.linear(5, 0)),
+              segment(20, RealDynamics.linear(3, -0.5)),
+              // Continues the previous segment, so that both conversions must coalesce them alike.
+              segment(30, RealDynamics.linear(-7, -0.5)))),
+          "/real/constant", ResourceProfile.of(ValueSchema.REAL, List.of(
+              segment(60, RealDynamics.constant(2.5))))),
+      Map.of(
+          "/discrete", ResourceProfile.of(ValueSchema.STRING, List.of(
+              segment(15, SerializedValue.of("a")),
+              segment(45, SerializedValue.of("b"))))),
+      Map.of(
+          new ActivityInstanceId(1), activity("A", 0, 20, null, List.of(2L, 3L), 1L),
+          new ActivityInstanceId(2), activity("B", 5, 5, 1L, List.of(), null),
+          new ActivityInstanceId(3), activity("A", 10, 5, 1L, List.of(), null),
+          new ActivityInstanceId(5), activity("B", 30, 0, null, List.of(), 3L)),
+      Map.of(
+          new ActivityInstanceId(4), new UnfinishedActivity(
+              "A", Map.of("size", SerializedValue.of(4)), start.plusSeconds(40 * 60), null, List.of(), Optional.of(new ActivityDirectiveId(2)))),
+      start,
+      simulationDuration,
+      List.of(),
+      Map.of());
+
+  @Test
+  public void realResourceMatchesDeserializedResource() {
+    for (final var name : List.of("/real", "/real/constant")) {
+      assertEquals(
+          adapter().resource(name, Real.deserializer()).collect(),
+          adapter().realResource(name).collect());
+    }
+
+    assertThrows(IllegalArgumentException.class, () -> adapter().realResource("/nonexistent"));
+  }
+
+  @Test
+  public void cachedQueriesMatchFreshAdapter() {
+    final var adapter = adapter();
+
+    // Query everything twice, so that the second queries are answered from the adapter's caches.
+    for (var i = 0; i < 2; i++) {
+      assertEquals(adapter().realResource("/real").collect(), adapter.realResource("/real").collect());
+      assertEquals(
+          adapter().resource("/real", Real.deserializer()).collect(),
+          adapter.resource("/real", Real.deserializer()).collect());
+      assertEquals(
+          adapter().resource("/discrete", Strings.deserializer()).collect(),
+          adapter.resource("/discrete", Strings.deserializer()).collect());
+      assertEquals(adapter().instances().collect(), adapter.instances().collect());
+      assertEquals(adapter().instances("A").collect(), adapter.instances("A").collect());
+      assertEquals(adapter().instances("B").collect(), adapter.instances("B").collect());
+    }
+  }
+
+  @Test
+  public void instancesOfTypeIncludeUnfinishedActivities() {
+    final var adapter = adapter();
+
+    assertEquals(Set.of(1L, 3L, 4L), ids(adapter.instances("A").collect()));
+    assertEquals(Set.of(2L, 5L), ids(adapter.instances("B").collect()));
+    assertEquals(Set.of(), ids(adapter.instances("C").collect()));
+    assertEquals(Set.of(1L, 2L, 3L, 4L, 5L), ids(adapter.instances().collect()));
+
+    final var unfinished = adapter.instances("A").collect().stream()
+        .filter($ -> $.id.id() == 4L)
+        .findFirst()
+        .orElseThrow();
+    assertEquals(new ActivityDirectiveId(2), unfinished.directiveId);
+    assertNull(unfinished.parentId);
+    // Unfinished activities are taken to last until the end of the simulation.
+    assertEquals(Interval.between(Duration.of(40, MINUTES), simulationDuration), unfinished.getInterval());
+    assertEquals(SerializedValue.of(4), unfinished.inner.arguments.get("size"));
+
+    final var child = adapter.instances("A").collect().stream()
+        .filter($ -> $.id.id() == 3L)
+        .findFirst()
+        .orElseThrow();
+    assertEquals(new ActivityInstanceId(1), child.parentId);
+    assertNull(child.directiveId);
+    assertEquals(Interval.between(Duration.of(10, MINUTES), Duration.of(15, MINUTES)), child.getInterval());
+  }
+
+  private static MerlinToProcedureSimulationResultsAdapter adapter() {
+    final var horizon = new PlanningHorizon(start, start.plusSeconds(simulationDuration.in(Duration.SECONDS)));
+    final var plan = new SchedulerToProcedurePlanAdapter(new PlanInMemory(), horizon, Map.of(), Map.of(), Map.of());
+    return new MerlinToProcedureSimulationResultsAdapter(results, plan);
+  }
+
+  private static <A> Set<Long> ids(final List<Instance<A>> instances) {
+    return instances.stream().map($ -> $.id.id()).collect(Collectors.toSet());
+  }
+
+  private static <Dynamics> ProfileSegment<Dynamics> segment(final long minutes, final Dynamics dynamics) {
+    return new ProfileSegment<>(Duration.of(minutes, MINUTES), dynamics);
+  }
+
+  private static ActivityInstance activity(
+      final String type,
+      final long startMinutes,
+      final long durationMinutes,
+      final Long parentId,
+      final List<Long> childIds,
+      final Long directiveId)
+  {
+    return new ActivityInstance(
+        type,
+        Map.of(),
+        start.plusSeconds(startMinutes * 60),
+        Duration.of(durationMinutes, MINUTES),
+        (parentId == null) ? null : new ActivityInstanceId(parentId),
+        childIds.stream().map(ActivityInstanceId::new).toList(),
+        Optional.ofNullable(directiveId).map(ActivityDirectiveId::new),
+        SerializedValue.of(Map.of()));
+  }
+}
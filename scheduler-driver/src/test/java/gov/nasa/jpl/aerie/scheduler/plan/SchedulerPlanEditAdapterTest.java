@@ -0,0 +1,106 @@
+package gov.nasa.jpl.aerie.scheduler.plan;
+
+import gov.nasa.ammos.aerie.procedural.scheduling.plan.EditablePlan;
+import gov.nasa.ammos.aerie.procedural.scheduling.simulation.CheckpointGeneration;
+import gov.nasa.ammos.aerie.procedural.scheduling.simulation.CheckpointRetention;
+import gov.nasa.ammos.aerie.procedural.scheduling.simulation.PauseBehavior;
+import gov.nasa.ammos.aerie.procedural.scheduling.simulation.SimulateOptions;
+import gov.nasa.ammos.aerie.procedural.scheduling.utils.DefaultEditablePlanDriver;
+import gov.nasa.ammos.aerie.procedural.timeline.payloads.activities.DirectiveStart;
+import gov.nasa.jpl.aerie.merlin.driver.CachedSimulationEngine;
+import gov.nasa.jpl.aerie.merlin.driver.SimulationEngineConfiguration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import gov.nasa.jpl.aerie.scheduler.DirectiveIdGenerator;
+import gov.nasa.jpl.aerie.scheduler.SimulationUtility;
+import gov.nasa.jpl.aerie.scheduler.TestUtility;
+import gov.nasa.jpl.aerie.scheduler.model.PlanInMemory;
+import gov.nasa.jpl.aerie.scheduler.model.PlanningHorizon;
+import gov.nasa.jpl.aerie.scheduler.model.Problem;
+import gov.nasa.jpl.aerie.scheduler.simulation.CheckpointSimulationFacade;
+import gov.nasa.jpl.aerie.scheduler.simulation.InMemoryCachedEngineStore;
+import gov.nasa.jpl.aerie.types.MissionModelId;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.HOUR;
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.MINUTES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SchedulerPlanEditAdapterTest {
+  private static final Instant start = TestUtility.timeFromEpochMillis(0);
+  private static final Instant end = TestUtility.timeFromEpochDays(1);
+  private static final PlanningHorizon horizon = new PlanningHorizon(start, end);
+
+  private static final SimulationEngineConfiguration configuration =
+      new SimulationEngineConfiguration(Map.of(), Instant.EPOCH, new MissionModelId(1));
+
+  private static final Duration until = Duration.of(4, HOUR);
+
+  @Test
+  public void periodicCheckpointsAreAllRetained() {
+    final var store = new InMemoryCachedEngineStore(10);
+    simulate(store, CheckpointRetention.All.INSTANCE);
+
+    // Activities start every half hour, so the simulation steps from each hour to the next half hour,
+    // and a checkpoint is taken on each of the hours before the pause.
+    final var endsAt = endsAt(store.getCachedEngines(configuration));
+    assertTrue(
+        endsAt.containsAll(Set.of(Duration.of(1, HOUR), Duration.of(2, HOUR), Duration.of(3, HOUR))),
+        endsAt.toString());
+  }
+
+  @Test
+  public void periodicCheckpointsRetainOnlyLatest() {
+    final var all = new InMemoryCachedEngineStore(10);
+    simulate(all, CheckpointRetention.All.INSTANCE);
+    final var latest = all.getCachedEngines(configuration).stream()
+        .max(Comparator.comparing(CachedSimulationEngine::endsAt))
+        .orElseThrow();
+
+    final var store = new InMemoryCachedEngineStore(10);
+    simulate(store, CheckpointRetention.Latest.INSTANCE);
+
+    final var retained = store.getCachedEngines(configuration);
+    assertEquals(1, retained.size());
+    assertEquals(latest.endsAt(), retained.getFirst().endsAt());
+    assertTrue(retained.getFirst().endsAt().noShorterThan(Duration.of(3, HOUR)));
+  }
+
+  /** Simulates a plan with an activity every half hour until the pause, checkpointing every hour. */
+  private static void simulate(final InMemoryCachedEngineStore store, final CheckpointRetention retention) {
+    final var missionModel = SimulationUtility.getBananaMissionModel();
+    final var schedulerModel = SimulationUtility.getBananaSchedulerModel();
+    final var facade = new CheckpointSimulationFacade(missionModel, schedulerModel, store, horizon, configuration, () -> false);
+    final var problem = new Problem(missionModel, horizon, facade, schedulerModel);
+    final EditablePlan plan = new DefaultEditablePlanDriver(new SchedulerPlanEditAdapter(
+        missionModel,
+        new DirectiveIdGenerator(0),
+        new SchedulerToProcedurePlanAdapter(new PlanInMemory(), horizon, Map.of(), Map.of(), Map.of()),
+        facade,
+        problem::getActivityType));
+
+    for (var minutes = 30; minutes < until.in(MINUTES); minutes += 30) {
+      plan.create(
+          "BiteBanana",
+          new DirectiveStart.Absolute(Duration.of(minutes, MINUTES)),
+          Map.of("biteSize", SerializedValue.of(1)));
+    }
+
+    plan.simulate(new SimulateOptions(
+        new PauseBehavior.AfterDuration(until),
+        new CheckpointGeneration.Periodic(Duration.HOUR),
+        retention));
+  }
+
+  private static Set<Duration> endsAt(final List<CachedSimulationEngine> engines) {
+    return engines.stream().map(CachedSimulationEngine::endsAt).collect(Collectors.toSet());
+  }
+}
@@ -17,11 +17,14 @@ import org.junit.jupiter.api.Test;
 
 import java.time.Instant;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.HOUR;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 public class CheckpointSimulationFacadeTest {
   private static final DirectiveIdGenerator idGenerator = new DirectiveIdGenerator(0);
@@ -81,6 +84,30 @@ public class CheckpointSimulationFacadeTest {
     SimulationResultsComparisonUtils.assertEqualsSimulationResults(ret.driverResults(), ret2.driverResults());
   }
 
+  /**
+   * Initial results computed for only some resources are reused for those resources, but not for a request of all resources
+   */
+  @Test
+  public void initialResultsMissingResourcesAreNotReused() throws SimulationFacade.SimulationException, SchedulingInterruptedException {
+    final var plan = makePlanA012(activityTypes);
+    final var allResources = SimulationUtility.getFooMissionModel().getResources().keySet();
+    final var someResources = Set.of(allResources.iterator().next());
+
+    final var initialResults = newSimulationFacade.simulateWithResults(plan, t2hr, someResources);
+    assertEquals(1, initialResults.driverResults().realProfiles.size() + initialResults.driverResults().discreteProfiles.size());
+
+    before();
+    newSimulationFacade.setInitialSimResults(initialResults);
+    newSimulationFacade.simulateWithResults(plan, t2hr, someResources);
+    // Served from the initial results, without simulating.
+    assertSame(initialResults, newSimulationFacade.getLatestSimulationData().orElseThrow());
+
+    final var allResults = newSimulationFacade.simulateWithResults(plan, t2hr);
+    final var resultsResources = new HashSet<>(allResults.driverResults().realProfiles.keySet());
+    resultsResources.addAll(allResults.driverResults().discreteProfiles.keySet());
+    assertEquals(allResources, resultsResources);
+  }
+
   /**
    * Simulating the same plan on a smaller horizon via a different request (no-results vs with-results) leads to the same
    * simulation data
@@ -108,4 +108,39 @@ public class InMemoryCachedEngineStoreTest {
     assertEquals(cachedAfterRemoveLast.get(0).activityDirectives(), cachedEngine2.activityDirectives());
     assertEquals(cachedAfterRemoveLast.get(1).activityDirectives(), cachedEngine3.activityDirectives());
   }
+
+  @Test
+  public void retainLatest(){
+    final var store = new InMemoryCachedEngineStore(3);
+    final var cachedEngine1 = getCachedEngine1();
+    final var cachedEngine2 = getCachedEngine2();
+    final var cachedEngine3 = getCachedEngine3();
+    store.save(cachedEngine1, this.simulationEngineConfiguration);
+    store.save(cachedEngine2, this.simulationEngineConfiguration);
+    store.save(cachedEngine3, this.simulationEngineConfiguration);
+    //using an engine moves it first in the list, but it is still not the latest one saved
+    store.registerUsed(cachedEngine3);
+    store.registerUsed(cachedEngine1);
+    store.retainLatest(this.simulationEngineConfiguration);
+    final var cached = store.getCachedEngines(this.simulationEngineConfiguration);
+    assertEquals(1, cached.size());
+    assertEquals(cachedEngine3.activityDirectives(), cached.get(0).activityDirectives());
+  }
+
+  @Test
+  public void retainEndingAfter(){
+    final var store = new InMemoryCachedEngineStore(3);
+    final var otherConfiguration = new SimulationEngineConfiguration(Map.of(), Instant.EPOCH, new MissionModelId(2));
+    store.save(CachedSimulationEngine.empty(SimulationUtility.getFooMissionModel(), Instant.EPOCH), this.simulationEngineConfiguration);
+    store.save(getCachedEngine1(), this.simulationEngineConfiguration);
+    store.save(CachedSimulationEngine.empty(SimulationUtility.getFooMissionModel(), Instant.EPOCH), otherConfiguration);
+    store.retainEndingAfter(this.simulationEngineConfiguration, Duration.SECOND);
+    //engine1 ends at the given time, and engines of other configurations are left alone
+    final var cached = store.getCachedEngines(this.simulationEngineConfiguration);
+    assertEquals(1, cached.size());
+    assertEquals(getCachedEngine1().activityDirectives(), cached.get(0).activityDirectives());
+    assertEquals(1, store.getCachedEngines(otherConfiguration).size());
+    store.retainEndingAfter(this.simulationEngineConfiguration, Duration.MINUTE);
+    assertEquals(0, store.getCachedEngines(this.simulationEngineConfiguration).size());
+  }
 }
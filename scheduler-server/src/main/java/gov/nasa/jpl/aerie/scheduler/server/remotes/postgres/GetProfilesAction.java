@@ -0,0 +1,196 @@
+package gov.nasa.jpl.aerie.scheduler.server.remotes.postgres;
+
+import gov.nasa.jpl.aerie.json.JsonParser;
+import gov.nasa.jpl.aerie.merlin.driver.engine.ProfileSegment;
+import gov.nasa.jpl.aerie.merlin.driver.resources.ResourceProfile;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.RealDynamics;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import gov.nasa.jpl.aerie.merlin.protocol.types.ValueSchema;
+import gov.nasa.jpl.aerie.scheduler.server.http.InvalidEntityException;
+import gov.nasa.jpl.aerie.scheduler.server.http.InvalidJsonException;
+import gov.nasa.jpl.aerie.scheduler.server.models.ProfileSet;
+import org.intellij.lang.annotations.Language;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Optional;
+import java.util.Set;
+
+import static gov.nasa.jpl.aerie.merlin.driver.json.SerializedValueJsonParser.serializedValueP;
+import static gov.nasa.jpl.aerie.scheduler.server.graphql.GraphQLParsers.realDynamicsP;
+import static gov.nasa.jpl.aerie.scheduler.server.http.SchedulerParsers.parseJson;
+import static gov.nasa.jpl.aerie.scheduler.server.remotes.postgres.PostgresParsers.profileTypeP;
+
+/**
+ * Reads the profiles of a simulation dataset, optionally only those of some resources, in a single query.
+ *
+ * Rows are streamed from the database, and each profile's segments are built as its rows go by.
+ * Offsets are read as whole microseconds, so the session's interval style does not matter.
+ */
+/*package-local*/ final class GetProfilesAction implements AutoCloseable {
+  /** Number of rows to hold in memory at once, when the connection allows results to be streamed. */
+  private static final int FETCH_SIZE = 4096;
+
+  private final @Language("SQL") String sql = """
+      select
+        p.id,
+        p.name,
+        p.type,
+        ceil(extract(epoch from p.duration) * 1000*1000) as duration_in_micros,
+        ceil(extract(epoch from seg.start_offset) * 1000*1000) as start_offset_in_micros,
+        seg.dynamics,
+        seg.is_gap
+      from merlin.profile as p
+      left join merlin.profile_segment as seg
+        on seg.dataset_id = p.dataset_id
+        and seg.profile_id = p.id
+      where
+        p.dataset_id = ?
+        and (?::text[] is null or p.name = any(?::text[]))
+      order by p.id, seg.start_offset asc
+    """;
+  private final Connection connection;
+  private final PreparedStatement statement;
+
+  public GetProfilesAction(final Connection connection) throws SQLException {
+    this.connection = connection;
+    this.statement = connection.prepareStatement(sql);
+    this.statement.setFetchSize(FETCH_SIZE);
+  }
+
+  /**
+   * Get the profiles of the given dataset.
+   *
+   * @param names if present, only the profiles of these resources are read
+   */
+  public ProfileSet get(final long datasetId, final Optional<Set<String>> names) throws SQLException {
+    final var nameArray = names.isPresent()
+        ? this.connection.createArrayOf("text", names.get().toArray())
+        : null;
+    this.statement.setLong(1, datasetId);
+    this.statement.setArray(2, nameArray);
+    this.statement.setArray(3, nameArray);
+
+    try (final var resultSet = this.statement.executeQuery()) {
+      return assemble(() -> resultSet.next() ? Optional.of(readRow(resultSet)) : Optional.empty());
+    } finally {
+      if (nameArray != null) nameArray.free();
+    }
+  }
+
+  /** A row of the query: a profile, and one of its segments if it has any. */
+  /*package-local*/ record ProfileRow(
+      long profileId,
+      String name,
+      String type,
+      long durationInMicros,
+      Optional<Long> startOffsetInMicros,
+      String dynamics,
+      boolean isGap
+  ) {}
+
+  /** The rows of the query, in its order: by profile, then by segment start. */
+  /*package-local*/ interface ProfileRows {
+    /** The next row, or empty once every row has been read. */
+    Optional<ProfileRow> next() throws SQLException;
+  }
+
+  private static ProfileRow readRow(final ResultSet resultSet) throws SQLException {
+    final var startOffset = resultSet.getLong("start_offset_in_micros");
+    final var hasSegment = !resultSet.wasNull();
+    return new ProfileRow(
+        resultSet.getLong("id"),
+        resultSet.getString("name"),
+        resultSet.getString("type"),
+        resultSet.getLong("duration_in_micros"),
+        hasSegment ? Optional.of(startOffset) : Optional.empty(),
+        resultSet.getString("dynamics"),
+        resultSet.getBoolean("is_gap"));
+  }
+
+  /** Build the profiles described by the rows of the query, reading the rows only once and in order. */
+  /*package-local*/ static ProfileSet assemble(final ProfileRows rows) throws SQLException {
+    final var realProfiles = new HashMap<String, ResourceProfile<Optional<RealDynamics>>>();
+    final var discreteProfiles = new HashMap<String, ResourceProfile<Optional<SerializedValue>>>();
+
+    try {
+      var row = rows.next();
+      while (row.isPresent()) {
+        final var first = row.get();
+        final var type = parseJson(first.type(), profileTypeP);
+
+        switch (type.getLeft()) {
+          case "real" -> {
+            final var read = readProfile(first, rows, type.getRight(), realDynamicsP);
+            realProfiles.put(first.name(), read.profile());
+            row = read.nextRow();
+          }
+          case "discrete" -> {
+            final var read = readProfile(first, rows, type.getRight(), serializedValueP);
+            discreteProfiles.put(first.name(), read.profile());
+            row = read.nextRow();
+          }
+          default -> throw new Error("Unrecognized profile type " + type.getLeft());
+        }
+      }
+    } catch (final InvalidJsonException | InvalidEntityException e) {
+      throw new SQLException(e);
+    }
+
+    return new ProfileSet(realProfiles, discreteProfiles);
+  }
+
+  /** A profile read from the rows, and the first row of the next profile, if any. */
+  private record ProfileRead<Dynamics>(ResourceProfile<Optional<Dynamics>> profile, Optional<ProfileRow> nextRow) {}
+
+  /**
+   * Read the rows of one profile, starting at its first row.
+   *
+   * Segments are stored with their start offset; each lasts until the next one starts, and the last until the end of
+   * the profile.
+   */
+  private static <Dynamics> ProfileRead<Dynamics> readProfile(
+      final ProfileRow first,
+      final ProfileRows rows,
+      final ValueSchema schema,
+      final JsonParser<Dynamics> dynamicsP
+  ) throws SQLException, InvalidJsonException, InvalidEntityException
+  {
+    final var segments = new ArrayList<ProfileSegment<Optional<Dynamics>>>();
+
+    // A profile without segments is still returned, by the left join, as a single row without a segment.
+    if (first.startOffsetInMicros().isEmpty()) {
+      return new ProfileRead<>(ResourceProfile.of(schema, segments), rows.next());
+    }
+
+    var row = first;
+    while (true) {
+      final var next = rows.next();
+      final var hasNextSegment = next.isPresent() && next.get().profileId() == first.profileId();
+      final var segmentStart = row.startOffsetInMicros().orElseThrow();
+      final var segmentEnd = hasNextSegment ? next.get().startOffsetInMicros().orElseThrow() : first.durationInMicros();
+
+      segments.add(new ProfileSegment<>(Duration.of(segmentEnd - segmentStart, Duration.MICROSECONDS), getDynamics(row, dynamicsP)));
+      if (!hasNextSegment) return new ProfileRead<>(ResourceProfile.of(schema, segments), next);
+
+      row = next.get();
+    }
+  }
+
+  private static <Dynamics> Optional<Dynamics> getDynamics(final ProfileRow row, final JsonParser<Dynamics> dynamicsP)
+  throws InvalidJsonException, InvalidEntityException
+  {
+    if (row.isGap()) return Optional.empty();
+    return Optional.of(parseJson(row.dynamics(), dynamicsP));
+  }
+
+  @Override
+  public void close() throws SQLException {
+    this.statement.close();
+  }
+}
@@ -0,0 +1,47 @@
+package gov.nasa.jpl.aerie.scheduler.server.remotes.postgres;
+
+import gov.nasa.jpl.aerie.scheduler.server.models.DatasetId;
+import gov.nasa.jpl.aerie.scheduler.server.models.ProfileSet;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Reads simulated profiles directly from the merlin tables, rather than through Hasura,
+ * so that large profiles are streamed instead of being assembled into a single JSON response.
+ */
+public final class PostgresProfileRepository {
+  private final DataSource dataSource;
+
+  public PostgresProfileRepository(final DataSource dataSource) {
+    this.dataSource = dataSource;
+  }
+
+  /**
+   * Get the profiles of a simulation dataset.
+   *
+   * @param datasetId the dataset to read
+   * @param names if present, only the profiles of these resources are read
+   */
+  public ProfileSet getProfiles(final DatasetId datasetId, final Optional<Set<String>> names) {
+    try (final var connection = this.dataSource.getConnection()) {
+      // The driver only streams results within a transaction; otherwise the whole result set is fetched at once.
+      final var autoCommit = connection.getAutoCommit();
+      connection.setAutoCommit(false);
+      try (final var getProfilesAction = new GetProfilesAction(connection)) {
+        final var profiles = getProfilesAction.get(datasetId.id(), names);
+        connection.commit();
+        return profiles;
+      } catch (final SQLException ex) {
+        connection.rollback();
+        throw ex;
+      } finally {
+        connection.setAutoCommit(autoCommit);
+      }
+    } catch (final SQLException ex) {
+      throw new DatabaseException("Failed to get profiles of dataset " + datasetId.id(), ex);
+    }
+  }
+}
@@ -44,11 +44,14 @@ import gov.nasa.jpl.aerie.scheduler.server.models.PlanMetadata;
 import gov.nasa.jpl.aerie.scheduler.server.models.ProfileSet;
 import gov.nasa.jpl.aerie.scheduler.server.models.ResourceType;
 import gov.nasa.jpl.aerie.scheduler.server.models.UnwrappedProfileSet;
+import gov.nasa.jpl.aerie.scheduler.server.remotes.postgres.PostgresProfileRepository;
 import gov.nasa.jpl.aerie.types.ActivityDirective;
 import gov.nasa.jpl.aerie.types.ActivityDirectiveId;
 import gov.nasa.jpl.aerie.types.MissionModelId;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.commons.lang3.tuple.Triple;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.json.Json;
 import javax.json.JsonArray;
@@ -73,6 +76,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.function.Supplier;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import static gov.nasa.jpl.aerie.json.BasicParsers.chooseP;
@@ -96,14 +100,39 @@ import static java.util.Map.entry;
  * {@inheritDoc}
  *
  * @param merlinGraphqlURI endpoint of the merlin graphql service that should be used to access all plan data
+ * @param profileRepository if present, used to read simulated profiles directly from the database rather than through
+ *     the graphql service
  */
-public record GraphQLMerlinDatabaseService(URI merlinGraphqlURI, String hasuraGraphQlAdminSecret) implements MerlinDatabaseService.OwnerRole {
+public record GraphQLMerlinDatabaseService(
+    URI merlinGraphqlURI,
+    String hasuraGraphQlAdminSecret,
+    Optional<PostgresProfileRepository> profileRepository
+) implements MerlinDatabaseService.OwnerRole {
+
+  public GraphQLMerlinDatabaseService(final URI merlinGraphqlURI, final String hasuraGraphQlAdminSecret) {
+    this(merlinGraphqlURI, hasuraGraphQlAdminSecret, Optional.empty());
+  }
 
   /**
    * timeout for http graphql requests issued to aerie
    */
   private static final java.time.Duration httpTimeout = java.time.Duration.ofSeconds(60);
 
+  /**
+   * client shared by every request, so that connections to aerie are pooled and reused
+   * rather than opened and handshaken anew for each request
+   */
+  private static final HttpClient httpClient = HttpClient
+      .newBuilder()
+      .version(HttpClient.Version.HTTP_2)
+      .connectTimeout(httpTimeout)
+      .build();
+
+  private static final Logger logger = LoggerFactory.getLogger(GraphQLMerlinDatabaseService.class);
+
+  private static final Pattern operationNamePattern = Pattern.compile("^\\s*(?:query|mutation)\\s+(\\w+)");
+  private static final Pattern firstFieldPattern = Pattern.compile("\\{\\s*(\\w+)");
+
   public record DatasetMetadata(DatasetId datasetId, Duration offsetFromPlanStart){}
 
   private record SimulationId(long id){}
@@ -139,46 +168,21 @@ public record GraphQLMerlinDatabaseService(URI merlinGraphqlURI, String hasuraGr
    * @return the json response returned by aerie, or an empty optional in case of io errors
    */
   private Optional<JsonObject> postRequest(final String gqlStr) throws IOException, MerlinServiceException {
-    try {
-      //TODO: (mem optimization) use streams here to avoid several copies of strings
-      final var reqBody = Json.createObjectBuilder().add("query", gqlStr).build();
-      final var httpReq = HttpRequest
-          .newBuilder().uri(merlinGraphqlURI).timeout(httpTimeout)
-          .header("Content-Type", "application/json")
-          .header("Accept", "application/json")
-          .header("Origin", merlinGraphqlURI.toString())
-          .header("x-hasura-admin-secret", hasuraGraphQlAdminSecret)
-          .POST(HttpRequest.BodyPublishers.ofString(reqBody.toString()))
-          .build();
-      //TODO: (net optimization) gzip compress the request body if large enough (eg for createAllActs)
-      final var httpResp = HttpClient
-          .newHttpClient().send(httpReq, HttpResponse.BodyHandlers.ofInputStream());
-      if (httpResp.statusCode() != 200) {
-        //TODO: how severely to error out if aerie cannot be reached or has a 500 error or json is garbled etc etc?
-        return Optional.empty();
-      }
-      final var respBody = Json.createReader(httpResp.body()).readObject();
-      if (respBody.containsKey("errors")) {
-        throw new MerlinServiceException(respBody.toString());
-      }
-      return Optional.of(respBody);
-    } catch (final InterruptedException e) {
-      //TODO: maybe retry if interrupted? but depends on semantics (eg don't duplicate mutation if not idempotent)
-      return Optional.empty();
-    } catch (final JsonException e) { // or also JsonParsingException
-      throw new IOException("json parse error on graphql response:" + e.getMessage(), e);
-    }
+    //TODO: (mem optimization) use streams here to avoid several copies of strings
+    return send(gqlStr, Json.createObjectBuilder().add("query", gqlStr).build());
   }
 
   protected Optional<JsonObject> postRequest(final String query, final JsonObject variables)
   throws IOException, MerlinServiceException {
+    //TODO: (mem optimization) use streams here to avoid several copies of strings
+    return send(query, Json.createObjectBuilder().add("query", query).add("variables", variables).build());
+  }
+
+  private Optional<JsonObject> send(final String query, final JsonObject reqBody)
+  throws IOException, MerlinServiceException {
+    final var queryName = queryName(query);
+    final var startTime = System.nanoTime();
     try {
-      //TODO: (mem optimization) use streams here to avoid several copies of strings
-      final var reqBody = Json
-          .createObjectBuilder()
-          .add("query", query)
-          .add("variables", variables)
-          .build();
       final var httpReq = HttpRequest
           .newBuilder().uri(merlinGraphqlURI).timeout(httpTimeout)
           .header("Content-Type", "application/json")
@@ -188,8 +192,7 @@ public record GraphQLMerlinDatabaseService(URI merlinGraphqlURI, String hasuraGr
           .POST(HttpRequest.BodyPublishers.ofString(reqBody.toString()))
           .build();
       //TODO: (net optimization) gzip compress the request body if large enough (eg for createAllActs)
-      final var httpResp = HttpClient
-          .newHttpClient().send(httpReq, HttpResponse.BodyHandlers.ofInputStream());
+      final var httpResp = httpClient.send(httpReq, HttpResponse.BodyHandlers.ofInputStream());
       if (httpResp.statusCode() != 200) {
         //TODO: how severely to error out if aerie cannot be reached or has a 500 error or json is garbled etc etc?
         return Optional.empty();
@@ -204,9 +207,22 @@ public record GraphQLMerlinDatabaseService(URI merlinGraphqlURI, String hasuraGr
       return Optional.empty();
     } catch (final JsonException e) { // or also JsonParsingException
       throw new IOException("json parse error on graphql response:" + e.getMessage(), e);
+    } finally {
+      logger.debug("GraphQL request {} took {} ms", queryName, (System.nanoTime() - startTime) / 1_000_000);
     }
   }
 
+  /**
+   * name a graphql request for instrumentation: by its operation name if it has one, otherwise by its first field
+   */
+  private static String queryName(final String query) {
+    final var operationName = operationNamePattern.matcher(query);
+    if (operationName.find()) return operationName.group(1);
+    final var firstField = firstFieldPattern.matcher(query);
+    if (firstField.find()) return firstField.group(1);
+    return "anonymous";
+  }
+
   //TODO: maybe use fancy aerie typed json parsers/serializers, ala BasicParsers.productP use in MerlinParsers
   //TODO: or upgrade to gson or similar modern library with registered object mappings
 
@@ -902,18 +918,27 @@ public record GraphQLMerlinDatabaseService(URI merlinGraphqlURI, String hasuraGr
   public Map<ActivityDirectiveId, GoalId> getActivityIdToGoalIdMap(final PlanId planId)
   throws MerlinServiceException, IOException
   {
-    final var request = """
-        query {
-          activity_directive(where: {plan_id: {_eq: %d}}) {
-            id
-            source_scheduling_goal_id
-            source_scheduling_goal_invocation_id
-          }
-        }
-        """.formatted(planId.id());
+    final var request = "query { %s }".formatted(activityDirectiveGoalsSelection(planId));
     final JsonObject response = postRequest(request).get();
     final var data = response.getJsonObject("data");
-    final List<Map.Entry<ActivityDirectiveId, GoalId>> results = data.getJsonArray("activity_directive").getValuesAs(
+    return parseActivityIdToGoalIdMap(data.getJsonArray("activity_directive"));
+  }
+
+  /**
+   * selection of the goal that created each activity directive of a plan, as read by {@link #parseActivityIdToGoalIdMap}
+   */
+  private static String activityDirectiveGoalsSelection(final PlanId planId) {
+    return """
+        activity_directive(where: {plan_id: {_eq: %d}}) {
+          id
+          source_scheduling_goal_id
+          source_scheduling_goal_invocation_id
+        }""".formatted(planId.id());
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<ActivityDirectiveId, GoalId> parseActivityIdToGoalIdMap(final JsonArray activityDirectives) {
+    final List<Map.Entry<ActivityDirectiveId, GoalId>> results = activityDirectives.getValuesAs(
         $ -> {
           final var obj = $.asJsonObject();
           final var id = new ActivityDirectiveId(obj.getInt("id"));
@@ -1006,10 +1031,17 @@ public record GraphQLMerlinDatabaseService(URI merlinGraphqlURI, String hasuraGr
     return parseProfiles(data);
   }
 
-  private ProfileSet getProfilesWithSegments(DatasetId datasetId) throws MerlinServiceException, IOException {
+  private ProfileSet getProfilesWithSegments(DatasetId datasetId, Optional<Set<String>> names)
+  throws MerlinServiceException, IOException
+  {
+    if (profileRepository.isPresent()) return profileRepository.get().getProfiles(datasetId, names);
+
+    final var nameFilter = names
+        .map(n -> ", name: {_in: %s}".formatted(Json.createArrayBuilder(n).build()))
+        .orElse("");
     final var request = """
         query{
-          profile(where: {dataset_id: {_eq: %d}}){
+          profile(where: {dataset_id: {_eq: %d}%s}){
             type
             duration
             profile_segments {
@@ -1020,7 +1052,7 @@ public record GraphQLMerlinDatabaseService(URI merlinGraphqlURI, String hasuraGr
             name
           }
         }
-        """.formatted(datasetId.id());
+        """.formatted(datasetId.id(), nameFilter);
     final JsonObject response;
     response = postRequest(request).get();
     final var data = response.getJsonObject("data").getJsonArray("profile");
@@ -1047,19 +1079,30 @@ public record GraphQLMerlinDatabaseService(URI merlinGraphqlURI, String hasuraGr
   }
 
   @Override
-  public Optional<Pair<SimulationResults, DatasetId>> getSimulationResults(PlanMetadata planMetadata)
-  throws MerlinServiceException, IOException
+  public Optional<Pair<SimulationResults, DatasetId>> getSimulationResults(
+      PlanMetadata planMetadata,
+      Optional<Set<String>> resourceNames
+  ) throws MerlinServiceException, IOException
   {
     final var simulationDatasetId = getSuitableSimulationResults(planMetadata);
     if(simulationDatasetId.isEmpty()) return Optional.empty();
+    return getSimulationResults(planMetadata, simulationDatasetId.get(), resourceNames);
+  }
+
+  private Optional<Pair<SimulationResults, DatasetId>> getSimulationResults(
+      final PlanMetadata planMetadata,
+      final DatasetIds simulationDatasetId,
+      final Optional<Set<String>> resourceNames
+  ) throws MerlinServiceException, IOException
+  {
     try(var executorService = Executors.newFixedThreadPool(3)) {
       Future<Map<ActivityInstanceId, ActivityInstance>> futureSimulatedActivities = executorService.submit(() -> getSimulatedActivities(
-          simulationDatasetId.get().simulationDatasetId(),
+          simulationDatasetId.simulationDatasetId(),
           planMetadata.horizon().getStartInstant()));
       Future<Map<ActivityInstanceId, UnfinishedActivity>> futureSpans = executorService.submit(() -> getSpans(
-          simulationDatasetId.get().datasetId(),
+          simulationDatasetId.datasetId(),
           planMetadata.horizon().getStartInstant()));
-      Future<ProfileSet> futureProfiles = executorService.submit(() -> getProfilesWithSegments(simulationDatasetId.get().datasetId()));
+      Future<ProfileSet> futureProfiles = executorService.submit(() -> getProfilesWithSegments(simulationDatasetId.datasetId(), resourceNames));
       try {
         final var simulatedActivities = futureSimulatedActivities.get();
         final var unfinishedActivities = futureSpans.get();
@@ -1079,7 +1122,7 @@ public record GraphQLMerlinDatabaseService(URI merlinGraphqlURI, String hasuraGr
             duration,
             List.of(),
             new TreeMap<>()
-        ), simulationDatasetId.get().datasetId));
+        ), simulationDatasetId.datasetId));
       } catch (InterruptedException | ExecutionException e) {
         return Optional.empty();
       }
@@ -1089,20 +1132,28 @@ public record GraphQLMerlinDatabaseService(URI merlinGraphqlURI, String hasuraGr
   public Optional<List<DatasetMetadata>> getExternalDatasets(final PlanId planId)
   throws MerlinServiceException, IOException
   {
-    final var datasets = new ArrayList<DatasetMetadata>();
-    final var request = """
-        query {
-          plan_dataset(where: {plan_id: {_eq: %d}, simulation_dataset_id: {_is_null: true}}, order_by: {dataset_id:asc}) {
-            dataset_id
-            offset_from_plan_start
-          }
-        }
-        """.formatted(planId.id());
+    final var request = "query { %s }".formatted(externalDatasetsSelection(planId));
     final var response = postRequest(request).get();
     final var data = response.getJsonObject("data").getJsonArray("plan_dataset");
     if (data.size() == 0) {
       return Optional.empty();
     }
+    return Optional.of(parseExternalDatasets(data));
+  }
+
+  /**
+   * selection of the external datasets associated with a plan, as read by {@link #parseExternalDatasets}
+   */
+  private static String externalDatasetsSelection(final PlanId planId) {
+    return """
+        plan_dataset(where: {plan_id: {_eq: %d}, simulation_dataset_id: {_is_null: true}}, order_by: {dataset_id:asc}) {
+          dataset_id
+          offset_from_plan_start
+        }""".formatted(planId.id());
+  }
+
+  private static List<DatasetMetadata> parseExternalDatasets(final JsonArray data) {
+    final var datasets = new ArrayList<DatasetMetadata>();
     for(final var dataset:data){
       final var datasetId = new DatasetId(dataset.asJsonObject().getInt("dataset_id"));
       final var offsetFromPlanStart = durationFromPGInterval(dataset
@@ -1110,33 +1161,59 @@ public record GraphQLMerlinDatabaseService(URI merlinGraphqlURI, String hasuraGr
                                                                  .getString("offset_from_plan_start"));
       datasets.add(new DatasetMetadata(datasetId, offsetFromPlanStart));
     }
-    return Optional.of(datasets);
+    return datasets;
   }
 
   @Override
   public ExternalProfiles getExternalProfiles(final PlanId planId)
+  throws MerlinServiceException, IOException {
+    return getExternalProfiles(getExternalDatasets(planId).orElse(List.of()));
+  }
+
+  /**
+   * fetch the profiles of all the given external datasets, in a single request
+   */
+  private ExternalProfiles getExternalProfiles(final List<DatasetMetadata> datasetMetadatas)
   throws MerlinServiceException, IOException {
     final Map<String, LinearProfile> realProfiles = new HashMap<>();
     final Map<String, DiscreteProfile> discreteProfiles = new HashMap<>();
     final var resourceTypes = new ArrayList<ResourceType>();
-    final var datasetMetadatas = getExternalDatasets(planId);
-    if(datasetMetadatas.isPresent()) {
-      for(final var datasetMetadata: datasetMetadatas.get()) {
-        final var profiles = getProfilesWithSegments(datasetMetadata.datasetId());
-        profiles.realProfiles().forEach((name, profile) -> {
-          realProfiles.put(name,
-                           LinearProfile.fromExternalProfile(
-                               datasetMetadata.offsetFromPlanStart,
-                               profile.segments()));
-        });
-        profiles.discreteProfiles().forEach((name, profile) -> {
-          discreteProfiles.put(name,
-                               DiscreteProfile.fromExternalProfile(
-                                   datasetMetadata.offsetFromPlanStart,
-                                   profile.segments()));
-        });
-        resourceTypes.addAll(extractResourceTypes(profiles));
-      }
+    if (datasetMetadatas.isEmpty()) return new ExternalProfiles(realProfiles, discreteProfiles, resourceTypes);
+
+    final var request = new StringBuilder("query GetExternalProfiles {");
+    for (int i = 0; i < datasetMetadatas.size(); i++) {
+      request.append("""
+          dataset%d: profile(where: {dataset_id: {_eq: %d}}){
+            type
+            duration
+            profile_segments {
+              start_offset
+              dynamics
+              is_gap
+            }
+            name
+          }
+          """.formatted(i, datasetMetadatas.get(i).datasetId().id()));
+    }
+    request.append("}");
+    final var data = postRequest(request.toString()).get().getJsonObject("data");
+
+    for (int i = 0; i < datasetMetadatas.size(); i++) {
+      final var datasetMetadata = datasetMetadatas.get(i);
+      final var profiles = parseProfiles(data.getJsonArray("dataset" + i));
+      profiles.realProfiles().forEach((name, profile) -> {
+        realProfiles.put(name,
+                         LinearProfile.fromExternalProfile(
+                             datasetMetadata.offsetFromPlanStart,
+                             profile.segments()));
+      });
+      profiles.discreteProfiles().forEach((name, profile) -> {
+        discreteProfiles.put(name,
+                             DiscreteProfile.fromExternalProfile(
+                                 datasetMetadata.offsetFromPlanStart,
+                                 profile.segments()));
+      });
+      resourceTypes.addAll(extractResourceTypes(profiles));
     }
     return new ExternalProfiles(realProfiles, discreteProfiles, resourceTypes);
   }
@@ -1145,26 +1222,38 @@ public record GraphQLMerlinDatabaseService(URI merlinGraphqlURI, String hasuraGr
   public Map<String, List<ExternalEvent>> getExternalEvents(final PlanId planId, final Instant horizonStart)
   throws MerlinServiceException, IOException, InvalidEntityException
   {
-    final var derivationGroupsRequest = """
-        query DerivationGroupsForPlan($planId: Int!) {
-          plan_derivation_group(where: {plan_id: {_eq: $planId}}) {
-            derivation_group_name
-          }
-        }
-        """;
-    final JsonObject derivationGroupsResponse = postRequest(
-        derivationGroupsRequest,
-        Json.createObjectBuilder().add("planId", planId.id()).build()).get();
+    final var derivationGroupsRequest = "query DerivationGroupsForPlan { %s }".formatted(derivationGroupsSelection(planId));
+    final JsonObject derivationGroupsResponse = postRequest(derivationGroupsRequest).get();
+    return getDerivedEvents(
+        parseDerivationGroups(derivationGroupsResponse.getJsonObject("data").getJsonArray("plan_derivation_group")),
+        horizonStart);
+  }
+
+  /**
+   * selection of the derivation groups associated with a plan, as read by {@link #parseDerivationGroups}
+   */
+  private static String derivationGroupsSelection(final PlanId planId) {
+    return """
+        plan_derivation_group(where: {plan_id: {_eq: %d}}) {
+          derivation_group_name
+        }""".formatted(planId.id());
+  }
+
+  private static List<String> parseDerivationGroups(final JsonArray planDerivationGroups) {
+    return planDerivationGroups
+        .stream()
+        .map($ -> $.asJsonObject().getString("derivation_group_name"))
+        .toList();
+  }
+
+  private Map<String, List<ExternalEvent>> getDerivedEvents(final List<String> derivationGroupNames, final Instant horizonStart)
+  throws MerlinServiceException, IOException, InvalidEntityException
+  {
+    if (derivationGroupNames.isEmpty()) return new HashMap<>();
     final var derivationGroups = Json
         .createObjectBuilder()
-        .add("derivationGroups", Json.createArrayBuilder(
-            derivationGroupsResponse
-                .getJsonObject("data")
-                .getJsonArray("plan_derivation_group")
-                .stream()
-                .map($ -> $.asJsonObject().getString("derivation_group_name"))
-                .toList()
-    ).build()).build();
+        .add("derivationGroups", Json.createArrayBuilder(derivationGroupNames).build())
+        .build();
 
     final var eventsRequest = """
         query DerivedEventsForPlan($derivationGroups: [String!]!) {
@@ -1196,6 +1285,83 @@ public record GraphQLMerlinDatabaseService(URI merlinGraphqlURI, String hasuraGr
     return result;
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * everything that depends only on the plan is fetched in a single request; the external profiles and external events
+   * that it refers to are then fetched concurrently
+   */
+  @Override
+  public MerlinDatabaseService.PlanInputs getPlanInputs(final PlanMetadata planMetadata)
+  throws MerlinServiceException, IOException, InvalidEntityException
+  {
+    final var data = postRequest(planInputsRequest(planMetadata.planId()))
+        .orElseThrow(() -> new IOException("Could not fetch inputs of plan " + planMetadata.planId().id()))
+        .getJsonObject("data");
+    final var planData = parsePlanInputs(data);
+
+    try (var executorService = Executors.newFixedThreadPool(2)) {
+      final var futureExternalProfiles = executorService.submit(() -> getExternalProfiles(planData.externalDatasets()));
+      final var futureExternalEvents = executorService.submit(() -> getDerivedEvents(
+          planData.derivationGroups(),
+          planMetadata.horizon().getStartInstant()));
+      return new MerlinDatabaseService.PlanInputs(
+          planData.activityIdToGoalId(),
+          getPlanInput(futureExternalProfiles),
+          getPlanInput(futureExternalEvents));
+    }
+  }
+
+  /**
+   * the inputs of a plan that depend only on the plan, as fetched together by {@link #planInputsRequest}
+   */
+  /*package-local*/ record PlanData(
+      Map<ActivityDirectiveId, GoalId> activityIdToGoalId,
+      List<DatasetMetadata> externalDatasets,
+      List<String> derivationGroups
+  ) {}
+
+  /**
+   * a single request for everything that depends only on the plan, made of the same selections as the individual queries
+   */
+  /*package-local*/ static String planInputsRequest(final PlanId planId) {
+    return "query GetPlanInputs { %s %s %s }".formatted(
+        activityDirectiveGoalsSelection(planId),
+        externalDatasetsSelection(planId),
+        derivationGroupsSelection(planId));
+  }
+
+  /**
+   * parse the data of a response to {@link #planInputsRequest}
+   */
+  /*package-local*/ static PlanData parsePlanInputs(final JsonObject data) {
+    return new PlanData(
+        parseActivityIdToGoalIdMap(data.getJsonArray("activity_directive")),
+        parseExternalDatasets(data.getJsonArray("plan_dataset")),
+        parseDerivationGroups(data.getJsonArray("plan_derivation_group")));
+  }
+
+  /**
+   * wait for one of the concurrently fetched inputs of a plan, rethrowing whatever prevented it from being fetched
+   */
+  private static <T> T getPlanInput(final Future<T> future)
+  throws MerlinServiceException, IOException, InvalidEntityException
+  {
+    try {
+      return future.get();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while fetching plan inputs", e);
+    } catch (final ExecutionException e) {
+      if (e.getCause() instanceof MerlinServiceException cause) throw cause;
+      if (e.getCause() instanceof IOException cause) throw cause;
+      if (e.getCause() instanceof InvalidEntityException cause) throw cause;
+      if (e.getCause() instanceof RuntimeException cause) throw cause;
+      if (e.getCause() instanceof Error cause) throw cause;
+      throw new IOException(e.getCause());
+    }
+  }
+
   private Collection<ResourceType> extractResourceTypes(final ProfileSet profileSet){
     final var resourceTypes = new ArrayList<ResourceType>();
     profileSet.realProfiles().forEach((name, profile) -> {
@@ -1430,7 +1596,10 @@ public record GraphQLMerlinDatabaseService(URI merlinGraphqlURI, String hasuraGr
     final JsonObject response;
     response = postRequest(request).get();
     final var data = response.getJsonObject("data");
-    final var simulationDatasets = data.getJsonArray("simulation_dataset");
+    return parseSuitableSimulationDataset(data.getJsonArray("simulation_dataset"));
+  }
+
+  private static Optional<DatasetIds> parseSuitableSimulationDataset(final JsonArray simulationDatasets) {
     for(final var simulationDataset  : simulationDatasets){
       final var simulationDatasetId = simulationDataset.asJsonObject().getInt("id");
       final var datasetId = simulationDataset.asJsonObject().getInt("dataset_id");
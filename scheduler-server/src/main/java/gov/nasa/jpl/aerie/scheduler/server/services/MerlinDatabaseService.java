@@ -31,10 +31,21 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 public interface MerlinDatabaseService {
   record MissionModelTypes(Collection<ActivityType> activityTypes, Collection<ResourceType> resourceTypes) {}
 
+  /**
+   * everything the scheduler reads about a plan, besides its activity directives and simulation results,
+   * before it starts scheduling
+   */
+  record PlanInputs(
+      Map<ActivityDirectiveId, GoalId> activityIdToGoalId,
+      ExternalProfiles externalProfiles,
+      Map<String, List<ExternalEvent>> externalEvents
+  ) {}
+
   interface ReaderRole {
 
     MerlinDatabaseService.MissionModelTypes getMissionModelTypes(final PlanId planId)
@@ -91,7 +102,23 @@ public interface MerlinDatabaseService {
      * @param planMetadata the plan metadata
      * @return optionally: simulation results and its dataset id
      */
-    Optional<Pair<SimulationResults, DatasetId>> getSimulationResults(PlanMetadata planMetadata) throws MerlinServiceException, IOException, InvalidJsonException;
+    default Optional<Pair<SimulationResults, DatasetId>> getSimulationResults(PlanMetadata planMetadata)
+    throws MerlinServiceException, IOException, InvalidJsonException
+    {
+      return getSimulationResults(planMetadata, Optional.empty());
+    }
+
+    /**
+     * Gets existing simulation results for current plan, as {@link #getSimulationResults(PlanMetadata)} does, but
+     * optionally with the profiles of only some resources
+     * @param planMetadata the plan metadata
+     * @param resourceNames if present, the only resources whose profiles are fetched
+     * @return optionally: simulation results and its dataset id
+     */
+    Optional<Pair<SimulationResults, DatasetId>> getSimulationResults(
+        PlanMetadata planMetadata,
+        Optional<Set<String>> resourceNames
+    ) throws MerlinServiceException, IOException, InvalidJsonException;
 
 
     /**
@@ -118,6 +145,24 @@ public interface MerlinDatabaseService {
 
     Map<ActivityDirectiveId, GoalId> getActivityIdToGoalIdMap(final PlanId planId)
       throws MerlinServiceException, IOException;
+
+    /**
+     * fetch the goal that created each activity directive, and the external profiles and events of a plan
+     *
+     * implementations may fetch these together, in fewer round trips than fetching each separately
+     *
+     * @param planMetadata the plan metadata
+     * @return the inputs to scheduling the plan
+     */
+    default PlanInputs getPlanInputs(final PlanMetadata planMetadata)
+    throws MerlinServiceException, IOException, InvalidEntityException
+    {
+      final var planId = planMetadata.planId();
+      return new PlanInputs(
+          getActivityIdToGoalIdMap(planId),
+          getExternalProfiles(planId),
+          getExternalEvents(planId, planMetadata.horizon().getStartInstant()));
+    }
   }
 
   interface WriterRole {
@@ -0,0 +1,255 @@
+package gov.nasa.jpl.aerie.scheduler.server.remotes.postgres;
+
+import gov.nasa.jpl.aerie.merlin.driver.engine.ProfileSegment;
+import gov.nasa.jpl.aerie.merlin.driver.resources.ResourceProfile;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.RealDynamics;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import gov.nasa.jpl.aerie.merlin.protocol.types.ValueSchema;
+import gov.nasa.jpl.aerie.scheduler.server.models.DatasetId;
+import gov.nasa.jpl.aerie.scheduler.server.models.ProfileSet;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static gov.nasa.jpl.aerie.scheduler.server.remotes.postgres.PostgresParsers.profileTypeP;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GetProfilesActionTest {
+  private static final String REAL = profileTypeP.unparse(Pair.of("real", ValueSchema.REAL)).toString();
+  private static final String DISCRETE = profileTypeP.unparse(Pair.of("discrete", ValueSchema.STRING)).toString();
+
+  @Test
+  void assemblesProfilesFromRows() throws SQLException {
+    final var rows = List.of(
+        new GetProfilesAction.ProfileRow(1, "/real", REAL, 60, Optional.of(0L), "{\"initial\": 1.0, \"rate\": 0.5}", false),
+        new GetProfilesAction.ProfileRow(1, "/real", REAL, 60, Optional.of(10L), null, true),
+        new GetProfilesAction.ProfileRow(1, "/real", REAL, 60, Optional.of(25L), "{\"initial\": -2.0, \"rate\": 0.0}", false),
+        // A profile without segments, as returned by the left join.
+        new GetProfilesAction.ProfileRow(2, "/empty", DISCRETE, 60, Optional.empty(), null, false),
+        new GetProfilesAction.ProfileRow(3, "/discrete", DISCRETE, 40, Optional.of(0L), "\"a\"", false),
+        new GetProfilesAction.ProfileRow(3, "/discrete", DISCRETE, 40, Optional.of(40L), "\"b\"", false),
+        new GetProfilesAction.ProfileRow(4, "/empty/last", REAL, 60, Optional.empty(), null, false));
+
+    final var expected = new ProfileSet(
+        Map.of(
+            "/real", ResourceProfile.of(ValueSchema.REAL, List.of(
+                segment(10, Optional.of(RealDynamics.linear(1.0, 0.5))),
+                segment(15, Optional.empty()),
+                segment(35, Optional.of(RealDynamics.linear(-2.0, 0.0))))),
+            "/empty/last", ResourceProfile.of(ValueSchema.REAL, List.of())),
+        Map.of(
+            "/empty", ResourceProfile.of(ValueSchema.STRING, List.of()),
+            "/discrete", ResourceProfile.of(ValueSchema.STRING, List.of(
+                segment(40, Optional.of(SerializedValue.of("a"))),
+                segment(0, Optional.of(SerializedValue.of("b")))))));
+
+    final var iterator = rows.iterator();
+    assertEquals(expected, GetProfilesAction.assemble(() -> iterator.hasNext() ? Optional.of(iterator.next()) : Optional.empty()));
+    assertEquals(new ProfileSet(Map.of(), Map.of()), GetProfilesAction.assemble(Optional::empty));
+  }
+
+  @Test
+  void readsNamedProfilesInStreamingTransaction() {
+    final var database = new FakeDatabase(List.of(
+        row(1, "/real", REAL, 60, 0L, "{\"initial\": 1.0, \"rate\": 0.5}"),
+        row(2, "/empty", DISCRETE, 60, null, null)));
+
+    final var profiles = new PostgresProfileRepository(database.dataSource())
+        .getProfiles(new DatasetId(7), Optional.of(Set.of("/real", "/empty", "/absent")));
+
+    assertEquals(Set.of("/real"), profiles.realProfiles().keySet());
+    assertEquals(Set.of("/empty"), profiles.discreteProfiles().keySet());
+
+    // The names are bound as a text array to both of the filter's parameters.
+    assertEquals(7L, database.parameters.get(1));
+    assertEquals(Set.of("/real", "/empty", "/absent"), Set.copyOf(Arrays.asList(database.arrayElements)));
+    assertEquals("text", database.arrayType);
+    assertTrue(database.parameters.get(2) instanceof Array);
+    assertSame(database.parameters.get(2), database.parameters.get(3));
+
+    // Rows are only streamed, a fetch at a time, within a transaction.
+    assertEquals(4096, database.fetchSize);
+    assertEquals(
+        List.of("setAutoCommit(false)", "executeQuery", "free", "commit", "closeStatement", "setAutoCommit(true)", "closeConnection"),
+        database.events);
+  }
+
+  @Test
+  void readsAllProfilesWithoutNames() {
+    final var database = new FakeDatabase(List.of());
+
+    final var profiles = new PostgresProfileRepository(database.dataSource()).getProfiles(new DatasetId(7), Optional.empty());
+
+    assertEquals(new ProfileSet(Map.of(), Map.of()), profiles);
+    assertNull(database.parameters.get(2));
+    assertNull(database.parameters.get(3));
+    assertEquals(
+        List.of("setAutoCommit(false)", "executeQuery", "commit", "closeStatement", "setAutoCommit(true)", "closeConnection"),
+        database.events);
+  }
+
+  @Test
+  void rollsBackOnFailure() {
+    final var database = new FakeDatabase(List.of(row(1, "/real", REAL, 60, 0L, "not json")));
+
+    assertThrows(
+        DatabaseException.class,
+        () -> new PostgresProfileRepository(database.dataSource()).getProfiles(new DatasetId(7), Optional.empty()));
+    assertEquals(
+        List.of("setAutoCommit(false)", "executeQuery", "closeStatement", "rollback", "setAutoCommit(true)", "closeConnection"),
+        database.events);
+  }
+
+  private static <Dynamics> ProfileSegment<Dynamics> segment(final long micros, final Dynamics dynamics) {
+    return new ProfileSegment<>(Duration.of(micros, Duration.MICROSECONDS), dynamics);
+  }
+
+  private static Map<String, Object> row(
+      final long id,
+      final String name,
+      final String type,
+      final long duration,
+      final Long startOffset,
+      final String dynamics)
+  {
+    final var row = new HashMap<String, Object>();
+    row.put("id", id);
+    row.put("name", name);
+    row.put("type", type);
+    row.put("duration_in_micros", duration);
+    row.put("start_offset_in_micros", startOffset);
+    row.put("dynamics", dynamics);
+    row.put("is_gap", false);
+    return row;
+  }
+
+  /** A connection that serves fixed rows to any query, recording what is asked of it. */
+  private static final class FakeDatabase {
+    private final List<Map<String, Object>> rows;
+
+    final List<String> events = new ArrayList<>();
+    final Map<Integer, Object> parameters = new HashMap<>();
+    Object[] arrayElements;
+    String arrayType;
+    int fetchSize;
+
+    FakeDatabase(final List<Map<String, Object>> rows) {
+      this.rows = rows;
+    }
+
+    DataSource dataSource() {
+      return proxy(DataSource.class, (method, args) -> switch (method) {
+        case "getConnection" -> connection();
+        default -> throw new UnsupportedOperationException(method);
+      });
+    }
+
+    private Connection connection() {
+      final var autoCommit = new boolean[] {true};
+      return proxy(Connection.class, (method, args) -> switch (method) {
+        case "getAutoCommit" -> autoCommit[0];
+        case "setAutoCommit" -> {
+          autoCommit[0] = (boolean) args[0];
+          this.events.add("setAutoCommit(" + args[0] + ")");
+          yield null;
+        }
+        case "prepareStatement" -> statement();
+        case "createArrayOf" -> {
+          this.arrayType = (String) args[0];
+          this.arrayElements = (Object[]) args[1];
+          yield proxy(Array.class, (arrayMethod, $) -> {
+            if (!arrayMethod.equals("free")) throw new UnsupportedOperationException(arrayMethod);
+            this.events.add("free");
+            return null;
+          });
+        }
+        case "commit", "rollback" -> {
+          this.events.add(method);
+          yield null;
+        }
+        case "close" -> {
+          this.events.add("closeConnection");
+          yield null;
+        }
+        default -> throw new UnsupportedOperationException(method);
+      });
+    }
+
+    private PreparedStatement statement() {
+      return proxy(PreparedStatement.class, (method, args) -> switch (method) {
+        case "setFetchSize" -> {
+          this.fetchSize = (int) args[0];
+          yield null;
+        }
+        case "setLong", "setArray" -> {
+          this.parameters.put((int) args[0], args[1]);
+          yield null;
+        }
+        case "executeQuery" -> {
+          this.events.add("executeQuery");
+          yield resultSet(this.rows.iterator());
+        }
+        case "close" -> {
+          this.events.add("closeStatement");
+          yield null;
+        }
+        default -> throw new UnsupportedOperationException(method);
+      });
+    }
+
+    private static ResultSet resultSet(final Iterator<Map<String, Object>> rows) {
+      final var current = new Object[] {null, false};
+      return proxy(ResultSet.class, (method, args) -> {
+        @SuppressWarnings("unchecked")
+        final var row = (Map<String, Object>) current[0];
+        return switch (method) {
+          case "next" -> {
+            current[0] = rows.hasNext() ? rows.next() : null;
+            yield current[0] != null;
+          }
+          case "getLong" -> {
+            final var value = row.get((String) args[0]);
+            current[1] = (value == null);
+            yield (value == null) ? 0L : (long) value;
+          }
+          case "getString" -> row.get((String) args[0]);
+          case "getBoolean" -> row.get((String) args[0]);
+          case "wasNull" -> current[1];
+          case "close" -> null;
+          default -> throw new UnsupportedOperationException(method);
+        };
+      });
+    }
+  }
+
+  private interface Handler {
+    Object handle(String method, Object[] args) throws Exception;
+  }
+
+  private static <T> T proxy(final Class<T> type, final Handler handler) {
+    return type.cast(Proxy.newProxyInstance(
+        GetProfilesActionTest.class.getClassLoader(),
+        new Class<?>[] {type},
+        (proxy, method, args) -> handler.handle(method.getName(), args)));
+  }
+}
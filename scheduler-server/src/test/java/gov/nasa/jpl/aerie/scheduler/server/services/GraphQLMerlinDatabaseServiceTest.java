@@ -0,0 +1,87 @@
+package gov.nasa.jpl.aerie.scheduler.server.services;
+
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.scheduler.model.GoalId;
+import gov.nasa.jpl.aerie.scheduler.server.models.DatasetId;
+import gov.nasa.jpl.aerie.scheduler.server.models.PlanId;
+import gov.nasa.jpl.aerie.types.ActivityDirectiveId;
+import org.junit.jupiter.api.Test;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.HOURS;
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.MINUTES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GraphQLMerlinDatabaseServiceTest {
+  @Test
+  void planInputsRequestSelectsEveryInputOfThePlan() {
+    final var request = GraphQLMerlinDatabaseService.planInputsRequest(new PlanId(42));
+
+    assertTrue(request.startsWith("query GetPlanInputs {"));
+    assertTrue(request.contains("activity_directive(where: {plan_id: {_eq: 42}})"));
+    assertTrue(request.contains(
+        "plan_dataset(where: {plan_id: {_eq: 42}, simulation_dataset_id: {_is_null: true}}, order_by: {dataset_id:asc})"));
+    assertTrue(request.contains("plan_derivation_group(where: {plan_id: {_eq: 42}})"));
+  }
+
+  @Test
+  void parsesPlanInputs() {
+    final var data = json("""
+        {
+          "activity_directive": [
+            {"id": 1, "source_scheduling_goal_id": null, "source_scheduling_goal_invocation_id": null},
+            {"id": 2, "source_scheduling_goal_id": 7, "source_scheduling_goal_invocation_id": null},
+            {"id": 3, "source_scheduling_goal_id": 8, "source_scheduling_goal_invocation_id": 11}
+          ],
+          "plan_dataset": [
+            {"dataset_id": 5, "offset_from_plan_start": "00:00:00"},
+            {"dataset_id": 6, "offset_from_plan_start": "01:30:00"}
+          ],
+          "plan_derivation_group": [
+            {"derivation_group_name": "first"},
+            {"derivation_group_name": "second"}
+          ]
+        }""");
+
+    final var inputs = GraphQLMerlinDatabaseService.parsePlanInputs(data);
+
+    assertEquals(
+        Map.of(
+            new ActivityDirectiveId(2), new GoalId(7, -1, Optional.empty()),
+            new ActivityDirectiveId(3), new GoalId(8, -1, Optional.of(11L))),
+        inputs.activityIdToGoalId());
+    assertEquals(
+        List.of(
+            new GraphQLMerlinDatabaseService.DatasetMetadata(new DatasetId(5), Duration.ZERO),
+            new GraphQLMerlinDatabaseService.DatasetMetadata(
+                new DatasetId(6),
+                Duration.of(1, HOURS).plus(Duration.of(30, MINUTES)))),
+        inputs.externalDatasets());
+    assertEquals(List.of("first", "second"), inputs.derivationGroups());
+  }
+
+  @Test
+  void parsesPlanWithoutInputs() {
+    final var data = json("""
+        {"activity_directive": [], "plan_dataset": [], "plan_derivation_group": []}""");
+
+    final var inputs = GraphQLMerlinDatabaseService.parsePlanInputs(data);
+
+    assertEquals(Map.of(), inputs.activityIdToGoalId());
+    assertEquals(List.of(), inputs.externalDatasets());
+    assertEquals(List.of(), inputs.derivationGroups());
+  }
+
+  private static JsonObject json(final String text) {
+    try (final var reader = Json.createReader(new StringReader(text))) {
+      return reader.readObject();
+    }
+  }
+}
@@ -14,6 +14,7 @@ import gov.nasa.jpl.aerie.scheduler.server.config.PlanOutputMode;
 import gov.nasa.jpl.aerie.scheduler.server.config.PostgresStore;
 import gov.nasa.jpl.aerie.scheduler.server.config.Store;
 import gov.nasa.jpl.aerie.scheduler.server.models.SpecificationId;
+import gov.nasa.jpl.aerie.scheduler.server.remotes.postgres.PostgresProfileRepository;
 import gov.nasa.jpl.aerie.scheduler.server.remotes.postgres.PostgresResultsCellRepository;
 import gov.nasa.jpl.aerie.scheduler.server.remotes.postgres.PostgresSpecificationRepository;
 import gov.nasa.jpl.aerie.scheduler.server.remotes.postgres.SpecificationRevisionData;
@@ -34,8 +35,6 @@ public final class SchedulerWorkerAppDriver {
   public static void main(String[] args) throws Exception {
     final var config = loadConfiguration();
 
-    final var merlinDatabaseService = new GraphQLMerlinDatabaseService(config.merlinGraphqlURI(), config.hasuraGraphQlAdminSecret());
-
     final SchedulingDSLCompilationService schedulingDSLCompilationService;
     try {
       schedulingDSLCompilationService = new SchedulingDSLCompilationService();
@@ -57,12 +56,18 @@ public final class SchedulerWorkerAppDriver {
     hikariConfig.addDataSourceProperty("applicationName", "Scheduler Worker");
     hikariConfig.setUsername(postgresStore.user());
     hikariConfig.setPassword(postgresStore.password());
-    hikariConfig.setMaximumPoolSize(2);
+    // One connection is held by the listener, leaving the others for requests and for streaming simulated profiles.
+    hikariConfig.setMaximumPoolSize(3);
 
     hikariConfig.setConnectionInitSql("set time zone 'UTC'");
 
     final var hikariDataSource = new HikariDataSource(hikariConfig);
 
+    final var merlinDatabaseService = new GraphQLMerlinDatabaseService(
+        config.merlinGraphqlURI(),
+        config.hasuraGraphQlAdminSecret(),
+        Optional.of(new PostgresProfileRepository(hikariDataSource)));
+
     final var stores = new Stores(
       new PostgresSpecificationRepository(hikariDataSource),
       new PostgresResultsCellRepository(hikariDataSource));
@@ -9,19 +9,19 @@ import java.net.URL;
 import java.net.URLClassLoader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
-import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Supplier;
 import java.util.jar.JarFile;
 import java.util.stream.Collectors;
 
-import gov.nasa.ammos.aerie.procedural.timeline.payloads.ExternalEvent;
 import gov.nasa.jpl.aerie.merlin.driver.MissionModel;
 import gov.nasa.jpl.aerie.merlin.driver.MissionModelLoader;
 import gov.nasa.jpl.aerie.merlin.driver.SimulationEngineConfiguration;
@@ -33,6 +33,7 @@ import gov.nasa.jpl.aerie.merlin.protocol.types.DurationType;
 import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
 import gov.nasa.jpl.aerie.scheduler.SchedulingInterruptedException;
 import gov.nasa.jpl.aerie.scheduler.goals.Goal;
+import gov.nasa.jpl.aerie.scheduler.goals.Procedure;
 import gov.nasa.jpl.aerie.scheduler.model.ActivityType;
 import gov.nasa.jpl.aerie.scheduler.model.Plan;
 import gov.nasa.jpl.aerie.scheduler.model.PlanInMemory;
@@ -46,11 +47,9 @@ import gov.nasa.jpl.aerie.scheduler.server.exceptions.NoSuchPlanException;
 import gov.nasa.jpl.aerie.scheduler.server.exceptions.NoSuchSpecificationException;
 import gov.nasa.jpl.aerie.scheduler.server.exceptions.ResultsProtocolFailure;
 import gov.nasa.jpl.aerie.scheduler.server.exceptions.SpecificationLoadException;
-import gov.nasa.jpl.aerie.scheduler.server.http.InvalidEntityException;
 import gov.nasa.jpl.aerie.scheduler.server.http.InvalidJsonException;
 import gov.nasa.jpl.aerie.scheduler.server.http.ResponseSerializers;
 import gov.nasa.jpl.aerie.scheduler.server.models.DatasetId;
-import gov.nasa.jpl.aerie.scheduler.server.models.ExternalProfiles;
 import gov.nasa.jpl.aerie.scheduler.model.GoalId;
 import gov.nasa.jpl.aerie.scheduler.server.models.GoalInvocationRecord;
 import gov.nasa.jpl.aerie.scheduler.server.models.GoalSource;
@@ -144,21 +143,17 @@ public record SynchronousSchedulerAgent(
               new MissionModelId(planMetadata.modelId())),
           canceledListener
       );
-      final var oldActivityIdToGoalId = merlinDatabaseService.getActivityIdToGoalIdMap(specification.planId());
+      //fetch the rest of the plan's inputs together, rather than in one round trip each
+      final var planInputs = merlinDatabaseService.getPlanInputs(planMetadata);
       final var problem = new Problem(
           schedulerMissionModel.missionModel(),
           planningHorizon,
           simulationFacade,
           schedulerMissionModel.schedulerModel(),
-          oldActivityIdToGoalId
+          planInputs.activityIdToGoalId()
       );
-      final var externalProfiles = loadExternalProfiles(planMetadata.planId());
-      final var externalEventsByDerivationGroup = loadExternalEvents(planMetadata.planId(), planMetadata.horizon().getStartInstant());
-      final var initialSimulationResultsAndDatasetId = loadSimulationResults(planMetadata);
-      //seed the problem with the initial plan contents
-      final var loadedPlanComponents = loadInitialPlan(planMetadata, problem,
-                                                       initialSimulationResultsAndDatasetId.map(Pair::getKey));
-      problem.setInitialPlan(loadedPlanComponents.schedulerPlan(), initialSimulationResultsAndDatasetId.map(Pair::getKey));
+      final var externalProfiles = planInputs.externalProfiles();
+      final var externalEventsByDerivationGroup = planInputs.externalEvents();
       problem.setExternalProfile(externalProfiles.realProfiles(), externalProfiles.discreteProfiles());
       problem.setEventsByDerivationGroup(externalEventsByDerivationGroup);
       //apply constraints/goals to the problem
@@ -243,6 +238,15 @@ public record SynchronousSchedulerAgent(
         }
         problem.setGoals(orderedGoals);
 
+      //only the profiles that the goals and conditions read are needed from the initial simulation results
+      final var initialSimulationResultsAndDatasetId = loadSimulationResults(
+          planMetadata,
+          referencedResources(orderedGoals, compiledGlobalSchedulingConditions));
+      //seed the problem with the initial plan contents
+      final var loadedPlanComponents = loadInitialPlan(planMetadata, problem,
+                                                       initialSimulationResultsAndDatasetId.map(Pair::getKey));
+      problem.setInitialPlan(loadedPlanComponents.schedulerPlan(), initialSimulationResultsAndDatasetId.map(Pair::getKey));
+
       final var scheduler = new PrioritySolver(problem, specification.analysisOnly());
       //run the scheduler to find a solution to the posed problem, if any
       final var solutionPlan = scheduler.getNextSolution().orElseThrow(
@@ -333,24 +337,35 @@ public record SynchronousSchedulerAgent(
     }
   }
 
-  private Optional<Pair<SimulationResults, DatasetId>> loadSimulationResults(final PlanMetadata planMetadata){
+  private Optional<Pair<SimulationResults, DatasetId>> loadSimulationResults(
+      final PlanMetadata planMetadata,
+      final Optional<Set<String>> resourceNames
+  ) {
     try {
-      return merlinDatabaseService.getSimulationResults(planMetadata);
+      return merlinDatabaseService.getSimulationResults(planMetadata, resourceNames);
     } catch (MerlinServiceException | IOException | InvalidJsonException e) {
       throw new ResultsProtocolFailure(e);
     }
   }
 
-  private ExternalProfiles loadExternalProfiles(final PlanId planId)
-  throws MerlinServiceException, IOException
-  {
-    return merlinDatabaseService.getExternalProfiles(planId);
-  }
-
-  private Map<String, List<ExternalEvent>> loadExternalEvents(final PlanId planId, final Instant horizonStart)
-  throws MerlinServiceException, IOException, InvalidJsonException, InvalidEntityException
-  {
-    return merlinDatabaseService.getExternalEvents(planId, horizonStart);
+  /**
+   * collects the names of the resources read by the given goals and conditions
+   *
+   * @return the resource names, or empty if some goal is a procedure, whose reads cannot be known in advance
+   */
+  private static Optional<Set<String>> referencedResources(
+      final List<Goal> goals,
+      final List<SchedulingCondition> conditions
+  ) {
+    final var names = new HashSet<String>();
+    for (final var goal : goals) {
+      if (goal instanceof Procedure) return Optional.empty();
+      goal.extractResources(names);
+    }
+    for (final var condition : conditions) {
+      condition.extractResources(names);
+    }
+    return Optional.of(names);
   }
 
   private Optional<DatasetId> storeSimulationResults(
@@ -34,6 +34,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 class MockMerlinDatabaseService implements MerlinDatabaseService.OwnerRole {
 
@@ -146,7 +147,9 @@ class MockMerlinDatabaseService implements MerlinDatabaseService.OwnerRole {
   }
 
   @Override
-  public Optional<Pair<SimulationResults, DatasetId>> getSimulationResults(final PlanMetadata planMetadata)
+  public Optional<Pair<SimulationResults, DatasetId>> getSimulationResults(
+      final PlanMetadata planMetadata,
+      final Optional<Set<String>> resourceNames)
   {
     return Optional.empty();
   }
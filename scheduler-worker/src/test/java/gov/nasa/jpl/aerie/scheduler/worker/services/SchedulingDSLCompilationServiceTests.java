@@ -57,6 +57,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.HOUR;
 import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.MINUTE;
@@ -104,7 +105,10 @@ class SchedulingDSLCompilationServiceTests {
     }
 
     @Override
-    public Optional<Pair<SimulationResults, DatasetId>> getSimulationResults(final PlanMetadata planMetadata) {
+    public Optional<Pair<SimulationResults, DatasetId>> getSimulationResults(
+        final PlanMetadata planMetadata,
+        final Optional<Set<String>> resourceNames)
+    {
       return Optional.empty();
     }
 
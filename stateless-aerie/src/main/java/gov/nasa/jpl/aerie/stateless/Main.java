@@ -1,5 +1,6 @@
 package gov.nasa.jpl.aerie.stateless;
 
+import gov.nasa.jpl.aerie.orchestration.simulation.BinaryResourceFileStreamer;
 import gov.nasa.jpl.aerie.orchestration.simulation.CanceledListener;
 import gov.nasa.jpl.aerie.orchestration.PlanJsonParser;
 import gov.nasa.jpl.aerie.orchestration.simulation.ResourceFileStreamer;
@@ -8,11 +9,20 @@ import gov.nasa.jpl.aerie.orchestration.simulation.SimulationResultsWriter;
 import gov.nasa.jpl.aerie.merlin.driver.MissionModel;
 import gov.nasa.jpl.aerie.merlin.driver.MissionModelLoader;
 import gov.nasa.jpl.aerie.merlin.driver.SimulationException;
+import gov.nasa.jpl.aerie.merlin.driver.SimulationResults;
+import gov.nasa.jpl.aerie.merlin.protocol.model.ModelType;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import gov.nasa.jpl.aerie.orchestration.simulation.SimulationUtility;
 import gov.nasa.jpl.aerie.types.Plan;
@@ -33,10 +43,23 @@ public class Main {
         Plan plan,
         boolean verbose,
         Optional<Path> outputFilePath,
+        Optional<Path> binaryProfilesPath,
         long extentUpdatePeriod
     ) implements Arguments {}
+
+    record BatchArguments(
+        ModelType<?, ?> modelType,
+        List<Path> planPaths,
+        Optional<Path> configJsonPath,
+        Path outputDirectory,
+        int parallelism,
+        boolean verbose
+    ) implements Arguments {}
   }
 
+  /** The outcome of simulating one plan of a batch. */
+  private record BatchOutcome(Path planPath, boolean succeeded, String detail, long elapsedMillis) {}
+
   public static void main(String[] args) {
     if(args.length == 0) {
       displayTopLevelHelp();
@@ -50,6 +73,10 @@ public class Main {
         simulate(parseSimulationArgs(args));
         break;
       }
+      case "batch": {
+        batchSimulate(parseBatchArgs(args));
+        break;
+      }
       case "-h":
       case "--help":
       default:
@@ -64,6 +91,7 @@ public class Main {
     final Optional<Path> configJsonPath;
     final boolean verbose;
     final Optional<Path> outputFilePath;
+    final Optional<Path> binaryProfilesPath;
     final long extentUpdatePeriod;
 
     // Parse the command line arguments
@@ -80,6 +108,7 @@ public class Main {
       // Parser sets unused fields to 'null'
       configJsonPath = cmd.getParsedOptionValue('s', Optional.empty());
       outputFilePath = cmd.getParsedOptionValue('f', Optional.empty());
+      binaryProfilesPath = cmd.getParsedOptionValue('b', Optional.empty());
       extentUpdatePeriod = cmd.getParsedOptionValue('i', 500L);
     } catch (ParseException e) {
       simulationOptions.addOption(HELP_OPTION);
@@ -112,24 +141,221 @@ public class Main {
           plan.simulationConfiguration()
       );
 
-      return new Arguments.SimulationArguments<>(model, plan, verbose, outputFilePath, extentUpdatePeriod);
+      return new Arguments.SimulationArguments<>(
+          model,
+          plan,
+          verbose,
+          outputFilePath,
+          binaryProfilesPath,
+          extentUpdatePeriod);
     } catch (MissionModelLoader.MissionModelLoadException | MissionModelLoader.MissionModelInstantiationException e) {
       throw new RuntimeException("Error while loading mission model: "+modelJarPath, e);
     }
   }
 
+  private static Arguments.BatchArguments parseBatchArgs(String[] args) {
+    final Path modelJarPath;
+    final Path plansPath;
+    final Optional<Path> configJsonPath;
+    final Path outputDirectory;
+    final int parallelism;
+    final boolean verbose;
+
+    // Parse the command line arguments
+    final Options batchOptions = createBatchOptions();
+    try {
+      checkForHelp(args, batchOptions, "batch", "Simulate many plans concurrently using the specified model");
+
+      final CommandLineParser parser = new DefaultParser();
+      final CommandLine cmd = parser.parse(batchOptions, args);
+
+      modelJarPath = cmd.getParsedOptionValue('m');
+      plansPath = cmd.getParsedOptionValue('p');
+      verbose = cmd.hasOption("verbose");
+      // Parser sets unused fields to 'null'
+      configJsonPath = cmd.getParsedOptionValue('s', Optional.empty());
+      outputDirectory = cmd.getParsedOptionValue('o', Path.of("."));
+      parallelism = cmd.getParsedOptionValue('t', Runtime.getRuntime().availableProcessors());
+      if (parallelism < 1) throw new ParseException("The number of threads must be at least 1: " + parallelism);
+    } catch (ParseException e) {
+      batchOptions.addOption(HELP_OPTION);
+      new HelpFormatter().printHelp(
+          "stateless-aerie batch",
+          "Simulate many plans concurrently using the specified model",
+          batchOptions,
+          FOOTER,
+          true);
+      System.exit(2);
+      // See parseSimulationArgs
+      throw new RuntimeException(e);
+    }
+
+    final var planPaths = listBatchPlans(plansPath);
+
+    // Load the mission model's jar once; each plan instantiates its own model from it
+    try {
+      if (verbose) { System.out.println("Loading mission model "+modelJarPath+"..."); }
+      final var modelType = SimulationUtility.loadMissionModelType(modelJarPath);
+      return new Arguments.BatchArguments(modelType, planPaths, configJsonPath, outputDirectory, parallelism, verbose);
+    } catch (MissionModelLoader.MissionModelLoadException e) {
+      throw new RuntimeException("Error while loading mission model: "+modelJarPath, e);
+    }
+  }
+
+  /**
+   * List the plans of a batch.
+   * @param plansPath either a directory, in which case every JSON file within it is a plan,
+   *                  or a manifest listing the path of one plan per line.
+   *                  Relative paths in a manifest are resolved against the manifest's directory,
+   *                  and blank lines and lines starting with '#' are ignored.
+   */
+  private static List<Path> listBatchPlans(Path plansPath) {
+    final List<Path> planPaths;
+    try {
+      if (Files.isDirectory(plansPath)) {
+        try (final var files = Files.list(plansPath)) {
+          planPaths = files.filter(f -> f.getFileName().toString().endsWith(".json")).sorted().toList();
+        }
+      } else if (Files.exists(plansPath)) {
+        final var manifestDirectory = plansPath.toAbsolutePath().getParent();
+        planPaths = Files.readAllLines(plansPath).stream()
+                         .map(String::strip)
+                         .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                         .map(manifestDirectory::resolve)
+                         .toList();
+      } else {
+        throw new RuntimeException("Specified plan directory or manifest does not exist: "+plansPath);
+      }
+    } catch (IOException e) {
+      throw new RuntimeException("Error while reading plan directory or manifest: "+plansPath, e);
+    }
+
+    // Results are named after their plan, so plans must have distinct file names
+    final var fileNames = new HashSet<String>();
+    for (final var planPath : planPaths) {
+      if (!fileNames.add(batchResultsName(planPath))) {
+        throw new RuntimeException("Plans in a batch must have distinct file names: "+planPath);
+      }
+    }
+    return planPaths;
+  }
+
+  private static String batchResultsName(Path planPath) {
+    final var fileName = planPath.getFileName().toString();
+    return fileName.endsWith(".json") ? fileName.substring(0, fileName.length() - ".json".length()) : fileName;
+  }
+
+  /**
+   * Simulate every plan of a batch, at most {@code parallelism} at a time,
+   * then report how long each plan took and the throughput of the batch.
+   * Exits with status code 1 if any plan could not be simulated.
+   */
+  private static void batchSimulate(Arguments.BatchArguments batchArgs) {
+    try {
+      Files.createDirectories(batchArgs.outputDirectory());
+    } catch (IOException e) {
+      throw new RuntimeException("Error while creating output directory: "+batchArgs.outputDirectory(), e);
+    }
+
+    if (batchArgs.verbose()) {
+      System.out.println("Simulating "+batchArgs.planPaths().size()+" plans, up to "+batchArgs.parallelism()+" at a time...");
+    }
+
+    final var startTime = System.nanoTime();
+    final var outcomes = new ArrayList<BatchOutcome>(batchArgs.planPaths().size());
+    try (final var exec = Executors.newFixedThreadPool(batchArgs.parallelism())) {
+      final var futures = new ArrayList<Future<BatchOutcome>>(batchArgs.planPaths().size());
+      for (final var planPath : batchArgs.planPaths()) {
+        futures.add(exec.submit(() -> simulateBatchPlan(batchArgs, planPath)));
+      }
+
+      for (final var future : futures) {
+        final var outcome = future.get();
+        outcomes.add(outcome);
+        System.out.printf(
+            "%s: %s in %d ms (%s)%n",
+            outcome.planPath(),
+            outcome.succeeded() ? "simulated" : "failed",
+            outcome.elapsedMillis(),
+            outcome.detail());
+      }
+    } catch (InterruptedException | ExecutionException e) {
+      throw new RuntimeException(e);
+    }
+    final var elapsedSeconds = (System.nanoTime() - startTime) / 1e9;
+
+    final var succeeded = outcomes.stream().filter(BatchOutcome::succeeded).count();
+    System.out.printf(
+        "Simulated %d of %d plans in %.3f s (%.3f plans/s)%n",
+        succeeded,
+        outcomes.size(),
+        elapsedSeconds,
+        (elapsedSeconds > 0) ? outcomes.size() / elapsedSeconds : 0.0);
+
+    if (succeeded < outcomes.size()) System.exit(1);
+  }
+
+  /**
+   * Simulate one plan of a batch, writing its results (or its formatted simulation exception)
+   * to the output directory. Failures are reported in the outcome rather than thrown,
+   * so that one bad plan does not stop the rest of the batch.
+   */
+  private static BatchOutcome simulateBatchPlan(Arguments.BatchArguments batchArgs, Path planPath) {
+    final var startTime = System.nanoTime();
+    final var resultsName = batchResultsName(planPath);
+    try {
+      final var plan = PlanJsonParser.parsePlan(planPath);
+      batchArgs.configJsonPath().ifPresent(path -> PlanJsonParser.parseSimulationConfiguration(path, plan));
+
+      final var model = SimulationUtility.instantiateMissionModel(
+          batchArgs.modelType(),
+          plan.simulationStartTimestamp.toInstant(),
+          plan.simulationConfiguration());
+
+      final var rfs = new ResourceFileStreamer();
+      try (final var simUtil = new SimulationUtility(rfs)) {
+        final var results = simUtil.simulate(model, plan).get();
+        final var outputFilePath = batchArgs.outputDirectory().resolve(resultsName + "_results.json");
+        new SimulationResultsWriter(results, plan, rfs).writeResults(new CanceledListener(), outputFilePath);
+        return new BatchOutcome(planPath, true, outputFilePath.toString(), elapsedMillis(startTime));
+      }
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof SimulationException se) {
+        // Write the formatted sim exception alongside the results of the other plans
+        final var errorFilePath = batchArgs.outputDirectory().resolve(resultsName + "_error.json");
+        final Map<String,String> config = Map.of(JsonGenerator.PRETTY_PRINTING, "");
+        try (final var jsonWriter = Json.createWriterFactory(config).createWriter(Files.newBufferedWriter(errorFilePath))) {
+          jsonWriter.writeObject(SimulationUtility.formatSimulationException(se));
+        } catch (IOException ioe) {
+          return new BatchOutcome(planPath, false, ioe.toString(), elapsedMillis(startTime));
+        }
+        return new BatchOutcome(planPath, false, errorFilePath.toString(), elapsedMillis(startTime));
+      }
+      return new BatchOutcome(planPath, false, String.valueOf(e.getCause()), elapsedMillis(startTime));
+    } catch (InterruptedException e) {
+      throw new RuntimeException(e);
+    } catch (RuntimeException e) {
+      return new BatchOutcome(planPath, false, e.getMessage(), elapsedMillis(startTime));
+    }
+  }
+
+  private static long elapsedMillis(long startNanos) {
+    return (System.nanoTime() - startNanos) / 1_000_000;
+  }
+
   private static void simulate(Arguments.SimulationArguments<?> simArgs) {
     if (simArgs.verbose()) { System.out.println("Simulating Plan..."); }
 
     Thread shutdownHook = null;
     final var rfs = new ResourceFileStreamer();
+    final var bfs = simArgs.binaryProfilesPath().isPresent() ? new BinaryResourceFileStreamer() : null;
     final var canceledListener = new CanceledListener();
 
     // Cancel support
     try (final var extentConsumer = simArgs.verbose
             ? new SimulationExtentConsumer(simArgs.extentUpdatePeriod)
             : new SimulationExtentConsumer();
-         final var simUtil = new SimulationUtility(rfs)
+         final var simUtil = (bfs != null) ? new SimulationUtility(bfs) : new SimulationUtility(rfs)
     ) {
       final var resultsFuture = simUtil.simulate(
           simArgs.missionModel(),
@@ -144,7 +370,7 @@ public class Main {
           final var results = resultsFuture.get();
 
           if (simArgs.verbose()) { System.out.println("Writing Results..."); }
-          final var resultsWriter = new SimulationResultsWriter(results, simArgs.plan, rfs);
+          final var resultsWriter = makeResultsWriter(results, simArgs, rfs, bfs);
 
           simArgs.outputFilePath().ifPresentOrElse(
               p -> resultsWriter.writeResults(canceledListener, p),
@@ -164,13 +390,15 @@ public class Main {
         Runtime.getRuntime().removeShutdownHook(shutdownHook);
 
         if (simArgs.verbose()) { System.out.println("Writing Results..."); }
-        final var resultsWriter = new SimulationResultsWriter(results, simArgs.plan, rfs);
+        final var resultsWriter = makeResultsWriter(results, simArgs, rfs, bfs);
         simArgs.outputFilePath().ifPresentOrElse(
             p -> resultsWriter.writeResults(canceledListener, p),
             () -> resultsWriter.writeResults(canceledListener)
         );
       }
     } catch (ExecutionException e) {
+      // No results will be written, so the spooled profiles are of no use.
+      if (bfs != null) bfs.delete();
       if (e.getCause() instanceof SimulationException se) {
         // Write Formatted Sim Exception to std.err
         final Map<String,String> config = Map.of(JsonGenerator.PRETTY_PRINTING, "");
@@ -181,6 +409,7 @@ public class Main {
       }
       throw new RuntimeException(e);
     } catch (InterruptedException e) {
+      if (bfs != null) bfs.delete();
       throw new RuntimeException(e);
     } catch (IllegalStateException ise) {
       // If this is the message, it must've come from Runtime.getRuntime().removeShutdownHook and can be safely ignored
@@ -192,6 +421,22 @@ public class Main {
     }
   }
 
+  /**
+   * Create a writer for the results of a simulation, with its resource profiles taken from
+   * the BinaryResourceFileStreamer if one was used, or else from the ResourceFileStreamer.
+   */
+  private static SimulationResultsWriter makeResultsWriter(
+      SimulationResults results,
+      Arguments.SimulationArguments<?> simArgs,
+      ResourceFileStreamer rfs,
+      BinaryResourceFileStreamer bfs
+  ) {
+    if (bfs != null) {
+      return new SimulationResultsWriter(results, simArgs.plan(), bfs, simArgs.binaryProfilesPath().orElseThrow());
+    }
+    return new SimulationResultsWriter(results, simArgs.plan(), rfs);
+  }
+
   /**
    * Display top-level help for the application
    */
@@ -202,6 +447,7 @@ public class Main {
 
     Available commands:
      - simulate: Simulate a plan using the specified model and configuration
+     - batch: Simulate many plans concurrently using the specified model
     %s
     %n""", FOOTER);
   }
@@ -228,6 +474,10 @@ public class Main {
     outputFile.setRequired(false);
     outputFile.setConverter(f -> Optional.of(Path.of(f)));
 
+    final Option binaryProfiles = new Option("b", "binary_profiles", true, "binary file to write resource profiles to");
+    binaryProfiles.setRequired(false);
+    binaryProfiles.setConverter(b -> Optional.of(Path.of(b)));
+
     // Other Optional Args
     final Option verbose = new Option("v", "verbose", false, "verbosity of simulation");
 
@@ -241,10 +491,50 @@ public class Main {
     simulationOptions.addOption(planPath);
     simulationOptions.addOption(simConfigPath);
     simulationOptions.addOption(outputFile);
+    simulationOptions.addOption(binaryProfiles);
     simulationOptions.addOption(extentUpdateFrequency);
     return simulationOptions;
   }
 
+  /**
+   * Build the parser options for the "batch" command.
+   */
+  private static Options createBatchOptions() {
+    // Required Args
+    final Option modelPath = new Option("m", "model", true, "path to model jar");
+    modelPath.setRequired(true);
+    modelPath.setConverter(Path::of);
+
+    final Option plansPath = new Option("p", "plans", true, "directory or manifest file of plan jsons");
+    plansPath.setRequired(true);
+    plansPath.setConverter(Path::of);
+
+    // Optional Path Args
+    final Option simConfigPath = new Option("s", "sim_config", true, "path to simulation configuration json");
+    simConfigPath.setRequired(false);
+    simConfigPath.setConverter(s -> Optional.of(Path.of(s)));
+
+    final Option outputDirectory = new Option("o", "output_dir", true, "directory to write results to");
+    outputDirectory.setRequired(false);
+    outputDirectory.setConverter(Path::of);
+
+    // Other Optional Args
+    final Option verbose = new Option("v", "verbose", false, "verbosity of simulation");
+
+    final Option threads = new Option("t", "threads", true, "maximum number of plans to simulate at once");
+    threads.setRequired(false);
+    threads.setConverter(Integer::parseInt);
+
+    final Options batchOptions = new Options();
+    batchOptions.addOption(verbose);
+    batchOptions.addOption(modelPath);
+    batchOptions.addOption(plansPath);
+    batchOptions.addOption(simConfigPath);
+    batchOptions.addOption(outputDirectory);
+    batchOptions.addOption(threads);
+    return batchOptions;
+  }
+
   /**
    * Check if the "help" option was passed for a given command
    *   and, if so, print the command's help message and exit the program with status code 0.
@@ -0,0 +1,286 @@
+package gov.nasa.jpl.aerie.stateless;
+
+import gov.nasa.jpl.aerie.merlin.driver.engine.ProfileSegment;
+import gov.nasa.jpl.aerie.merlin.driver.resources.ResourceProfile;
+import gov.nasa.jpl.aerie.merlin.driver.resources.ResourceProfiles;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.RealDynamics;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import gov.nasa.jpl.aerie.merlin.protocol.types.ValueSchema;
+import gov.nasa.jpl.aerie.orchestration.simulation.BinaryProfileReader;
+import gov.nasa.jpl.aerie.orchestration.simulation.BinaryProfileWriter;
+import gov.nasa.jpl.aerie.orchestration.simulation.BinaryResourceFileStreamer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+import java.io.ByteArrayOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static gov.nasa.jpl.aerie.merlin.driver.json.SerializedValueJsonParser.serializedValueP;
+import static gov.nasa.jpl.aerie.merlin.driver.json.ValueSchemaJsonParser.valueSchemaP;
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.MINUTES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BinaryProfilesTest {
+  @TempDir
+  Path directory;
+
+  private static final Map<String, ResourceProfile<RealDynamics>> realProfiles = Map.of(
+      "/real", ResourceProfile.of(ValueSchema.REAL, List.of(
+          segment(10, RealDynamics.linear(0.0, 1.5)),
+          // A zero-width segment, as left by an instantaneous change.
+          segment(0, RealDynamics.linear(15.0, 0.0)),
+          segment(5, RealDynamics.linear(-2.25, Double.MIN_VALUE)))),
+      "/real/empty", ResourceProfile.of(ValueSchema.REAL, List.of()));
+
+  private static final Map<String, ResourceProfile<SerializedValue>> discreteProfiles = Map.of(
+      "/discrete", ResourceProfile.of(
+          ValueSchema.ofStruct(Map.of("count", ValueSchema.INT, "label", ValueSchema.STRING)),
+          List.of(
+              segment(3, SerializedValue.of(Map.of("count", SerializedValue.of(1), "label", SerializedValue.of("a")))),
+              // A gap in the resource's value, between two known values.
+              segment(4, SerializedValue.NULL),
+              segment(0, SerializedValue.of(Map.of("count", SerializedValue.of(2), "label", SerializedValue.of("")))),
+              segment(8, SerializedValue.of(Map.of("count", SerializedValue.of(-3), "label", SerializedValue.of("é")))))),
+      "/discrete/mixed", ResourceProfile.of(
+          ValueSchema.ofSeries(ValueSchema.BOOLEAN),
+          List.of(
+              segment(1, SerializedValue.of(List.of(SerializedValue.of(true), SerializedValue.of(false)))),
+              segment(2, SerializedValue.of(List.of())),
+              segment(3, SerializedValue.of(12.5)))),
+      "/discrete/empty", ResourceProfile.of(ValueSchema.STRING, List.of()));
+
+  @Test
+  void roundTripInMemoryProfiles() throws IOException {
+    final var file = this.directory.resolve("profiles.bin");
+    BinaryProfileWriter.write(file, realProfiles, discreteProfiles);
+
+    assertProfiles(file, realProfiles, discreteProfiles);
+  }
+
+  @Test
+  void roundTripStreamedProfiles() throws IOException {
+    // Stream each profile over several batches, as a StreamingSimulationResourceManager would,
+    // with some resources absent from some batches.
+    final var streamer = new BinaryResourceFileStreamer();
+    try {
+      for (var batch = 0; batch < 3; batch++) {
+        final var realBatch = new HashMap<String, ResourceProfile<RealDynamics>>();
+        final var discreteBatch = new HashMap<String, ResourceProfile<SerializedValue>>();
+        for (final var entry : realProfiles.entrySet()) {
+          realBatch.put(entry.getKey(), batch(entry.getValue(), batch));
+        }
+        for (final var entry : discreteProfiles.entrySet()) {
+          if (entry.getValue().segments().isEmpty() && batch > 0) continue;
+          discreteBatch.put(entry.getKey(), batch(entry.getValue(), batch));
+        }
+        streamer.accept(new ResourceProfiles(realBatch, discreteBatch));
+      }
+
+      final var file = this.directory.resolve("profiles.bin");
+      BinaryProfileWriter.write(file, streamer);
+
+      assertProfiles(file, realProfiles, discreteProfiles);
+      assertThrows(IllegalStateException.class, () -> streamer.accept(new ResourceProfiles(Map.of(), Map.of())));
+    } finally {
+      streamer.delete();
+    }
+  }
+
+  @Test
+  void streamMoreResourcesThanOpenFiles() throws IOException {
+    // More resources than a process may usually hold files open, each streamed over two batches.
+    final var resourceCount = 3_000;
+    final var manyRealProfiles = new HashMap<String, ResourceProfile<RealDynamics>>();
+    final var manyDiscreteProfiles = new HashMap<String, ResourceProfile<SerializedValue>>();
+    for (var i = 0; i < resourceCount; i++) {
+      manyRealProfiles.put("/real/" + i, ResourceProfile.of(ValueSchema.REAL, List.of(
+          segment(i, RealDynamics.linear(i, 1.0)),
+          segment(1, RealDynamics.linear(-i, 0.0)))));
+      manyDiscreteProfiles.put("/discrete/" + i, ResourceProfile.of(ValueSchema.INT, List.of(
+          segment(i, SerializedValue.of(i)),
+          segment(2, SerializedValue.of(-i)))));
+    }
+
+    final var streamer = new BinaryResourceFileStreamer();
+    try {
+      for (var batch = 0; batch < 2; batch++) {
+        final var realBatch = new HashMap<String, ResourceProfile<RealDynamics>>();
+        final var discreteBatch = new HashMap<String, ResourceProfile<SerializedValue>>();
+        for (final var entry : manyRealProfiles.entrySet()) {
+          final var profile = entry.getValue();
+          realBatch.put(entry.getKey(), ResourceProfile.of(profile.schema(), profile.segments().subList(batch, batch + 1)));
+        }
+        for (final var entry : manyDiscreteProfiles.entrySet()) {
+          final var profile = entry.getValue();
+          discreteBatch.put(entry.getKey(), ResourceProfile.of(profile.schema(), profile.segments().subList(batch, batch + 1)));
+        }
+        streamer.accept(new ResourceProfiles(realBatch, discreteBatch));
+      }
+
+      final var file = this.directory.resolve("profiles.bin");
+      BinaryProfileWriter.write(file, streamer);
+
+      assertProfiles(file, manyRealProfiles, manyDiscreteProfiles);
+    } finally {
+      streamer.delete();
+    }
+  }
+
+  @Test
+  void readSingleResource() throws IOException {
+    // Many resources, of which only one is read back through the index.
+    final var manyRealProfiles = new HashMap<String, ResourceProfile<RealDynamics>>();
+    for (var i = 0; i < 100; i++) {
+      final var segments = new ArrayList<ProfileSegment<RealDynamics>>();
+      for (var j = 0; j <= i; j++) segments.add(segment(j, RealDynamics.linear(i, j)));
+      manyRealProfiles.put("/resource/" + i, ResourceProfile.of(ValueSchema.REAL, segments));
+    }
+
+    final var file = this.directory.resolve("profiles.bin");
+    BinaryProfileWriter.write(file, manyRealProfiles, Map.of());
+
+    try (final var reader = BinaryProfileReader.open(file)) {
+      assertEquals(manyRealProfiles.keySet(), reader.realProfileNames());
+      assertEquals(Set.of(), reader.discreteProfileNames());
+      assertEquals(manyRealProfiles.get("/resource/42"), reader.readRealProfile("/resource/42"));
+      assertEquals(100, reader.streamRealProfile("/resource/99").count());
+    }
+  }
+
+  /** Simulating with `-b` writes the profiles to a binary file, which holds the same profiles as the JSON results. */
+  @Test
+  void simulateWithBinaryProfiles() throws IOException {
+    final var file = this.directory.resolve("profiles.bin");
+    final var originalOut = System.out;
+    final var out = new ByteArrayOutputStream();
+    try (final var outputStream = new PrintStream(out)) {
+      System.setOut(outputStream);
+      Main.main(new String[]{"simulate",
+                             "-m", "../examples/foo-missionmodel/build/libs/foo-missionmodel.jar",
+                             "-p", "src/test/resources/simpleFooPlan.json",
+                             "-b", file.toString()});
+    } finally {
+      System.setOut(originalOut);
+    }
+
+    try (final var fileReader = Json.createReader(new FileReader("src/test/resources/simpleFooPlanResults.json"));
+         final var outputReader = Json.createReader(new StringReader(out.toString()))) {
+      final var expectedJson = fileReader.readObject();
+      final var outputJson = outputReader.readObject();
+
+      // Everything but the profiles is written as usual.
+      final var expectedRest = Json.createObjectBuilder(expectedJson).remove("profiles").build();
+      final var outputRest = Json.createObjectBuilder(outputJson).remove("profiles").build();
+      assertEquals(expectedRest, outputRest);
+
+      final var profiles = outputJson.getJsonObject("profiles");
+      assertEquals("binary", profiles.getString("format"));
+      assertEquals(file.toAbsolutePath().toString(), profiles.getString("file"));
+
+      final var expectedProfiles = expectedJson.getJsonObject("profiles");
+      try (final var reader = BinaryProfileReader.open(file)) {
+        assertEquals(byName(expectedProfiles, "realProfiles"), readRealProfilesAsJson(reader));
+        assertEquals(byName(expectedProfiles, "discreteProfiles"), readDiscreteProfilesAsJson(reader));
+      }
+    }
+  }
+
+  private static void assertProfiles(
+      final Path file,
+      final Map<String, ResourceProfile<RealDynamics>> expectedRealProfiles,
+      final Map<String, ResourceProfile<SerializedValue>> expectedDiscreteProfiles
+  ) throws IOException {
+    try (final var reader = BinaryProfileReader.open(file)) {
+      assertEquals(expectedRealProfiles.keySet(), reader.realProfileNames());
+      assertEquals(expectedDiscreteProfiles.keySet(), reader.discreteProfileNames());
+      for (final var entry : expectedRealProfiles.entrySet()) {
+        assertEquals(entry.getValue(), reader.readRealProfile(entry.getKey()));
+      }
+      for (final var entry : expectedDiscreteProfiles.entrySet()) {
+        assertEquals(entry.getValue(), reader.readDiscreteProfile(entry.getKey()));
+      }
+    }
+  }
+
+  /** The segments of a profile that fall in the given third of its segments. */
+  private static <Dynamics> ResourceProfile<Dynamics> batch(final ResourceProfile<Dynamics> profile, final int batch) {
+    final var segments = profile.segments();
+    final var from = segments.size() * batch / 3;
+    final var to = segments.size() * (batch + 1) / 3;
+    return ResourceProfile.of(profile.schema(), segments.subList(from, to));
+  }
+
+  private static <Dynamics> ProfileSegment<Dynamics> segment(final long minutes, final Dynamics dynamics) {
+    return new ProfileSegment<>(Duration.of(minutes, MINUTES), dynamics);
+  }
+
+  /** Index the profiles of a results JSON by name, as written by SimulationResultsWriter. */
+  private static Map<String, JsonObject> byName(final JsonObject profiles, final String kind) {
+    final var byName = new HashMap<String, JsonObject>();
+    for (final var profile : profiles.getJsonArray(kind).getValuesAs(JsonObject.class)) {
+      byName.put(profile.getString("name"), reparse(profile));
+    }
+    return byName;
+  }
+
+  private static Map<String, JsonObject> readRealProfilesAsJson(final BinaryProfileReader reader) throws IOException {
+    final var byName = new HashMap<String, JsonObject>();
+    for (final var name : reader.realProfileNames()) {
+      final var profile = reader.readRealProfile(name);
+      final var segments = Json.createArrayBuilder();
+      for (final var segment : profile.segments()) {
+        segments.add(Json.createObjectBuilder()
+                         .add("extent", segment.extent().toString())
+                         .add("dynamics", Json.createObjectBuilder()
+                                              .add("initial", segment.dynamics().initial)
+                                              .add("rate", segment.dynamics().rate)));
+      }
+      byName.put(name, reparse(Json.createObjectBuilder()
+                                   .add("name", name)
+                                   .add("schema", valueSchemaP.unparse(profile.schema()))
+                                   .add("segments", segments)
+                                   .build()));
+    }
+    return byName;
+  }
+
+  private static Map<String, JsonObject> readDiscreteProfilesAsJson(final BinaryProfileReader reader) throws IOException {
+    final var byName = new HashMap<String, JsonObject>();
+    for (final var name : reader.discreteProfileNames()) {
+      final var profile = reader.readDiscreteProfile(name);
+      final var segments = Json.createArrayBuilder();
+      for (final var segment : profile.segments()) {
+        segments.add(Json.createObjectBuilder()
+                         .add("extent", segment.extent().toString())
+                         .add("dynamics", serializedValueP.unparse(segment.dynamics())));
+      }
+      byName.put(name, reparse(Json.createObjectBuilder()
+                                   .add("name", name)
+                                   .add("schema", valueSchemaP.unparse(profile.schema()))
+                                   .add("segments", segments)
+                                   .build()));
+    }
+    return byName;
+  }
+
+  /** Numbers compare by their representation, so compare JSON as it would be read back from text. */
+  private static JsonObject reparse(final JsonValue json) {
+    try (final var reader = Json.createReader(new StringReader(json.toString()))) {
+      return reader.readObject();
+    }
+  }
+}
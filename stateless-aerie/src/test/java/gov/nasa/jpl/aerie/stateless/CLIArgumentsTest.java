@@ -15,6 +15,8 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -60,6 +62,7 @@ public class CLIArgumentsTest {
 
     Available commands:
      - simulate: Simulate a plan using the specified model and configuration
+     - batch: Simulate many plans concurrently using the specified model
 
     Stateless Aerie v""";
 
@@ -101,9 +104,10 @@ public class CLIArgumentsTest {
     void simulationHelp() {
       final var helpString =
        """
-       usage: stateless-aerie simulate [-f <arg>] [-h] [-i <arg>] -m <arg> -p
-              <arg> [-s <arg>] [-v]
+       usage: stateless-aerie simulate [-b <arg>] [-f <arg>] [-h] [-i <arg>] -m
+              <arg> -p <arg> [-s <arg>] [-v]
        Simulate a plan using the specified model and configuration
+        -b,--binary_profiles <arg>   binary file to write resource profiles to
         -f,--file <arg>              output file path
         -h,--help                    display this message and exit
         -i,--update_interval <arg>   minimum interval that simulation extent
@@ -299,4 +303,80 @@ public class CLIArgumentsTest {
       }
     }
   }
+
+  @Nested
+  public class BatchArguments {
+    /**
+     * Subcommand help message appears if the '-h' or '--help' flag is passed after the subcommand,
+     * regardless of presence of other arguments or position.
+     */
+    @Test
+    void batchHelp() {
+      final var helpString =
+       """
+       usage: stateless-aerie batch [-h] -m <arg> [-o <arg>] -p <arg> [-s <arg>]
+              [-t <arg>] [-v]
+       Simulate many plans concurrently using the specified model
+        -h,--help               display this message and exit
+        -m,--model <arg>        path to model jar
+        -o,--output_dir <arg>   directory to write results to
+        -p,--plans <arg>        directory or manifest file of plan jsons
+        -s,--sim_config <arg>   path to simulation configuration json
+        -t,--threads <arg>      maximum number of plans to simulate at once
+        -v,--verbose            verbosity of simulation
+
+       Stateless Aerie v""";
+
+      final var helpArgs = new String[][] {{"batch", "-h"}, {"batch", "--help"},
+                                           {"batch", "-p", "plans", "-h"},
+                                           {"batch", "-t", "4", "--help"}};
+
+      BlockExitSecurityManager.install();
+      for (final var args : helpArgs) {
+        final var sysExit = assertThrows(SystemExit.class, () -> Main.main(args));
+        assertEquals(0, sysExit.getStatusCode());
+
+        outputStream.flush();
+        assertTrue(out.toString().contains(helpString));
+        assertTrue(err.toString().isBlank());
+        out.reset();
+        err.reset();
+      }
+      BlockExitSecurityManager.uninstall();
+    }
+
+    /** An exception is thrown if the plan directory or manifest doesn't exist. */
+    @Test
+    void badPlans() {
+      final var missingFileError = assertThrows(RuntimeException.class,
+                                      () -> Main.main(new String[]{
+                                          "batch",
+                                          "-m", "../examples/foo-missionmodel/build/libs/foo-missionmodel.jar",
+                                          "-p", "src/test/resources/fake_manifest.txt"}));
+      assertEquals("Specified plan directory or manifest does not exist: src/test/resources/fake_manifest.txt",
+                   missingFileError.getMessage());
+    }
+
+    /** Each plan's results are written to the output directory, and a summary is reported. */
+    @Test
+    void batchResults() throws IOException {
+      final var outputDirectory = Files.createTempDirectory("batch");
+      Main.main(new String[]{"batch",
+                             "-m", "../examples/foo-missionmodel/build/libs/foo-missionmodel.jar",
+                             "-p", "src/test/resources/simpleFooBatch.txt",
+                             "-o", outputDirectory.toString(),
+                             "-t", "2"});
+      outputStream.flush();
+      assertTrue(out.toString().contains("Simulated 1 of 1 plans in "));
+      assertTrue(err.toString().isBlank());
+
+      try(final var fileReader = Json.createReader(new FileReader("src/test/resources/simpleFooPlanResults.json"));
+          final var outputReader = Json.createReader(Files.newBufferedReader(
+              outputDirectory.resolve("simpleFooPlan_results.json")))) {
+        final var fileJson = fileReader.readObject();
+        final var outputJson = outputReader.readObject();
+        assertEquals(fileJson, outputJson);
+      }
+    }
+  }
 }